@@ -0,0 +1,30 @@
+package opensource.project.config;
+
+import lombok.RequiredArgsConstructor;
+import opensource.project.service.CsiBinaryWebSocketHandler;
+import opensource.project.service.WebSocketSessionGuard;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.socket.config.annotation.EnableWebSocket;
+import org.springframework.web.socket.config.annotation.WebSocketConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketHandlerRegistry;
+
+/**
+ * WiFi CSI 바이너리 스트림용 WebSocket 설정 (STOMP 엔드포인트 /ws와 별도)
+ *
+ * 바이너리 프레임을 그대로 보내야 하므로 SockJS 없이 순수 WebSocket만 지원함
+ * 세션 송신 큐와 느린 구독자 정책은 STOMP와 같은 WebSocketSessionGuard를 적용함
+ */
+@Configuration
+@EnableWebSocket
+@RequiredArgsConstructor
+public class CsiWebSocketConfig implements WebSocketConfigurer {
+
+    private final CsiBinaryWebSocketHandler csiBinaryWebSocketHandler;
+    private final WebSocketSessionGuard webSocketSessionGuard;
+
+    @Override
+    public void registerWebSocketHandlers(WebSocketHandlerRegistry registry) {
+        registry.addHandler(webSocketSessionGuard.decorate(csiBinaryWebSocketHandler), "/ws/csi")
+                .setAllowedOriginPatterns("*"); // CORS 설정 (STOMP 엔드포인트와 동일)
+    }
+}
@@ -0,0 +1,126 @@
+package opensource.project.config;
+
+import jakarta.persistence.SequenceGenerator;
+import lombok.extern.slf4j.Slf4j;
+import opensource.project.domain.CCTV;
+import opensource.project.domain.Detection;
+import opensource.project.domain.DetectionMinuteRollup;
+import opensource.project.domain.Location;
+import opensource.project.domain.PriorityAssessment;
+import opensource.project.domain.RecentSurvivorRecord;
+import opensource.project.domain.Survivor;
+import opensource.project.domain.WifiSensor;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.EntityManagerFactoryDependsOnPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.lang.reflect.Field;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * 기존 Oracle 시퀀스의 INCREMENT BY를 엔티티의 @SequenceGenerator allocationSize에 맞추는 설정
+ *
+ * 문제:
+ * - 탐지/생존자/우선순위 평가/최근 기록 시퀀스를 allocationSize 50(pooled-lo)으로 바꾸면
+ *   이미 INCREMENT BY 1로 만들어진 운영 DB 시퀀스와 맞지 않아 Hibernate가 시작 시 오류를 내거나 ID가 겹침
+ *   (ddl-auto: update는 기존 시퀀스의 증가값을 바꾸지 않음)
+ *
+ * 해결:
+ * - EntityManagerFactory보다 먼저 실행되어, 증가값이 다른 시퀀스를 ALTER SEQUENCE로 맞춤
+ *   - 늘리는 경우: 다음 NEXTVAL이 이미 발급한 ID보다 크므로 그대로 변경함
+ *   - 줄이는 경우: pooled-lo가 미리 잡아 둔 범위를 건너뛰도록 기존 증가값으로 NEXTVAL을 1번 호출한 뒤 변경함
+ * - Oracle이 아니거나(H2 등) 시퀀스가 아직 없으면 아무것도 하지 않음 (Hibernate가 allocationSize로 만듦)
+ *
+ * 위치/CCTV/WiFi 센서는 등록 빈도가 낮고 ID가 MQTT 토픽과 화면에 노출되므로 allocationSize 1을 유지함
+ */
+@Slf4j
+@Configuration
+public class SequenceMigrationConfig {
+
+    private static final String MIGRATION_BEAN = "sequenceIncrementMigration";
+
+    private static final List<Class<?>> SEQUENCE_ENTITIES = List.of(
+            Detection.class, Survivor.class, PriorityAssessment.class, RecentSurvivorRecord.class,
+            DetectionMinuteRollup.class, Location.class, CCTV.class, WifiSensor.class);
+
+    @Bean(MIGRATION_BEAN)
+    public InitializingBean sequenceIncrementMigration(
+            DataSource dataSource,
+            @Value("${persistence.migrate-sequence-increments:true}") boolean enabled) {
+        return () -> {
+            if (enabled) {
+                migrate(dataSource);
+            }
+        };
+    }
+
+    /**
+     * EntityManagerFactory가 시퀀스 증가값을 검사하기 전에 마이그레이션이 끝나도록 의존 관계를 추가함
+     */
+    @Bean
+    public static EntityManagerFactoryDependsOnPostProcessor sequenceIncrementMigrationDependency() {
+        return new EntityManagerFactoryDependsOnPostProcessor(MIGRATION_BEAN);
+    }
+
+    private static void migrate(DataSource dataSource) {
+        try (Connection connection = dataSource.getConnection()) {
+            String product = connection.getMetaData().getDatabaseProductName();
+            if (!product.toLowerCase(Locale.ROOT).contains("oracle")) {
+                log.debug("시퀀스 증가값 마이그레이션 건너뜀 - DB: {}", product);
+                return;
+            }
+            for (SequenceGenerator generator : sequenceGenerators()) {
+                Integer increment = incrementOf(connection, generator.sequenceName());
+                if (increment == null || increment == generator.allocationSize()) {
+                    continue;
+                }
+                alterIncrement(connection, generator.sequenceName(), increment, generator.allocationSize());
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("시퀀스 증가값 마이그레이션 실패", e);
+        }
+    }
+
+    private static List<SequenceGenerator> sequenceGenerators() {
+        List<SequenceGenerator> generators = new ArrayList<>();
+        for (Class<?> entity : SEQUENCE_ENTITIES) {
+            for (Field field : entity.getDeclaredFields()) {
+                SequenceGenerator generator = field.getAnnotation(SequenceGenerator.class);
+                if (generator != null) {
+                    generators.add(generator);
+                }
+            }
+        }
+        return generators;
+    }
+
+    private static Integer incrementOf(Connection connection, String sequenceName) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(
+                "SELECT INCREMENT_BY FROM USER_SEQUENCES WHERE SEQUENCE_NAME = ?")) {
+            statement.setString(1, sequenceName.toUpperCase(Locale.ROOT));
+            try (ResultSet resultSet = statement.executeQuery()) {
+                return resultSet.next() ? resultSet.getInt(1) : null;
+            }
+        }
+    }
+
+    private static void alterIncrement(Connection connection, String sequenceName, int from, int to) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            if (to < from) {
+                statement.executeQuery("SELECT " + sequenceName + ".NEXTVAL FROM DUAL").close();
+            }
+            statement.execute("ALTER SEQUENCE " + sequenceName + " INCREMENT BY " + to);
+        }
+        log.info("시퀀스 증가값 변경 - {}: {} → {}", sequenceName, from, to);
+    }
+}
@@ -1,15 +1,67 @@
 package opensource.project.config;
 
+import lombok.extern.slf4j.Slf4j;
+import opensource.project.service.WebSocketSessionGuard;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketTransportRegistration;
 
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * STOMP over WebSocket 설정
+ *
+ * 채널별 스레드 풀:
+ * - clientInbound: 클라이언트 → 서버 프레임 처리 (CONNECT, SUBSCRIBE 등)
+ * - clientOutbound: 서버 → 클라이언트 프레임 전송
+ * - broker: 서비스 코드에서 convertAndSend한 메시지를 구독자에게 분배
+ *   (2개 이상이면 발행 순서가 바뀔 수 있으므로 버전을 붙이는 생존자 변경분을 위해 기본값 1)
+ * 세 채널을 분리하여 한쪽이 밀려도 다른 채널의 처리가 막히지 않도록 함
+ * 큐가 가득 찼을 때:
+ * - clientInbound / clientOutbound: 호출한 스레드에서 직접 처리하여(CallerRuns) 메모리 대신 속도로 부하를 흡수함
+ * - broker: 큐에 자리가 날 때까지 발행 스레드를 기다리게 함 (broker-full-wait-ms, 초과 시 발행 실패)
+ *   CallerRuns로 발행 스레드가 직접 분배하면 단일 브로커 스레드를 건너뛰어 발행 순서가 깨짐
+ *
+ * 세션별 송신 큐(최신 메시지 교체 포함)와 느린 구독자 정책은 WebSocketSessionGuard가 적용함
+ */
+@Slf4j
 @Configuration
 @EnableWebSocketMessageBroker
 public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
+    private final WebSocketSessionGuard webSocketSessionGuard;
+
+    @Value("${websocket.inbound-threads:4}")
+    private int inboundThreads;
+
+    @Value("${websocket.outbound-threads:8}")
+    private int outboundThreads;
+
+    @Value("${websocket.broker-threads:1}")
+    private int brokerThreads;
+
+    @Value("${websocket.channel-queue-capacity:10000}")
+    private int channelQueueCapacity;
+
+    @Value("${websocket.broker-full-wait-ms:5000}")
+    private long brokerFullWaitMillis;
+
+    @Value("${websocket.message-size-limit-kb:64}")
+    private int messageSizeLimitKb;
+
+    public WebSocketConfig(WebSocketSessionGuard webSocketSessionGuard) {
+        this.webSocketSessionGuard = webSocketSessionGuard;
+    }
+
     @Override
     public void configureMessageBroker(MessageBrokerRegistry registry) {
         // 서버에서 클라이언트로 메시지를 보낼 때 사용하는 prefix
@@ -18,6 +70,33 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
         // 클라이언트가 서버로 메시지를 보낼 때 사용하는 prefix
         registry.setApplicationDestinationPrefixes("/app");
+
+        // outbound 스레드가 여러 개여도 세션별 전송 순서를 유지함
+        registry.setPreservePublishOrder(true);
+
+        ThreadPoolTaskExecutor brokerExecutor = channelExecutor("ws-broker-", brokerThreads);
+        brokerExecutor.setRejectedExecutionHandler(waitForQueueSpace(brokerFullWaitMillis));
+        registry.configureBrokerChannel().taskExecutor(brokerExecutor);
+    }
+
+    @Override
+    public void configureClientInboundChannel(ChannelRegistration registration) {
+        registration.taskExecutor(channelExecutor("ws-inbound-", inboundThreads));
+    }
+
+    @Override
+    public void configureClientOutboundChannel(ChannelRegistration registration) {
+        registration.taskExecutor(channelExecutor("ws-outbound-", outboundThreads));
+    }
+
+    @Override
+    public void configureWebSocketTransport(WebSocketTransportRegistration registration) {
+        // 세션별 전송 시간/버퍼 한도 및 수신 프레임 크기 한도
+        // (WebSocketSessionGuard의 송신 큐가 즉시 반환하므로 실제 적체와 교체는 송신 큐에서 처리됨)
+        registration.setSendTimeLimit(webSocketSessionGuard.getSendTimeLimitMillis())
+                .setSendBufferSizeLimit(webSocketSessionGuard.getSendBufferSizeLimitBytes())
+                .setMessageSizeLimit(messageSizeLimitKb * 1024)
+                .addDecoratorFactory(webSocketSessionGuard);
     }
 
     @Override
@@ -27,4 +106,40 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
                 .setAllowedOriginPatterns("*") // CORS 설정 (모든 origin 허용)
                 .withSockJS(); // SockJS fallback 지원 (WebSocket 미지원 브라우저 대응)
     }
-}
\ No newline at end of file
+
+    /**
+     * 고정 크기 채널 스레드 풀을 만듦 (초기화는 빈 등록 시 스프링이 수행함)
+     */
+    private ThreadPoolTaskExecutor channelExecutor(String threadNamePrefix, int threads) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(channelQueueCapacity);
+        executor.setAllowCoreThreadTimeOut(true);
+        executor.setThreadNamePrefix(threadNamePrefix);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        log.info("STOMP 채널 스레드 풀 설정 - {} 스레드: {}, 큐: {}", threadNamePrefix, threads, channelQueueCapacity);
+        return executor;
+    }
+
+    /**
+     * 큐가 가득 차면 자리가 날 때까지 최대 waitMillis 동안 호출 스레드를 기다리게 하는 거부 정책
+     * (작업이 항상 풀 스레드에서 큐 순서대로 실행되므로 발행 순서가 유지됨)
+     */
+    static RejectedExecutionHandler waitForQueueSpace(long waitMillis) {
+        return (task, executor) -> {
+            if (executor.isShutdown()) {
+                throw new RejectedExecutionException("STOMP 브로커 채널이 종료되었습니다");
+            }
+            try {
+                if (!executor.getQueue().offer(task, waitMillis, TimeUnit.MILLISECONDS)) {
+                    throw new RejectedExecutionException(
+                            "STOMP 브로커 채널 큐가 " + waitMillis + "ms 동안 가득 차 있어 발행하지 못했습니다");
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RejectedExecutionException("STOMP 브로커 채널 발행 대기 중 인터럽트", e);
+            }
+        };
+    }
+}
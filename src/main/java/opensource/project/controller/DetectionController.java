@@ -6,19 +6,25 @@ import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import opensource.project.dto.AIAnalysisRequestDto;
+import opensource.project.dto.CursorPageDto;
 import opensource.project.dto.DetectionRequestDto;
 import opensource.project.dto.DetectionResponseDto;
 import opensource.project.dto.ImageAnalysisResponseDto;
 import opensource.project.dto.SurvivorAnalysisDto;
+import opensource.project.service.BlobStore;
 import opensource.project.service.DetectionService;
 import opensource.project.service.DetectionServiceImpl;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.io.IOException;
+import java.nio.channels.Channels;
+import java.time.Duration;
 import java.util.List;
 
 @Slf4j
@@ -29,6 +35,7 @@ import java.util.List;
 public class DetectionController {
 
     private final DetectionService detectionService;
+    private final BlobStore blobStore;
 
     // Detection 추가
     @PostMapping
@@ -44,6 +51,28 @@ public class DetectionController {
         return ResponseEntity.ok(detections);
     }
 
+    // Detection 키셋 페이지 조회 (limit 파라미터가 있으면 전체 목록 대신 페이지로 응답, nextCursor를 cursor로 넘겨 이어서 조회)
+    @Operation(summary = "Detection 페이지 조회", description = "탐지 시각, ID 내림차순으로 limit개씩 조회합니다.")
+    @GetMapping(params = "limit")
+    public ResponseEntity<CursorPageDto<DetectionResponseDto>> getDetectionPage(
+            @Parameter(description = "페이지 크기 (1~1000)", required = true)
+            @RequestParam int limit,
+            @Parameter(description = "이전 응답의 nextCursor (첫 페이지는 생략)")
+            @RequestParam(required = false) String cursor
+    ) {
+        return ResponseEntity.ok(detectionService.getDetectionPage(cursor, limit));
+    }
+
+    // 모든 Detection을 NDJSON(한 줄에 JSON 하나)으로 내보내기, 결과 크기와 관계없이 서버 메모리 사용량이 일정함
+    @Operation(summary = "Detection 내보내기", description = "모든 Detection을 NDJSON 스트림으로 내보냅니다.")
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportDetections() {
+        StreamingResponseBody body = detectionService::exportDetections;
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
     // 특정 생존자의 가장 최신 Detection 조회
     @GetMapping("/survivor/{survivorId}/latest")
     public ResponseEntity<DetectionResponseDto> getLatestDetectionBySurvivor(
@@ -149,16 +178,29 @@ public class DetectionController {
     }
 
     // Detection ID로 저장된 분석 이미지를 조회, 이미지 파일을 직접 반환하므로 브라우저나 Swagger에서 바로 확인가능
+    // 이미지는 BlobStore에서 힙에 올리지 않고 응답으로 스트리밍하며, 키가 내용의 SHA-256이므로 ETag로 쓰고 오래 캐시함
+    // 아직 BlobStore로 옮기지 않은 기존 이미지는 DB LOB 컬럼에서 읽어 보냄 (이전 후에는 키로 응답하므로 캐시하지 않음)
     @Operation(summary = "분석 이미지 조회", description = "Detection ID로 분석된 이미지 파일을 조회합니다.")
     @GetMapping(value = "/{detectionId}/analyzed-image", produces = MediaType.IMAGE_JPEG_VALUE)
-    public ResponseEntity<byte[]> getAnalyzedImage(
+    public ResponseEntity<StreamingResponseBody> getAnalyzedImage(
             @Parameter(description = "Detection ID", required = true)
             @PathVariable Long detectionId
     ) {
-        byte[] imageBytes = detectionService.getAnalyzedImage(detectionId);
+        String imageKey = detectionService.getAnalyzedImageKey(detectionId);
+        if (imageKey == null) {
+            byte[] legacyImage = detectionService.getLegacyAnalyzedImage(detectionId);
+            return ResponseEntity.ok()
+                    .contentType(MediaType.IMAGE_JPEG)
+                    .contentLength(legacyImage.length)
+                    .cacheControl(CacheControl.noCache())
+                    .body(out -> out.write(legacyImage));
+        }
         return ResponseEntity.ok()
                 .contentType(MediaType.IMAGE_JPEG)
-                .body(imageBytes);
+                .contentLength(blobStore.size(imageKey))
+                .eTag(imageKey)
+                .cacheControl(CacheControl.maxAge(Duration.ofDays(365)).cachePublic().immutable())
+                .body(out -> blobStore.transferTo(imageKey, Channels.newChannel(out)));
     }
 
     // FastAPI의 /analyze_video 엔드포인트(API)에서 프레임별 분석 결과를 전송받아 처리
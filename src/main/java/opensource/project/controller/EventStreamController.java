@@ -0,0 +1,66 @@
+package opensource.project.controller;
+
+import lombok.RequiredArgsConstructor;
+import opensource.project.dto.EventReplayDto;
+import opensource.project.service.EventReplayLog;
+import opensource.project.service.StompPayloadPublisher;
+import opensource.project.service.WebSocketSessionGuard;
+import org.springframework.messaging.handler.annotation.DestinationVariable;
+import org.springframework.messaging.handler.annotation.Header;
+import org.springframework.messaging.simp.annotation.SubscribeMapping;
+import org.springframework.stereotype.Controller;
+
+import java.util.function.Predicate;
+
+/**
+ * 재연결 이벤트 재전송 STOMP 컨트롤러
+ *
+ * 실시간 메시지에는 seq 헤더(이벤트 순번)와 epoch 헤더(서버 실행 식별자)가 붙으며,
+ * 클라이언트는 마지막으로 처리한 메시지의 두 값을 기억함 (순번은 서버가 재시작하면 1부터 다시 시작함)
+ *
+ * 재연결 시 클라이언트 사용 순서:
+ * 1. 필요한 /topic/... 을 다시 구독함 (이후 도착하는 실시간 메시지는 잠시 보관)
+ * 2. /app/events/replay/{lastSeq} 를 epoch 헤더와 함께 구독하여 놓친 이벤트를 1회 받음
+ *    (처음 연결이면 lastSeq = 0, epoch 없음)
+ *    - destinations 헤더(쉼표로 구분한 Ant 패턴, 예: /topic/survivor/**)로 받을 토픽을 제한할 수 있음
+ *    - 건물/층 관심 토픽 패턴(예: /topic/building/{건물}/events)을 주면 그 구역으로 보낸 이벤트를 받음
+ *      (각 항목의 destination과 payload는 관심 토픽으로 받는 LocationEventDto와 같은 내용임)
+ * 3. 응답의 events를 적용한 뒤, 보관한 실시간 메시지 중 epoch가 같고 seq가 last_seq 이하인 것은 버림
+ * 4. type = "snapshot"이면 화면 상태를 응답 내용으로 교체함
+ *    (서버가 재시작되어 epoch가 다르거나, 놓친 이벤트가 보관 범위를 넘은 경우)
+ * 5. 응답의 epoch와 last_seq를 기억하여 이어서 사용함
+ */
+@Controller
+@RequiredArgsConstructor
+public class EventStreamController {
+
+    private final EventReplayLog eventReplayLog;
+
+    /**
+     * lastSeq 이후 놓친 이벤트 또는 상태 스냅샷을 구독한 세션에만 전송함
+     *
+     * @param lastSeq 클라이언트가 마지막으로 처리한 순번 (0이면 스냅샷)
+     * @param epoch 클라이언트가 마지막으로 처리한 메시지의 서버 실행 식별자 (현재와 다르면 스냅샷)
+     * @param destinations 받을 토픽 Ant 패턴 (쉼표 구분, 없으면 전체)
+     * @return 재전송 응답
+     */
+    @SubscribeMapping("/events/replay/{lastSeq}")
+    public EventReplayDto replay(@DestinationVariable long lastSeq,
+                                 @Header(name = StompPayloadPublisher.EPOCH_HEADER, required = false) String epoch,
+                                 @Header(name = "destinations", required = false) String destinations) {
+        Predicate<String> destinationFilter = destinations == null || destinations.isBlank()
+                ? destination -> true
+                : WebSocketSessionGuard.destinationMatcher(destinations);
+        EventReplayLog.Replay replay = eventReplayLog.since(epoch, lastSeq, destinationFilter);
+
+        return EventReplayDto.builder()
+                .type(replay.snapshot() ? EventReplayDto.TYPE_SNAPSHOT : EventReplayDto.TYPE_EVENTS)
+                .epoch(replay.epoch())
+                .lastSeq(replay.lastSeq())
+                .events(replay.entries().stream()
+                        .map(entry -> new EventReplayDto.ReplayedEvent(
+                                entry.seq(), entry.destination(), entry.payload().asRawValue()))
+                        .toList())
+                .build();
+    }
+}
@@ -0,0 +1,62 @@
+package opensource.project.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import opensource.project.dto.MqttIngestMetricsDto;
+import opensource.project.dto.WebSocketTransportMetricsDto;
+import opensource.project.service.MqttMessageBufferService;
+import opensource.project.service.WebSocketSessionGuard;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * 서버 내부 처리 현황 모니터링 컨트롤러
+ * 운영 중 수신 레인, 큐 적체 상태를 확인하는 API를 제공함
+ */
+@RestController
+@RequestMapping("/monitoring")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+@Tag(name = "Monitoring", description = "서버 처리 현황 모니터링 API")
+public class MonitoringController {
+
+    // mqtt.enabled=false이면 빈이 없음
+    private final ObjectProvider<MqttMessageBufferService> mqttMessageBufferService;
+    private final WebSocketSessionGuard webSocketSessionGuard;
+
+    /**
+     * MQTT 수신 레인 상태를 조회함
+     *
+     * @return 레인별 대기 수 및 센서별 누적 처리 현황 (MQTT를 사용하지 않으면 404)
+     */
+    @Operation(
+            summary = "MQTT 수신 현황 조회",
+            description = "신호 프레임(최신값 유지 레인)과 생존자 탐지 이벤트(무손실 레인)의 대기 수, " +
+                    "센서별 수신/폐기/파일 적재/처리/실패 건수를 조회합니다."
+    )
+    @GetMapping("/mqtt")
+    public ResponseEntity<MqttIngestMetricsDto> getMqttIngestMetrics() {
+        MqttMessageBufferService bufferService = mqttMessageBufferService.getIfAvailable();
+        if (bufferService == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(bufferService.getMetrics());
+    }
+
+    /**
+     * STOMP 전송 계층 상태를 조회함
+     *
+     * @return 세션 버퍼 적체와 채널 스레드 풀 상태
+     */
+    @Operation(
+            summary = "WebSocket 전송 현황 조회",
+            description = "연결 세션 수, 느린 구독자로 종료된 세션 수, 세션 송신 버퍼 적체량, " +
+                    "inbound/outbound/broker 채널 스레드 풀의 대기 작업 수를 조회합니다."
+    )
+    @GetMapping("/websocket")
+    public ResponseEntity<WebSocketTransportMetricsDto> getWebSocketTransportMetrics() {
+        return ResponseEntity.ok(webSocketSessionGuard.getMetrics());
+    }
+}
@@ -2,12 +2,15 @@ package opensource.project.controller;
 
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import opensource.project.dto.CursorPageDto;
 import opensource.project.dto.PriorityAssessmentRequestDto;
 import opensource.project.dto.PriorityAssessmentResponseDto;
 import opensource.project.service.PriorityService;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -34,6 +37,23 @@ public class PriorityAssessmentController {
         return ResponseEntity.ok(assessments);
     }
 
+    // 분석 점수 키셋 페이지 조회 (limit 파라미터가 있으면 전체 목록 대신 페이지로 응답, nextCursor를 cursor로 넘겨 이어서 조회)
+    @GetMapping(params = "limit")
+    public ResponseEntity<CursorPageDto<PriorityAssessmentResponseDto>> getPriorityAssessmentPage(
+            @RequestParam int limit,
+            @RequestParam(required = false) String cursor) {
+        return ResponseEntity.ok(priorityService.getPriorityAssessmentPage(cursor, limit));
+    }
+
+    // 모든 분석 점수를 NDJSON(한 줄에 JSON 하나)으로 내보내기
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportPriorityAssessments() {
+        StreamingResponseBody body = priorityService::exportPriorityAssessments;
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
     // 특정 분석 결과(ID)에 대한 분석 점수 전달
     @GetMapping("/{id}")
     public ResponseEntity<PriorityAssessmentResponseDto> getPriorityAssessment(@PathVariable Long id) {
@@ -1,10 +1,13 @@
 package opensource.project.controller;
 
 import lombok.RequiredArgsConstructor;
+import opensource.project.dto.CursorPageDto;
 import opensource.project.dto.RecentSurvivorRecordResponseDto;
 import opensource.project.service.RecentSurvivorRecordService;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -20,14 +23,39 @@ public class RecentSurvivorRecordController {
     public ResponseEntity<List<RecentSurvivorRecordResponseDto>> getRecentSurvivors(
             @RequestParam(name = "hours", defaultValue = "48") Integer hours
     ) {
-        int safeHours = (hours == null || hours <= 0) ? 48 : hours;
-        List<RecentSurvivorRecordResponseDto> records = recentSurvivorRecordService.getRecentRecords(safeHours);
+        List<RecentSurvivorRecordResponseDto> records = recentSurvivorRecordService.getRecentRecords(safeHours(hours));
         return ResponseEntity.ok(records);
     }
 
+    // 키셋 페이지 조회 (limit 파라미터가 있으면 전체 목록 대신 페이지로 응답, nextCursor를 cursor로 넘겨 이어서 조회)
+    @GetMapping(params = "limit")
+    public ResponseEntity<CursorPageDto<RecentSurvivorRecordResponseDto>> getRecentSurvivorPage(
+            @RequestParam(name = "hours", defaultValue = "48") Integer hours,
+            @RequestParam int limit,
+            @RequestParam(required = false) String cursor
+    ) {
+        return ResponseEntity.ok(recentSurvivorRecordService.getRecentRecordPage(safeHours(hours), cursor, limit));
+    }
+
+    // 최근 N시간 내 기록을 NDJSON(한 줄에 JSON 하나)으로 내보내기
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportRecentSurvivors(
+            @RequestParam(name = "hours", defaultValue = "48") Integer hours
+    ) {
+        int safeHours = safeHours(hours);
+        StreamingResponseBody body = out -> recentSurvivorRecordService.exportRecentRecords(safeHours, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteRecentRecord(@PathVariable Long id) {
         recentSurvivorRecordService.deleteRecentRecord(id);
         return ResponseEntity.noContent().build();
     }
+
+    private static int safeHours(Integer hours) {
+        return (hours == null || hours <= 0) ? 48 : hours;
+    }
 }
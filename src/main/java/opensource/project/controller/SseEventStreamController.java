@@ -0,0 +1,60 @@
+package opensource.project.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import opensource.project.service.SseEventGateway;
+import opensource.project.service.WebSocketSessionGuard;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.function.Predicate;
+
+/**
+ * Server-Sent Events 이벤트 스트림 컨트롤러
+ * SockJS/STOMP를 쓸 수 없는 화면과 스크립트가 REST 폴링 대신 실시간 이벤트를 받도록 함
+ *
+ * 사용 예:
+ * - 브라우저: new EventSource("/events/stream?topics=/topic/survivor/**,/topic/recent-survivors")
+ *   (재연결 시 Last-Event-ID 헤더를 자동으로 보냄)
+ * - 스크립트: curl -N -H "Last-Event-ID: 3f9c1a2b-120" "http://host/events/stream?topics=/topic/sensors/health"
+ *   (이벤트 id는 "{서버 실행 식별자}-{순번}"이며, 서버가 재시작되어 식별자가 다르면 snapshot부터 다시 받음)
+ */
+@RestController
+@RequestMapping("/events")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+@Tag(name = "Event Stream", description = "실시간 이벤트 SSE 스트림 API")
+public class SseEventStreamController {
+
+    private final SseEventGateway sseEventGateway;
+
+    /**
+     * STOMP 브로드캐스트와 같은 이벤트를 SSE로 전송함
+     *
+     * @param topics 받을 토픽 Ant 패턴 (쉼표 구분, 없으면 전체)
+     * @param lastEventIdHeader 마지막으로 받은 이벤트 id ("{epoch}-{seq}", EventSource 재연결 시 자동 전송)
+     * @param lastEventIdParam Last-Event-ID 헤더를 보낼 수 없는 클라이언트용 쿼리 파라미터
+     * @return SSE 스트림
+     */
+    @Operation(
+            summary = "실시간 이벤트 스트림 (SSE)",
+            description = "생존자/탐지/점수/최근 기록/센서 상태 이벤트를 STOMP와 같은 순번(id)으로 전송합니다. " +
+                    "Last-Event-ID가 없거나, 서버 재시작으로 실행 식별자가 다르거나, 보관 범위를 벗어나면 " +
+                    "snapshot 이벤트로 현재 상태를 먼저 보냅니다."
+    )
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(
+            @Parameter(description = "받을 토픽 Ant 패턴 (쉼표 구분, 예: /topic/survivor/**,/topic/recent-survivors)")
+            @RequestParam(required = false) String topics,
+            @RequestHeader(name = "Last-Event-ID", required = false) String lastEventIdHeader,
+            @Parameter(description = "마지막으로 받은 이벤트 id (Last-Event-ID 헤더 대신 사용)")
+            @RequestParam(name = "lastEventId", required = false) String lastEventIdParam) {
+        Predicate<String> destinationFilter = topics == null || topics.isBlank()
+                ? destination -> true
+                : WebSocketSessionGuard.destinationMatcher(topics);
+        return sseEventGateway.open(destinationFilter, lastEventIdHeader != null ? lastEventIdHeader : lastEventIdParam);
+    }
+}
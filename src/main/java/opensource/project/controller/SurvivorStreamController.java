@@ -0,0 +1,36 @@
+package opensource.project.controller;
+
+import lombok.RequiredArgsConstructor;
+import opensource.project.dto.SurvivorDeltaDto;
+import opensource.project.service.SurvivorDeltaTracker;
+import opensource.project.service.SurvivorService;
+import org.springframework.messaging.handler.annotation.DestinationVariable;
+import org.springframework.messaging.simp.annotation.SubscribeMapping;
+import org.springframework.stereotype.Controller;
+
+/**
+ * 생존자 실시간 스트림 STOMP 컨트롤러
+ *
+ * 클라이언트 사용 순서:
+ * 1. /topic/survivor/{survivorId}/delta 구독 (변경분 수신)
+ * 2. /app/survivor/{survivorId}/snapshot 구독 (현재 상태 1회 수신, 해당 세션에만 응답)
+ * 3. 이후 patch의 base_version이 가진 version과 다르면 2번을 다시 수행함
+ */
+@Controller
+@RequiredArgsConstructor
+public class SurvivorStreamController {
+
+    private final SurvivorDeltaTracker survivorDeltaTracker;
+    private final SurvivorService survivorService;
+
+    /**
+     * 생존자 현재 상태 스냅샷을 구독한 세션에만 전송함
+     *
+     * @param survivorId 생존자 ID
+     * @return 스냅샷 (version 포함)
+     */
+    @SubscribeMapping("/survivor/{survivorId}/snapshot")
+    public SurvivorDeltaDto getSurvivorSnapshot(@DestinationVariable Long survivorId) {
+        return survivorDeltaTracker.snapshot(survivorId, () -> survivorService.getSurvivor(survivorId));
+    }
+}
@@ -7,6 +7,8 @@ import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import opensource.project.dto.WifiSensorRequestDto;
 import opensource.project.dto.WifiSensorResponseDto;
+import opensource.project.service.CsiPresenceDetector;
+import opensource.project.service.WifiSensorRegistry;
 import opensource.project.service.WifiSensorService;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -26,6 +28,8 @@ import java.util.List;
 public class WifiSensorController {
 
     private final WifiSensorService wifiSensorService;
+    private final WifiSensorRegistry wifiSensorRegistry;
+    private final CsiPresenceDetector csiPresenceDetector;
 
     /**
      * WiFi 센서 정보를 등록함
@@ -77,4 +81,25 @@ public class WifiSensorController {
         return ResponseEntity.ok("WiFi_Sensor deleted successfully");
     }
 
+    /**
+     * 센서의 빈 방 CSI 기준선을 다시 보정함
+     * 다음 프레임부터 보정 구간 동안은 존재 점수가 null로 전송됨
+     *
+     * @param id WiFi 센서 ID
+     * @return 처리 결과 메시지
+     */
+    @Operation(
+            summary = "WiFi 센서 존재 판단 기준선 재보정",
+            description = "센서의 빈 방 CSI 기준선을 초기화하고 다음 프레임부터 다시 보정합니다. " +
+                    "센서 주변에 사람이 없는 상태에서 호출해야 합니다."
+    )
+    @PostMapping("/{id}/recalibrate")
+    public ResponseEntity<String> recalibratePresenceBaseline(@PathVariable Long id) {
+        if (wifiSensorRegistry.get(id) == null) {
+            throw new IllegalArgumentException("WiFi 센서를 찾을 수 없습니다. 센서 ID: " + id);
+        }
+        csiPresenceDetector.recalibrate(id);
+        return ResponseEntity.ok("WiFi_Sensor presence baseline recalibration started");
+    }
+
 }
\ No newline at end of file
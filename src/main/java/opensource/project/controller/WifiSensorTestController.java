@@ -14,8 +14,6 @@ import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
 
 import java.time.LocalDateTime;
-import java.util.ArrayList;
-import java.util.List;
 import java.util.Random;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
@@ -195,7 +193,7 @@ public class WifiSensorTestController {
                 .orElseThrow(() -> new RuntimeException("센서를 찾을 수 없습니다: " + sensorId));
 
         // CSI 진폭 데이터 생성 (34개 부반송파)
-        List<Double> csiAmplitudes = new ArrayList<>(34);
+        double[] csiAmplitudes = new double[34];
 
         for (int i = 0; i < 34; i++) {
             // 기본 진폭: 10~50 범위
@@ -210,7 +208,7 @@ public class WifiSensorTestController {
                 amplitude += breathingPattern;
             }
 
-            csiAmplitudes.add(Math.round(amplitude * 10.0) / 10.0); // 소수점 1자리
+            csiAmplitudes[i] = Math.round(amplitude * 10.0) / 10.0; // 소수점 1자리
         }
 
         // WifiSignalDto 생성 (새로운 형식)
@@ -9,7 +9,8 @@ import org.hibernate.annotations.CreationTimestamp;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "detection")
+// 키셋 페이지네이션/내보내기 정렬 (detectedAt DESC, id DESC)용 인덱스
+@Table(name = "detection", indexes = @Index(name = "idx_detection_detected_at_id", columnList = "detected_at, id"))
 @Getter
 @Setter
 @NoArgsConstructor
@@ -19,7 +20,7 @@ public class Detection {
 
     @Id
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "detection_seq")
-    @SequenceGenerator(name = "detection_seq", sequenceName = "DETECTION_SEQ", allocationSize = 1)
+    @SequenceGenerator(name = "detection_seq", sequenceName = "DETECTION_SEQ", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -84,9 +85,9 @@ public class Detection {
     @Column
     private Integer totalObjects;
 
-    @Lob
-    @Column
-    private byte[] analyzedImage;
+    // 분석 이미지의 BlobStore 키 (SHA-256, 이미지 자체는 DB 밖에 저장)
+    @Column(length = 64)
+    private String analyzedImageKey;
 
     @CreationTimestamp
     @Column(nullable = false, updatable = false)
@@ -0,0 +1,76 @@
+package opensource.project.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+import opensource.project.domain.enums.CurrentStatus;
+import opensource.project.domain.enums.DetectionType;
+
+import java.time.LocalDateTime;
+
+/**
+ * 오래된 프레임 단위 탐지(Detection, PriorityAssessment)를 생존자/분/탐지 타입별로 요약한 엔티티.
+ * 원본 행은 보관 기간이 지나면 파티션 단위로 삭제되고, 이력 조회는 이 요약으로 대신함 (DetectionRollupService).
+ */
+@Entity
+@Table(name = "detection_minute_rollup",
+        uniqueConstraints = @UniqueConstraint(name = "uk_rollup_survivor_minute_type",
+                columnNames = {"survivor_id", "minute_start", "detection_type"}),
+        indexes = @Index(name = "idx_rollup_minute_start", columnList = "minute_start"))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DetectionMinuteRollup {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "detection_minute_rollup_seq")
+    @SequenceGenerator(name = "detection_minute_rollup_seq", sequenceName = "DETECTION_MINUTE_ROLLUP_SEQ", allocationSize = 50)
+    private Long id;
+
+    // 생존자가 삭제되어도 요약은 남도록 ID만 보관함
+    @Column(nullable = false)
+    private Long survivorId;
+
+    // 요약 구간 시작 시각 (분 단위로 자름)
+    @Column(nullable = false)
+    private LocalDateTime minuteStart;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private DetectionType detectionType;
+
+    // 구간의 마지막 탐지 위치
+    @Column
+    private Long locationId;
+
+    @Column(nullable = false)
+    private Integer detectionCount;
+
+    @Column(nullable = false)
+    private LocalDateTime firstDetectedAt;
+
+    @Column(nullable = false)
+    private LocalDateTime lastDetectedAt;
+
+    // 구간의 마지막 탐지 상태
+    @Enumerated(EnumType.STRING)
+    @Column(length = 20)
+    private CurrentStatus lastStatus;
+
+    @Column
+    private Double avgConfidence;
+
+    @Column
+    private Double maxConfidence;
+
+    @Column
+    private Integer maxHumanCount;
+
+    // 구간 탐지에 대한 우선순위 평가 최종 점수 (평가가 없으면 null)
+    @Column
+    private Double avgFinalRiskScore;
+
+    @Column
+    private Double maxFinalRiskScore;
+}
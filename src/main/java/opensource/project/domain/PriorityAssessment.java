@@ -8,7 +8,8 @@ import org.hibernate.annotations.CreationTimestamp;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "priority_assessment")
+// 키셋 페이지네이션/내보내기 정렬 (assessedAt DESC, id DESC)용 인덱스
+@Table(name = "priority_assessment", indexes = @Index(name = "idx_assessment_assessed_at", columnList = "assessed_at, id"))
 @Getter
 @Setter
 @NoArgsConstructor
@@ -18,7 +19,7 @@ public class PriorityAssessment {
 
     @Id
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "priority_assessment_seq")
-    @SequenceGenerator(name = "priority_assessment_seq", sequenceName = "PRIORITY_ASSESSMENT_SEQ", allocationSize = 1)
+    @SequenceGenerator(name = "priority_assessment_seq", sequenceName = "PRIORITY_ASSESSMENT_SEQ", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
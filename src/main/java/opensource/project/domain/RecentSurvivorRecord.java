@@ -12,7 +12,8 @@ import java.time.LocalDateTime;
  * 타임아웃으로 제거된 생존자의 마지막 정보를 보존하는 스냅샷 엔티티.
  */
 @Entity
-@Table(name = "recent_survivor_record")
+// 키셋 페이지네이션/내보내기 정렬 (archivedAt DESC, id DESC)용 인덱스
+@Table(name = "recent_survivor_record", indexes = @Index(name = "idx_recent_record_archived_at", columnList = "archived_at, id"))
 @Getter
 @Setter
 @NoArgsConstructor
@@ -22,7 +23,7 @@ public class RecentSurvivorRecord {
 
     @Id
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "recent_survivor_record_seq")
-    @SequenceGenerator(name = "recent_survivor_record_seq", sequenceName = "RECENT_SURVIVOR_RECORD_SEQ", allocationSize = 1)
+    @SequenceGenerator(name = "recent_survivor_record_seq", sequenceName = "RECENT_SURVIVOR_RECORD_SEQ", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -21,7 +21,7 @@ public class Survivor {
 
     @Id
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "survivor_seq")
-    @SequenceGenerator(name = "survivor_seq", sequenceName = "SURVIVOR_SEQ", allocationSize = 1)
+    @SequenceGenerator(name = "survivor_seq", sequenceName = "SURVIVOR_SEQ", allocationSize = 50)
     private Long id;
 
     @Column(unique = true, nullable = false)
@@ -0,0 +1,107 @@
+package opensource.project.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.util.RawValue;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * CCTV 프레임 1개의 처리 결과를 묶은 WebSocket 메시지 DTO
+ * 구독 토픽: /topic/frames/{cctvId}
+ *
+ * 한 프레임에서 사람 N명을 처리하면 생존자/탐지/점수 토픽으로 최대 3N개의 메시지가 나가므로,
+ * 같은 변경 내용을 프레임당 1개의 메시지로 묶어 카메라별 토픽 하나로도 받을 수 있게 함
+ *
+ * 생존자/탐지/점수 항목은 개별 토픽으로 보낼 때 직렬화한 JSON을 그대로 포함함 (StompPayloadPublisher 참고)
+ */
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CctvFrameEnvelopeDto {
+
+    /**
+     * CCTV ID
+     */
+    @JsonProperty("cctv_id")
+    private Long cctvId;
+
+    /**
+     * 위치 ID
+     */
+    @JsonProperty("location_id")
+    private Long locationId;
+
+    /**
+     * CCTV별 프레임 순번 (서버 시작 후 1부터 증가)
+     */
+    @JsonProperty("frame_sequence")
+    private Long frameSequence;
+
+    /**
+     * 프레임 처리 완료 시각
+     */
+    @JsonProperty("processed_at")
+    private LocalDateTime processedAt;
+
+    /**
+     * AI 분석 요약 (화재/사람/연기/전체 객체 수)
+     */
+    @JsonProperty("summary")
+    private AIDetectionResultDto.DetectionSummary summary;
+
+    /**
+     * 이 프레임에서 새로 등록된 생존자 (SurvivorResponseDto 형태)
+     */
+    @JsonProperty("new_survivors")
+    @Builder.Default
+    private List<RawValue> newSurvivors = new ArrayList<>();
+
+    /**
+     * 이 프레임에서 정보가 갱신된 생존자 (SurvivorResponseDto 형태)
+     */
+    @JsonProperty("updated_survivors")
+    @Builder.Default
+    private List<RawValue> updatedSurvivors = new ArrayList<>();
+
+    /**
+     * 이 프레임에서 생성된 탐지 기록 (DetectionResponseDto 형태)
+     */
+    @JsonProperty("detections")
+    @Builder.Default
+    private List<RawValue> detections = new ArrayList<>();
+
+    /**
+     * 이 프레임에서 계산된 우선순위 점수
+     */
+    @JsonProperty("scores")
+    @Builder.Default
+    private List<ScoreChange> scores = new ArrayList<>();
+
+    /**
+     * 생존자 1명의 우선순위 점수 변경
+     */
+    @Getter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ScoreChange {
+
+        /**
+         * 생존자 ID
+         */
+        @JsonProperty("survivor_id")
+        private Long survivorId;
+
+        /**
+         * 우선순위 점수 (PriorityScoreHistoryDto 형태)
+         */
+        @JsonProperty("score")
+        private RawValue score;
+    }
+}
@@ -0,0 +1,58 @@
+package opensource.project.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * 키셋 페이지네이션 응답
+ *
+ * nextCursor를 다음 요청의 cursor 파라미터로 넘기면 이어서 조회함 (마지막 페이지면 null)
+ */
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPageDto<T> {
+
+    public static final int MAX_LIMIT = 1000;
+
+    private List<T> items;
+    private String nextCursor;
+    private boolean hasNext;
+
+    /**
+     * 페이지 크기를 검증함
+     *
+     * @throws IllegalArgumentException 1 미만이거나 MAX_LIMIT 초과인 경우
+     */
+    public static int validateLimit(int limit) {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_LIMIT + ": " + limit);
+        }
+        return limit;
+    }
+
+    /**
+     * limit + 1개까지 조회한 행으로 페이지를 만듦 (limit개를 넘으면 다음 페이지가 있음)
+     *
+     * @param rows 정렬 순서대로 조회한 행 (최대 limit + 1개)
+     * @param limit 페이지 크기
+     * @param cursorOf 행의 커서 (마지막 행의 커서가 nextCursor가 됨)
+     * @param mapper 행 → 응답 항목 변환
+     */
+    public static <R, T> CursorPageDto<T> of(List<R> rows, int limit,
+                                              Function<R, KeysetCursor> cursorOf, Function<R, T> mapper) {
+        boolean hasNext = rows.size() > limit;
+        List<R> page = hasNext ? rows.subList(0, limit) : rows;
+        return CursorPageDto.<T>builder()
+                .items(page.stream().map(mapper).toList())
+                .nextCursor(hasNext ? cursorOf.apply(page.get(page.size() - 1)).encode() : null)
+                .hasNext(hasNext)
+                .build();
+    }
+}
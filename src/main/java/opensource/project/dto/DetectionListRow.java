@@ -0,0 +1,37 @@
+package opensource.project.dto;
+
+import opensource.project.domain.CCTV;
+import opensource.project.domain.Location;
+import opensource.project.domain.Survivor;
+import opensource.project.domain.WifiSensor;
+import opensource.project.domain.enums.CurrentStatus;
+import opensource.project.domain.enums.DetectionType;
+
+import java.time.LocalDateTime;
+
+/**
+ * Detection 목록 조회용 프로젝션 (DetectionRepository.LIST_ROW_SELECT)
+ *
+ * LOB 컬럼(aiAnalysisResult, rawData)은 조회하지 않고, 연관 엔티티와 각각의 위치는 같은 쿼리에서 조인으로 함께 읽음
+ * cctv/wifiSensor와 그 위치는 해당 장비로 탐지되지 않았으면 null
+ */
+public record DetectionListRow(
+        Long id,
+        DetectionType detectionType,
+        LocalDateTime detectedAt,
+        CurrentStatus detectedStatus,
+        String aiModelVersion,
+        Double confidence,
+        String imageUrl,
+        String videoUrl,
+        Integer signalStrength,
+        LocalDateTime createdAt,
+        Survivor survivor,
+        Location survivorLocation,
+        Location location,
+        CCTV cctv,
+        Location cctvLocation,
+        WifiSensor wifiSensor,
+        Location wifiSensorLocation
+) {
+}
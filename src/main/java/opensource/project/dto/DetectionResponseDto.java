@@ -60,6 +60,42 @@ public class DetectionResponseDto {
                 .build();
     }
 
+    // 목록 조회용: LOB 필드(aiAnalysisResult, rawData)는 비워 두고, 연관 정보는 프로젝션이 함께 읽은 엔티티로 채움
+    public static DetectionResponseDto from(DetectionListRow row) {
+        SurvivorResponseDto survivor = SurvivorResponseDto.fromWithoutLocation(row.survivor());
+        survivor.setLocation(LocationResponseDto.from(row.survivorLocation()));
+        CCTVResponseDto cctv = null;
+        if (row.cctv() != null) {
+            cctv = CCTVResponseDto.fromWithoutLocation(row.cctv());
+            cctv.setLocation(LocationResponseDto.from(row.cctvLocation()));
+        }
+        WifiSensorResponseDto wifiSensor = null;
+        if (row.wifiSensor() != null) {
+            wifiSensor = WifiSensorResponseDto.fromWithoutLocation(row.wifiSensor());
+            wifiSensor.setLocation(LocationResponseDto.from(row.wifiSensorLocation()));
+        }
+        return DetectionResponseDto.builder()
+                .id(row.id())
+                .survivorId(survivor.getId())
+                .survivor(survivor)
+                .detectionType(row.detectionType())
+                .cctvId(cctv != null ? cctv.getId() : null)
+                .cctv(cctv)
+                .wifiSensorId(wifiSensor != null ? wifiSensor.getId() : null)
+                .wifiSensor(wifiSensor)
+                .locationId(row.location().getId())
+                .location(LocationResponseDto.from(row.location()))
+                .detectedAt(row.detectedAt())
+                .detectedStatus(row.detectedStatus())
+                .aiModelVersion(row.aiModelVersion())
+                .confidence(row.confidence())
+                .imageUrl(row.imageUrl())
+                .videoUrl(row.videoUrl())
+                .signalStrength(row.signalStrength())
+                .createdAt(row.createdAt())
+                .build();
+    }
+
     public static DetectionResponseDto fromWithoutRelations(Detection detection) {
         return DetectionResponseDto.builder()
                 .id(detection.getId())
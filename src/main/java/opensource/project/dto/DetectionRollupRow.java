@@ -0,0 +1,24 @@
+package opensource.project.dto;
+
+import opensource.project.domain.enums.CurrentStatus;
+import opensource.project.domain.enums.DetectionType;
+
+import java.time.LocalDateTime;
+
+/**
+ * 분 단위 요약(DetectionRollupService)용 탐지 1건의 스칼라 프로젝션 (DetectionRepository.streamRollupRows)
+ *
+ * 탐지에 우선순위 평가가 있으면 finalRiskScore를 함께 읽음 (평가가 여러 건이면 같은 탐지가 여러 행으로 나옴)
+ */
+public record DetectionRollupRow(
+        Long detectionId,
+        Long survivorId,
+        Long locationId,
+        DetectionType detectionType,
+        LocalDateTime detectedAt,
+        CurrentStatus detectedStatus,
+        Double confidence,
+        Integer humanCount,
+        Double finalRiskScore
+) {
+}
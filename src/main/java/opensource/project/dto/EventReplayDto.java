@@ -0,0 +1,80 @@
+package opensource.project.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.util.RawValue;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 재연결한 클라이언트에게 놓친 이벤트를 돌려주는 STOMP 응답 DTO
+ * 구독 경로: /app/events/replay/{lastSeq} (해당 세션에만 1회 응답)
+ *
+ * - type = "events": lastSeq 이후 놓친 이벤트를 순번 순서대로 담음
+ * - type = "snapshot": epoch가 다르거나(서버 재시작) lastSeq가 보관 범위를 벗어나 상태별 최신 이벤트만 담음
+ *   (생존자별 최신 정보/점수/탐지, 최근 기록, 센서 상태)
+ * 클라이언트는 events의 각 항목을 destination 토픽으로 받은 메시지처럼 처리하고, epoch와 last_seq를 이어서 사용함
+ */
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EventReplayDto {
+
+    public static final String TYPE_EVENTS = "events";
+    public static final String TYPE_SNAPSHOT = "snapshot";
+
+    /**
+     * 응답 종류 (events, snapshot)
+     */
+    @JsonProperty("type")
+    private String type;
+
+    /**
+     * 현재 서버 실행 식별자 (이후 실시간 메시지의 epoch 헤더와 같음)
+     */
+    @JsonProperty("epoch")
+    private String epoch;
+
+    /**
+     * 응답 시점의 마지막 순번 (이후 실시간 메시지의 seq 헤더와 이어짐)
+     */
+    @JsonProperty("last_seq")
+    private Long lastSeq;
+
+    /**
+     * 재전송 이벤트 (순번 오름차순)
+     */
+    @JsonProperty("events")
+    private List<ReplayedEvent> events;
+
+    /**
+     * 재전송 이벤트 1건
+     */
+    @Getter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ReplayedEvent {
+
+        /**
+         * 이벤트 순번
+         */
+        @JsonProperty("seq")
+        private Long seq;
+
+        /**
+         * 원래 전송된 토픽
+         */
+        @JsonProperty("destination")
+        private String destination;
+
+        /**
+         * 원래 전송된 메시지 본문
+         */
+        @JsonProperty("payload")
+        private RawValue payload;
+    }
+}
@@ -0,0 +1,51 @@
+package opensource.project.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * 키셋 페이지네이션 커서 (정렬 시각, ID)
+ *
+ * 목록은 (시각 DESC, ID DESC)로 정렬되며, 다음 페이지는 마지막 행의 (시각, ID)보다 앞선 행부터 조회함
+ * OFFSET을 쓰지 않으므로 뒤 페이지로 갈수록 느려지지 않고, 조회 중 새 행이 추가되어도 중복/누락이 없음
+ * 클라이언트에는 "시각|ID"를 Base64(URL-safe)로 감싼 불투명 문자열로 전달함
+ *
+ * @param at 정렬 기준 시각 (detectedAt, assessedAt, archivedAt)
+ * @param id 같은 시각의 순서를 정하는 ID
+ */
+public record KeysetCursor(LocalDateTime at, Long id) {
+
+    private static final char SEPARATOR = '|';
+
+    public String encode() {
+        String raw = at.toString() + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 커서 문자열을 해석함
+     *
+     * @param cursor encode()로 만든 문자열 (null 또는 빈 문자열이면 첫 페이지)
+     * @return 커서, 첫 페이지면 null
+     * @throws IllegalArgumentException 형식이 잘못된 경우
+     */
+    public static KeysetCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf(SEPARATOR);
+            if (separator < 0) {
+                throw new IllegalArgumentException("Invalid cursor: " + cursor);
+            }
+            return new KeysetCursor(
+                    LocalDateTime.parse(raw.substring(0, separator)),
+                    Long.parseLong(raw.substring(separator + 1)));
+        } catch (DateTimeParseException | NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package opensource.project.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.util.RawValue;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 건물/층 관심 토픽으로 전송하는 이벤트 DTO
+ * 구독 토픽: /topic/building/{buildingName}/floor/{floor}/events, /topic/building/{buildingName}/events
+ *
+ * 원래 토픽으로 전송된 메시지를 그대로 감싸므로, 클라이언트는 payload를 destination 토픽으로 받은 메시지처럼 처리함
+ * (재전송 응답의 ReplayedEvent와 같은 형태이며, 순번은 같은 seq 헤더로 전달됨)
+ */
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LocationEventDto {
+
+    /**
+     * 원래 전송된 토픽 (예: /topic/survivor/12/scores, /topic/survivors/new, /topic/recent-survivors)
+     */
+    @JsonProperty("destination")
+    private String destination;
+
+    /**
+     * 원래 전송된 메시지 본문
+     */
+    @JsonProperty("payload")
+    private RawValue payload;
+}
@@ -0,0 +1,99 @@
+package opensource.project.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * MQTT 수신 레인 상태 응답 DTO
+ * 신호 프레임(최신값 유지 레인)과 생존자 탐지 이벤트(무손실 레인)의 처리 현황을 담음
+ */
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MqttIngestMetricsDto {
+
+    /**
+     * 수신 모드 (LATEST_ONLY, LOSSLESS_DETECTIONS)
+     */
+    private String ingestMode;
+
+    /**
+     * 처리 파티션 수
+     */
+    private Integer partitionCount;
+
+    /**
+     * 최신값 유지 레인에 대기 중인 신호 프레임 수
+     */
+    private Integer conflatingBufferSize;
+
+    /**
+     * 무손실 레인 메모리 큐에 대기 중인 이벤트 수
+     */
+    private Integer losslessQueueSize;
+
+    /**
+     * 무손실 레인 파일에 대기 중인 이벤트 수
+     */
+    private Long losslessSpillPending;
+
+    /**
+     * 센서별 처리 현황
+     */
+    private List<SensorMetrics> sensors;
+
+    /**
+     * 센서 1개의 누적 처리 현황
+     */
+    @Getter
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class SensorMetrics {
+
+        /**
+         * WiFi 센서 ID
+         */
+        private Long sensorId;
+
+        /**
+         * 수신한 신호 프레임 수 (최신값 유지 레인)
+         */
+        private Long framesReceived;
+
+        /**
+         * 새 프레임으로 교체되어 폐기된 신호 프레임 수
+         */
+        private Long framesConflated;
+
+        /**
+         * 이미 더 큰 순번(seq)을 받은 뒤 늦게 도착하여 폐기된 신호 프레임 수
+         */
+        private Long framesOutOfOrder;
+
+        /**
+         * 수신한 생존자 탐지 이벤트 수 (무손실 레인)
+         */
+        private Long eventsReceived;
+
+        /**
+         * 메모리 큐가 가득 차 파일로 넘어간 이벤트 수
+         */
+        private Long eventsSpilled;
+
+        /**
+         * 처리 완료된 메시지 수 (두 레인 합계)
+         */
+        private Long processed;
+
+        /**
+         * 처리 중 오류가 발생한 메시지 수
+         */
+        private Long failed;
+    }
+}
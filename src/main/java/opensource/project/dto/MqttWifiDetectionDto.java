@@ -1,10 +1,9 @@
 package opensource.project.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.*;
 
-import java.util.List;
-
 /**
  * MQTT 브로커로부터 수신한 WiFi 센서 탐지 메시지를 파싱하는 DTO
  * ESP32 모듈이 주기적으로 발행하는 CSI 신호 분석 결과를 담음
@@ -16,6 +15,7 @@ import java.util.List;
  * - sensor_id: WiFi 센서 ID
  * - survivor_detected: 생존자 탐지 여부
  * - csi_amplitude_summary: CSI 진폭 배열
+ * - seq: 센서별 발행 순번 (선택)
  */
 @Getter
 @Setter
@@ -45,8 +45,26 @@ public class MqttWifiDetectionDto {
      * CSI 진폭 요약 데이터
      * ESP32에서 계산한 각 부반송파의 진폭값 배열 (일반적으로 34개 또는 52개)
      * 프론트엔드 그래프 렌더링에 직접 사용됨
+     * 박싱 없이 기본형 배열로 보관함 (CsiPayloadDecoder가 직접 채움)
      * 예: [12.3, 15.7, 18.2, 21.5, ..., 22.1]
      */
     @JsonProperty("csi_amplitude_summary")
-    private List<Double> csiAmplitudeSummary;
+    private double[] csiAmplitudeSummary;
+
+    /**
+     * 센서별 발행 순번 (선택, 센서마다 1씩 증가)
+     * 공유 구독의 여러 연결로 나뉘어 수신된 메시지를 센서별 발행 순서로 되돌리는 데 사용함
+     * (이미 더 큰 순번을 받은 센서의 신호 프레임은 폐기함, MqttMessageBufferService 참고)
+     * 없으면 수신 순서를 그대로 사용함
+     */
+    @JsonProperty("seq")
+    private Long seq;
+
+    /**
+     * MQTT 수신 시각 (System.nanoTime 기준, 0이면 알 수 없음)
+     * 버퍼에서 대기한 시간과 관계없이 움직임/호흡 추정에 실제 도착 간격을 쓰기 위해 수신 스레드에서 기록함
+     * 다른 JVM에서는 의미가 없으므로 직렬화하지 않음 (파일로 넘어간 이벤트는 처리 시각을 사용함)
+     */
+    @JsonIgnore
+    private long receivedAtNanos;
 }
\ No newline at end of file
@@ -0,0 +1,30 @@
+package opensource.project.dto;
+
+import opensource.project.domain.Location;
+import opensource.project.domain.Survivor;
+import opensource.project.domain.enums.UrgencyLevel;
+
+import java.time.LocalDateTime;
+
+/**
+ * PriorityAssessment 목록 조회용 프로젝션 (PriorityAssessmentRepository.findAllListRows)
+ *
+ * LOB 컬럼(notes)은 조회하지 않고, 생존자와 생존자 위치는 같은 쿼리에서 조인으로 함께 읽음
+ * 탐지 정보는 detectionId로 DetectionListRow와 짝지음
+ */
+public record PriorityAssessmentListRow(
+        Long id,
+        Long detectionId,
+        LocalDateTime assessedAt,
+        Double statusScore,
+        Double environmentScore,
+        Double confidenceCoefficient,
+        Double finalRiskScore,
+        UrgencyLevel urgencyLevel,
+        String calculationFormula,
+        String aiModelVersion,
+        LocalDateTime createdAt,
+        Survivor survivor,
+        Location survivorLocation
+) {
+}
@@ -49,6 +49,28 @@ public class PriorityAssessmentResponseDto {
                 .build();
     }
 
+    // 목록 조회용: LOB 필드(notes)는 비워 두고, 탐지 정보는 따로 조회한 목록용 DTO를 그대로 사용함
+    public static PriorityAssessmentResponseDto from(PriorityAssessmentListRow row, DetectionResponseDto detection) {
+        SurvivorResponseDto survivor = SurvivorResponseDto.fromWithoutLocation(row.survivor());
+        survivor.setLocation(LocationResponseDto.from(row.survivorLocation()));
+        return PriorityAssessmentResponseDto.builder()
+                .id(row.id())
+                .survivorId(survivor.getId())
+                .survivor(survivor)
+                .detectionId(row.detectionId())
+                .detection(detection)
+                .assessedAt(row.assessedAt())
+                .statusScore(row.statusScore())
+                .environmentScore(row.environmentScore())
+                .confidenceCoefficient(row.confidenceCoefficient())
+                .finalRiskScore(row.finalRiskScore())
+                .urgencyLevel(row.urgencyLevel())
+                .calculationFormula(row.calculationFormula())
+                .aiModelVersion(row.aiModelVersion())
+                .createdAt(row.createdAt())
+                .build();
+    }
+
     public static PriorityAssessmentResponseDto fromWithoutRelations(PriorityAssessment assessment) {
         return PriorityAssessmentResponseDto.builder()
                 .id(assessment.getId())
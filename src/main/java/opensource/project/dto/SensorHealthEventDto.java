@@ -0,0 +1,50 @@
+package opensource.project.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * WiFi 센서 / CCTV 온라인·오프라인 전환 이벤트 DTO
+ * 구독 토픽: /topic/sensors/health
+ */
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SensorHealthEventDto {
+
+    /**
+     * 장비 종류 (WIFI_SENSOR, CCTV)
+     */
+    @JsonProperty("device_type")
+    private String deviceType;
+
+    /**
+     * 장비 ID (WiFi 센서 ID 또는 CCTV ID)
+     */
+    @JsonProperty("device_id")
+    private Long deviceId;
+
+    /**
+     * 전환된 상태 (ONLINE, OFFLINE)
+     */
+    @JsonProperty("status")
+    private String status;
+
+    /**
+     * 마지막 신호 이후 경과 시간 (초, OFFLINE 전환 시)
+     */
+    @JsonProperty("silent_seconds")
+    private Long silentSeconds;
+
+    /**
+     * 상태 전환 시각
+     */
+    @JsonProperty("changed_at")
+    private LocalDateTime changedAt;
+}
@@ -0,0 +1,95 @@
+package opensource.project.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.JsonNode;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 생존자 정보 변경분(delta) 브로드캐스트 DTO
+ * 구독 토픽: /topic/survivor/{survivorId}/delta
+ *
+ * - type = "snapshot": snapshot에 SurvivorResponseDto 전체가 들어 있음 (version부터 다시 시작)
+ * - type = "patch": ops에 JSON Patch(RFC 6902) 형식의 변경 필드만 들어 있음
+ *   클라이언트가 가진 version이 base_version과 다르면(유실) /app/survivor/{survivorId}/snapshot을 구독하여 전체를 다시 받음
+ */
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class SurvivorDeltaDto {
+
+    public static final String TYPE_SNAPSHOT = "snapshot";
+    public static final String TYPE_PATCH = "patch";
+
+    /**
+     * 메시지 종류 (snapshot, patch)
+     */
+    @JsonProperty("type")
+    private String type;
+
+    /**
+     * 생존자 ID
+     */
+    @JsonProperty("survivor_id")
+    private Long survivorId;
+
+    /**
+     * 이 메시지를 적용한 후의 버전
+     */
+    @JsonProperty("version")
+    private Long version;
+
+    /**
+     * 패치를 적용할 기준 버전 (patch인 경우, version - 1)
+     */
+    @JsonProperty("base_version")
+    private Long baseVersion;
+
+    /**
+     * 변경 연산 목록 (patch인 경우)
+     */
+    @JsonProperty("ops")
+    private List<PatchOp> ops;
+
+    /**
+     * 생존자 전체 정보 (snapshot인 경우, SurvivorResponseDto와 같은 형태)
+     */
+    @JsonProperty("snapshot")
+    private JsonNode snapshot;
+
+    /**
+     * JSON Patch 연산 1개
+     */
+    @Getter
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class PatchOp {
+
+        /**
+         * 연산 종류 (add, remove, replace)
+         */
+        @JsonProperty("op")
+        private String op;
+
+        /**
+         * 대상 필드의 JSON Pointer 경로 (예: /lastDetectedAt, /location/floor)
+         */
+        @JsonProperty("path")
+        private String path;
+
+        /**
+         * 새 값 (remove인 경우 없음)
+         */
+        @JsonProperty("value")
+        private JsonNode value;
+    }
+}
@@ -0,0 +1,104 @@
+package opensource.project.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * STOMP 전송 계층 상태 응답 DTO
+ * 세션별 송신 큐 적체, 최신 메시지 교체(conflation) 횟수, 채널 스레드 풀의 대기 작업 수를 담음
+ */
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class WebSocketTransportMetricsDto {
+
+    /**
+     * 송신 버퍼 초과 시 처리 정책 (DROP_OLDEST, DISCONNECT)
+     */
+    private String slowConsumerPolicy;
+
+    /**
+     * 연결 중인 WebSocket 세션 수
+     */
+    private Integer activeSessions;
+
+    /**
+     * 송신 한도를 넘어 서버가 종료한 세션 수 (누적)
+     */
+    private Long slowConsumerDisconnects;
+
+    /**
+     * 모든 세션의 송신 버퍼에 대기 중인 바이트 수
+     */
+    private Long totalBufferedBytes;
+
+    /**
+     * 송신 버퍼가 가장 많이 쌓인 세션의 대기 바이트 수
+     */
+    private Integer maxSessionBufferedBytes;
+
+    /**
+     * 진행 중인 전송 중 가장 오래된 전송의 경과 시간 (ms)
+     */
+    private Long longestSendInProgressMillis;
+
+    /**
+     * 모든 세션의 송신 큐에 대기 중인 메시지 수
+     */
+    private Long totalQueuedMessages;
+
+    /**
+     * 전송이 밀리는 동안 같은 토픽의 최신 메시지로 교체되어 보내지 않은 메시지 수 (누적)
+     */
+    private Long conflatedMessages;
+
+    /**
+     * 송신 버퍼 한도 초과 또는 세션 종료로 버린 메시지 수 (누적)
+     */
+    private Long droppedMessages;
+
+    /**
+     * 채널별 스레드 풀 상태 (clientInbound, clientOutbound, broker)
+     */
+    private List<ChannelMetrics> channels;
+
+    /**
+     * 메시지 채널 1개의 스레드 풀 상태
+     */
+    @Getter
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ChannelMetrics {
+
+        /**
+         * 채널 이름
+         */
+        private String name;
+
+        /**
+         * 현재 스레드 수
+         */
+        private Integer poolSize;
+
+        /**
+         * 작업 중인 스레드 수
+         */
+        private Integer activeThreads;
+
+        /**
+         * 대기 중인 작업 수
+         */
+        private Integer queueDepth;
+
+        /**
+         * 완료된 작업 수 (누적)
+         */
+        private Long completedTasks;
+    }
+}
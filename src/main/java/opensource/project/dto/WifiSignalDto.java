@@ -4,7 +4,6 @@ import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.*;
 
 import java.time.LocalDateTime;
-import java.util.List;
 
 /**
  * WebSocket으로 브로드캐스트할 WiFi 센서 신호 데이터 DTO
@@ -38,9 +37,10 @@ public class WifiSignalDto {
      * CSI 진폭 요약 데이터
      * ESP32에서 전송한 각 부반송파의 진폭값 배열
      * 프론트엔드 그래프 렌더링에 직접 사용됨
+     * MQTT에서 파싱한 기본형 배열을 그대로 공유함 (JSON 형식은 숫자 배열로 동일)
      */
     @JsonProperty("csi_amplitude_summary")
-    private List<Double> csiAmplitudeSummary;
+    private double[] csiAmplitudeSummary;
 
     /**
      * 메시지 수신 시각 (백엔드에서 추가)
@@ -63,6 +63,53 @@ public class WifiSignalDto {
     @JsonProperty("survivor_number")
     private String survivorNumber;
 
+    /**
+     * 움직임 감지 여부 (서버에서 CSI 진폭 변동으로 추정)
+     * 판단에 필요한 프레임이 부족하면 null
+     */
+    @JsonProperty("movement_detected")
+    private Boolean movementDetected;
+
+    /**
+     * 움직임 강도 (0.0 ~ 1.0)
+     */
+    @JsonProperty("movement_intensity")
+    private Double movementIntensity;
+
+    /**
+     * 호흡 감지 여부 (0.1~0.5Hz 대역 성분으로 추정)
+     * 샘플링 레이트가 1Hz 미만이거나 누적 구간이 20초 미만이면 null
+     */
+    @JsonProperty("breathing_detected")
+    private Boolean breathingDetected;
+
+    /**
+     * 호흡률 (분당 호흡 횟수, BPM)
+     * 호흡이 감지된 경우에만 값이 있음
+     */
+    @JsonProperty("breathing_rate")
+    private Double breathingRate;
+
+    /**
+     * 프레임 도착 간격으로 추정한 샘플링 레이트 (Hz)
+     */
+    @JsonProperty("sampling_rate")
+    private Double samplingRate;
+
+    /**
+     * 서버 측 존재 점수 (빈 방 CSI 기준선 대비 부반송파별 z-score의 RMS)
+     * 센서 기준선 보정 중이면 null
+     */
+    @JsonProperty("presence_score")
+    private Double presenceScore;
+
+    /**
+     * 서버 측 존재 판단 결과 (presence_score가 임계값 이상이면 true)
+     * ESP32의 survivor_detected와 별개인 2차 판단이며, 보정 중이면 null
+     */
+    @JsonProperty("presence_detected")
+    private Boolean presenceDetected;
+
     /**
      * MqttWifiDetectionDto로부터 WifiSignalDto를 생성하는 정적 팩토리 메서드
      * MQTT 메시지를 WebSocket 브로드캐스트용 DTO로 변환함
@@ -91,4 +138,33 @@ public class WifiSignalDto {
         this.survivorId = survivorId;
         this.survivorNumber = survivorNumber;
     }
-}
\ No newline at end of file
+
+    /**
+     * 서버에서 추정한 움직임/호흡 지표를 설정하는 메서드
+     *
+     * @param movementDetected 움직임 감지 여부
+     * @param movementIntensity 움직임 강도
+     * @param breathingDetected 호흡 감지 여부
+     * @param breathingRate 호흡률 (BPM)
+     * @param samplingRate 추정 샘플링 레이트 (Hz)
+     */
+    public void setVitalSigns(Boolean movementDetected, Double movementIntensity,
+                              Boolean breathingDetected, Double breathingRate, Double samplingRate) {
+        this.movementDetected = movementDetected;
+        this.movementIntensity = movementIntensity;
+        this.breathingDetected = breathingDetected;
+        this.breathingRate = breathingRate;
+        this.samplingRate = samplingRate;
+    }
+
+    /**
+     * 서버에서 계산한 존재 점수와 판단 결과를 설정하는 메서드
+     *
+     * @param presenceScore 존재 점수 (보정 중이면 null)
+     * @param presenceDetected 존재 판단 결과 (보정 중이면 null)
+     */
+    public void setPresence(Double presenceScore, Boolean presenceDetected) {
+        this.presenceScore = presenceScore;
+        this.presenceDetected = presenceDetected;
+    }
+}
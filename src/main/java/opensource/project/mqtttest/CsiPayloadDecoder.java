@@ -0,0 +1,214 @@
+package opensource.project.mqtttest;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import opensource.project.dto.MqttWifiDetectionDto;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * MQTT CSI 페이로드(byte[])를 Jackson 스트리밍 파서로 직접 읽어 MqttWifiDetectionDto를 만드는 디코더
+ *
+ * 기존 방식:
+ * - byte[] → String 변환 후 ObjectMapper.readValue로 파싱
+ * - 진폭 배열이 List&lt;Double&gt;로 만들어져 값마다 Double 객체가 생성됨 (메시지당 수십 개의 박싱 객체)
+ *
+ * 변경 방식:
+ * - byte[]에서 바로 토큰을 읽음 (중간 String 없음)
+ * - 진폭 값은 스레드별로 재사용하는 double[] 작업 버퍼에 기본형으로 누적함 (박싱, 리스트 확장 없음)
+ * - 소수 값은 파서의 문자 버퍼에서 직접 변환함
+ *   (JsonParser.getDoubleValue()는 값마다 String을 만들어 Double.parseDouble을 호출하므로 사용하지 않음)
+ * - 파싱이 끝나면 정확한 크기의 double[] 하나만 새로 할당하여 DTO에 넘김
+ *   (DTO는 버퍼 서비스에 보관되었다가 다른 스레드에서 처리되므로 작업 버퍼 자체를 넘길 수는 없음)
+ *
+ * 지원 필드: sensor_id, survivor_detected, csi_amplitude_summary, seq (그 외 필드는 건너뜀)
+ */
+@Component
+public class CsiPayloadDecoder {
+
+    private static final String FIELD_SENSOR_ID = "sensor_id";
+    private static final String FIELD_SURVIVOR_DETECTED = "survivor_detected";
+    private static final String FIELD_CSI_AMPLITUDE_SUMMARY = "csi_amplitude_summary";
+    private static final String FIELD_SEQ = "seq";
+
+    /**
+     * 작업 버퍼 초기 크기 (ESP32는 일반적으로 34개 또는 52개 부반송파를 전송함)
+     */
+    private static final int INITIAL_SCRATCH_SIZE = 64;
+
+    /**
+     * 정확하게 표현 가능한 10의 거듭제곱 (10^0 ~ 10^22)
+     * 유효 숫자 15자리 이하의 가수를 이 값으로 나누면 Double.parseDouble과 같은 결과가 나옴
+     */
+    private static final double[] EXACT_POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+            1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
+    /**
+     * 빠른 변환 경로에서 허용하는 최대 유효 숫자 수 (2^53 미만으로 정확히 표현됨)
+     */
+    private static final int MAX_FAST_PATH_DIGITS = 15;
+
+    // 수신 스레드별 진폭 작업 버퍼 (필요 시 두 배씩 확장되고 이후 계속 재사용됨)
+    private static final ThreadLocal<double[]> SCRATCH =
+            ThreadLocal.withInitial(() -> new double[INITIAL_SCRATCH_SIZE]);
+
+    private final JsonFactory jsonFactory;
+
+    public CsiPayloadDecoder(ObjectMapper objectMapper) {
+        // ObjectMapper와 같은 설정(버퍼 재활용 포함)의 팩토리를 사용함
+        this.jsonFactory = objectMapper.getFactory();
+    }
+
+    /**
+     * JSON 페이로드를 MqttWifiDetectionDto로 디코딩함
+     *
+     * @param payload MQTT 메시지 페이로드 (UTF-8 JSON)
+     * @return 파싱된 DTO
+     * @throws IOException JSON 형식이 잘못되었거나 필드 타입이 맞지 않는 경우
+     */
+    public MqttWifiDetectionDto decode(byte[] payload) throws IOException {
+        try (JsonParser parser = jsonFactory.createParser(payload)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new JsonParseException(parser, "CSI 페이로드는 JSON 객체여야 합니다.");
+            }
+
+            MqttWifiDetectionDto result = new MqttWifiDetectionDto();
+
+            String fieldName;
+            while ((fieldName = parser.nextFieldName()) != null) {
+                JsonToken valueToken = parser.nextToken();
+                switch (fieldName) {
+                    case FIELD_SENSOR_ID -> result.setSensorId(readSensorId(parser, valueToken));
+                    case FIELD_SURVIVOR_DETECTED -> result.setSurvivorDetected(readBoolean(parser, valueToken));
+                    case FIELD_CSI_AMPLITUDE_SUMMARY -> result.setCsiAmplitudeSummary(readAmplitudes(parser, valueToken));
+                    case FIELD_SEQ -> result.setSeq(readSequence(parser, valueToken));
+                    default -> parser.skipChildren();
+                }
+            }
+            return result;
+        }
+    }
+
+    private Long readSensorId(JsonParser parser, JsonToken token) throws IOException {
+        return switch (token) {
+            case VALUE_NUMBER_INT -> parser.getLongValue();
+            case VALUE_STRING -> {
+                try {
+                    yield Long.parseLong(parser.getText().trim());
+                } catch (NumberFormatException e) {
+                    throw new JsonParseException(parser, "sensor_id 형식이 올바르지 않습니다: " + parser.getText());
+                }
+            }
+            case VALUE_NULL -> null;
+            default -> throw new JsonParseException(parser, "sensor_id는 정수여야 합니다.");
+        };
+    }
+
+    private Long readSequence(JsonParser parser, JsonToken token) throws IOException {
+        return switch (token) {
+            case VALUE_NUMBER_INT -> parser.getLongValue();
+            case VALUE_NULL -> null;
+            default -> throw new JsonParseException(parser, "seq는 정수여야 합니다.");
+        };
+    }
+
+    private Boolean readBoolean(JsonParser parser, JsonToken token) throws IOException {
+        return switch (token) {
+            case VALUE_TRUE -> Boolean.TRUE;
+            case VALUE_FALSE -> Boolean.FALSE;
+            case VALUE_NULL -> null;
+            default -> throw new JsonParseException(parser, "survivor_detected는 boolean이어야 합니다.");
+        };
+    }
+
+    private double[] readAmplitudes(JsonParser parser, JsonToken token) throws IOException {
+        if (token == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        if (token != JsonToken.START_ARRAY) {
+            throw new JsonParseException(parser, "csi_amplitude_summary는 숫자 배열이어야 합니다.");
+        }
+
+        double[] scratch = SCRATCH.get();
+        int count = 0;
+
+        JsonToken element;
+        while ((element = parser.nextToken()) != JsonToken.END_ARRAY) {
+            if (element != JsonToken.VALUE_NUMBER_FLOAT && element != JsonToken.VALUE_NUMBER_INT) {
+                throw new JsonParseException(parser, "csi_amplitude_summary에 숫자가 아닌 값이 있습니다.");
+            }
+            if (count == scratch.length) {
+                scratch = Arrays.copyOf(scratch, scratch.length * 2);
+                SCRATCH.set(scratch);
+            }
+            scratch[count++] = readDouble(parser, element);
+        }
+
+        return Arrays.copyOf(scratch, count);
+    }
+
+    /**
+     * 현재 숫자 토큰을 할당 없이 double로 변환함
+     * 정수는 파서의 정수 값을 그대로 사용하고, "12.3" 같은 일반 소수는 가수/10^소수자릿수로 계산함
+     * 지수 표기, 16자리 이상 등 빠른 경로로 정확히 계산할 수 없는 값은 Jackson 기본 변환을 사용함
+     */
+    private double readDouble(JsonParser parser, JsonToken token) throws IOException {
+        if (token == JsonToken.VALUE_NUMBER_INT) {
+            return parser.getNumberType() == JsonParser.NumberType.INT
+                    ? parser.getIntValue()
+                    : parser.getDoubleValue();
+        }
+
+        char[] buffer = parser.getTextCharacters();
+        int index = parser.getTextOffset();
+        int end = index + parser.getTextLength();
+
+        boolean negative = buffer[index] == '-';
+        if (negative) {
+            index++;
+        }
+
+        long mantissa = 0;
+        int digits = 0;
+        int scale = 0;
+        boolean fraction = false;
+        for (; index < end; index++) {
+            char ch = buffer[index];
+            if (ch == '.') {
+                fraction = true;
+                continue;
+            }
+            if (ch < '0' || ch > '9') {
+                // 지수 표기 (예: 1.2e3)
+                return parser.getDoubleValue();
+            }
+            if (mantissa == 0 && ch == '0') {
+                // 앞쪽의 0은 유효 숫자가 아님 (소수부라면 자릿수만 증가)
+                if (fraction) {
+                    scale++;
+                }
+                continue;
+            }
+            if (++digits > MAX_FAST_PATH_DIGITS) {
+                return parser.getDoubleValue();
+            }
+            mantissa = mantissa * 10 + (ch - '0');
+            if (fraction) {
+                scale++;
+            }
+        }
+
+        if (scale >= EXACT_POWERS_OF_TEN.length) {
+            return parser.getDoubleValue();
+        }
+        double value = mantissa / EXACT_POWERS_OF_TEN[scale];
+        return negative ? -value : value;
+    }
+}
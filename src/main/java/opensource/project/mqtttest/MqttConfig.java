@@ -1,25 +1,28 @@
 package opensource.project.mqtttest;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import opensource.project.dto.MqttWifiDetectionDto;
 import opensource.project.service.MqttMessageBufferService;
-import org.eclipse.paho.client.mqttv3.MqttConnectOptions;
+import org.eclipse.paho.mqttv5.client.MqttConnectionOptions;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
 import org.springframework.integration.annotation.ServiceActivator;
 import org.springframework.integration.channel.DirectChannel;
-import org.springframework.integration.core.MessageProducer;
-import org.springframework.integration.mqtt.core.DefaultMqttPahoClientFactory;
-import org.springframework.integration.mqtt.inbound.MqttPahoMessageDrivenChannelAdapter;
+import org.springframework.integration.dsl.IntegrationFlow;
+import org.springframework.integration.dsl.context.IntegrationFlowContext;
+import org.springframework.integration.mqtt.inbound.Mqttv5PahoMessageDrivenChannelAdapter;
 import org.springframework.messaging.MessageChannel;
 import org.springframework.messaging.MessageHandler;
 
 import jakarta.annotation.PostConstruct;
 
+import java.nio.charset.StandardCharsets;
+
 /**
  * MQTT 브로커와의 연결 및 메시지 구독을 설정하는 클래스
  * application.yml의 mqtt.enabled=true로 설정하면 활성화됨
@@ -30,8 +33,20 @@ import jakarta.annotation.PostConstruct;
  * 3. ESP32 센서로부터 5초마다 WiFi CSI 신호 데이터를 수신함
  * 4. 수신한 메시지를 WifiDetectionMqttService로 전달하여 비즈니스 로직을 처리함
  *
+ * 수평 확장 (MQTT v5 공유 구독):
+ * - mqtt.shared-group을 설정하면 $share/{group}/{topic} 으로 구독하여 브로커가 그룹 내 구독자에게 메시지를 분배함
+ *   (같은 그룹을 사용하는 여러 서버 인스턴스가 피드를 나누어 소비할 수 있음)
+ * - mqtt.consumers로 노드당 클라이언트 연결 수를 지정함 (연결마다 별도 수신 스레드에서 JSON 파싱 수행)
+ * - 파싱된 메시지는 MqttMessageBufferService에서 센서 ID 기준 파티션으로 나뉘어 처리됨
+ * - 공유 그룹 없이 여러 연결을 사용하면 모든 연결이 같은 메시지를 중복 수신하므로 연결 수를 1로 제한함
+ * - 같은 노드의 여러 연결로 나뉘어 들어온 메시지는 페이로드의 seq로 센서별 발행 순서를 복원함
+ *   (늦게 도착한 신호 프레임은 폐기, MqttMessageBufferService 참고)
+ * - seq가 없는 센서나 노드 간 순서까지 보장하려면 브로커의 공유 구독 분배 전략을 토픽 해시 방식으로 설정해야 함
+ *   (예: EMQX shared_subscription_strategy = hash_topic)
+ *
  * 변경 이력:
  *  handler() 메서드에 WifiDetectionMqttService 연동 추가
+ *  MQTT v5 클라이언트로 변경, 공유 구독 및 다중 연결 지원 추가
  */
 @Slf4j
 @Configuration
@@ -39,12 +54,15 @@ import jakarta.annotation.PostConstruct;
 @ConditionalOnProperty(name = "mqtt.enabled", havingValue = "true", matchIfMissing = false)
 public class MqttConfig {
 
-    // [추가] JSON 파싱을 위한 ObjectMapper를 주입받음
-    private final ObjectMapper objectMapper;
+    // [변경] ObjectMapper 대신 byte[] 페이로드를 박싱 없이 파싱하는 스트리밍 디코더를 주입받음
+    private final CsiPayloadDecoder csiPayloadDecoder;
 
     // [변경] MQTT 메시지를 버퍼링하는 서비스를 주입받음
     private final MqttMessageBufferService mqttMessageBufferService;
 
+    // [추가] 클라이언트 연결 수만큼 수신 어댑터를 동적으로 등록하기 위해 사용함
+    private final IntegrationFlowContext integrationFlowContext;
+
     // ========================================
     // 🧪 테스트 모드: 하드코딩된 값 사용
     // ========================================
@@ -95,6 +113,27 @@ public class MqttConfig {
     @Value("${MQTT_TOPIC}")
     private String TOPIC;
 
+    /**
+     * MQTT v5 공유 구독 그룹 이름
+     * 비어 있으면 일반 구독을 사용함
+     */
+    @Value("${mqtt.shared-group:}")
+    private String sharedGroup;
+
+    /**
+     * 노드당 MQTT 클라이언트 연결 수
+     * 공유 구독 그룹이 설정된 경우에만 2 이상이 적용됨
+     */
+    @Value("${mqtt.consumers:1}")
+    private int consumers;
+
+    /**
+     * 연결이 끊긴 뒤 브로커가 세션(구독, 확인 응답하지 않은 QoS 1 메시지)을 유지하는 시간 (초)
+     * 버퍼링에 실패해 확인 응답하지 않은 메시지는 재연결 후 다시 전달됨
+     */
+    @Value("${mqtt.session-expiry-seconds:300}")
+    private long sessionExpirySeconds;
+
     /**
      * Bean 초기화 완료 시 MQTT 설정 정보를 로그로 출력
      */
@@ -105,7 +144,9 @@ public class MqttConfig {
         log.info("=".repeat(60));
         log.info("📍 MQTT 브로커 URL: {}", BROKER_URL);
         log.info("🆔 MQTT 클라이언트 ID: {}", CLIENT_ID);
-        log.info("📢 구독 토픽: {}", TOPIC);
+        log.info("📢 구독 토픽: {}", subscriptionTopic());
+        log.info("🔀 클라이언트 연결 수: {}, 처리 파티션 수: {}",
+                effectiveConsumers(), mqttMessageBufferService.getPartitionCount());
         log.info("=".repeat(60));
         log.info("✅ MQTT 브로커 연결 준비 완료");
         log.info("📡 ESP32 센서로부터 WiFi CSI 데이터 수신 대기 중...");
@@ -113,22 +154,21 @@ public class MqttConfig {
     }
 
     /**
-     * MQTT 클라이언트 팩토리를 생성함
-     * MQTT 브로커와의 연결 옵션을 설정함
+     * MQTT 브로커와의 연결 옵션을 생성함
+     * 연결마다 별도의 옵션 객체를 사용함
      *
-     * @return DefaultMqttPahoClientFactory 인스턴스
+     * @return MqttConnectionOptions 인스턴스
      */
-    @Bean
-    public DefaultMqttPahoClientFactory mqttClientFactory() {
-        MqttConnectOptions options = new MqttConnectOptions();
+    private MqttConnectionOptions connectionOptions() {
+        MqttConnectionOptions options = new MqttConnectionOptions();
         // MQTT 브로커 주소를 설정함
         options.setServerURIs(new String[]{BROKER_URL});
-        // 클린 세션을 활성화함 (이전 세션 정보를 유지하지 않음)
-        options.setCleanSession(true);
-
-        DefaultMqttPahoClientFactory factory = new DefaultMqttPahoClientFactory();
-        factory.setConnectionOptions(options);
-        return factory;
+        // 이전 세션을 이어받아, 확인 응답하지 못한 메시지를 재연결 후 다시 받음
+        options.setCleanStart(false);
+        options.setSessionExpiryInterval(sessionExpirySeconds);
+        // 연결이 끊기면 자동으로 재연결함
+        options.setAutomaticReconnect(true);
+        return options;
     }
 
     /**
@@ -143,18 +183,58 @@ public class MqttConfig {
     }
 
     /**
-     * MQTT 메시지를 수신하는 어댑터를 생성함
-     * 지정된 토픽을 구독하고 수신한 메시지를 mqttInputChannel로 전달함
+     * MQTT 메시지를 수신하는 어댑터를 연결 수만큼 등록함
+     * 각 어댑터는 고유한 클라이언트 ID(CLIENT_ID-번호)로 접속하여 같은 토픽(공유 구독)을 구독하고
+     * 수신한 메시지를 mqttInputChannel로 전달함
      *
-     * @return MessageProducer 인스턴스
+     * DirectChannel이므로 JSON 파싱은 각 연결의 수신 스레드에서 병렬로 수행됨
      */
-    @Bean
-    public MessageProducer inbound() {
-        MqttPahoMessageDrivenChannelAdapter adapter =
-                new MqttPahoMessageDrivenChannelAdapter(CLIENT_ID, mqttClientFactory(), TOPIC);
-        // 수신한 메시지를 mqttInputChannel로 출력함
-        adapter.setOutputChannel(mqttInputChannel());
-        return adapter;
+    @EventListener(ApplicationReadyEvent.class)
+    public void registerInboundAdapters() {
+        int consumerCount = effectiveConsumers();
+        String topic = subscriptionTopic();
+
+        for (int i = 0; i < consumerCount; i++) {
+            String clientId = consumerCount > 1 ? CLIENT_ID + "-" + i : CLIENT_ID;
+
+            Mqttv5PahoMessageDrivenChannelAdapter adapter =
+                    new Mqttv5PahoMessageDrivenChannelAdapter(connectionOptions(), clientId, topic);
+
+            integrationFlowContext.registration(
+                            IntegrationFlow.from(adapter)
+                                    .channel(mqttInputChannel())
+                                    .get())
+                    .id("mqttInbound-" + i)
+                    .register();
+
+            log.info("MQTT 수신 어댑터 등록 - 클라이언트 ID: {}, 토픽: {}", clientId, topic);
+        }
+    }
+
+    /**
+     * 구독할 토픽 필터를 반환함
+     * 공유 구독 그룹이 설정되어 있으면 $share/{group}/{topic} 형식을 사용함
+     */
+    String subscriptionTopic() {
+        if (sharedGroup == null || sharedGroup.isBlank()) {
+            return TOPIC;
+        }
+        return "$share/" + sharedGroup + "/" + TOPIC;
+    }
+
+    /**
+     * 실제로 사용할 클라이언트 연결 수를 반환함
+     * 공유 구독이 아닌데 여러 연결을 사용하면 메시지가 중복 수신되므로 1로 제한함
+     */
+    int effectiveConsumers() {
+        if (consumers <= 1) {
+            return 1;
+        }
+        if (sharedGroup == null || sharedGroup.isBlank()) {
+            log.warn("mqtt.shared-group 없이 mqtt.consumers={}가 설정됨 - 중복 수신 방지를 위해 연결 1개만 사용합니다.", consumers);
+            return 1;
+        }
+        return consumers;
     }
 
     /**
@@ -164,13 +244,16 @@ public class MqttConfig {
      * [변경 이력]
      * 1차: 단순히 로그만 출력
      * 2차: WifiDetectionMqttService를 직접 호출하여 동기 처리 (메시지 밀림 발생)
-     * 3차: MqttMessageBufferService를 통해 센서별 최신 메시지만 버퍼링 (현재)
+     * 3차: MqttMessageBufferService를 통해 센서별 최신 메시지만 버퍼링
+     * 4차: 여러 연결의 수신 스레드에서 바이트 페이로드를 직접 파싱하고 센서별 파티션에 전달 (현재)
      *
      * [동작 방식]
-     * 1. JSON 페이로드를 MqttWifiDetectionDto로 파싱
-     * 2. 버퍼 서비스에 메시지를 비동기로 전달 (즉시 반환)
+     * 1. JSON 페이로드(byte[])를 MqttWifiDetectionDto로 파싱
+     * 2. 버퍼 서비스에 메시지를 전달 (센서 ID 기준 파티션 맵에 저장 후 즉시 반환)
      * 3. 버퍼 서비스가 센서별로 최신 메시지만 유지하고 주기적으로 배치 처리
      * 4. 이전 메시지는 자동으로 폐기되어 최신 상태만 웹에 반영됨
+     * 5. 무손실 레인의 파일 기록에 실패하면 예외를 어댑터로 던져 메시지를 확인 응답하지 않음
+     *    (연결이 재수립되면 브로커가 세션에 남은 메시지를 다시 전달함)
      *
      * @return MessageHandler 인스턴스
      */
@@ -179,29 +262,40 @@ public class MqttConfig {
     public MessageHandler handler() {
         return message -> {
             try {
-                // MQTT 메시지의 페이로드를 문자열로 추출함
-                String payload = (String) message.getPayload();
+                // 버퍼 대기 시간이 CSI 샘플 간격에 섞이지 않도록 수신 시각을 먼저 기록함
+                long receivedAtNanos = System.nanoTime();
+
+                // MQTT v5 어댑터는 페이로드를 byte[]로 전달함
+                byte[] payload = (byte[]) message.getPayload();
                 log.debug("=== MQTT 메시지 수신 ===");
-                log.debug("Raw payload: {}", payload);
+                if (log.isDebugEnabled()) {
+                    log.debug("Raw payload: {}", new String(payload, StandardCharsets.UTF_8));
+                }
 
-                // JSON 문자열을 MqttWifiDetectionDto 객체로 파싱함
-                MqttWifiDetectionDto mqttData = objectMapper.readValue(payload, MqttWifiDetectionDto.class);
+                // JSON 바이트 배열을 스트리밍 파서로 직접 읽어 MqttWifiDetectionDto로 변환함
+                // (중간 문자열 및 진폭 값 박싱 없음)
+                MqttWifiDetectionDto mqttData = csiPayloadDecoder.decode(payload);
+                mqttData.setReceivedAtNanos(receivedAtNanos);
 
                 // 센서 ID (DB Primary Key)와 생존자 탐지 여부를 로그에 기록함
                 log.debug("센서 ID: {}, 생존자 탐지: {}, CSI 데이터 크기: {}",
                         mqttData.getSensorId(),
                         mqttData.getSurvivorDetected(),
-                        mqttData.getCsiAmplitudeSummary() != null ? mqttData.getCsiAmplitudeSummary().size() : 0);
+                        mqttData.getCsiAmplitudeSummary() != null ? mqttData.getCsiAmplitudeSummary().length : 0);
 
-                // [변경] 버퍼 서비스에 메시지를 비동기로 전달함
+                // [변경] 버퍼 서비스에 메시지를 전달함
                 // 센서별로 최신 메시지만 유지되며, 이전 메시지는 자동 폐기됨
                 mqttMessageBufferService.bufferMessage(mqttData);
 
-                log.debug("=== 메시지 버퍼링 완료 (비동기) ===");
+                log.debug("=== 메시지 버퍼링 완료 ===");
 
-            } catch (com.fasterxml.jackson.core.JsonProcessingException e) {
+            } catch (java.io.IOException e) {
                 // JSON 파싱 실패 시 에러 로그를 남김
                 log.error("MQTT 메시지 JSON 파싱 실패: {}", e.getMessage(), e);
+            } catch (java.io.UncheckedIOException e) {
+                // 생존자 탐지 이벤트를 파일에 남기지 못함 - 확인 응답하지 않도록 어댑터로 다시 던짐
+                log.error("MQTT 메시지 버퍼링 실패 (확인 응답하지 않음): {}", e.getMessage(), e);
+                throw e;
             } catch (Exception e) {
                 // 기타 예외 발생 시 에러 로그를 남김
                 log.error("MQTT 메시지 처리 중 오류 발생: {}", e.getMessage(), e);
@@ -213,7 +307,7 @@ public class MqttConfig {
     @ServiceActivator(inputChannel = "mqttInputChannel")
     public MessageHandler handler() {
         return message -> {
-            String payload = (String) message.getPayload();
+            String payload = new String((byte[]) message.getPayload(), StandardCharsets.UTF_8);
             log.info("MQTT received: {}", payload);
         };
     }
@@ -1,9 +1,16 @@
 package opensource.project.repository;
 
 import opensource.project.domain.CCTV;
+import opensource.project.domain.enums.CCTVStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -12,4 +19,35 @@ public interface CCTVRepository extends JpaRepository<CCTV, Long> {
     // CCTV ID로 CCTV 정보 조회
     Optional<CCTV> findByCctvCode(String cctvCode);
 
+    // 상태별 활성 CCTV 목록 조회 (생존 감시 초기 등록용)
+    List<CCTV> findByStatusAndIsActive(CCTVStatus status, Boolean isActive);
+
+    /**
+     * CCTV를 오프라인으로 전환함 (LIVE 상태였으면 INACTIVE로 변경)
+     *
+     * @param id CCTV ID
+     * @return 갱신된 행 수
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE CCTV c SET c.isActive = false, " +
+           "c.status = CASE WHEN c.status = opensource.project.domain.enums.CCTVStatus.LIVE " +
+           "THEN opensource.project.domain.enums.CCTVStatus.INACTIVE ELSE c.status END " +
+           "WHERE c.id = :id")
+    int markOffline(@Param("id") Long id);
+
+    /**
+     * CCTV를 온라인으로 전환함 (INACTIVE 상태였으면 LIVE로 변경)
+     *
+     * @param id CCTV ID
+     * @param lastActiveAt 마지막 활성 시각
+     * @return 갱신된 행 수
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE CCTV c SET c.isActive = true, c.lastActiveAt = :lastActiveAt, " +
+           "c.status = CASE WHEN c.status = opensource.project.domain.enums.CCTVStatus.INACTIVE " +
+           "THEN opensource.project.domain.enums.CCTVStatus.LIVE ELSE c.status END " +
+           "WHERE c.id = :id")
+    int markOnline(@Param("id") Long id, @Param("lastActiveAt") LocalDateTime lastActiveAt);
 }
@@ -0,0 +1,42 @@
+package opensource.project.repository;
+
+import opensource.project.domain.DetectionMinuteRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface DetectionMinuteRollupRepository extends JpaRepository<DetectionMinuteRollup, Long> {
+
+    /**
+     * 가장 최근에 요약된 분 (요약 작업의 진행 위치)
+     *
+     * @return 요약이 없으면 빈 Optional
+     */
+    @Query("SELECT MAX(r.minuteStart) FROM DetectionMinuteRollup r")
+    Optional<LocalDateTime> findLatestMinuteStart();
+
+    /**
+     * 특정 생존자의 분 단위 요약을 시간순으로 조회함
+     *
+     * @param survivorId 생존자 ID
+     * @return 요약 목록
+     */
+    List<DetectionMinuteRollup> findBySurvivorIdOrderByMinuteStartAsc(Long survivorId);
+
+    /**
+     * 보관 기간이 지난 요약을 삭제함 (요약 테이블은 작으므로 행 단위 삭제)
+     *
+     * @param cutoff 이 시각 이전 구간을 삭제
+     * @return 삭제된 행 수
+     */
+    @Modifying
+    @Query("DELETE FROM DetectionMinuteRollup r WHERE r.minuteStart < :cutoff")
+    int deleteByMinuteStartBefore(@Param("cutoff") LocalDateTime cutoff);
+}
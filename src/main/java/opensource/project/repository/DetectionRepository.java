@@ -1,15 +1,25 @@
 package opensource.project.repository;
 
+import jakarta.persistence.QueryHint;
 import opensource.project.domain.Detection;
+import opensource.project.domain.enums.DetectionMethod;
 import opensource.project.domain.enums.DetectionType;
+import opensource.project.dto.DetectionListRow;
+import opensource.project.dto.DetectionRollupRow;
+import org.hibernate.jpa.AvailableHints;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface DetectionRepository extends JpaRepository<Detection, Long> {
@@ -63,6 +73,161 @@ public interface DetectionRepository extends JpaRepository<Detection, Long> {
            "WHERE d.id = :id")
     Optional<Detection> findByIdWithRelations(@Param("id") Long id);
 
+    /**
+     * 최근 WiFi 탐지의 (센서 ID, 생존자 ID, 위치 ID, 탐지 시각)을 탐지 시각 오름차순으로 조회함
+     * 애플리케이션 시작 시 WifiSurvivorTracker의 센서-생존자 맵을 복원하는 데 사용함 (엔티티 로딩 없이 스칼라만 조회)
+     *
+     * @param detectionType 탐지 타입 (DetectionType.WIFI)
+     * @param detectionMethod 생존자 탐지 방법 (DetectionMethod.WIFI)
+     * @param after 이 시각 이후의 탐지만 조회
+     * @return [sensorId, survivorId, locationId, detectedAt] 배열 목록
+     */
+    @Query("SELECT d.wifiSensor.id, d.survivor.id, d.location.id, d.detectedAt FROM Detection d " +
+           "WHERE d.detectionType = :detectionType " +
+           "AND d.detectedAt > :after " +
+           "AND d.survivor.isActive = true " +
+           "AND d.survivor.detectionMethod = :detectionMethod " +
+           "ORDER BY d.detectedAt ASC")
+    List<Object[]> findRecentWifiTrackingRows(@Param("detectionType") DetectionType detectionType,
+                                              @Param("detectionMethod") DetectionMethod detectionMethod,
+                                              @Param("after") LocalDateTime after);
+
+    /**
+     * 목록 조회용 SELECT 절 (LOB 컬럼 제외, 연관 엔티티는 조인으로 한 쿼리에서 읽음)
+     */
+    String LIST_ROW_SELECT = "SELECT new opensource.project.dto.DetectionListRow(" +
+            "d.id, d.detectionType, d.detectedAt, d.detectedStatus, d.aiModelVersion, d.confidence, " +
+            "d.imageUrl, d.videoUrl, d.signalStrength, d.createdAt, s, sl, l, c, cl, w, wl) " +
+            "FROM Detection d " +
+            "JOIN d.survivor s " +
+            "JOIN s.location sl " +
+            "JOIN d.location l " +
+            "LEFT JOIN d.cctv c " +
+            "LEFT JOIN c.location cl " +
+            "LEFT JOIN d.wifiSensor w " +
+            "LEFT JOIN w.location wl ";
+
+    /**
+     * 모든 Detection을 목록용 프로젝션으로 조회함 (행 수와 관계없이 쿼리 1번)
+     *
+     * @return ID 오름차순 DetectionListRow 목록
+     */
+    @Query(LIST_ROW_SELECT + "ORDER BY d.id")
+    List<DetectionListRow> findAllListRows();
+
+    /**
+     * PriorityAssessment가 참조하는 Detection만 목록용 프로젝션으로 조회함 (쿼리 1번)
+     *
+     * @return DetectionListRow 목록
+     */
+    @Query(LIST_ROW_SELECT + "WHERE d.id IN (SELECT p.detection.id FROM PriorityAssessment p)")
+    List<DetectionListRow> findAssessedListRows();
+
+    /**
+     * 키셋 페이지네이션 첫 페이지 (탐지 시각, ID 내림차순)
+     *
+     * @param pageable 조회 개수 (limit + 1)
+     * @return DetectionListRow 목록
+     */
+    @Query(LIST_ROW_SELECT + "ORDER BY d.detectedAt DESC, d.id DESC")
+    List<DetectionListRow> findListRowsFirstPage(Pageable pageable);
+
+    /**
+     * 키셋 페이지네이션 다음 페이지 ((detectedAt, id)가 커서보다 앞선 행)
+     *
+     * @param detectedAt 커서의 탐지 시각
+     * @param id 커서의 Detection ID
+     * @param pageable 조회 개수 (limit + 1)
+     * @return DetectionListRow 목록
+     */
+    @Query(LIST_ROW_SELECT +
+           "WHERE d.detectedAt < :detectedAt OR (d.detectedAt = :detectedAt AND d.id < :id) " +
+           "ORDER BY d.detectedAt DESC, d.id DESC")
+    List<DetectionListRow> findListRowsBefore(@Param("detectedAt") LocalDateTime detectedAt,
+                                              @Param("id") Long id,
+                                              Pageable pageable);
+
+    /**
+     * 주어진 ID의 Detection을 목록용 프로젝션으로 조회함 (우선순위 평가 페이지의 탐지 정보)
+     *
+     * @param ids Detection ID 목록 (페이지 크기 이하)
+     * @return DetectionListRow 목록
+     */
+    @Query(LIST_ROW_SELECT + "WHERE d.id IN :ids")
+    List<DetectionListRow> findListRowsByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * 모든 Detection을 목록용 프로젝션 Stream으로 조회함 (NDJSON 내보내기)
+     * 트랜잭션 안에서 try-with-resources로 사용해야 하며, fetch size만큼씩 DB에서 읽음
+     *
+     * @return 탐지 시각, ID 내림차순 DetectionListRow Stream
+     */
+    @QueryHints({
+            @QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = AvailableHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query(LIST_ROW_SELECT + "ORDER BY d.detectedAt DESC, d.id DESC")
+    Stream<DetectionListRow> streamAllListRows();
+
+    /**
+     * from 이후(포함) 가장 이른 탐지 시각 (분 단위 요약 시작 위치, 빈 구간 건너뛰기)
+     *
+     * @param from 기준 시각
+     * @return 탐지가 없으면 빈 Optional
+     */
+    @Query("SELECT MIN(d.detectedAt) FROM Detection d WHERE d.detectedAt >= :from")
+    Optional<LocalDateTime> findFirstDetectedAtFrom(@Param("from") LocalDateTime from);
+
+    /**
+     * [from, to) 구간의 탐지를 분 단위 요약용 스칼라 프로젝션 Stream으로 조회함
+     * 트랜잭션 안에서 try-with-resources로 사용해야 하며, 엔티티를 만들지 않으므로 영속성 컨텍스트가 커지지 않음
+     *
+     * @param from 구간 시작 (포함)
+     * @param to 구간 끝 (제외)
+     * @return 탐지 시각, ID 오름차순 DetectionRollupRow Stream
+     */
+    @QueryHints({
+            @QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = AvailableHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new opensource.project.dto.DetectionRollupRow(" +
+           "d.id, d.survivor.id, d.location.id, d.detectionType, d.detectedAt, d.detectedStatus, " +
+           "d.confidence, d.humanCount, p.finalRiskScore) " +
+           "FROM Detection d " +
+           "LEFT JOIN PriorityAssessment p ON p.detection = d " +
+           "WHERE d.detectedAt >= :from AND d.detectedAt < :to " +
+           "ORDER BY d.detectedAt, d.id")
+    Stream<DetectionRollupRow> streamRollupRows(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    /**
+     * cutoff 이전 탐지의 ID를 조회함 (파티션이 없는 DB의 보관 기간 삭제, 묶음 단위)
+     *
+     * @param cutoff 기준 시각
+     * @param pageable 묶음 크기
+     * @return Detection ID 목록
+     */
+    @Query("SELECT d.id FROM Detection d WHERE d.detectedAt < :cutoff ORDER BY d.id")
+    List<Long> findIdsDetectedBefore(@Param("cutoff") LocalDateTime cutoff, Pageable pageable);
+
+    /**
+     * 주어진 ID의 Detection을 한 문장으로 삭제함 (참조하는 PriorityAssessment를 먼저 삭제해야 함)
+     *
+     * @param ids Detection ID 목록
+     * @return 삭제된 행 수
+     */
+    @Modifying
+    @Query("DELETE FROM Detection d WHERE d.id IN :ids")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Detection의 분석 이미지 BlobStore 키만 조회함 (이미지가 없으면 빈 Optional)
+     *
+     * @param id Detection ID
+     * @return 분석 이미지 키 Optional
+     */
+    @Query("SELECT d.analyzedImageKey FROM Detection d WHERE d.id = :id")
+    Optional<String> findAnalyzedImageKeyById(@Param("id") Long id);
+
     /**
      * 특정 생존자의 모든 Detection 삭제
      *
@@ -1,10 +1,22 @@
 package opensource.project.repository;
 
+import jakarta.persistence.QueryHint;
 import opensource.project.domain.PriorityAssessment;
+import opensource.project.dto.PriorityAssessmentListRow;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface PriorityAssessmentRepository extends JpaRepository<PriorityAssessment, Long> {
@@ -12,6 +24,49 @@ public interface PriorityAssessmentRepository extends JpaRepository<PriorityAsse
     // 특정 생존자의 가장 최근 분석 점수 조회 (First 키워드로 1개만 조회)
     Optional<PriorityAssessment> findFirstBySurvivor_IdOrderByAssessedAtDesc(Long survivorId);
 
+    // 목록 조회용 SELECT 절 (notes LOB 제외, 생존자와 위치는 조인으로 함께 읽음)
+    String LIST_ROW_SELECT = "SELECT new opensource.project.dto.PriorityAssessmentListRow(" +
+            "p.id, p.detection.id, p.assessedAt, p.statusScore, p.environmentScore, p.confidenceCoefficient, " +
+            "p.finalRiskScore, p.urgencyLevel, p.calculationFormula, p.aiModelVersion, p.createdAt, s, sl) " +
+            "FROM PriorityAssessment p " +
+            "JOIN p.survivor s " +
+            "JOIN s.location sl ";
+
+    // 모든 PriorityAssessment를 목록용 프로젝션으로 조회 (행 수와 관계없이 쿼리 1번)
+    @Query(LIST_ROW_SELECT + "ORDER BY p.id")
+    List<PriorityAssessmentListRow> findAllListRows();
+
+    // 키셋 페이지네이션 첫 페이지 (평가 시각, ID 내림차순, pageable은 limit + 1개)
+    @Query(LIST_ROW_SELECT + "ORDER BY p.assessedAt DESC, p.id DESC")
+    List<PriorityAssessmentListRow> findListRowsFirstPage(Pageable pageable);
+
+    // 키셋 페이지네이션 다음 페이지 ((assessedAt, id)가 커서보다 앞선 행)
+    @Query(LIST_ROW_SELECT +
+           "WHERE p.assessedAt < :assessedAt OR (p.assessedAt = :assessedAt AND p.id < :id) " +
+           "ORDER BY p.assessedAt DESC, p.id DESC")
+    List<PriorityAssessmentListRow> findListRowsBefore(@Param("assessedAt") LocalDateTime assessedAt,
+                                                       @Param("id") Long id,
+                                                       Pageable pageable);
+
+    // 모든 PriorityAssessment를 목록용 프로젝션 Stream으로 조회 (NDJSON 내보내기, 트랜잭션 안에서 try-with-resources로 사용)
+    @QueryHints({
+            @QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = AvailableHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query(LIST_ROW_SELECT + "ORDER BY p.assessedAt DESC, p.id DESC")
+    Stream<PriorityAssessmentListRow> streamAllListRows();
+
+    // 주어진 Detection들을 참조하는 PriorityAssessment를 한 문장으로 삭제 (보관 기간 삭제, Detection보다 먼저 호출)
+    @Modifying
+    @Query("DELETE FROM PriorityAssessment p WHERE p.detection.id IN :detectionIds")
+    int deleteByDetectionIdIn(@Param("detectionIds") Collection<Long> detectionIds);
+
+    // cutoff 이전 Detection을 참조하는 PriorityAssessment 삭제 (파티션 삭제 후 평가 시각이 늦어 남은 행 정리)
+    @Modifying
+    @Query("DELETE FROM PriorityAssessment p WHERE p.detection.id IN " +
+           "(SELECT d.id FROM Detection d WHERE d.detectedAt < :cutoff)")
+    int deleteByDetectionDetectedAtBefore(@Param("cutoff") LocalDateTime cutoff);
+
     // 특정 생존자의 모든 PriorityAssessment 삭제
     void deleteBySurvivor_Id(Long survivorId);
 
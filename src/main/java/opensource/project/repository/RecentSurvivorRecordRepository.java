@@ -1,11 +1,18 @@
 package opensource.project.repository;
 
+import jakarta.persistence.QueryHint;
 import opensource.project.domain.RecentSurvivorRecord;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface RecentSurvivorRecordRepository extends JpaRepository<RecentSurvivorRecord, Long> {
@@ -14,4 +21,36 @@ public interface RecentSurvivorRecordRepository extends JpaRepository<RecentSurv
      * 주어진 시각 이후에 보관된 스냅샷을 최신순으로 조회.
      */
     List<RecentSurvivorRecord> findByArchivedAtAfterOrderByArchivedAtDesc(LocalDateTime after);
+
+    /**
+     * 키셋 페이지네이션 첫 페이지 (보관 시각, ID 내림차순, pageable은 limit + 1개).
+     */
+    @Query("SELECT r FROM RecentSurvivorRecord r " +
+           "WHERE r.archivedAt > :after " +
+           "ORDER BY r.archivedAt DESC, r.id DESC")
+    List<RecentSurvivorRecord> findPageAfter(@Param("after") LocalDateTime after, Pageable pageable);
+
+    /**
+     * 키셋 페이지네이션 다음 페이지 ((archivedAt, id)가 커서보다 앞선 행).
+     */
+    @Query("SELECT r FROM RecentSurvivorRecord r " +
+           "WHERE r.archivedAt > :after " +
+           "AND (r.archivedAt < :archivedAt OR (r.archivedAt = :archivedAt AND r.id < :id)) " +
+           "ORDER BY r.archivedAt DESC, r.id DESC")
+    List<RecentSurvivorRecord> findPageAfterBefore(@Param("after") LocalDateTime after,
+                                                   @Param("archivedAt") LocalDateTime archivedAt,
+                                                   @Param("id") Long id,
+                                                   Pageable pageable);
+
+    /**
+     * 주어진 시각 이후에 보관된 스냅샷을 Stream으로 조회 (NDJSON 내보내기, 트랜잭션 안에서 try-with-resources로 사용).
+     */
+    @QueryHints({
+            @QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = AvailableHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT r FROM RecentSurvivorRecord r " +
+           "WHERE r.archivedAt > :after " +
+           "ORDER BY r.archivedAt DESC, r.id DESC")
+    Stream<RecentSurvivorRecord> streamAfter(@Param("after") LocalDateTime after);
 }
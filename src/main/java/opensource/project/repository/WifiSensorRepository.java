@@ -2,10 +2,13 @@ package opensource.project.repository;
 
 import opensource.project.domain.WifiSensor;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -57,4 +60,46 @@ public interface WifiSensorRepository extends JpaRepository<WifiSensor, Long> {
      */
     @Query("SELECT s FROM WifiSensor s LEFT JOIN FETCH s.location WHERE s.isActive = :isActive")
     List<WifiSensor> findByIsActiveWithLocation(@Param("isActive") Boolean isActive);
+
+    /**
+     * 센서의 마지막 활성 시각을 갱신하고 활성 상태로 표시함
+     * MQTT 수신 경로에서 센서 엔티티를 조회하지 않고 바로 갱신하기 위해 사용함
+     *
+     * @param id 센서 ID
+     * @param lastActiveAt 마지막 활성 시각
+     * @return 갱신된 행 수
+     */
+    @Modifying
+    @Query("UPDATE WifiSensor s SET s.lastActiveAt = :lastActiveAt, s.isActive = true WHERE s.id = :id")
+    int updateLastActiveAt(@Param("id") Long id, @Param("lastActiveAt") LocalDateTime lastActiveAt);
+
+    /**
+     * 센서를 오프라인으로 전환함 (ACTIVE 상태였으면 INACTIVE로 변경, 점검중 상태는 유지)
+     * 일정 시간 메시지가 없을 때 DeviceLivenessMonitor가 호출함
+     *
+     * @param id 센서 ID
+     * @return 갱신된 행 수
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE WifiSensor s SET s.isActive = false, " +
+           "s.status = CASE WHEN s.status = opensource.project.domain.enums.SensorStatus.ACTIVE " +
+           "THEN opensource.project.domain.enums.SensorStatus.INACTIVE ELSE s.status END " +
+           "WHERE s.id = :id")
+    int markOffline(@Param("id") Long id);
+
+    /**
+     * 센서를 온라인으로 전환함 (INACTIVE 상태였으면 ACTIVE로 변경)
+     *
+     * @param id 센서 ID
+     * @param lastActiveAt 마지막 활성 시각
+     * @return 갱신된 행 수
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE WifiSensor s SET s.isActive = true, s.lastActiveAt = :lastActiveAt, " +
+           "s.status = CASE WHEN s.status = opensource.project.domain.enums.SensorStatus.INACTIVE " +
+           "THEN opensource.project.domain.enums.SensorStatus.ACTIVE ELSE s.status END " +
+           "WHERE s.id = :id")
+    int markOnline(@Param("id") Long id, @Param("lastActiveAt") LocalDateTime lastActiveAt);
 }
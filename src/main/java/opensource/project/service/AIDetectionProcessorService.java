@@ -15,6 +15,8 @@ import opensource.project.repository.LocationRepository;
 import opensource.project.repository.SurvivorRepository;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.time.LocalDateTime;
 import java.util.HashSet;
@@ -38,6 +40,8 @@ public class AIDetectionProcessorService {
     private final WebSocketService webSocketService;
     private final PriorityService priorityService;
     private final SurvivorMatchingService survivorMatchingService;
+    private final WifiSurvivorTracker wifiSurvivorTracker;
+    private final CctvFrameEnvelopeCollector frameEnvelopeCollector;
 
     /**
      * AI 모델의 분석 결과를 받아 Survivor, Detection, PriorityAssessment 생성
@@ -77,8 +81,13 @@ public class AIDetectionProcessorService {
             summary = new AIDetectionResultDto.DetectionSummary(0, 0, 0, 0);
         }
 
+        // 이 프레임에서 발생하는 생존자/탐지/점수 변경을 하나의 묶음으로 모음
+        frameEnvelopeCollector.begin(cctvId, locationId, summary);
+
         if (allDetections == null || allDetections.isEmpty()) {
             log.warn("No detections found in AI result. Skipping processing.");
+            // 빈 프레임도 전송하여 클라이언트가 화면의 탐지 표시를 지울 수 있게 함
+            broadcastFrameAfterCommit(cctvId, frameEnvelopeCollector.finish());
             return;
         }
 
@@ -93,19 +102,45 @@ public class AIDetectionProcessorService {
 
         // 사람(Human/Person 등) 객체만 처리
         int humanProcessed = 0;
-        for (AIDetectionResultDto.DetectionObject detection : allDetections) {
-            if (isHumanDetection(detection)) {
-                log.info("Processing human/person detection #{} - class: {}, pose: {}, confidence: {}",
-                        ++humanProcessed, detection.getClassName(), detection.getPose(), detection.getConfidence());
-                processHumanDetection(detection, allDetections, summary, cctv, location, videoUrl, matchedSurvivorIds);
+        try {
+            for (AIDetectionResultDto.DetectionObject detection : allDetections) {
+                if (isHumanDetection(detection)) {
+                    log.info("Processing human/person detection #{} - class: {}, pose: {}, confidence: {}",
+                            ++humanProcessed, detection.getClassName(), detection.getPose(), detection.getConfidence());
+                    processHumanDetection(detection, allDetections, summary, cctv, location, videoUrl, matchedSurvivorIds);
+                }
             }
+        } catch (RuntimeException e) {
+            // 처리에 실패한 프레임(롤백)은 묶음을 전송하지 않음
+            frameEnvelopeCollector.finish();
+            throw e;
         }
 
+        // 프레임 처리 결과를 카메라별 토픽에 메시지 1개로 전송함 (커밋된 뒤)
+        broadcastFrameAfterCommit(cctvId, frameEnvelopeCollector.finish());
+
         log.info("AI detection processing completed. Total detections: {}, Humans processed: {}, Matched survivors: {}",
                 allDetections.size(), humanProcessed, matchedSurvivorIds.size());
 
     }
 
+    /**
+     * 프레임 묶음을 트랜잭션이 커밋된 뒤에 전송함 (롤백되면 전송하지 않음, 트랜잭션 밖이면 바로 전송)
+     * 커밋 전에 보내면 롤백된 생존자/탐지가 화면에 표시될 수 있음
+     */
+    private void broadcastFrameAfterCommit(Long cctvId, CctvFrameEnvelopeDto frame) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            webSocketService.broadcastCctvFrame(cctvId, frame);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                webSocketService.broadcastCctvFrame(cctvId, frame);
+            }
+        });
+    }
+
     /**
      * AI 모델이 사람을 "human" 외에 "person", "people" 등으로 표기할 때를 포함해 판단
      */
@@ -139,6 +174,9 @@ public class AIDetectionProcessorService {
             survivorRepository.save(survivor);
             log.info("Updated existing survivor #{}", survivor.getSurvivorNumber());
 
+            // 마지막 탐지가 CCTV가 되었으므로 WiFi 센서 추적 대상에서 제외
+            wifiSurvivorTracker.evictSurvivor(survivor.getId());
+
             // WebSocket으로 기존 생존자 정보 업데이트 브로드캐스트
             webSocketService.broadcastSurvivorUpdate(survivor.getId(), SurvivorResponseDto.from(survivor));
         } else {
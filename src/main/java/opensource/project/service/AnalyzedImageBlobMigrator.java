@@ -0,0 +1,145 @@
+package opensource.project.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * DETECTION.ANALYZED_IMAGE(LOB)에 남아 있는 기존 분석 이미지를 BlobStore로 옮기는 백그라운드 작업
+ *
+ * 문제:
+ * - 분석 이미지를 BlobStore로 옮긴 뒤에도 이전 버전이 저장한 이미지는 DB LOB 컬럼에 남아 있음
+ *   (ddl-auto: update는 컬럼을 삭제하지 않으므로 LOB 컬럼과 데이터가 그대로 유지됨)
+ * - 한 번에 모두 옮기면 시작이 늦어지고 큰 트랜잭션이 생김
+ *
+ * 해결:
+ * - 주기적으로 LOB가 남은 행을 batch-size개씩 읽어 BlobStore에 저장하고,
+ *   analyzed_image_key를 채우면서 LOB를 NULL로 비움 (행 단위 UPDATE, 다시 실행해도 결과가 같음)
+ * - LOB 컬럼이 없거나(새 DB) 남은 행이 없으면 이후 실행은 조회 없이 바로 끝남
+ * - 저장 후 UPDATE가 실패해도 BlobStore는 내용 주소이므로 다음 실행에서 같은 키로 다시 처리됨
+ * - 아직 옮기지 않은 행의 이미지는 findLegacyImage()로 LOB 컬럼에서 바로 읽을 수 있음 (분석 이미지 조회 API의 대체 경로)
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "blob-store.migration.enabled", havingValue = "true", matchIfMissing = true)
+public class AnalyzedImageBlobMigrator {
+
+    private static final String TABLE = "detection";
+    private static final String LEGACY_COLUMN = "analyzed_image";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final BlobStore blobStore;
+
+    // 더 옮길 행이 없으면 true (재시작 전까지 다시 조회하지 않음)
+    private volatile boolean done;
+    private volatile Boolean legacyColumnPresent;
+
+    public AnalyzedImageBlobMigrator(
+            DataSource dataSource,
+            BlobStore blobStore,
+            @Value("${blob-store.migration.batch-size:20}") int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("blob-store.migration.batch-size는 1 이상이어야 합니다: " + batchSize);
+        }
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setMaxRows(batchSize);
+        this.blobStore = blobStore;
+    }
+
+    /**
+     * LOB가 남은 행을 한 묶음 옮김
+     */
+    @Scheduled(initialDelayString = "${blob-store.migration.interval-ms:10000}",
+               fixedDelayString = "${blob-store.migration.interval-ms:10000}")
+    public void migrateBatch() {
+        if (done) {
+            return;
+        }
+        if (legacyColumnPresent == null) {
+            legacyColumnPresent = hasLegacyColumn();
+        }
+        if (!legacyColumnPresent) {
+            done = true;
+            return;
+        }
+
+        // 결과를 읽는 동안 이미지를 1건씩 BlobStore에 저장하고, UPDATE는 결과 집합을 닫은 뒤 수행함
+        Map<Long, String> keys = new LinkedHashMap<>();
+        jdbcTemplate.query(
+                "SELECT id, " + LEGACY_COLUMN + " FROM " + TABLE + " WHERE " + LEGACY_COLUMN + " IS NOT NULL",
+                (RowCallbackHandler) resultSet -> {
+                    byte[] content = resultSet.getBytes(2);
+                    keys.put(resultSet.getLong(1), blobStore.put(content));
+                });
+
+        if (keys.isEmpty()) {
+            done = true;
+            log.info("분석 이미지 BlobStore 이전 완료");
+            return;
+        }
+        keys.forEach((id, key) -> jdbcTemplate.update(
+                "UPDATE " + TABLE + " SET analyzed_image_key = ?, " + LEGACY_COLUMN + " = NULL WHERE id = ?",
+                key, id));
+        log.info("분석 이미지 {}건을 BlobStore로 이전함", keys.size());
+    }
+
+    /**
+     * 아직 BlobStore로 옮기지 않은 행의 분석 이미지를 LOB 컬럼에서 읽음
+     *
+     * @param detectionId Detection ID
+     * @return 기존 분석 이미지 (LOB 컬럼이 없거나, 이전을 마쳤거나, 해당 행에 이미지가 없으면 빈 값)
+     */
+    public Optional<byte[]> findLegacyImage(Long detectionId) {
+        if (done) {
+            return Optional.empty();
+        }
+        if (legacyColumnPresent == null) {
+            legacyColumnPresent = hasLegacyColumn();
+        }
+        if (!legacyColumnPresent) {
+            return Optional.empty();
+        }
+        List<byte[]> contents = jdbcTemplate.query(
+                "SELECT " + LEGACY_COLUMN + " FROM " + TABLE + " WHERE id = ? AND " + LEGACY_COLUMN + " IS NOT NULL",
+                (resultSet, rowNum) -> resultSet.getBytes(1), detectionId);
+        return contents.stream().findFirst();
+    }
+
+    /**
+     * 이전할 행이 더 없는지 여부 (디버깅용)
+     */
+    public boolean isDone() {
+        return done;
+    }
+
+    private boolean hasLegacyColumn() {
+        Boolean present = jdbcTemplate.execute((ConnectionCallback<Boolean>) connection -> {
+            DatabaseMetaData metaData = connection.getMetaData();
+            // Oracle/H2는 따옴표 없는 식별자를 대문자로 저장하므로 대문자를 먼저 찾음
+            for (String table : new String[]{TABLE.toUpperCase(Locale.ROOT), TABLE}) {
+                String column = table.equals(TABLE) ? LEGACY_COLUMN : LEGACY_COLUMN.toUpperCase(Locale.ROOT);
+                try (ResultSet columns = metaData.getColumns(null, connection.getSchema(), table, column)) {
+                    if (columns.next()) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        });
+        return Boolean.TRUE.equals(present);
+    }
+}
@@ -0,0 +1,43 @@
+package opensource.project.service;
+
+import java.io.IOException;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * 분석 이미지 등 큰 바이너리를 DB 밖에 보관하는 내용 주소(content-addressed) 저장소
+ *
+ * 키는 내용의 SHA-256 (소문자 16진수 64자)이므로 같은 내용은 한 번만 저장되고, 키가 같으면 내용도 같음
+ * 구현체는 blob-store.type 설정으로 선택함 (현재 local만 제공, LocalFileBlobStore 참고)
+ */
+public interface BlobStore {
+
+    /**
+     * 내용을 저장하고 키를 반환함 (이미 있으면 다시 쓰지 않음)
+     *
+     * @param content 저장할 내용
+     * @return SHA-256 키
+     */
+    String put(byte[] content);
+
+    /**
+     * 키에 해당하는 내용이 있는지 확인함
+     */
+    boolean exists(String key);
+
+    /**
+     * 저장된 내용의 바이트 수
+     *
+     * @throws IllegalArgumentException 키가 없거나 형식이 잘못된 경우
+     */
+    long size(String key);
+
+    /**
+     * 저장된 내용을 메모리에 모두 올리지 않고 target으로 전송함
+     *
+     * @param key SHA-256 키
+     * @param target 응답 스트림 등 전송 대상
+     * @throws IllegalArgumentException 키가 없거나 형식이 잘못된 경우
+     * @throws IOException 전송 중 대상이 닫힌 경우 등
+     */
+    void transferTo(String key, WritableByteChannel target) throws IOException;
+}
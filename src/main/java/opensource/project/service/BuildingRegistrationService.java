@@ -13,6 +13,7 @@ import opensource.project.dto.BuildingRegisterRequest;
 import opensource.project.repository.CCTVRepository;
 import opensource.project.repository.LocationRepository;
 import opensource.project.repository.WifiSensorRepository;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -37,6 +38,8 @@ public class BuildingRegistrationService {
     private final LocationRepository locationRepository;
     private final CCTVRepository cctvRepository;
     private final WifiSensorRepository wifiSensorRepository;
+    private final WifiSurvivorTracker wifiSurvivorTracker;
+    private final ApplicationEventPublisher eventPublisher;
 
     @PersistenceContext
     private EntityManager entityManager;
@@ -51,6 +54,7 @@ public class BuildingRegistrationService {
         wifiSensorRepository.deleteAllInBatch();
         cctvRepository.deleteAllInBatch();
         locationRepository.deleteAllInBatch();
+        wifiSurvivorTracker.clear();
 
         // 2) 시퀀스 리셋 (H2/PostgreSQL 기준 RESTART 사용)
         resetSequence("LOCATION_SEQ", 1);
@@ -120,6 +124,9 @@ public class BuildingRegistrationService {
                 })
                 .collect(Collectors.toList());
         wifiSensorRepository.saveAll(savedWifiSensors);
+
+        // 7) 커밋 후 MQTT 수신 경로의 센서 스냅샷을 다시 만듦
+        eventPublisher.publishEvent(new WifiSensorsChangedEvent());
     }
 
     @Transactional(readOnly = true)
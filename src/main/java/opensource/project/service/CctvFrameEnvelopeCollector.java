@@ -0,0 +1,106 @@
+package opensource.project.service;
+
+import opensource.project.dto.AIDetectionResultDto;
+import opensource.project.dto.CctvFrameEnvelopeDto;
+import opensource.project.service.StompPayloadPublisher.EncodedPayload;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * CCTV 프레임 처리 중 발생한 생존자/탐지/점수 변경을 프레임 단위로 모으는 컴포넌트
+ *
+ * - AIDetectionProcessorService가 프레임 처리 시작 시 begin(), 끝나면 finish()를 호출함
+ * - 그 사이 WebSocketService의 개별 브로드캐스트가 record*()로 같은 내용을 현재 프레임에 추가함
+ *   (개별 토픽용으로 직렬화한 JSON을 그대로 추가하므로 다시 직렬화하지 않음)
+ *   (생존자 매칭, 점수 계산 등 하위 서비스의 시그니처를 바꾸지 않고 수집함)
+ * - 프레임은 처리 스레드별로 관리하며, 프레임 밖(REST API 등)에서 호출된 record*()는 무시함
+ */
+@Component
+public class CctvFrameEnvelopeCollector {
+
+    private final ThreadLocal<CctvFrameEnvelopeDto> currentFrame = new ThreadLocal<>();
+
+    // CCTV ID → 마지막 프레임 순번
+    private final ConcurrentHashMap<Long, AtomicLong> frameSequences = new ConcurrentHashMap<>();
+
+    /**
+     * 현재 스레드에서 새 프레임 수집을 시작함
+     *
+     * @param cctvId CCTV ID
+     * @param locationId 위치 ID
+     * @param summary AI 분석 요약
+     */
+    public void begin(Long cctvId, Long locationId, AIDetectionResultDto.DetectionSummary summary) {
+        currentFrame.set(CctvFrameEnvelopeDto.builder()
+                .cctvId(cctvId)
+                .locationId(locationId)
+                .summary(summary)
+                .build());
+    }
+
+    /**
+     * 현재 스레드에서 수집 중인 프레임의 CCTV ID
+     *
+     * @return CCTV ID (수집 중이 아니면 null)
+     */
+    public Long currentCctvId() {
+        CctvFrameEnvelopeDto frame = currentFrame.get();
+        return frame != null ? frame.getCctvId() : null;
+    }
+
+    /**
+     * 현재 스레드의 프레임 수집을 끝내고 묶음을 반환함
+     *
+     * @return 프레임 묶음 (begin() 없이 호출되면 null)
+     */
+    public CctvFrameEnvelopeDto finish() {
+        CctvFrameEnvelopeDto frame = currentFrame.get();
+        currentFrame.remove();
+        if (frame == null) {
+            return null;
+        }
+        long sequence = frameSequences.computeIfAbsent(frame.getCctvId(), id -> new AtomicLong()).incrementAndGet();
+        return CctvFrameEnvelopeDto.builder()
+                .cctvId(frame.getCctvId())
+                .locationId(frame.getLocationId())
+                .frameSequence(sequence)
+                .processedAt(LocalDateTime.now())
+                .summary(frame.getSummary())
+                .newSurvivors(frame.getNewSurvivors())
+                .updatedSurvivors(frame.getUpdatedSurvivors())
+                .detections(frame.getDetections())
+                .scores(frame.getScores())
+                .build();
+    }
+
+    public void recordNewSurvivor(EncodedPayload survivor) {
+        CctvFrameEnvelopeDto frame = currentFrame.get();
+        if (frame != null) {
+            frame.getNewSurvivors().add(survivor.asRawValue());
+        }
+    }
+
+    public void recordSurvivorUpdate(EncodedPayload survivor) {
+        CctvFrameEnvelopeDto frame = currentFrame.get();
+        if (frame != null) {
+            frame.getUpdatedSurvivors().add(survivor.asRawValue());
+        }
+    }
+
+    public void recordDetection(EncodedPayload detection) {
+        CctvFrameEnvelopeDto frame = currentFrame.get();
+        if (frame != null) {
+            frame.getDetections().add(detection.asRawValue());
+        }
+    }
+
+    public void recordScore(Long survivorId, EncodedPayload score) {
+        CctvFrameEnvelopeDto frame = currentFrame.get();
+        if (frame != null) {
+            frame.getScores().add(new CctvFrameEnvelopeDto.ScoreChange(survivorId, score.asRawValue()));
+        }
+    }
+}
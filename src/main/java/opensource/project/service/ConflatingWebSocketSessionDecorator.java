@@ -0,0 +1,326 @@
+package opensource.project.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.socket.BinaryMessage;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.SessionLimitExceededException;
+import org.springframework.web.socket.handler.WebSocketSessionDecorator;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Predicate;
+
+/**
+ * 세션별 송신 큐에서 같은 구독의 최신 상태만 남기는(conflation) WebSocket 세션 데코레이터
+ *
+ * 문제:
+ * - 느린 클라이언트(예: LTE 환경 태블릿)가 CSI 신호를 구독하면 전송이 밀리는 동안 이전 프레임이
+ *   계속 쌓여, 클라이언트는 이미 지난 신호를 순서대로 받다가 결국 세션이 종료됨
+ *
+ * 해결:
+ * - 송신은 큐에 넣고 즉시 반환하며, 실제 전송은 세션당 하나의 작업이 전송 실행기에서 순서대로 수행함
+ * - 큐에 아직 전송되지 않은 같은 키의 메시지가 있으면 이전 메시지를 빼고 새 메시지를 큐 끝에 넣음
+ *   (다른 메시지보다 앞당겨 전송되지 않도록 도착 순서를 따름)
+ *   - 키: STOMP MESSAGE 프레임의 subscription + destination
+ *   - 대상: 최신 값만 의미 있는 토픽 (/topic/wifi-sensor/{sensorId}/signal 등)
+ *   - /ws/csi 바이너리 프레임은 센서 ID를 키로 사용함 (CsiBinaryFrameCodec 참고)
+ *   - 순번(seq 헤더)이 붙은 이벤트는 토픽과 무관하게 교체하지 않음 (EventReplayLog 참고)
+ *   - 그 외 메시지(변경분, 이력, 하트비트 등)는 교체하지 않고 순서대로 전송함
+ * - 교체 후에도 큐가 버퍼 한도를 넘으면 정책에 따라 처리함
+ *   - DROP_OLDEST: 버려도 되는 메시지(순번이 없는 MESSAGE 프레임, 바이너리 프레임)만 오래된 것부터 버리고,
+ *     그래도 한도를 넘으면 세션을 종료함 (순번 이벤트와 STOMP 제어 프레임은 버리지 않음)
+ *   - DISCONNECT: SessionLimitExceededException으로 세션을 종료함
+ * - 진행 중인 전송이 전송 시간 한도를 넘으면 정책과 무관하게 세션을 종료함
+ *   (다음 송신 시 확인하고, 송신이 없어도 WebSocketSessionGuard가 주기적으로 closeIfSendStalled를 호출함)
+ *
+ * 따라서 세션당 메모리는 버퍼 한도로 제한되고, 교체 대상 토픽은 키 수만큼만 쌓임
+ */
+@Slf4j
+class ConflatingWebSocketSessionDecorator extends WebSocketSessionDecorator {
+
+    private final int sendTimeLimitMillis;
+    private final int bufferSizeLimitBytes;
+    private final WebSocketSessionGuard.SlowConsumerPolicy policy;
+    private final Predicate<String> conflatedDestination;
+    private final Executor sendExecutor;
+
+    // 키 → 전송 대기 메시지 (교체 대상이 아닌 메시지는 큐 순번을 키로 사용)
+    private final LinkedHashMap<Object, Queued> queue = new LinkedHashMap<>();
+    private long queueSequence;
+    private int bufferSize;
+    private boolean draining;
+    private boolean limitExceeded;
+
+    private long conflatedMessages;
+    private long droppedMessages;
+
+    private volatile long sendStartTime;
+
+    // 전송 시간 초과로 종료를 시작했는지 여부
+    private final AtomicBoolean stalledClose = new AtomicBoolean();
+
+    /**
+     * 전송 대기 메시지
+     *
+     * @param droppable DROP_OLDEST 정책에서 버릴 수 있는지 여부
+     */
+    private record Queued(WebSocketMessage<?> message, boolean droppable) {
+    }
+
+    /**
+     * 메시지의 교체 키와 폐기 가능 여부
+     *
+     * @param conflationKey 교체 키 (교체 대상이 아니면 null)
+     */
+    private record Route(String conflationKey, boolean droppable) {
+    }
+
+    ConflatingWebSocketSessionDecorator(WebSocketSession delegate,
+                                        int sendTimeLimitMillis,
+                                        int bufferSizeLimitBytes,
+                                        WebSocketSessionGuard.SlowConsumerPolicy policy,
+                                        Predicate<String> conflatedDestination,
+                                        Executor sendExecutor) {
+        super(delegate);
+        this.sendTimeLimitMillis = sendTimeLimitMillis;
+        this.bufferSizeLimitBytes = bufferSizeLimitBytes;
+        this.policy = policy;
+        this.conflatedDestination = conflatedDestination;
+        this.sendExecutor = sendExecutor;
+    }
+
+    /**
+     * 메시지를 송신 큐에 넣고, 전송 작업이 없으면 시작함
+     *
+     * @throws SessionLimitExceededException 버퍼 한도(DISCONNECT 정책이거나 버릴 수 있는 메시지가 없는 경우) 또는 전송 시간 한도를 넘은 경우
+     */
+    @Override
+    public void sendMessage(WebSocketMessage<?> message) throws IOException {
+        Route route = route(message);
+        boolean startDrain;
+        synchronized (queue) {
+            if (limitExceeded) {
+                return;
+            }
+            Object key = route.conflationKey() != null ? route.conflationKey() : queueSequence++;
+            // 이전 메시지를 먼저 빼야 새 메시지가 큐 끝(도착 순서 위치)에 들어감
+            Queued replaced = queue.remove(key);
+            queue.put(key, new Queued(message, route.droppable()));
+            bufferSize += message.getPayloadLength();
+            if (replaced != null) {
+                bufferSize -= replaced.message().getPayloadLength();
+                conflatedMessages++;
+            }
+
+            if (bufferSize > bufferSizeLimitBytes) {
+                if (policy == WebSocketSessionGuard.SlowConsumerPolicy.DROP_OLDEST) {
+                    dropOldest();
+                }
+                // DISCONNECT 정책이거나, 버릴 수 없는 메시지만으로 한도를 넘은 경우
+                if (bufferSize > bufferSizeLimitBytes) {
+                    int exceeded = bufferSize;
+                    exceedLimit();
+                    throw new SessionLimitExceededException(
+                            "송신 버퍼 " + exceeded + " bytes가 한도 " + bufferSizeLimitBytes + " bytes를 넘음",
+                            CloseStatus.SESSION_NOT_RELIABLE);
+                }
+            }
+
+            startDrain = !draining && !queue.isEmpty();
+            if (startDrain) {
+                draining = true;
+            }
+        }
+
+        if (startDrain) {
+            sendExecutor.execute(this::drain);
+            return;
+        }
+        long sendTime = getTimeSinceSendStarted();
+        if (sendTime > sendTimeLimitMillis) {
+            synchronized (queue) {
+                exceedLimit();
+            }
+            throw new SessionLimitExceededException(
+                    "전송이 " + sendTime + "ms 동안 끝나지 않음 (한도 " + sendTimeLimitMillis + "ms)",
+                    CloseStatus.SESSION_NOT_RELIABLE);
+        }
+    }
+
+    /**
+     * 큐가 빌 때까지 순서대로 전송함 (세션당 한 스레드만 실행)
+     */
+    private void drain() {
+        while (true) {
+            WebSocketMessage<?> next;
+            synchronized (queue) {
+                Iterator<Queued> iterator = queue.values().iterator();
+                if (limitExceeded || !iterator.hasNext()) {
+                    draining = false;
+                    return;
+                }
+                next = iterator.next().message();
+                iterator.remove();
+                bufferSize -= next.getPayloadLength();
+            }
+
+            sendStartTime = System.currentTimeMillis();
+            try {
+                getDelegate().sendMessage(next);
+            } catch (IOException | RuntimeException e) {
+                // 연결이 끊긴 경우이므로 남은 메시지는 버리고, 세션 종료 처리는 전송 계층에 맡김
+                log.debug("WebSocket 전송 실패 - 세션: {}, 원인: {}", getId(), e.getMessage());
+                synchronized (queue) {
+                    exceedLimit();
+                    draining = false;
+                }
+                return;
+            } finally {
+                sendStartTime = 0;
+            }
+        }
+    }
+
+    /**
+     * 버퍼 한도 아래로 내려갈 때까지 버릴 수 있는 메시지를 오래된 것부터 버림 (queue 잠금 안에서 호출)
+     */
+    private void dropOldest() {
+        Iterator<Queued> iterator = queue.values().iterator();
+        while (bufferSize > bufferSizeLimitBytes && iterator.hasNext()) {
+            Queued queued = iterator.next();
+            if (!queued.droppable()) {
+                continue;
+            }
+            bufferSize -= queued.message().getPayloadLength();
+            iterator.remove();
+            droppedMessages++;
+        }
+    }
+
+    /**
+     * 진행 중인 전송이 전송 시간 한도를 넘었으면 세션을 종료함 (세션당 한 번)
+     * 막힌 전송은 연결이 닫혀야 풀리므로, 송신이 더 없어도 주기적으로 호출해야 함
+     */
+    void closeIfSendStalled() {
+        if (getTimeSinceSendStarted() <= sendTimeLimitMillis || !stalledClose.compareAndSet(false, true)) {
+            return;
+        }
+        log.warn("전송이 {}ms 동안 끝나지 않아 세션 종료 - 세션: {}", getTimeSinceSendStarted(), getId());
+        try {
+            close(CloseStatus.SESSION_NOT_RELIABLE);
+        } catch (IOException e) {
+            log.debug("WebSocket 세션 종료 실패 - 세션: {}, 원인: {}", getId(), e.getMessage());
+        }
+    }
+
+    /**
+     * 이후 송신을 모두 무시하도록 표시하고 큐를 비움 (queue 잠금 안에서 호출)
+     */
+    private void exceedLimit() {
+        limitExceeded = true;
+        droppedMessages += queue.size();
+        queue.clear();
+        bufferSize = 0;
+    }
+
+    /**
+     * 메시지의 교체 키와 폐기 가능 여부를 정함
+     * - CSI 바이너리 프레임: 센서 ID 키, 버릴 수 있음
+     * - 순번(seq 헤더)이 붙은 STOMP MESSAGE 프레임: 교체하지 않고 버리지 않음
+     * - 교체 대상 토픽의 STOMP MESSAGE 프레임: subscription + destination 키, 버릴 수 있음
+     * - 그 밖의 STOMP MESSAGE 프레임과 하트비트: 교체하지 않고, 버릴 수 있음
+     * - STOMP 제어 프레임(CONNECTED, RECEIPT, ERROR 등): 교체하지 않고 버리지 않음
+     */
+    private Route route(WebSocketMessage<?> message) {
+        if (message instanceof BinaryMessage binaryMessage) {
+            Long sensorId = CsiBinaryFrameCodec.sensorIdOf(binaryMessage.getPayload());
+            return new Route(sensorId != null ? "csi@" + sensorId : null, true);
+        }
+        if (!(message instanceof TextMessage textMessage)) {
+            return new Route(null, false);
+        }
+        String frame = textMessage.getPayload();
+        if (!frame.startsWith("MESSAGE\n")) {
+            return new Route(null, frame.isBlank());
+        }
+        int headersEnd = frame.indexOf("\n\n");
+        if (headersEnd < 0) {
+            return new Route(null, true);
+        }
+        if (header(frame, StompPayloadPublisher.SEQ_HEADER, headersEnd) != null) {
+            return new Route(null, false);
+        }
+        String destination = header(frame, "destination", headersEnd);
+        if (destination == null || !conflatedDestination.test(destination)) {
+            return new Route(null, true);
+        }
+        return new Route(header(frame, "subscription", headersEnd) + "@" + destination, true);
+    }
+
+    private static String header(String frame, String name, int headersEnd) {
+        int index = frame.indexOf("\n" + name + ":");
+        if (index < 0 || index >= headersEnd) {
+            return null;
+        }
+        int start = index + name.length() + 2;
+        return frame.substring(start, frame.indexOf('\n', start));
+    }
+
+    /**
+     * 전송 대기 중인 바이트 수
+     */
+    public int getBufferSize() {
+        synchronized (queue) {
+            return bufferSize;
+        }
+    }
+
+    /**
+     * 전송 대기 중인 메시지 수
+     */
+    public int getQueuedMessages() {
+        synchronized (queue) {
+            return queue.size();
+        }
+    }
+
+    /**
+     * 최신 메시지로 교체되어 전송되지 않은 메시지 수 (누적)
+     */
+    public long getConflatedMessages() {
+        synchronized (queue) {
+            return conflatedMessages;
+        }
+    }
+
+    /**
+     * 버퍼 한도 초과 또는 세션 종료로 버린 메시지 수 (누적)
+     */
+    public long getDroppedMessages() {
+        synchronized (queue) {
+            return droppedMessages;
+        }
+    }
+
+    /**
+     * 진행 중인 전송의 경과 시간 (ms, 전송 중이 아니면 0)
+     */
+    public long getTimeSinceSendStarted() {
+        long start = sendStartTime;
+        return start > 0 ? System.currentTimeMillis() - start : 0;
+    }
+
+    @Override
+    public void close(CloseStatus status) throws IOException {
+        synchronized (queue) {
+            exceedLimit();
+        }
+        super.close(status);
+    }
+}
@@ -0,0 +1,99 @@
+package opensource.project.service;
+
+import opensource.project.dto.WifiSignalDto;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.time.ZoneId;
+
+/**
+ * WiFi CSI 신호 프레임의 바이너리 형식 인코더 (/ws/csi 전용)
+ *
+ * JSON 경로(/topic/wifi-sensor/{sensorId}/signal)는 진폭을 double 배열 문자열로, 시각을 ISO 문자열로 보내므로
+ * 프레임이 크고 직렬화 비용이 큼. 바이너리 경로는 고정 헤더 뒤에 float32 진폭을 그대로 붙임
+ *
+ * 형식 (little-endian, 헤더 20바이트):
+ * <pre>
+ * offset  size  내용
+ * 0       1     형식 버전 (1)
+ * 1       1     flags (bit0 survivor_detected, bit1 presence_detected, bit2 movement_detected, bit3 breathing_detected)
+ * 2       2     진폭 개수 N (uint16)
+ * 4       8     sensorId (int64)
+ * 12      8     측정 시각 (epoch millis, int64)
+ * 20      4*N   csi_amplitude_summary (float32)
+ * </pre>
+ * 생존자 ID, 생체 신호 수치 등 나머지 필드는 JSON 경로로만 전달함
+ */
+public final class CsiBinaryFrameCodec {
+
+    public static final byte VERSION = 1;
+    public static final int HEADER_BYTES = 20;
+
+    public static final int FLAG_SURVIVOR_DETECTED = 1;
+    public static final int FLAG_PRESENCE_DETECTED = 1 << 1;
+    public static final int FLAG_MOVEMENT_DETECTED = 1 << 2;
+    public static final int FLAG_BREATHING_DETECTED = 1 << 3;
+
+    private static final int MAX_AMPLITUDES = 0xFFFF;
+
+    private CsiBinaryFrameCodec() {
+    }
+
+    /**
+     * 신호 프레임을 바이너리 형식으로 인코딩함
+     *
+     * @param signal WiFi 신호 데이터
+     * @return 인코딩된 프레임
+     */
+    public static byte[] encode(WifiSignalDto signal) {
+        double[] amplitudes = signal.getCsiAmplitudeSummary() != null ? signal.getCsiAmplitudeSummary() : new double[0];
+        if (amplitudes.length > MAX_AMPLITUDES) {
+            throw new IllegalArgumentException("CSI 진폭 개수가 바이너리 형식 한도를 넘음: " + amplitudes.length);
+        }
+        long epochMillis = signal.getTimestamp() != null
+                ? signal.getTimestamp().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli()
+                : System.currentTimeMillis();
+
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_BYTES + amplitudes.length * Float.BYTES)
+                .order(ByteOrder.LITTLE_ENDIAN);
+        buffer.put(VERSION);
+        buffer.put((byte) flags(signal));
+        buffer.putShort((short) amplitudes.length);
+        buffer.putLong(signal.getSensorId());
+        buffer.putLong(epochMillis);
+        for (double amplitude : amplitudes) {
+            buffer.putFloat((float) amplitude);
+        }
+        return buffer.array();
+    }
+
+    /**
+     * 바이너리 프레임의 센서 ID를 읽음 (세션 송신 큐의 최신 값 교체 키로 사용)
+     *
+     * @param frame 인코딩된 프레임
+     * @return 센서 ID (이 형식의 프레임이 아니면 null)
+     */
+    public static Long sensorIdOf(ByteBuffer frame) {
+        if (frame.remaining() < HEADER_BYTES || frame.get(frame.position()) != VERSION) {
+            return null;
+        }
+        return frame.duplicate().order(ByteOrder.LITTLE_ENDIAN).getLong(frame.position() + 4);
+    }
+
+    private static int flags(WifiSignalDto signal) {
+        int flags = 0;
+        if (Boolean.TRUE.equals(signal.getSurvivorDetected())) {
+            flags |= FLAG_SURVIVOR_DETECTED;
+        }
+        if (Boolean.TRUE.equals(signal.getPresenceDetected())) {
+            flags |= FLAG_PRESENCE_DETECTED;
+        }
+        if (Boolean.TRUE.equals(signal.getMovementDetected())) {
+            flags |= FLAG_MOVEMENT_DETECTED;
+        }
+        if (Boolean.TRUE.equals(signal.getBreathingDetected())) {
+            flags |= FLAG_BREATHING_DETECTED;
+        }
+        return flags;
+    }
+}
@@ -0,0 +1,180 @@
+package opensource.project.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import opensource.project.dto.WifiSignalDto;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.BinaryMessage;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.SessionLimitExceededException;
+import org.springframework.web.socket.handler.TextWebSocketHandler;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * WiFi CSI 신호를 바이너리 WebSocket 프레임으로 전송하는 핸들러 (엔드포인트: /ws/csi, SockJS 미지원)
+ *
+ * STOMP JSON 경로(/topic/wifi-sensor/{sensorId}/signal)를 대체하는 선택형 경로로,
+ * 센서별 신호 프레임을 CsiBinaryFrameCodec 형식으로 한 번 인코딩하여 구독한 세션에 같은 byte[]를 보냄
+ *
+ * 구독 방법:
+ * - 연결 시 쿼리 파라미터: /ws/csi?sensors=1,2,3
+ * - 연결 후 텍스트 메시지로 구독 목록 교체: {"sensors": [1, 2, 3]}
+ * - 센서 ID가 정수가 아니거나 메시지 형식이 맞지 않으면 세션을 1007(BAD_DATA)로 종료함
+ *
+ * 세션은 WebSocketSessionGuard가 감싸므로 느린 클라이언트에게는 센서별 최신 프레임만 전달됨
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CsiBinaryWebSocketHandler extends TextWebSocketHandler {
+
+    private final ObjectMapper objectMapper;
+
+    // 센서 ID → 구독 세션
+    private final ConcurrentHashMap<Long, Set<WebSocketSession>> sessionsBySensor = new ConcurrentHashMap<>();
+
+    // 세션 ID → 구독 센서 ID
+    private final ConcurrentHashMap<String, Set<Long>> sensorsBySession = new ConcurrentHashMap<>();
+
+    // 세션 ID → 연결 시 받은 세션 (송신 큐 데코레이터, 수신 메시지에는 원본 세션이 전달되므로 따로 보관)
+    private final ConcurrentHashMap<String, WebSocketSession> sessions = new ConcurrentHashMap<>();
+
+    @Override
+    public void afterConnectionEstablished(WebSocketSession session) {
+        String sensors = session.getUri() != null
+                ? UriComponentsBuilder.fromUri(session.getUri()).build().getQueryParams().getFirst("sensors")
+                : null;
+        Set<Long> sensorIds = new HashSet<>();
+        if (sensors != null) {
+            for (String sensorId : sensors.split(",")) {
+                if (sensorId.isBlank()) {
+                    continue;
+                }
+                try {
+                    sensorIds.add(Long.parseLong(sensorId.trim()));
+                } catch (NumberFormatException e) {
+                    rejectSubscription(session, "sensors 쿼리 파라미터의 센서 ID가 정수가 아님: " + sensorId);
+                    return;
+                }
+            }
+        }
+        sessions.put(session.getId(), session);
+        subscribe(session, sensorIds);
+        log.info("CSI 바이너리 스트림 연결 - 세션: {}, 센서: {}", session.getId(), sensorIds);
+    }
+
+    /**
+     * 구독 목록 교체 요청을 처리함: {"sensors": [1, 2, 3]}
+     */
+    @Override
+    protected void handleTextMessage(WebSocketSession session, TextMessage message) {
+        JsonNode sensors;
+        try {
+            sensors = objectMapper.readTree(message.getPayload()).path("sensors");
+        } catch (JsonProcessingException e) {
+            rejectSubscription(session, "구독 메시지가 JSON이 아님");
+            return;
+        }
+        if (!sensors.isArray()) {
+            rejectSubscription(session, "sensors 배열이 필요함");
+            return;
+        }
+        Set<Long> sensorIds = new HashSet<>();
+        for (JsonNode sensorId : sensors) {
+            if (!sensorId.isIntegralNumber() || !sensorId.canConvertToLong()) {
+                rejectSubscription(session, "sensors 배열의 센서 ID가 정수가 아님: " + sensorId);
+                return;
+            }
+            sensorIds.add(sensorId.asLong());
+        }
+        WebSocketSession guarded = sessions.get(session.getId());
+        if (guarded != null) {
+            subscribe(guarded, sensorIds);
+        }
+    }
+
+    @Override
+    public void afterConnectionClosed(WebSocketSession session, CloseStatus status) {
+        WebSocketSession guarded = sessions.remove(session.getId());
+        if (guarded != null) {
+            subscribe(guarded, Set.of());
+        }
+        sensorsBySession.remove(session.getId());
+    }
+
+    /**
+     * 신호 프레임을 해당 센서를 구독한 세션에 바이너리로 전송함 (구독 세션이 없으면 인코딩하지 않음)
+     *
+     * @param signal WiFi 신호 데이터
+     */
+    public void broadcast(WifiSignalDto signal) {
+        Set<WebSocketSession> subscribers = sessionsBySensor.get(signal.getSensorId());
+        if (subscribers == null || subscribers.isEmpty()) {
+            return;
+        }
+        byte[] frame = CsiBinaryFrameCodec.encode(signal);
+        for (WebSocketSession session : subscribers) {
+            try {
+                // 전송 중 position이 바뀌므로 세션마다 버퍼만 새로 감쌈 (byte[]는 공유)
+                session.sendMessage(new BinaryMessage(frame));
+            } catch (SessionLimitExceededException e) {
+                // 느린 구독자 정책(DISCONNECT, 전송 시간 초과)에 따라 세션을 종료함
+                closeQuietly(session, e.getStatus());
+            } catch (IOException | RuntimeException e) {
+                log.debug("CSI 바이너리 프레임 전송 실패 - 세션: {}, 원인: {}", session.getId(), e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * 바이너리 스트림을 구독 중인 센서 수
+     */
+    public int getSubscribedSensorCount() {
+        return sessionsBySensor.size();
+    }
+
+    /**
+     * 잘못된 구독 요청을 받은 세션을 1007(BAD_DATA)로 종료함 (기존 구독은 연결 종료 시 정리됨)
+     */
+    private static void rejectSubscription(WebSocketSession session, String reason) {
+        log.warn("CSI 바이너리 스트림 구독 요청 거부 - 세션: {}, 원인: {}", session.getId(), reason);
+        closeQuietly(session, CloseStatus.BAD_DATA);
+    }
+
+    private static void closeQuietly(WebSocketSession session, CloseStatus status) {
+        try {
+            session.close(status);
+        } catch (IOException e) {
+            log.debug("CSI 바이너리 스트림 세션 종료 실패 - 세션: {}, 원인: {}", session.getId(), e.getMessage());
+        }
+    }
+
+    private void subscribe(WebSocketSession session, Set<Long> sensorIds) {
+        Set<Long> previous = sensorsBySession.put(session.getId(), Set.copyOf(sensorIds));
+        if (previous != null) {
+            for (Long sensorId : previous) {
+                sessionsBySensor.computeIfPresent(sensorId, (id, subscribers) -> {
+                    subscribers.remove(session);
+                    return subscribers.isEmpty() ? null : subscribers;
+                });
+            }
+        }
+        for (Long sensorId : sensorIds) {
+            sessionsBySensor.compute(sensorId, (id, subscribers) -> {
+                Set<WebSocketSession> updated = subscribers != null ? subscribers : ConcurrentHashMap.newKeySet();
+                updated.add(session);
+                return updated;
+            });
+        }
+    }
+}
@@ -0,0 +1,209 @@
+package opensource.project.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 센서별 빈 방(empty-room) CSI 기준선과 비교하여 존재 점수(z-score)를 계산하는 컴포넌트
+ *
+ * 문제:
+ * - 생존자 존재 판단이 ESP32가 보내는 survivor_detected 플래그에만 의존함
+ *
+ * 해결 (서버 측 2차 판단):
+ * 1. 보정 구간: 센서의 처음 calibration-frames개 프레임으로 부반송파별 평균/분산 기준선을 만듦
+ *    (Welford 온라인 알고리즘, 프레임을 저장하지 않음)
+ * 2. 판정: 이후 프레임마다 부반송파별 z = (진폭 - 평균) / 표준편차를 구하고,
+ *    제곱 평균의 제곱근(RMS)을 존재 점수로 사용함. 점수가 threshold 이상이면 존재로 판단함
+ * 3. 적응: 존재로 판단되지 않은 프레임은 기준선에 계속 반영하여 환경 변화(문 개폐, 온도 등)를 따라감
+ *    표본 수를 calibration-frames로 제한하여 최근 프레임 가중치가 일정하게 유지되도록 함 (지수 가중 평균과 동일)
+ * 4. 고착 방지: 존재 판단이 max-present-seconds 넘게 끊이지 않으면 환경이 영구히 바뀐 것으로 보고
+ *    (가구 이동, AP 위치 변경 등) 기준선을 버리고 현재 프레임부터 다시 보정함
+ *    존재로 판단된 프레임은 기준선에 반영하지 않으므로, 이 제한이 없으면 존재 판단이 계속 유지됨
+ *    (장시간 움직이지 않는 생존자도 재보정 후에는 기준선에 흡수되므로, ESP32의 survivor_detected 판단을 대체하지 않음)
+ *
+ * 성능:
+ * - 프레임당 O(부반송파 수), 보정 완료 후 프레임 처리 중 할당 없음
+ * - 부반송파 수가 바뀌면(펌웨어 변경 등) 기준선을 버리고 다시 보정함
+ * - 보정 중이거나 기준선이 없으면 점수는 NaN임
+ *
+ * 설정:
+ * - csi-presence.calibration-frames: 보정 구간 프레임 수 (기본값: 100)
+ * - csi-presence.threshold: 존재 판단 z-score 임계값 (기본값: 3.0)
+ * - csi-presence.max-present-seconds: 존재 판단이 이 시간 넘게 이어지면 재보정 (기본값: 600초)
+ */
+@Component
+public class CsiPresenceDetector {
+
+    // 분산이 0인 부반송파(항상 같은 진폭)로 인한 0 나눗셈을 막는 최소 표준편차
+    private static final double MIN_STD_DEV = 1e-3;
+
+    // 이 시간 동안 프레임이 없으면 센서 기준선을 제거함
+    private static final long IDLE_EVICTION_NANOS = TimeUnit.MINUTES.toNanos(30);
+
+    private final int calibrationFrames;
+    private final double threshold;
+    private final long maxPresentNanos;
+
+    private final ConcurrentHashMap<Long, Baseline> baselines = new ConcurrentHashMap<>();
+
+    public CsiPresenceDetector(@Value("${csi-presence.calibration-frames:100}") int calibrationFrames,
+                               @Value("${csi-presence.threshold:3.0}") double threshold,
+                               @Value("${csi-presence.max-present-seconds:600}") long maxPresentSeconds) {
+        if (calibrationFrames < 2) {
+            throw new IllegalArgumentException("csi-presence.calibration-frames는 2 이상이어야 합니다.");
+        }
+        if (threshold <= 0) {
+            throw new IllegalArgumentException("csi-presence.threshold는 0보다 커야 합니다.");
+        }
+        if (maxPresentSeconds <= 0) {
+            throw new IllegalArgumentException("csi-presence.max-present-seconds는 1 이상이어야 합니다.");
+        }
+        this.calibrationFrames = calibrationFrames;
+        this.threshold = threshold;
+        this.maxPresentNanos = TimeUnit.SECONDS.toNanos(maxPresentSeconds);
+    }
+
+    /**
+     * 새 CSI 프레임의 존재 점수를 계산하고 기준선을 갱신함
+     *
+     * @param sensorId 센서 ID
+     * @param amplitudes 부반송파 진폭 배열
+     * @param timestampNanos 프레임 수신 시각 (MQTT 수신 시 기록한 System.nanoTime, 버퍼 대기 시간 제외)
+     * @return 존재 점수 (보정 중이면 NaN)
+     */
+    public double score(Long sensorId, double[] amplitudes, long timestampNanos) {
+        if (sensorId == null || amplitudes == null || amplitudes.length == 0) {
+            return Double.NaN;
+        }
+        // 같은 센서의 프레임은 MQTT 버퍼 서비스에서 한 파티션 스레드로만 처리됨
+        Baseline baseline = baselines.get(sensorId);
+        if (baseline == null || baseline.mean.length != amplitudes.length) {
+            baseline = new Baseline(amplitudes.length);
+            baselines.put(sensorId, baseline);
+        }
+        synchronized (baseline) {
+            baseline.lastTimestamp = timestampNanos;
+
+            if (baseline.count < calibrationFrames) {
+                baseline.add(amplitudes, calibrationFrames);
+                return Double.NaN;
+            }
+
+            double score = baseline.zScore(amplitudes);
+            if (score < threshold) {
+                baseline.present = false;
+                baseline.add(amplitudes, calibrationFrames);
+            } else if (!baseline.present) {
+                baseline.present = true;
+                baseline.presentSince = timestampNanos;
+            } else if (timestampNanos - baseline.presentSince >= maxPresentNanos) {
+                // 존재 판단이 너무 오래 이어짐 → 환경 변화로 보고 현재 프레임부터 다시 보정함
+                baseline.reset();
+                baseline.add(amplitudes, calibrationFrames);
+                return Double.NaN;
+            }
+            return Math.round(score * 1000.0) / 1000.0;
+        }
+    }
+
+    /**
+     * 존재 점수가 임계값 이상인지 판단함
+     *
+     * @param score score()가 반환한 점수
+     * @return 존재로 판단되면 true, 보정 중이면 null
+     */
+    public Boolean isPresent(double score) {
+        return Double.isNaN(score) ? null : score >= threshold;
+    }
+
+    /**
+     * 센서 기준선을 버리고 다음 프레임부터 다시 보정함
+     * (사람이 없는 상태에서 호출해야 함)
+     *
+     * @param sensorId 센서 ID
+     */
+    public void recalibrate(Long sensorId) {
+        baselines.remove(sensorId);
+    }
+
+    /**
+     * 오랫동안 프레임이 없는 센서 기준선을 정리함 (1분마다)
+     */
+    @Scheduled(fixedDelay = 60000)
+    public void evictIdleSensors() {
+        long now = System.nanoTime();
+        baselines.entrySet().removeIf(entry -> now - entry.getValue().lastTimestamp > IDLE_EVICTION_NANOS);
+    }
+
+    /**
+     * 기준선을 유지 중인 센서 수 (디버깅용)
+     */
+    public int getTrackedSensorCount() {
+        return baselines.size();
+    }
+
+    /**
+     * 센서 1개의 부반송파별 평균/분산 누적값 (Welford)
+     */
+    private static final class Baseline {
+
+        private final double[] mean;
+        private final double[] m2;   // 평균과의 편차 제곱합
+        private long count;
+        private long lastTimestamp;
+
+        // 존재 판단이 이어지는 중인지와 시작 시각
+        private boolean present;
+        private long presentSince;
+
+        Baseline(int subcarriers) {
+            this.mean = new double[subcarriers];
+            this.m2 = new double[subcarriers];
+        }
+
+        /**
+         * 프레임을 기준선에 반영함
+         * 표본 수가 maxCount에 도달하면 더 늘리지 않고, 기존 편차 제곱합을 같은 비율로 줄여 가중치를 유지함
+         */
+        void add(double[] amplitudes, int maxCount) {
+            boolean saturated = count >= maxCount;
+            if (!saturated) {
+                count++;
+            }
+            double decay = saturated ? (count - 1) / (double) count : 1.0;
+            for (int i = 0; i < mean.length; i++) {
+                double delta = amplitudes[i] - mean[i];
+                mean[i] += delta / count;
+                m2[i] = m2[i] * decay + delta * (amplitudes[i] - mean[i]);
+            }
+        }
+
+        /**
+         * 누적값을 버리고 보정 구간부터 다시 시작함
+         */
+        void reset() {
+            Arrays.fill(mean, 0);
+            Arrays.fill(m2, 0);
+            count = 0;
+            present = false;
+        }
+
+        /**
+         * 부반송파별 z-score의 RMS
+         */
+        double zScore(double[] amplitudes) {
+            double sumSquares = 0;
+            for (int i = 0; i < mean.length; i++) {
+                double stdDev = Math.max(MIN_STD_DEV, Math.sqrt(m2[i] / (count - 1)));
+                double z = (amplitudes[i] - mean[i]) / stdDev;
+                sumSquares += z * z;
+            }
+            return Math.sqrt(sumSquares / mean.length);
+        }
+    }
+}
@@ -0,0 +1,377 @@
+package opensource.project.service;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * WiFi CSI 프레임으로부터 센서별 움직임/호흡 지표를 점진적으로 추정하는 컴포넌트
+ *
+ * ESP32는 생존자 탐지 여부(boolean)와 부반송파 진폭 배열만 전송하므로,
+ * WifiAnalysisDataDto의 movement_detected / movement_intensity / breathing_detected / breathing_rate는
+ * 서버에서 직접 계산함
+ *
+ * 처리 방식 (센서별 상태를 유지하며 프레임마다 갱신):
+ * 1. 프레임의 부반송파 평균 진폭을 센서별 링 버퍼(최대 512개)에 시간과 함께 저장함
+ * 2. 움직임: 최근 10초(최대 20프레임) 평균 진폭의 변동계수(표준편차/평균)로 강도를 계산함
+ * 3. 호흡: 최근 30초 구간을 2Hz 균일 격자로 선형 보간(재샘플링)하고 평균 제거 후
+ *    0.1~0.5Hz(6~30 BPM) 대역을 Goertzel 알고리즘으로 스캔하여
+ *    가장 강한 주파수 성분의 에너지 비율이 임계값 이상이면 호흡으로 판단함
+ * 4. 샘플링 레이트는 프레임 도착 시각으로 추정함
+ *
+ * 호흡 추정의 최소 샘플링 조건 (나이퀴스트 조건, 0.5Hz의 2배):
+ * - 구간 평균 샘플링 레이트가 1Hz 이상이고, 구간 안의 프레임 간격이 모두 1초 이하여야 함
+ * - 조건을 만족하지 않으면 호흡은 null(판단 불가)로 둠
+ *   (현재 ESP32 펌웨어는 5초마다(0.2Hz) 전송하므로 움직임만 추정되고 호흡은 추정되지 않음)
+ * - 프레임은 버퍼 서비스에서 센서별 최신 값만 처리되어 간격이 일정하지 않으므로,
+ *   Goertzel이 가정하는 균일 샘플링을 맞추기 위해 도착 시각 기준으로 재샘플링함
+ *
+ * 성능:
+ * - 움직임은 프레임마다 O(부반송파 수 + 20)으로 계산함
+ * - 호흡 스펙트럼은 1초에 한 번만 다시 계산하고 (O(60 × 대역 내 주파수 개수)), 그 사이 프레임은 직전 결과를 사용함
+ * - 프레임 처리 중 배열 할당 없음
+ * - 센서당 메모리: 약 8KB (진폭 평균 + 시각 링 버퍼) → 수백 개 센서를 한 노드에서 처리 가능
+ * - 5분 이상 프레임이 없는 센서 상태는 주기적으로 제거함
+ */
+@Component
+public class CsiVitalSignEstimator {
+
+    // 센서별 링 버퍼 크기 (10Hz 기준 약 51초)
+    private static final int HISTORY_CAPACITY = 512;
+
+    // 움직임 판단 구간
+    private static final int MOVEMENT_WINDOW_FRAMES = 20;
+    private static final long MOVEMENT_WINDOW_NANOS = TimeUnit.SECONDS.toNanos(10);
+    private static final int MIN_MOVEMENT_FRAMES = 3;
+
+    // 변동계수가 이 값 이상이면 움직임 강도 1.0
+    private static final double MOVEMENT_FULL_SCALE_CV = 0.15;
+    private static final double MOVEMENT_DETECTION_THRESHOLD = 0.2;
+
+    // 호흡 판단 구간 및 대역
+    private static final long BREATHING_WINDOW_NANOS = TimeUnit.SECONDS.toNanos(30);
+    private static final long MIN_BREATHING_SPAN_NANOS = TimeUnit.SECONDS.toNanos(20);
+    private static final int MIN_BREATHING_SAMPLES = 16;
+    private static final double BREATHING_MIN_HZ = 0.1;
+    private static final double BREATHING_MAX_HZ = 0.5;
+    private static final double MIN_SAMPLING_RATE_HZ = 2 * BREATHING_MAX_HZ;
+    private static final long MAX_BREATHING_SAMPLE_GAP_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    // 호흡 스펙트럼 계산용 균일 격자 (2Hz, 30초 구간)
+    private static final double RESAMPLE_RATE_HZ = 2.0;
+    private static final long RESAMPLE_INTERVAL_NANOS = (long) (1_000_000_000L / RESAMPLE_RATE_HZ);
+    private static final int RESAMPLE_CAPACITY = (int) (BREATHING_WINDOW_NANOS / RESAMPLE_INTERVAL_NANOS) + 1;
+
+    // 호흡 스펙트럼을 다시 계산하는 최소 간격
+    private static final long BREATHING_RECOMPUTE_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    // 가장 강한 호흡 대역 성분이 전체 변동 에너지에서 차지하는 비율 임계값
+    private static final double BREATHING_ENERGY_RATIO_THRESHOLD = 0.25;
+
+    // 강한 움직임이 있으면 호흡 성분을 신뢰할 수 없음
+    private static final double BREATHING_MAX_MOVEMENT_INTENSITY = 0.7;
+
+    // 프레임 간격이 이보다 길면 이전 기록을 버리고 새로 시작함
+    private static final long STALE_GAP_NANOS = TimeUnit.SECONDS.toNanos(10);
+
+    // 이 시간 동안 프레임이 없으면 센서 상태를 제거함
+    private static final long IDLE_EVICTION_NANOS = TimeUnit.MINUTES.toNanos(5);
+
+    private final ConcurrentHashMap<Long, SensorState> states = new ConcurrentHashMap<>();
+
+    /**
+     * 추정 결과
+     * 판단에 필요한 데이터가 부족한 항목은 null임
+     *
+     * @param movementDetected 움직임 감지 여부
+     * @param movementIntensity 움직임 강도 (0.0 ~ 1.0)
+     * @param breathingDetected 호흡 감지 여부
+     * @param breathingRate 호흡률 (BPM, 감지된 경우에만)
+     * @param samplingRate 추정 샘플링 레이트 (Hz)
+     */
+    public record VitalSigns(Boolean movementDetected,
+                             Double movementIntensity,
+                             Boolean breathingDetected,
+                             Double breathingRate,
+                             Double samplingRate) {
+
+        static final VitalSigns UNKNOWN = new VitalSigns(null, null, null, null, null);
+    }
+
+    /**
+     * 새 CSI 프레임을 반영하고 현재 추정값을 반환함
+     *
+     * @param sensorId 센서 ID
+     * @param amplitudes 부반송파 진폭 배열
+     * @param timestampNanos 프레임 수신 시각 (MQTT 수신 시 기록한 System.nanoTime, 버퍼 대기 시간 제외)
+     * @return 움직임/호흡 추정 결과
+     */
+    public VitalSigns update(Long sensorId, double[] amplitudes, long timestampNanos) {
+        if (sensorId == null || amplitudes == null || amplitudes.length == 0) {
+            return VitalSigns.UNKNOWN;
+        }
+
+        double sum = 0;
+        for (double amplitude : amplitudes) {
+            sum += amplitude;
+        }
+        double frameMean = sum / amplitudes.length;
+
+        SensorState state = states.computeIfAbsent(sensorId, id -> new SensorState());
+        synchronized (state) {
+            state.add(frameMean, timestampNanos);
+            return state.estimate();
+        }
+    }
+
+    /**
+     * 센서의 누적 상태를 제거함 (센서 삭제/재등록 시)
+     *
+     * @param sensorId 센서 ID
+     */
+    public void reset(Long sensorId) {
+        states.remove(sensorId);
+    }
+
+    /**
+     * 오랫동안 프레임이 없는 센서 상태를 정리함 (1분마다)
+     */
+    @Scheduled(fixedDelay = 60000)
+    public void evictIdleSensors() {
+        long now = System.nanoTime();
+        states.entrySet().removeIf(entry -> now - entry.getValue().lastTimestamp() > IDLE_EVICTION_NANOS);
+    }
+
+    /**
+     * 상태를 유지 중인 센서 수 (디버깅용)
+     */
+    public int getTrackedSensorCount() {
+        return states.size();
+    }
+
+    /**
+     * 센서별 프레임 평균 진폭 이력 (링 버퍼)
+     */
+    private static final class SensorState {
+
+        private final double[] values = new double[HISTORY_CAPACITY];
+        private final long[] timestamps = new long[HISTORY_CAPACITY];
+        private final double[] resampled = new double[RESAMPLE_CAPACITY];
+        private int head;   // 다음에 기록할 위치
+        private int count;
+
+        // 직전 호흡 스펙트럼 계산 결과 (NaN이면 호흡 아님)
+        private boolean hasBreathingPeak;
+        private double breathingPeakHz;
+        private long breathingPeakAt;
+
+        void add(double value, long timestampNanos) {
+            if (count > 0 && timestampNanos - timestamps[index(count - 1)] > STALE_GAP_NANOS) {
+                count = 0;
+                head = 0;
+                hasBreathingPeak = false;
+            }
+            values[head] = value;
+            timestamps[head] = timestampNanos;
+            head = (head + 1) % HISTORY_CAPACITY;
+            if (count < HISTORY_CAPACITY) {
+                count++;
+            }
+        }
+
+        long lastTimestamp() {
+            return count == 0 ? Long.MIN_VALUE : timestamps[index(count - 1)];
+        }
+
+        /**
+         * i번째(0 = 가장 오래된) 샘플의 버퍼 위치
+         */
+        private int index(int i) {
+            return (head - count + i + HISTORY_CAPACITY) % HISTORY_CAPACITY;
+        }
+
+        VitalSigns estimate() {
+            long newest = timestamps[index(count - 1)];
+
+            Double movementIntensity = estimateMovement(newest);
+            Boolean movementDetected = movementIntensity == null ? null
+                    : movementIntensity >= MOVEMENT_DETECTION_THRESHOLD;
+
+            // 호흡 구간 (최근 30초)
+            int start = count - 1;
+            while (start > 0 && newest - timestamps[index(start - 1)] <= BREATHING_WINDOW_NANOS) {
+                start--;
+            }
+            int samples = count - start;
+            long span = newest - timestamps[index(start)];
+
+            Double samplingRate = samples > 1 && span > 0
+                    ? (samples - 1) / (span / 1_000_000_000.0)
+                    : null;
+
+            Boolean breathingDetected = null;
+            Double breathingRate = null;
+            if (samplingRate != null
+                    && samplingRate >= MIN_SAMPLING_RATE_HZ
+                    && samples >= MIN_BREATHING_SAMPLES
+                    && span >= MIN_BREATHING_SPAN_NANOS
+                    && maxGap(start) <= MAX_BREATHING_SAMPLE_GAP_NANOS) {
+                if (!hasBreathingPeak || newest - breathingPeakAt >= BREATHING_RECOMPUTE_NANOS) {
+                    breathingPeakHz = findBreathingPeak(start, newest);
+                    breathingPeakAt = newest;
+                    hasBreathingPeak = true;
+                }
+                double peakHz = breathingPeakHz;
+                boolean calm = movementIntensity == null || movementIntensity < BREATHING_MAX_MOVEMENT_INTENSITY;
+                breathingDetected = calm && !Double.isNaN(peakHz);
+                if (breathingDetected) {
+                    breathingRate = Math.round(peakHz * 60.0 * 10.0) / 10.0;
+                }
+            }
+
+            return new VitalSigns(movementDetected, movementIntensity, breathingDetected, breathingRate, samplingRate);
+        }
+
+        /**
+         * 최근 구간 평균 진폭의 변동계수로 움직임 강도를 계산함
+         *
+         * @return 0.0 ~ 1.0 (프레임이 부족하면 null)
+         */
+        private Double estimateMovement(long newest) {
+            int n = 0;
+            double sum = 0;
+            double sumSquares = 0;
+            for (int i = count - 1; i >= 0 && n < MOVEMENT_WINDOW_FRAMES; i--) {
+                int idx = index(i);
+                if (newest - timestamps[idx] > MOVEMENT_WINDOW_NANOS) {
+                    break;
+                }
+                double value = values[idx];
+                sum += value;
+                sumSquares += value * value;
+                n++;
+            }
+            if (n < MIN_MOVEMENT_FRAMES) {
+                return null;
+            }
+            double mean = sum / n;
+            if (mean <= 0) {
+                return 0.0;
+            }
+            double variance = Math.max(0, sumSquares / n - mean * mean);
+            double coefficientOfVariation = Math.sqrt(variance) / mean;
+            double intensity = Math.min(1.0, coefficientOfVariation / MOVEMENT_FULL_SCALE_CV);
+            return Math.round(intensity * 1000.0) / 1000.0;
+        }
+
+        /**
+         * start번째 샘플부터 가장 최근 샘플까지의 가장 긴 프레임 간격
+         */
+        private long maxGap(int start) {
+            long gap = 0;
+            for (int i = start + 1; i < count; i++) {
+                gap = Math.max(gap, timestamps[index(i)] - timestamps[index(i - 1)]);
+            }
+            return gap;
+        }
+
+        /**
+         * start번째 샘플부터 가장 최근 샘플까지를 도착 시각 기준으로 2Hz 균일 격자에 선형 보간함
+         * 격자는 가장 최근 샘플 시각에서 거꾸로 잡음
+         *
+         * @return resampled 배열에 채운 샘플 수
+         */
+        private int resample(int start, long newest) {
+            long oldest = timestamps[index(start)];
+            int samples = (int) Math.min(RESAMPLE_CAPACITY, (newest - oldest) / RESAMPLE_INTERVAL_NANOS + 1);
+            int i = start;
+            for (int k = 0; k < samples; k++) {
+                long t = newest - (long) (samples - 1 - k) * RESAMPLE_INTERVAL_NANOS;
+                while (i < count - 2 && timestamps[index(i + 1)] < t) {
+                    i++;
+                }
+                long t0 = timestamps[index(i)];
+                long t1 = timestamps[index(i + 1)];
+                double v0 = values[index(i)];
+                double v1 = values[index(i + 1)];
+                double fraction = t1 > t0 ? Math.max(0, Math.min(1, (double) (t - t0) / (t1 - t0))) : 1;
+                resampled[k] = v0 + (v1 - v0) * fraction;
+            }
+            return samples;
+        }
+
+        /**
+         * 재샘플링한 구간의 0.1~0.5Hz 대역을 Goertzel 알고리즘으로 스캔하여 가장 강한 주파수를 찾음
+         *
+         * @return 호흡으로 판단된 주파수 (Hz), 에너지 비율이 임계값 미만이면 NaN
+         */
+        private double findBreathingPeak(int start, long newest) {
+            int samples = resample(start, newest);
+            double samplingRate = RESAMPLE_RATE_HZ;
+
+            double mean = 0;
+            for (int i = 0; i < samples; i++) {
+                mean += resampled[i];
+            }
+            mean /= samples;
+
+            double energy = 0;
+            for (int i = 0; i < samples; i++) {
+                double centered = resampled[i] - mean;
+                energy += centered * centered;
+            }
+            if (energy <= 0) {
+                return Double.NaN;
+            }
+
+            // 주파수 분해능의 절반 간격으로 스캔함
+            double step = samplingRate / samples / 2;
+            double bestHz = Double.NaN;
+            double bestPower = 0;
+
+            for (double hz = BREATHING_MIN_HZ; hz <= BREATHING_MAX_HZ + 1e-9; hz += step) {
+                double power = goertzelPower(samples, mean, hz / samplingRate);
+                if (power > bestPower) {
+                    bestPower = power;
+                    bestHz = hz;
+                }
+            }
+
+            // 피크 에너지 비율: 단일 정현파라면 약 1.0, 잡음이라면 2/N 수준
+            double ratio = 2 * bestPower / (samples * energy);
+            if (Double.isNaN(bestHz) || ratio < BREATHING_ENERGY_RATIO_THRESHOLD) {
+                return Double.NaN;
+            }
+
+            // 이웃 주파수로 포물선 보간하여 피크 위치를 보정함
+            double left = bestHz - step >= BREATHING_MIN_HZ - 1e-9
+                    ? goertzelPower(samples, mean, (bestHz - step) / samplingRate) : 0;
+            double right = bestHz + step <= BREATHING_MAX_HZ + 1e-9
+                    ? goertzelPower(samples, mean, (bestHz + step) / samplingRate) : 0;
+            double denominator = left - 2 * bestPower + right;
+            double refinedHz = bestHz;
+            if (left > 0 && right > 0 && denominator < 0) {
+                double offset = 0.5 * (left - right) / denominator;
+                refinedHz = bestHz + Math.max(-0.5, Math.min(0.5, offset)) * step;
+            }
+            return refinedHz;
+        }
+
+        /**
+         * 재샘플링한 구간의 정규화 주파수(cycles/sample)에서의 신호 에너지를 Goertzel 알고리즘으로 계산함
+         */
+        private double goertzelPower(int samples, double mean, double normalizedFrequency) {
+            double coefficient = 2 * Math.cos(2 * Math.PI * normalizedFrequency);
+            double s1 = 0;
+            double s2 = 0;
+            for (int i = 0; i < samples; i++) {
+                double s0 = resampled[i] - mean + coefficient * s1 - s2;
+                s2 = s1;
+                s1 = s0;
+            }
+            return s1 * s1 + s2 * s2 - coefficient * s1 * s2;
+        }
+    }
+}
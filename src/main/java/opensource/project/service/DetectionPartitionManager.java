@@ -0,0 +1,232 @@
+package opensource.project.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * DETECTION, PRIORITY_ASSESSMENT 테이블의 시간 기준 파티션 관리 (Oracle 전용)
+ *
+ * 문제:
+ * - 프레임 단위 탐지와 우선순위 평가가 계속 쌓이고, 오래된 행을 행 단위 DELETE로 지우면
+ *   undo/redo가 대량으로 생기고 인덱스가 부풀어 운영 중 쿼리가 느려짐
+ *
+ * 해결:
+ * - 시작 시 두 테이블을 탐지/평가 시각 기준 INTERVAL RANGE 파티션(기본 1일)으로 온라인 변환함
+ *   (ALTER TABLE ... MODIFY PARTITION BY ... ONLINE, 이미 파티션된 테이블은 건너뜀)
+ * - 보관 기간이 지난 구간은 파티션을 통째로 DROP함 (순서는 DetectionRetentionService가 정함)
+ *   - DETECTION 파티션은 이를 참조하는 FK를 잠시 비활성화한 뒤 지우고, FK를 ENABLE NOVALIDATE로 되살림
+ *     (활성 FK가 있으면 ORA-02266)
+ *   - 전역 인덱스(PK 등)는 UPDATE GLOBAL INDEXES로 유지함
+ * - Oracle이 아니거나(H2 등) 파티셔닝 옵션이 없으면(ORA-00439) 경고만 남기고,
+ *   보관 기간 삭제는 묶음 단위 DELETE로 대신함
+ *
+ * 기존 테이블은 참조(REFERENCE) 파티션으로 변환할 수 없으므로 두 테이블을 각자의 시각 컬럼으로 나눔
+ */
+@Slf4j
+@Component
+public class DetectionPartitionManager {
+
+    private static final String DETECTION_TABLE = "DETECTION";
+    private static final String ASSESSMENT_TABLE = "PRIORITY_ASSESSMENT";
+
+    // 파티션 테이블 → 파티션 키
+    private static final Map<String, String> PARTITION_KEYS = Map.of(
+            DETECTION_TABLE, "DETECTED_AT",
+            ASSESSMENT_TABLE, "ASSESSED_AT");
+
+    // 첫 구간 경계 (이후 구간은 INTERVAL마다 자동 생성됨)
+    private static final LocalDateTime INITIAL_BOUND_TIME = LocalDateTime.of(2020, 1, 1, 0, 0);
+    private static final String INITIAL_BOUND = "TIMESTAMP '2020-01-01 00:00:00'";
+
+    // USER_TAB_PARTITIONS.HIGH_VALUE 예: TIMESTAMP' 2026-01-02 00:00:00'
+    private static final Pattern HIGH_VALUE = Pattern.compile(
+            "TIMESTAMP'\\s*(\\d{4}-\\d{2}-\\d{2} \\d{2}:\\d{2}:\\d{2})");
+    private static final DateTimeFormatter HIGH_VALUE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean enabled;
+    private final int intervalDays;
+
+    private volatile boolean partitioned;
+
+    public DetectionPartitionManager(
+            DataSource dataSource,
+            @Value("${detection-storage.partitioning.enabled:true}") boolean enabled,
+            @Value("${detection-storage.partitioning.interval-days:1}") int intervalDays) {
+        if (intervalDays < 1) {
+            throw new IllegalArgumentException(
+                    "detection-storage.partitioning.interval-days는 1 이상이어야 합니다: " + intervalDays);
+        }
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.enabled = enabled;
+        this.intervalDays = intervalDays;
+    }
+
+    /**
+     * 애플리케이션 시작 시 파티션되지 않은 테이블을 INTERVAL 파티션으로 변환함
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void partitionTables() {
+        if (!enabled || !isOracle()) {
+            log.info("탐지 테이블 파티셔닝 사용 안 함 - 보관 기간 삭제는 DELETE로 수행");
+            return;
+        }
+        try {
+            for (Map.Entry<String, String> entry : PARTITION_KEYS.entrySet()) {
+                if (!isTablePartitioned(entry.getKey())) {
+                    convert(entry.getKey(), entry.getValue());
+                }
+            }
+            partitioned = true;
+        } catch (DataAccessException e) {
+            // 파티셔닝 옵션이 없는 에디션(ORA-00439) 등
+            log.warn("탐지 테이블 파티션 변환 실패 - 보관 기간 삭제는 DELETE로 수행: {}", e.getMostSpecificCause().getMessage());
+        }
+    }
+
+    /**
+     * 두 테이블이 모두 INTERVAL 파티션으로 관리되는지 여부
+     */
+    public boolean isPartitioned() {
+        return partitioned;
+    }
+
+    /**
+     * cutoff를 그 이하의 가장 가까운 파티션 경계로 내림 (이 시각 이전 구간은 파티션 단위로 통째로 지울 수 있음)
+     *
+     * @param cutoff 기준 시각
+     * @return 파티션 경계 시각
+     */
+    public LocalDateTime alignToPartitionBound(LocalDateTime cutoff) {
+        long days = ChronoUnit.DAYS.between(INITIAL_BOUND_TIME, cutoff);
+        if (days < 0) {
+            return INITIAL_BOUND_TIME;
+        }
+        return INITIAL_BOUND_TIME.plusDays(days / intervalDays * intervalDays);
+    }
+
+    /**
+     * 상한 경계가 cutoff 이하인(모든 행이 cutoff 이전인) PRIORITY_ASSESSMENT 파티션을 삭제함
+     *
+     * @param cutoff 기준 시각
+     * @return 삭제한 파티션 수
+     */
+    public int dropAssessmentPartitionsBefore(LocalDateTime cutoff) {
+        return dropPartitionsBefore(ASSESSMENT_TABLE, cutoff, List.of());
+    }
+
+    /**
+     * 상한 경계가 cutoff 이하인 DETECTION 파티션을 삭제함
+     * DETECTION을 참조하는 FK는 삭제하는 동안 비활성화하므로, 호출 전에 cutoff 이전 탐지를 참조하는 행을 먼저 지워야 함
+     *
+     * @param cutoff 기준 시각
+     * @return 삭제한 파티션 수
+     */
+    public int dropDetectionPartitionsBefore(LocalDateTime cutoff) {
+        return dropPartitionsBefore(DETECTION_TABLE, cutoff, enabledForeignKeysTo(DETECTION_TABLE));
+    }
+
+    private int dropPartitionsBefore(String table, LocalDateTime cutoff, List<String[]> foreignKeys) {
+        if (!partitioned) {
+            throw new IllegalStateException("탐지 테이블이 파티션되어 있지 않습니다");
+        }
+        List<String> expired = expiredPartitions(table, cutoff);
+        if (expired.isEmpty()) {
+            return 0;
+        }
+        foreignKeys.forEach(fk -> jdbcTemplate.execute(
+                "ALTER TABLE " + fk[0] + " DISABLE CONSTRAINT " + fk[1]));
+        try {
+            for (String partition : expired) {
+                jdbcTemplate.execute(
+                        "ALTER TABLE " + table + " DROP PARTITION " + partition + " UPDATE GLOBAL INDEXES");
+            }
+        } finally {
+            // 남은 행은 이미 FK를 만족하므로 전체 검증 없이 다시 활성화함
+            foreignKeys.forEach(fk -> jdbcTemplate.execute(
+                    "ALTER TABLE " + fk[0] + " ENABLE NOVALIDATE CONSTRAINT " + fk[1]));
+        }
+        log.info("{} 파티션 {}개 삭제 (기준: {})", table, expired.size(), cutoff);
+        return expired.size();
+    }
+
+    /**
+     * USER_TAB_PARTITIONS.HIGH_VALUE에서 상한 경계 시각을 읽음
+     *
+     * @param highValue HIGH_VALUE 문자열
+     * @return 경계 시각 (형식이 다르면 null)
+     */
+    static LocalDateTime parseHighValue(String highValue) {
+        if (highValue == null) {
+            return null;
+        }
+        Matcher matcher = HIGH_VALUE.matcher(highValue);
+        return matcher.find() ? LocalDateTime.parse(matcher.group(1), HIGH_VALUE_FORMAT) : null;
+    }
+
+    private boolean isOracle() {
+        String product = jdbcTemplate.execute(
+                (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+        return product != null && product.toLowerCase(Locale.ROOT).contains("oracle");
+    }
+
+    private boolean isTablePartitioned(String table) {
+        Integer count = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM USER_PART_TABLES WHERE TABLE_NAME = ?", Integer.class, table);
+        return count != null && count > 0;
+    }
+
+    private void convert(String table, String column) {
+        jdbcTemplate.execute("ALTER TABLE " + table + " MODIFY PARTITION BY RANGE (" + column + ") " +
+                "INTERVAL (NUMTODSINTERVAL(" + intervalDays + ", 'DAY')) " +
+                "(PARTITION P_INITIAL VALUES LESS THAN (" + INITIAL_BOUND + ")) ONLINE");
+        log.info("{} 테이블을 {} 기준 {}일 INTERVAL 파티션으로 변환함", table, column, intervalDays);
+    }
+
+    private List<String> expiredPartitions(String table, LocalDateTime cutoff) {
+        List<String> expired = new ArrayList<>();
+        // HIGH_VALUE는 LONG 컬럼이라 SQL에서 비교할 수 없으므로 읽어서 비교함
+        jdbcTemplate.query(
+                "SELECT PARTITION_NAME, HIGH_VALUE FROM USER_TAB_PARTITIONS " +
+                "WHERE TABLE_NAME = ? AND INTERVAL = 'YES' ORDER BY PARTITION_POSITION",
+                (RowCallbackHandler) resultSet -> {
+                    String name = resultSet.getString(1);
+                    LocalDateTime bound = parseHighValue(resultSet.getString(2));
+                    if (bound != null && !bound.isAfter(cutoff)) {
+                        expired.add(name);
+                    }
+                },
+                table);
+        return expired;
+    }
+
+    /**
+     * table을 참조하는 활성 FK 목록 ([자식 테이블, 제약 조건 이름])
+     */
+    private List<String[]> enabledForeignKeysTo(String table) {
+        return jdbcTemplate.query(
+                "SELECT c.TABLE_NAME, c.CONSTRAINT_NAME FROM USER_CONSTRAINTS c " +
+                "JOIN USER_CONSTRAINTS p ON c.R_CONSTRAINT_NAME = p.CONSTRAINT_NAME " +
+                "WHERE c.CONSTRAINT_TYPE = 'R' AND c.STATUS = 'ENABLED' AND p.TABLE_NAME = ?",
+                (resultSet, rowNum) -> new String[]{resultSet.getString(1), resultSet.getString(2)},
+                table);
+    }
+}
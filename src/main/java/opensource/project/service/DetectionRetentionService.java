@@ -0,0 +1,132 @@
+package opensource.project.service;
+
+import lombok.extern.slf4j.Slf4j;
+import opensource.project.repository.DetectionMinuteRollupRepository;
+import opensource.project.repository.DetectionRepository;
+import opensource.project.repository.PriorityAssessmentRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 프레임 단위 탐지/우선순위 평가와 분 단위 요약의 보관 기간 관리
+ *
+ * 문제:
+ * - 원본 탐지를 무기한 보관하면 테이블과 인덱스가 계속 커지고, 한 번에 DELETE하면 긴 트랜잭션과 잠금이 생김
+ *
+ * 해결:
+ * - 원본은 raw-days가 지나고 분 단위 요약까지 끝난 구간만 삭제함 (요약되지 않은 원본은 지우지 않음)
+ *   - 파티션된 Oracle: 파티션 경계로 내린 기준 시각 이전 파티션을 DROP함
+ *     (평가 파티션 → 경계에 걸친 평가 행 → 탐지 파티션 순)
+ *   - 그 외(H2, 파티셔닝 옵션 없는 Oracle): delete-batch-size개씩 평가, 탐지 순으로 DELETE하고 묶음마다 커밋함
+ * - 요약은 rollup-days가 지나면 삭제함
+ */
+@Slf4j
+@Service
+public class DetectionRetentionService {
+
+    private final DetectionRepository detectionRepository;
+    private final PriorityAssessmentRepository priorityAssessmentRepository;
+    private final DetectionMinuteRollupRepository rollupRepository;
+    private final DetectionPartitionManager partitionManager;
+    private final TransactionTemplate transactionTemplate;
+    private final long rawDays;
+    private final long rollupDays;
+    private final int deleteBatchSize;
+
+    public DetectionRetentionService(
+            DetectionRepository detectionRepository,
+            PriorityAssessmentRepository priorityAssessmentRepository,
+            DetectionMinuteRollupRepository rollupRepository,
+            DetectionPartitionManager partitionManager,
+            PlatformTransactionManager transactionManager,
+            @Value("${detection-storage.retention.raw-days:7}") long rawDays,
+            @Value("${detection-storage.retention.rollup-days:365}") long rollupDays,
+            @Value("${detection-storage.retention.delete-batch-size:500}") int deleteBatchSize) {
+        if (rawDays < 1 || rollupDays < 1 || deleteBatchSize < 1) {
+            throw new IllegalArgumentException(
+                    "detection-storage.retention.raw-days, rollup-days, delete-batch-size는 1 이상이어야 합니다");
+        }
+        this.detectionRepository = detectionRepository;
+        this.priorityAssessmentRepository = priorityAssessmentRepository;
+        this.rollupRepository = rollupRepository;
+        this.partitionManager = partitionManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.rawDays = rawDays;
+        this.rollupDays = rollupDays;
+        this.deleteBatchSize = deleteBatchSize;
+    }
+
+    /**
+     * 보관 기간이 지난 원본과 요약을 삭제함
+     */
+    @Scheduled(initialDelayString = "${detection-storage.retention.interval-ms:3600000}",
+               fixedDelayString = "${detection-storage.retention.interval-ms:3600000}")
+    public void purge() {
+        LocalDateTime now = LocalDateTime.now();
+        // 요약이 끝난 시각 (가장 최근 요약 분의 끝), 요약이 없으면 원본을 지우지 않음
+        Optional<LocalDateTime> rolledUpUntil = rollupRepository.findLatestMinuteStart()
+                .map(minute -> minute.plusMinutes(1));
+        if (rolledUpUntil.isPresent()) {
+            LocalDateTime rawCutoff = now.minusDays(rawDays);
+            if (rolledUpUntil.get().isBefore(rawCutoff)) {
+                rawCutoff = rolledUpUntil.get();
+            }
+            purgeRawBefore(rawCutoff);
+        }
+
+        Integer rollups = transactionTemplate.execute(
+                status -> rollupRepository.deleteByMinuteStartBefore(now.minusDays(rollupDays)));
+        if (rollups != null && rollups > 0) {
+            log.info("보관 기간이 지난 탐지 요약 {}건 삭제", rollups);
+        }
+    }
+
+    /**
+     * cutoff 이전의 원본 탐지와 이를 참조하는 우선순위 평가를 삭제함
+     * 파티션된 경우 cutoff를 파티션 경계로 내려 파티션 단위로만 삭제함
+     *
+     * @param cutoff 기준 시각
+     * @return 삭제한 탐지 수 (파티션 삭제는 삭제한 파티션 수)
+     */
+    public int purgeRawBefore(LocalDateTime cutoff) {
+        if (partitionManager.isPartitioned()) {
+            return dropPartitionsBefore(partitionManager.alignToPartitionBound(cutoff));
+        }
+
+        int deleted = 0;
+        while (true) {
+            Integer chunk = transactionTemplate.execute(status -> {
+                List<Long> ids = detectionRepository.findIdsDetectedBefore(cutoff, PageRequest.ofSize(deleteBatchSize));
+                if (ids.isEmpty()) {
+                    return 0;
+                }
+                priorityAssessmentRepository.deleteByDetectionIdIn(ids);
+                return detectionRepository.deleteByIdIn(ids);
+            });
+            if (chunk == null || chunk == 0) {
+                break;
+            }
+            deleted += chunk;
+        }
+        if (deleted > 0) {
+            log.info("보관 기간이 지난 탐지 {}건 삭제 (기준: {})", deleted, cutoff);
+        }
+        return deleted;
+    }
+
+    private int dropPartitionsBefore(LocalDateTime bound) {
+        int dropped = partitionManager.dropAssessmentPartitionsBefore(bound);
+        // 평가 시각이 경계 이후라 평가 파티션에 남은, 지울 탐지를 참조하는 평가 행
+        transactionTemplate.executeWithoutResult(
+                status -> priorityAssessmentRepository.deleteByDetectionDetectedAtBefore(bound));
+        return dropped + partitionManager.dropDetectionPartitionsBefore(bound);
+    }
+}
@@ -0,0 +1,189 @@
+package opensource.project.service;
+
+import lombok.extern.slf4j.Slf4j;
+import opensource.project.domain.DetectionMinuteRollup;
+import opensource.project.domain.enums.DetectionType;
+import opensource.project.dto.DetectionRollupRow;
+import opensource.project.repository.DetectionMinuteRollupRepository;
+import opensource.project.repository.DetectionRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * 프레임 단위 탐지를 생존자/분/탐지 타입별 요약(DetectionMinuteRollup)으로 압축하는 스케줄 작업
+ *
+ * 문제:
+ * - CCTV/WiFi 탐지는 프레임마다 행이 생겨 원본을 오래 보관할 수 없지만, 생존자 이력(언제, 어디서, 얼마나 위험했는지)은 남아야 함
+ *
+ * 해결:
+ * - delay-minutes보다 오래된 구간을 분 단위로 요약해 저장하고, 가장 최근 요약 분을 진행 위치(watermark)로 사용함
+ *   - 1회 실행에 최대 window-minutes 구간만 처리하며, 탐지가 없는 구간은 건너뜀
+ *   - 원본은 스칼라 프로젝션 Stream으로 읽어 엔티티를 만들지 않음
+ *   - Stream 조회는 트랜잭션이 필요하므로 TransactionTemplate으로 실행함
+ *     (스케줄 메서드에서 같은 빈의 @Transactional 메서드를 부르면 프록시를 거치지 않아 트랜잭션이 열리지 않음)
+ * - 보관 기간 삭제(DetectionRetentionService)는 watermark 이후 원본을 지우지 않으므로 요약 전 원본이 사라지지 않음
+ * - watermark 이전 시각으로 늦게 저장된 탐지는 요약에 반영되지 않음 (delay-minutes로 여유를 둠)
+ */
+@Slf4j
+@Service
+public class DetectionRollupService {
+
+    private static final LocalDateTime EPOCH = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private final DetectionRepository detectionRepository;
+    private final DetectionMinuteRollupRepository rollupRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final long delayMinutes;
+    private final long windowMinutes;
+
+    public DetectionRollupService(
+            DetectionRepository detectionRepository,
+            DetectionMinuteRollupRepository rollupRepository,
+            PlatformTransactionManager transactionManager,
+            @Value("${detection-storage.rollup.delay-minutes:60}") long delayMinutes,
+            @Value("${detection-storage.rollup.window-minutes:60}") long windowMinutes) {
+        if (delayMinutes < 1 || windowMinutes < 1) {
+            throw new IllegalArgumentException("detection-storage.rollup.delay-minutes, window-minutes는 1 이상이어야 합니다");
+        }
+        this.detectionRepository = detectionRepository;
+        this.rollupRepository = rollupRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.delayMinutes = delayMinutes;
+        this.windowMinutes = windowMinutes;
+    }
+
+    /**
+     * delay-minutes 이전까지 요약되지 않은 구간을 한 번(최대 window-minutes) 요약함
+     */
+    @Scheduled(initialDelayString = "${detection-storage.rollup.interval-ms:60000}",
+               fixedDelayString = "${detection-storage.rollup.interval-ms:60000}")
+    public void rollUp() {
+        int saved = rollUpUntil(LocalDateTime.now().minusMinutes(delayMinutes));
+        if (saved > 0) {
+            log.info("탐지 분 단위 요약 {}건 저장", saved);
+        }
+    }
+
+    /**
+     * watermark 다음 분부터 cutoff(분 단위로 내림) 이전까지 중 최대 window-minutes 구간을 한 트랜잭션에서 요약함
+     *
+     * @param cutoff 요약 상한 시각
+     * @return 저장한 요약 수
+     */
+    public int rollUpUntil(LocalDateTime cutoff) {
+        Integer saved = transactionTemplate.execute(status -> rollUpWindow(cutoff));
+        return saved != null ? saved : 0;
+    }
+
+    private int rollUpWindow(LocalDateTime cutoff) {
+        LocalDateTime end = cutoff.truncatedTo(ChronoUnit.MINUTES);
+        LocalDateTime resumeAt = rollupRepository.findLatestMinuteStart()
+                .map(minute -> minute.plusMinutes(1))
+                .orElse(EPOCH);
+        Optional<LocalDateTime> firstDetectedAt = detectionRepository.findFirstDetectedAtFrom(resumeAt);
+        if (firstDetectedAt.isEmpty()) {
+            return 0;
+        }
+        LocalDateTime from = firstDetectedAt.get().truncatedTo(ChronoUnit.MINUTES);
+        if (!from.isBefore(end)) {
+            return 0;
+        }
+        LocalDateTime to = from.plusMinutes(windowMinutes);
+        if (to.isAfter(end)) {
+            to = end;
+        }
+
+        Map<RollupKey, Accumulator> accumulators = new LinkedHashMap<>();
+        try (Stream<DetectionRollupRow> rows = detectionRepository.streamRollupRows(from, to)) {
+            rows.forEach(row -> accumulators
+                    .computeIfAbsent(RollupKey.of(row), key -> new Accumulator())
+                    .add(row));
+        }
+
+        List<DetectionMinuteRollup> rollups = new ArrayList<>(accumulators.size());
+        accumulators.forEach((key, accumulator) -> rollups.add(accumulator.toRollup(key)));
+        rollupRepository.saveAll(rollups);
+        return rollups.size();
+    }
+
+    private record RollupKey(Long survivorId, LocalDateTime minuteStart, DetectionType detectionType) {
+
+        static RollupKey of(DetectionRollupRow row) {
+            return new RollupKey(row.survivorId(), row.detectedAt().truncatedTo(ChronoUnit.MINUTES), row.detectionType());
+        }
+    }
+
+    /**
+     * 한 요약 구간의 집계 (행은 탐지 시각, ID 순으로 들어옴)
+     */
+    private static final class Accumulator {
+
+        private Long lastDetectionId;
+        private int detectionCount;
+        private LocalDateTime firstDetectedAt;
+        private DetectionRollupRow last;
+        private double confidenceSum;
+        private int confidenceCount;
+        private Double maxConfidence;
+        private Integer maxHumanCount;
+        private double riskSum;
+        private int riskCount;
+        private Double maxRisk;
+
+        void add(DetectionRollupRow row) {
+            if (row.finalRiskScore() != null) {
+                riskSum += row.finalRiskScore();
+                riskCount++;
+                maxRisk = maxRisk == null ? row.finalRiskScore() : Math.max(maxRisk, row.finalRiskScore());
+            }
+            // 평가가 여러 건인 탐지는 연속된 행으로 나오므로 탐지 값은 한 번만 집계함
+            if (row.detectionId().equals(lastDetectionId)) {
+                return;
+            }
+            lastDetectionId = row.detectionId();
+            detectionCount++;
+            if (firstDetectedAt == null) {
+                firstDetectedAt = row.detectedAt();
+            }
+            last = row;
+            if (row.confidence() != null) {
+                confidenceSum += row.confidence();
+                confidenceCount++;
+                maxConfidence = maxConfidence == null ? row.confidence() : Math.max(maxConfidence, row.confidence());
+            }
+            if (row.humanCount() != null) {
+                maxHumanCount = maxHumanCount == null ? row.humanCount() : Math.max(maxHumanCount, row.humanCount());
+            }
+        }
+
+        DetectionMinuteRollup toRollup(RollupKey key) {
+            return DetectionMinuteRollup.builder()
+                    .survivorId(key.survivorId())
+                    .minuteStart(key.minuteStart())
+                    .detectionType(key.detectionType())
+                    .locationId(last.locationId())
+                    .detectionCount(detectionCount)
+                    .firstDetectedAt(firstDetectedAt)
+                    .lastDetectedAt(last.detectedAt())
+                    .lastStatus(last.detectedStatus())
+                    .avgConfidence(confidenceCount > 0 ? confidenceSum / confidenceCount : null)
+                    .maxConfidence(maxConfidence)
+                    .maxHumanCount(maxHumanCount)
+                    .avgFinalRiskScore(riskCount > 0 ? riskSum / riskCount : null)
+                    .maxFinalRiskScore(maxRisk)
+                    .build();
+        }
+    }
+}
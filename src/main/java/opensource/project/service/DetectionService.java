@@ -4,6 +4,7 @@ import opensource.project.dto.*;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
 
 /**
@@ -17,6 +18,12 @@ public interface DetectionService {
     // 모든 Detection 조회
     List<DetectionResponseDto> getAllDetections();
 
+    // Detection 키셋 페이지 조회 (탐지 시각, ID 내림차순)
+    CursorPageDto<DetectionResponseDto> getDetectionPage(String cursor, int limit);
+
+    // 모든 Detection을 NDJSON으로 내보내기 (Stream 조회, 메모리 사용량 일정)
+    void exportDetections(OutputStream out) throws IOException;
+
     // 특정 생존자의 가장 최신 Detection 조회
     DetectionResponseDto getLatestDetectionBySurvivor(Long survivorId);
 
@@ -37,8 +44,11 @@ public interface DetectionService {
             MultipartFile imageFile
     ) throws IOException;
 
-    // Detection ID로 분석 이미지 조회
-    byte[] getAnalyzedImage(Long detectionId);
+    // Detection ID로 분석 이미지의 BlobStore 키 조회 (아직 BlobStore로 옮기지 않은 기존 이미지면 null)
+    String getAnalyzedImageKey(Long detectionId);
+
+    // BlobStore로 옮기기 전의 기존 분석 이미지 조회 (DB LOB 컬럼)
+    byte[] getLegacyAnalyzedImage(Long detectionId);
 
     // AI 모델의 분석 결과를 처리
     void processAIDetectionResult(AIDetectionResultDto aiResult,
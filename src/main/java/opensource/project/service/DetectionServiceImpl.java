@@ -1,21 +1,28 @@
 package opensource.project.service;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import opensource.project.domain.*;
 import opensource.project.domain.enums.DetectionType;
 import opensource.project.dto.*;
 import opensource.project.repository.*;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.io.OutputStream;
 import java.time.LocalDateTime;
 import java.util.Base64;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Optional;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Slf4j
 @Service
@@ -33,6 +40,12 @@ public class DetectionServiceImpl implements DetectionService {
     private final PriorityService priorityService;
     private final ObjectDetectionApiClient objectDetectionApiClient;
     private final AIDetectionProcessorService aiDetectionProcessorService;
+    private final WifiSurvivorTracker wifiSurvivorTracker;
+    private final DeviceLivenessMonitor deviceLivenessMonitor;
+    private final BlobStore blobStore;
+    private final ObjectProvider<AnalyzedImageBlobMigrator> analyzedImageBlobMigrator;
+    private final ObjectMapper objectMapper;
+    private final EntityManager entityManager;
 
     @Override
     @Transactional
@@ -88,6 +101,13 @@ public class DetectionServiceImpl implements DetectionService {
             survivor.setCurrentStatus(requestDto.getDetectedStatus());
         }
 
+        // WiFi 센서별 추적 정보 갱신 (마지막 탐지 수단 기준)
+        if (wifiSensor != null) {
+            wifiSurvivorTracker.recordDetection(wifiSensor.getId(), survivor, requestDto.getDetectedAt());
+        } else {
+            wifiSurvivorTracker.evictSurvivor(survivor.getId());
+        }
+
         // WebSocket으로 실시간 브로드캐스트
         DetectionResponseDto responseDto = DetectionResponseDto.from(savedDetection);
         webSocketService.broadcastDetectionUpdate(requestDto.getSurvivorId(), responseDto);
@@ -97,11 +117,36 @@ public class DetectionServiceImpl implements DetectionService {
 
     @Override
     public List<DetectionResponseDto> getAllDetections() {
-        return detectionRepository.findAll().stream()
+        return detectionRepository.findAllListRows().stream()
                 .map(DetectionResponseDto::from)
                 .collect(Collectors.toList());
     }
 
+    @Override
+    public CursorPageDto<DetectionResponseDto> getDetectionPage(String cursor, int limit) {
+        CursorPageDto.validateLimit(limit);
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        PageRequest fetch = PageRequest.ofSize(limit + 1);
+        List<DetectionListRow> rows = after == null
+                ? detectionRepository.findListRowsFirstPage(fetch)
+                : detectionRepository.findListRowsBefore(after.at(), after.id(), fetch);
+        return CursorPageDto.of(rows, limit,
+                row -> new KeysetCursor(row.detectedAt(), row.id()),
+                DetectionResponseDto::from);
+    }
+
+    // 읽은 엔티티(생존자, 장비, 위치)가 영속성 컨텍스트에 쌓이지 않도록 NdjsonWriter.BATCH_SIZE마다 비움
+    @Override
+    public void exportDetections(OutputStream out) throws IOException {
+        try (Stream<DetectionListRow> rows = detectionRepository.streamAllListRows();
+             NdjsonWriter writer = new NdjsonWriter(objectMapper, out, entityManager::clear)) {
+            Iterator<DetectionListRow> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                writer.write(DetectionResponseDto.from(iterator.next()));
+            }
+        }
+    }
+
     // 특정 생존자의 가장 최신 Detection 조회
     @Override
     public DetectionResponseDto getLatestDetectionBySurvivor(Long survivorId) {
@@ -275,7 +320,7 @@ public class DetectionServiceImpl implements DetectionService {
                 .humanCount(summary.getHumanCount() != null ? summary.getHumanCount() : 0)
                 .smokeCount(summary.getSmokeCount() != null ? summary.getSmokeCount() : 0)
                 .totalObjects(summary.getTotalObjects() != null ? summary.getTotalObjects() : 0)
-                .analyzedImage(analyzedImageBytes)
+                .analyzedImageKey(blobStore.put(analyzedImageBytes))
                 .build();
 
         Detection savedDetection = detectionRepository.save(detection);
@@ -305,18 +350,26 @@ public class DetectionServiceImpl implements DetectionService {
                 .build();
     }
 
-    // Detection ID로 분석 이미지 조회
+    // Detection ID로 분석 이미지의 BlobStore 키 조회 (Detection 엔터티는 불러오지 않음)
+    // 키가 없으면 아직 BlobStore로 옮기지 않은 기존 이미지일 수 있으므로 null을 반환함 (getLegacyAnalyzedImage 참고)
     @Override
-    public byte[] getAnalyzedImage(Long detectionId) {
-        Detection detection = detectionRepository.findById(detectionId)
-                .orElseThrow(() -> new IllegalArgumentException("Detection not found with id: " + detectionId));
-
-        byte[] analyzedImage = detection.getAnalyzedImage();
-        if (analyzedImage == null) {
-            throw new IllegalArgumentException("No analyzed image found for detection id: " + detectionId);
-        }
+    public String getAnalyzedImageKey(Long detectionId) {
+        return detectionRepository.findAnalyzedImageKeyById(detectionId)
+                .orElseGet(() -> {
+                    if (!detectionRepository.existsById(detectionId)) {
+                        throw new IllegalArgumentException("Detection not found with id: " + detectionId);
+                    }
+                    return null;
+                });
+    }
 
-        return analyzedImage;
+    // 이전 작업(AnalyzedImageBlobMigrator)이 아직 옮기지 않은 기존 분석 이미지를 DB LOB 컬럼에서 조회
+    @Override
+    public byte[] getLegacyAnalyzedImage(Long detectionId) {
+        AnalyzedImageBlobMigrator migrator = analyzedImageBlobMigrator.getIfAvailable();
+        return Optional.ofNullable(migrator)
+                .flatMap(available -> available.findLegacyImage(detectionId))
+                .orElseThrow(() -> new IllegalArgumentException("No analyzed image found for detection id: " + detectionId));
     }
 
     /**
@@ -329,6 +382,9 @@ public class DetectionServiceImpl implements DetectionService {
                                           Long cctvId,
                                           Long locationId,
                                           String videoUrl) {
+        // 분석 결과 수신을 CCTV 스트림의 생존 신호로 기록함 (라이브 스트리밍 중인 CCTV만 인정, 알림은 커밋 후)
+        deviceLivenessMonitor.recordCctvHeartbeat(cctvId);
+
         // AI 탐지 결과 처리를 전담 서비스로 위임
         aiDetectionProcessorService.processAIDetectionResult(aiResult, cctvId, locationId, videoUrl);
     }
@@ -0,0 +1,269 @@
+package opensource.project.service;
+
+import lombok.extern.slf4j.Slf4j;
+import opensource.project.domain.CCTV;
+import opensource.project.domain.enums.CCTVStatus;
+import opensource.project.dto.SensorHealthEventDto;
+import opensource.project.repository.CCTVRepository;
+import opensource.project.repository.WifiSensorRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * WiFi 센서와 CCTV 스트림의 생존 여부를 감시하는 컴포넌트
+ *
+ * 문제:
+ * - 메시지가 들어올 때마다 활성으로 표시만 하고, 장비가 멈춰도 비활성으로 돌아가지 않음
+ *   (고장 난 ESP32가 계속 정상으로 보임)
+ *
+ * 해결:
+ * - 장비별 마지막 신호 시각을 해시 타이머 휠(LivenessWheel)로 관리함 (신호당 O(1), DB 폴링 없음)
+ * - 설정한 시간 동안 신호가 없으면 오프라인으로 전환하여 DB 상태를 바꾸고 /topic/sensors/health로 알림
+ * - 오프라인 장비에서 다시 신호가 오면 온라인으로 전환하여 DB 상태를 바꾸고 알림
+ * - 상태 알림은 DB 변경이 커밋된 뒤에 보냄 (트랜잭션 밖이면 바로 보냄)
+ * - 온라인 전환 후 트랜잭션이 롤백되면 휠과 센서 레지스트리의 전환도 되돌림
+ *   (DB는 비활성으로 남으므로, 다음 신호에서 다시 온라인 전환을 시도함)
+ *
+ * 신호(heartbeat) 발생 위치:
+ * - WiFi 센서: MQTT 메시지 처리 (WifiDetectionMqttService)
+ * - CCTV: 라이브 스트리밍 시작(LiveStreamServiceImpl)과 AI 분석 결과 수신 (DetectionServiceImpl.processAIDetectionResult)
+ *   업로드 영상 분석 결과도 같은 경로로 들어오므로, 라이브 스트리밍 중인 CCTV의 결과만 신호로 인정함
+ *
+ * 설정:
+ * - liveness.wifi-timeout-seconds: WiFi 센서 무신호 허용 시간 (기본값: 30초)
+ * - liveness.cctv-timeout-seconds: CCTV 무신호 허용 시간 (기본값: 60초)
+ */
+@Slf4j
+@Component
+public class DeviceLivenessMonitor {
+
+    private static final long TICK_MILLIS = 1_000;
+    private static final int WHEEL_SIZE = 512;
+
+    /**
+     * 장비 종류
+     */
+    public enum DeviceType {
+        WIFI_SENSOR,
+        CCTV
+    }
+
+    /**
+     * 휠에서 장비를 구분하는 키
+     */
+    record DeviceKey(DeviceType type, Long id) {
+    }
+
+    private final WifiSensorRepository wifiSensorRepository;
+    private final CCTVRepository cctvRepository;
+    private final WifiSensorRegistry wifiSensorRegistry;
+    private final WebSocketService webSocketService;
+
+    private final long wifiTimeoutMillis;
+    private final long cctvTimeoutMillis;
+
+    private final LivenessWheel<DeviceKey> wheel = new LivenessWheel<>(TICK_MILLIS, WHEEL_SIZE);
+
+    // 라이브 스트리밍 중인 CCTV ID (시작 ~ 정상 종료)
+    private final Set<Long> liveCctvIds = ConcurrentHashMap.newKeySet();
+
+    public DeviceLivenessMonitor(WifiSensorRepository wifiSensorRepository,
+                                 CCTVRepository cctvRepository,
+                                 WifiSensorRegistry wifiSensorRegistry,
+                                 WebSocketService webSocketService,
+                                 @Value("${liveness.wifi-timeout-seconds:30}") long wifiTimeoutSeconds,
+                                 @Value("${liveness.cctv-timeout-seconds:60}") long cctvTimeoutSeconds) {
+        if (wifiTimeoutSeconds <= 0 || cctvTimeoutSeconds <= 0) {
+            throw new IllegalArgumentException("liveness 무신호 허용 시간은 1초 이상이어야 합니다.");
+        }
+        this.wifiSensorRepository = wifiSensorRepository;
+        this.cctvRepository = cctvRepository;
+        this.wifiSensorRegistry = wifiSensorRegistry;
+        this.webSocketService = webSocketService;
+        this.wifiTimeoutMillis = wifiTimeoutSeconds * 1_000;
+        this.cctvTimeoutMillis = cctvTimeoutSeconds * 1_000;
+    }
+
+    /**
+     * 시작 시 활성 상태인 장비를 추적 대상으로 등록함
+     * 재시작 후 한 번도 신호를 보내지 않는 장비도 무신호 허용 시간이 지나면 오프라인으로 전환됨
+     */
+    @Order(1)
+    @EventListener(ApplicationReadyEvent.class)
+    public void registerActiveDevices() {
+        long now = nowMillis();
+        wifiSensorRegistry.getAll().values().stream()
+                .filter(WifiSensorRegistry.SensorSnapshot::active)
+                .forEach(sensor -> wheel.track(new DeviceKey(DeviceType.WIFI_SENSOR, sensor.sensorId()), now, wifiTimeoutMillis));
+
+        List<CCTV> liveCctvs = cctvRepository.findByStatusAndIsActive(CCTVStatus.LIVE, true);
+        liveCctvs.forEach(cctv -> {
+            liveCctvIds.add(cctv.getId());
+            wheel.track(new DeviceKey(DeviceType.CCTV, cctv.getId()), now, cctvTimeoutMillis);
+        });
+
+        log.info("장비 생존 감시 시작 - 추적 장비 {} 개 (WiFi 무신호 허용: {}초, CCTV 무신호 허용: {}초)",
+                wheel.size(), wifiTimeoutMillis / 1_000, cctvTimeoutMillis / 1_000);
+    }
+
+    /**
+     * WiFi 센서 신호를 기록함
+     * 오프라인이던 센서면 온라인으로 전환하고 DB의 활성 상태와 마지막 활성 시각을 갱신함
+     *
+     * @param sensorId WiFi 센서 ID
+     * @return 온라인으로 전환되었으면 true
+     */
+    public boolean recordWifiHeartbeat(Long sensorId) {
+        DeviceKey key = new DeviceKey(DeviceType.WIFI_SENSOR, sensorId);
+        if (!wheel.heartbeat(key, nowMillis(), wifiTimeoutMillis)) {
+            return false;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        revertOnRollback(key);
+        wifiSensorRepository.markOnline(sensorId, now);
+        wifiSensorRegistry.markActive(sensorId);
+        publish(DeviceType.WIFI_SENSOR, sensorId, "ONLINE", null, now);
+        return true;
+    }
+
+    /**
+     * CCTV 라이브 스트리밍 시작을 기록하고 생존 감시를 시작함
+     *
+     * @param cctvId CCTV ID
+     * @return 온라인으로 전환되었으면 true
+     */
+    public boolean startTrackingCctv(Long cctvId) {
+        liveCctvIds.add(cctvId);
+        return recordCctvHeartbeat(cctvId);
+    }
+
+    /**
+     * CCTV 스트림 신호를 기록함
+     * 라이브 스트리밍 중이 아닌 CCTV(업로드 영상 분석 등)의 신호는 무시함
+     * 오프라인이던 CCTV면 온라인으로 전환하고 DB의 활성 상태와 마지막 활성 시각을 갱신함
+     *
+     * @param cctvId CCTV ID
+     * @return 온라인으로 전환되었으면 true
+     */
+    public boolean recordCctvHeartbeat(Long cctvId) {
+        if (cctvId == null || !liveCctvIds.contains(cctvId)) {
+            return false;
+        }
+        DeviceKey key = new DeviceKey(DeviceType.CCTV, cctvId);
+        if (!wheel.heartbeat(key, nowMillis(), cctvTimeoutMillis)) {
+            return false;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        revertOnRollback(key);
+        cctvRepository.markOnline(cctvId, now);
+        publish(DeviceType.CCTV, cctvId, "ONLINE", null, now);
+        return true;
+    }
+
+    /**
+     * CCTV 스트림 추적을 중단함 (스트리밍을 정상 종료한 경우 오프라인 알림을 보내지 않음)
+     *
+     * @param cctvId CCTV ID
+     */
+    public void stopTrackingCctv(Long cctvId) {
+        liveCctvIds.remove(cctvId);
+        wheel.remove(new DeviceKey(DeviceType.CCTV, cctvId));
+    }
+
+    /**
+     * 휠을 1초마다 진행하여 무신호 허용 시간이 지난 장비를 오프라인으로 전환함
+     */
+    @Scheduled(fixedRate = TICK_MILLIS)
+    public void tick() {
+        long now = nowMillis();
+        for (LivenessWheel.Entry<DeviceKey> entry : wheel.advance(now)) {
+            DeviceKey key = entry.getKey();
+            long silentSeconds = (now - entry.getLastSeenMillis()) / 1_000;
+            try {
+                if (key.type() == DeviceType.WIFI_SENSOR) {
+                    if (wifiSensorRegistry.get(key.id()) == null) {
+                        // 삭제된 센서는 알림 없이 추적을 중단함
+                        wheel.remove(key);
+                        continue;
+                    }
+                    wifiSensorRepository.markOffline(key.id());
+                    wifiSensorRegistry.markInactive(key.id());
+                } else {
+                    cctvRepository.markOffline(key.id());
+                }
+                log.warn("장비 오프라인 전환 - {} {}, 마지막 신호 후 {}초", key.type(), key.id(), silentSeconds);
+                publish(key.type(), key.id(), "OFFLINE", silentSeconds, LocalDateTime.now());
+            } catch (Exception e) {
+                log.error("장비 오프라인 전환 처리 실패 - {} {}: {}", key.type(), key.id(), e.getMessage(), e);
+            }
+        }
+    }
+
+    /**
+     * 추적 중인 장비 수 (모니터링용)
+     */
+    public int getTrackedDeviceCount() {
+        return wheel.size();
+    }
+
+    /**
+     * 트랜잭션이 롤백되면 온라인 전환을 되돌림 (트랜잭션 밖이면 아무것도 하지 않음)
+     * 휠에서 장비를 제거하므로 다음 신호가 다시 온라인 전환이 되어 DB 갱신을 재시도함
+     */
+    private void revertOnRollback(DeviceKey key) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_ROLLED_BACK) {
+                    return;
+                }
+                wheel.remove(key);
+                if (key.type() == DeviceType.WIFI_SENSOR) {
+                    wifiSensorRegistry.markInactive(key.id());
+                }
+                log.debug("온라인 전환 롤백 - {} {}", key.type(), key.id());
+            }
+        });
+    }
+
+    /**
+     * 상태 알림을 보냄 (트랜잭션 안이면 커밋된 뒤, 롤백되면 보내지 않음)
+     */
+    private void publish(DeviceType type, Long id, String status, Long silentSeconds, LocalDateTime changedAt) {
+        SensorHealthEventDto event = SensorHealthEventDto.builder()
+                .deviceType(type.name())
+                .deviceId(id)
+                .status(status)
+                .silentSeconds(silentSeconds)
+                .changedAt(changedAt)
+                .build();
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            webSocketService.broadcastSensorHealth(event);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                webSocketService.broadcastSensorHealth(event);
+            }
+        });
+    }
+
+    private static long nowMillis() {
+        return System.nanoTime() / 1_000_000;
+    }
+}
@@ -0,0 +1,321 @@
+package opensource.project.service;
+
+import lombok.extern.slf4j.Slf4j;
+import opensource.project.service.StompPayloadPublisher.EncodedPayload;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.function.LongConsumer;
+import java.util.function.Predicate;
+
+/**
+ * 브로드캐스트 이벤트에 순번(seq)을 붙여 최근 이벤트를 보관하는 메모리 재전송 로그
+ *
+ * 문제:
+ * - SockJS 재연결 후 대시보드가 놓친 변경을 알 수 없어 REST API(/survivors, /detections, /priority-assessments)로
+ *   전체를 다시 조회하므로, 사고 상황에서 재연결이 몰리면 Oracle 부하가 급증함
+ *
+ * 해결:
+ * - 이벤트마다 단조 증가하는 순번을 붙여 최근 capacity개를 보관함 (STOMP 메시지에는 seq 헤더로 전달)
+ * - 순번은 서버가 시작할 때마다 1부터 다시 세므로, 시작 시 만든 epoch(실행 식별자)를 함께 전달함
+ *   (STOMP 메시지에는 epoch 헤더로 전달)
+ * - 재연결한 클라이언트가 마지막으로 받은 epoch와 순번(lastSeq)을 보내면 그 이후 이벤트만 돌려줌
+ * - epoch가 다르거나(서버 재시작), lastSeq가 보관 범위보다 오래되었거나 맞지 않으면, 상태 키별 최신 이벤트만 모은
+ *   스냅샷을 돌려줌 (생존자별 최신 정보/점수/탐지 등, max-state-keys개까지 보관)
+ *
+ * 트랜잭션 안에서 호출된 기록/삭제는 커밋된 뒤에 반영함 (롤백된 데이터가 재전송 로그와 스냅샷에 들어가지 않음)
+ *
+ * 순번 부여와 보관은 잠금 안에서 하고, 브로커 채널 전달(최대 brokerFullWaitMillis 동안 대기 가능)과 리스너 호출은
+ * 잠금 밖의 전송 대기열(outbox)에서 함 (전송이 막혀도 순번 부여, 재전송 조회가 기다리지 않음)
+ * 대기열에는 잠금 안에서 순번 순서대로 넣고, 한 번에 한 스레드만 꺼내 전송하므로 브로커 채널에는 순번 순서대로 들어감
+ * (먼저 전송 중인 스레드가 있으면 이벤트를 대기열에 넣고 바로 반환하며, 전송 중인 스레드가 이어서 보냄)
+ * 이후 순서는 전송 경로가 유지함 (단일 브로커 스레드와 대기형 거부 정책, 세션별 outbound 순서 유지,
+ * 순번 메시지를 교체하거나 버리지 않는 세션 송신 큐 - WebSocketConfig, ConflatingWebSocketSessionDecorator 참고)
+ * 다만 전달을 보장하지는 않음 (브로커 채널 대기 시간 초과, 느린 구독자 세션 종료 등)
+ * 클라이언트는 순번을 중복 제거와 재전송 요청 기준으로 쓰고, 재연결 시 재전송 요청으로 놓친 이벤트를 받음
+ * STOMP 외의 전송 경로(SSE 등)는 subscribe()로 리스너를 등록하여 같은 순서로 이벤트를 받음
+ * 순번은 모든 토픽에 공통이므로, 구독하지 않은 토픽의 이벤트만큼 순번이 건너뛰는 것은 정상임
+ */
+@Slf4j
+@Component
+public class EventReplayLog {
+
+    /**
+     * 보관된 이벤트 1건
+     *
+     * @param seq 순번
+     * @param destination 전송 토픽
+     * @param interestDestinations 같은 순번으로 전송한 건물/층 관심 토픽 (LocationInterestRouter 참고)
+     * @param payload 직렬화된 본문
+     */
+    public record Entry(long seq, String destination, List<String> interestDestinations, EncodedPayload payload) {
+
+        /**
+         * 전송 토픽이나 관심 토픽 중 하나가 조건에 맞는지 여부
+         * (관심 토픽 구독자도 재전송과 스냅샷에서 해당 구역의 이벤트를 받음)
+         */
+        public boolean matches(Predicate<String> destinationFilter) {
+            if (destinationFilter.test(destination)) {
+                return true;
+            }
+            for (String interestDestination : interestDestinations) {
+                if (destinationFilter.test(interestDestination)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * 재전송 조회 결과
+     *
+     * @param epoch 현재 서버 실행 식별자 (클라이언트는 이후 이 값과 lastSeq로 이어서 받음)
+     * @param snapshot true면 lastSeq 이후 이벤트가 아니라 상태 키별 최신 이벤트임
+     * @param lastSeq 조회 시점의 마지막 순번 (클라이언트는 이후 이 값부터 이어서 받음)
+     * @param entries 순번 오름차순 이벤트
+     */
+    public record Replay(String epoch, boolean snapshot, long lastSeq, List<Entry> entries) {
+    }
+
+    // 서버 실행 식별자 (재시작하면 바뀌므로 이전 실행의 순번과 구분함)
+    private final String epoch = UUID.randomUUID().toString().substring(0, 8);
+
+    private final int capacity;
+    private final int maxStateKeys;
+
+    // 최근 이벤트 (순번 오름차순)
+    private final ArrayDeque<Entry> entries;
+
+    // 상태 키 → 최신 이벤트 (오래 갱신되지 않은 키부터 제거)
+    private final LinkedHashMap<String, Entry> latestByStateKey;
+
+    // 이벤트 리스너 (전송 대기열을 비우는 스레드에서 순번 순서대로 호출됨)
+    private final CopyOnWriteArrayList<Listener> listeners = new CopyOnWriteArrayList<>();
+
+    // 전송 대기 이벤트 (잠금 안에서 순번 순서대로 넣음)
+    private final ConcurrentLinkedQueue<Outgoing> outbox = new ConcurrentLinkedQueue<>();
+
+    // 전송 대기열을 비우는 중인 스레드가 있는지 여부
+    private final AtomicBoolean draining = new AtomicBoolean(false);
+
+    private long lastSeq;
+
+    public EventReplayLog(@Value("${event-log.capacity:10000}") int capacity,
+                          @Value("${event-log.max-state-keys:10000}") int maxStateKeys) {
+        if (capacity <= 0 || maxStateKeys <= 0) {
+            throw new IllegalArgumentException("event-log.capacity와 event-log.max-state-keys는 1 이상이어야 합니다.");
+        }
+        this.capacity = capacity;
+        this.maxStateKeys = maxStateKeys;
+        this.entries = new ArrayDeque<>(capacity);
+        this.latestByStateKey = new LinkedHashMap<>() {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > EventReplayLog.this.maxStateKeys;
+            }
+        };
+    }
+
+    /**
+     * 리스너와 리스너가 받기 시작하는 순번
+     */
+    private record Listener(Consumer<Entry> consumer, long afterSeq) {
+    }
+
+    /**
+     * 전송 대기 이벤트
+     */
+    private record Outgoing(Entry entry, LongConsumer publisher) {
+    }
+
+    /**
+     * 이벤트에 순번을 붙여 보관하고, 잠금 밖에서 순번 순서대로 전송함
+     * 트랜잭션 안에서 호출되면 커밋된 뒤에 순번을 붙이고, 롤백되면 기록하지 않음
+     *
+     * @param destination 전송 토픽
+     * @param interestDestinations 같은 이벤트를 받는 건물/층 관심 토픽 (구독 여부와 무관, 없으면 빈 목록)
+     * @param stateKey 스냅샷에서 최신 값만 남길 키 (null이면 스냅샷에 포함하지 않음)
+     * @param payload 직렬화된 본문
+     * @param publisher 부여된 순번으로 메시지를 전송하는 함수 (잠금 밖에서 호출됨)
+     */
+    public void append(String destination, List<String> interestDestinations, String stateKey,
+                       EncodedPayload payload, LongConsumer publisher) {
+        afterCommit(() -> {
+            synchronized (this) {
+                Entry entry = new Entry(++lastSeq, destination, interestDestinations, payload);
+                if (entries.size() == capacity) {
+                    entries.removeFirst();
+                }
+                entries.addLast(entry);
+                if (stateKey != null) {
+                    latestByStateKey.remove(stateKey);
+                    latestByStateKey.put(stateKey, entry);
+                }
+                outbox.add(new Outgoing(entry, publisher));
+            }
+            drain();
+        });
+    }
+
+    /**
+     * 상태 키와 그 하위 키(stateKey + "/...")를 스냅샷에서 제거함 (삭제된 생존자/기록 등)
+     * 트랜잭션 안에서 호출되면 커밋된 뒤에 제거함 (같은 트랜잭션의 기록보다 먼저 반영되지 않음)
+     *
+     * @param stateKey 상태 키
+     */
+    public void forget(String stateKey) {
+        afterCommit(() -> {
+            synchronized (this) {
+                String childPrefix = stateKey + "/";
+                latestByStateKey.keySet().removeIf(key -> key.equals(stateKey) || key.startsWith(childPrefix));
+            }
+        });
+    }
+
+    /**
+     * 전송 대기열을 순번 순서대로 비움
+     * 다른 스레드가 비우는 중이면 바로 반환함 (그 스레드가 이어서 전송함)
+     */
+    private void drain() {
+        while (!outbox.isEmpty() && draining.compareAndSet(false, true)) {
+            try {
+                Outgoing outgoing;
+                while ((outgoing = outbox.poll()) != null) {
+                    deliver(outgoing.entry(), outgoing.publisher());
+                }
+            } finally {
+                draining.set(false);
+            }
+        }
+    }
+
+    private void deliver(Entry entry, LongConsumer publisher) {
+        try {
+            publisher.accept(entry.seq());
+        } catch (RuntimeException e) {
+            log.warn("순번 {} 이벤트 전송 실패 - {}: {}", entry.seq(), entry.destination(), e.getMessage());
+        }
+        for (Listener listener : listeners) {
+            // 구독 시점의 재전송 결과에 이미 포함된 이벤트는 건너뜀
+            if (entry.seq() <= listener.afterSeq()) {
+                continue;
+            }
+            try {
+                listener.consumer().accept(entry);
+            } catch (RuntimeException e) {
+                log.warn("순번 {} 이벤트 리스너 호출 실패: {}", entry.seq(), e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * 트랜잭션 안이면 커밋된 뒤에 실행하고 (롤백되면 실행하지 않음), 트랜잭션 밖이면 바로 실행함
+     * 다른 커밋 후 콜백(afterCommit) 안에서 보낸 이벤트도 빠지지 않도록,
+     * 동기화가 해제된 뒤 호출되는 afterCompletion에서 실행함
+     */
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    action.run();
+                }
+            }
+        });
+    }
+
+    /**
+     * lastSeq 이후의 이벤트를 조회함
+     * epoch가 현재 실행과 다르거나, lastSeq가 0 이하이거나 보관 범위를 벗어나면 스냅샷을 돌려줌
+     *
+     * @param epoch 클라이언트가 마지막으로 받은 서버 실행 식별자 (없으면 null)
+     * @param lastSeq 클라이언트가 마지막으로 받은 순번
+     * @param destinationFilter 돌려줄 토픽 조건
+     * @return 재전송 결과
+     */
+    public synchronized Replay since(String epoch, long lastSeq, Predicate<String> destinationFilter) {
+        long oldestSeq = entries.isEmpty() ? this.lastSeq + 1 : entries.peekFirst().seq();
+        if (!this.epoch.equals(epoch) || lastSeq <= 0 || lastSeq < oldestSeq - 1 || lastSeq > this.lastSeq) {
+            List<Entry> latest = latestByStateKey.values().stream()
+                    .filter(entry -> entry.matches(destinationFilter))
+                    .sorted(Comparator.comparingLong(Entry::seq))
+                    .toList();
+            log.info("재전송 범위를 벗어나 스냅샷 응답 - epoch: {} (현재 {}), lastSeq: {}, 보관 범위: {}~{}, 상태 {}건",
+                    epoch, this.epoch, lastSeq, oldestSeq, this.lastSeq, latest.size());
+            return new Replay(this.epoch, true, this.lastSeq, latest);
+        }
+
+        List<Entry> missed = new ArrayList<>();
+        Iterator<Entry> newestFirst = entries.descendingIterator();
+        while (newestFirst.hasNext()) {
+            Entry entry = newestFirst.next();
+            if (entry.seq() <= lastSeq) {
+                break;
+            }
+            if (entry.matches(destinationFilter)) {
+                missed.add(entry);
+            }
+        }
+        Collections.reverse(missed);
+        return new Replay(this.epoch, false, this.lastSeq, missed);
+    }
+
+    /**
+     * lastSeq 이후의 이벤트를 조회하고, 같은 잠금 안에서 이후 이벤트를 받을 리스너를 등록함
+     * 따라서 리스너는 조회 결과의 lastSeq 다음 순번부터 빠짐없이 순서대로 받음
+     * 리스너는 전송 대기열을 비우는 스레드에서 호출되므로 블로킹하지 않아야 함 (큐에 넣고 반환)
+     *
+     * @param epoch 클라이언트가 마지막으로 받은 서버 실행 식별자 (없으면 null)
+     * @param lastSeq 클라이언트가 마지막으로 받은 순번
+     * @param destinationFilter 돌려줄 토픽 조건 (리스너에는 적용하지 않음)
+     * @param listener 이후 이벤트를 받을 함수
+     * @return 재전송 결과
+     */
+    public synchronized Replay subscribe(String epoch, long lastSeq, Predicate<String> destinationFilter,
+                                         Consumer<Entry> listener) {
+        Replay replay = since(epoch, lastSeq, destinationFilter);
+        listeners.add(new Listener(listener, replay.lastSeq()));
+        return replay;
+    }
+
+    /**
+     * 등록한 리스너를 제거함
+     *
+     * @param listener subscribe()로 등록한 함수
+     */
+    public void unsubscribe(Consumer<Entry> listener) {
+        listeners.removeIf(registered -> registered.consumer() == listener);
+    }
+
+    public String getEpoch() {
+        return epoch;
+    }
+
+    public synchronized long getLastSeq() {
+        return lastSeq;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+}
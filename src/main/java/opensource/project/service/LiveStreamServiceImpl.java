@@ -31,6 +31,7 @@ public class LiveStreamServiceImpl implements LiveStreamService {
 
     private final CCTVRepository cctvRepository;
     private final RestTemplate restTemplate;
+    private final DeviceLivenessMonitor deviceLivenessMonitor;
 
     @Value("${ai.object-detection.base-url}")
     private String fastApiBaseUrl;
@@ -91,6 +92,9 @@ public class LiveStreamServiceImpl implements LiveStreamService {
 
                 log.info("Live stream started successfully. HLS URL: {}", hlsUrl);
 
+                // 스트리밍 시작 시점부터 생존 감시를 시작함
+                deviceLivenessMonitor.startTrackingCctv(requestDto.getCctvId());
+
                 return LiveStreamResponseDto.builder()
                         .status("success")
                         .message("라이브 스트리밍이 시작되었습니다")
@@ -146,6 +150,9 @@ public class LiveStreamServiceImpl implements LiveStreamService {
             if (response.getStatusCode().is2xxSuccessful()) {
                 log.info("Live stream stopped successfully for CCTV ID: {}", cctvId);
 
+                // 정상 종료한 스트림은 오프라인으로 알리지 않도록 감시를 중단함
+                deviceLivenessMonitor.stopTrackingCctv(cctvId);
+
                 return LiveStreamResponseDto.builder()
                         .status("success")
                         .message("라이브 스트리밍이 중지되었습니다")
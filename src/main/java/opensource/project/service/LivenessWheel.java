@@ -0,0 +1,194 @@
+package opensource.project.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 장비별 마지막 신호 시각으로 오프라인 전환 시점을 관리하는 해시 타이머 휠
+ *
+ * 구조:
+ * - tickMillis 단위의 슬롯 wheelSize개로 이루어진 원형 배열이며, 각 장비는 만료 예정 tick의 슬롯에 들어감
+ * - 한 바퀴보다 긴 만료 시각은 슬롯에 기록된 tick 번호로 구분함 (해당 바퀴가 올 때까지 건너뜀)
+ *
+ * 비용:
+ * - heartbeat: 맵 조회 1번 + volatile 쓰기 1번 (O(1), 슬롯 이동 없음)
+ * - 슬롯 이동은 만료 tick에 도달했을 때만 수행함. 그 사이 신호가 있었으면 새 만료 시각의 슬롯으로 옮기고,
+ *   없었으면 오프라인으로 전환함 (장비당 timeout마다 최대 1번)
+ *
+ * 스레드:
+ * - heartbeat/track/remove는 어느 스레드에서나 호출 가능함
+ * - advance는 단일 스레드(스케줄러)에서만 호출하며, 슬롯 배열은 이 스레드만 접근함
+ *   (다른 스레드에서 새로 온라인이 된 장비는 대기 큐를 거쳐 다음 advance에서 슬롯에 들어감)
+ * - 만료 판단과 동시에 신호가 도착하면 드물게 오프라인 직후 다시 온라인으로 전환될 수 있음
+ *
+ * @param <K> 장비 식별자 타입
+ */
+final class LivenessWheel<K> {
+
+    /**
+     * 추적 중인 장비 1개
+     */
+    static final class Entry<K> {
+        private final K key;
+        private final long timeoutMillis;
+        private final AtomicBoolean online = new AtomicBoolean(false);
+        private volatile long lastSeenMillis;
+        private volatile boolean removed;
+
+        // advance 스레드에서만 사용함
+        private long scheduledTick;
+
+        private Entry(K key, long timeoutMillis) {
+            this.key = key;
+            this.timeoutMillis = timeoutMillis;
+        }
+
+        K getKey() {
+            return key;
+        }
+
+        long getLastSeenMillis() {
+            return lastSeenMillis;
+        }
+    }
+
+    private final long tickMillis;
+    private final int mask;
+    private final List<Entry<K>>[] slots;
+    private final ConcurrentHashMap<K, Entry<K>> entries = new ConcurrentHashMap<>();
+    private final ConcurrentLinkedQueue<Entry<K>> pending = new ConcurrentLinkedQueue<>();
+
+    // 마지막으로 처리한 tick (advance 스레드에서만 사용함)
+    private long currentTick = -1;
+
+    /**
+     * @param tickMillis tick 간격 (오프라인 전환 시각의 정밀도)
+     * @param wheelSize 슬롯 수 (2의 거듭제곱으로 올림)
+     */
+    @SuppressWarnings("unchecked")
+    LivenessWheel(long tickMillis, int wheelSize) {
+        if (tickMillis <= 0 || wheelSize <= 0) {
+            throw new IllegalArgumentException("tickMillis와 wheelSize는 1 이상이어야 합니다.");
+        }
+        int size = Integer.highestOneBit(Math.max(1, wheelSize - 1)) << 1;
+        this.tickMillis = tickMillis;
+        this.mask = size - 1;
+        this.slots = new List[size];
+        for (int i = 0; i < size; i++) {
+            slots[i] = new ArrayList<>();
+        }
+    }
+
+    /**
+     * 장비 신호를 기록함
+     *
+     * @return 오프라인(또는 처음 보는) 장비가 온라인으로 전환되었으면 true
+     */
+    boolean heartbeat(K key, long nowMillis, long timeoutMillis) {
+        Entry<K> entry = entries.get(key);
+        if (entry == null) {
+            entry = entries.computeIfAbsent(key, k -> new Entry<>(k, timeoutMillis));
+        }
+        entry.lastSeenMillis = nowMillis;
+        if (entry.online.get() || !entry.online.compareAndSet(false, true)) {
+            return false;
+        }
+        pending.add(entry);
+        return true;
+    }
+
+    /**
+     * 장비를 온라인 상태로 추적하기 시작함 (전환 이벤트 없음, 시작 시 초기 등록용)
+     * 이미 추적 중이면 아무것도 하지 않음
+     */
+    void track(K key, long nowMillis, long timeoutMillis) {
+        Entry<K> entry = new Entry<>(key, timeoutMillis);
+        entry.lastSeenMillis = nowMillis;
+        entry.online.set(true);
+        if (entries.putIfAbsent(key, entry) == null) {
+            pending.add(entry);
+        }
+    }
+
+    /**
+     * 장비 추적을 중단함 (슬롯에서는 다음 만료 tick에 제거됨)
+     */
+    void remove(K key) {
+        Entry<K> entry = entries.remove(key);
+        if (entry != null) {
+            entry.removed = true;
+        }
+    }
+
+    /**
+     * 현재 시각까지 tick을 진행하고 오프라인으로 전환된 장비를 반환함
+     *
+     * @param nowMillis 현재 시각 (단조 증가 시계)
+     * @return 이번에 오프라인으로 전환된 장비
+     */
+    List<Entry<K>> advance(long nowMillis) {
+        long targetTick = nowMillis / tickMillis;
+        if (currentTick < 0) {
+            currentTick = targetTick;
+        }
+
+        Entry<K> entry;
+        while ((entry = pending.poll()) != null) {
+            schedule(entry);
+        }
+
+        List<Entry<K>> expired = new ArrayList<>();
+        List<Entry<K>> rescheduled = new ArrayList<>();
+        while (currentTick < targetTick) {
+            currentTick++;
+            List<Entry<K>> slot = slots[(int) (currentTick & mask)];
+            int kept = 0;
+            for (int i = 0; i < slot.size(); i++) {
+                Entry<K> candidate = slot.get(i);
+                if (candidate.removed) {
+                    continue;
+                }
+                if (candidate.scheduledTick > currentTick) {
+                    // 다음 바퀴에 만료될 장비
+                    slot.set(kept++, candidate);
+                    continue;
+                }
+                if (nowMillis - candidate.lastSeenMillis >= candidate.timeoutMillis) {
+                    if (candidate.online.compareAndSet(true, false)) {
+                        expired.add(candidate);
+                    }
+                } else {
+                    rescheduled.add(candidate);
+                }
+            }
+            slot.subList(kept, slot.size()).clear();
+
+            for (Entry<K> moved : rescheduled) {
+                schedule(moved);
+            }
+            rescheduled.clear();
+        }
+        return expired;
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    boolean isOnline(K key) {
+        Entry<K> entry = entries.get(key);
+        return entry != null && entry.online.get();
+    }
+
+    private void schedule(Entry<K> entry) {
+        if (entry.removed) {
+            return;
+        }
+        long deadlineTick = (entry.lastSeenMillis + entry.timeoutMillis + tickMillis - 1) / tickMillis;
+        entry.scheduledTick = Math.max(deadlineTick, currentTick + 1);
+        slots[(int) (entry.scheduledTick & mask)].add(entry);
+    }
+}
@@ -0,0 +1,142 @@
+package opensource.project.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.regex.Pattern;
+
+/**
+ * 로컬 파일시스템 BlobStore 구현체 (blob-store.type = local, 기본값)
+ *
+ * 저장 위치: {local-dir}/{키 앞 2자}/{키 다음 2자}/{키} (디렉터리당 파일 수를 제한함)
+ * - 임시 파일에 쓴 뒤 최종 경로로 원자적 이동하므로, 읽는 쪽은 완성된 파일만 봄
+ * - 같은 내용을 동시에 저장해도 결과 파일은 하나이며 내용이 같으므로 먼저 이동한 쪽을 그대로 사용함
+ * - 읽기는 FileChannel.transferTo로 파일 내용을 힙에 올리지 않고 대상 채널로 보냄
+ *
+ * 배포 조건:
+ * - 노드 로컬 디렉터리에 저장하므로, 서버를 여러 대로 실행하면 다른 노드가 저장한 이미지를 찾지 못함 (404)
+ * - 단일 노드로 실행하거나, 모든 노드가 local-dir을 같은 공유 볼륨(NFS 등)에 마운트해야 함
+ *   (임시 파일 → 원자적 이동 방식이므로 공유 볼륨에서 여러 노드가 동시에 저장해도 됨, tmp도 같은 볼륨에 있어야 함)
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "blob-store.type", havingValue = "local", matchIfMissing = true)
+public class LocalFileBlobStore implements BlobStore {
+
+    private static final Pattern KEY_PATTERN = Pattern.compile("[0-9a-f]{64}");
+
+    private final Path root;
+    private final Path tmpDir;
+
+    public LocalFileBlobStore(@Value("${blob-store.local-dir:./data/blobs}") String localDir) {
+        this.root = Paths.get(localDir).toAbsolutePath().normalize();
+        this.tmpDir = root.resolve("tmp");
+        try {
+            Files.createDirectories(tmpDir);
+        } catch (IOException e) {
+            throw new UncheckedIOException("BlobStore 디렉터리를 만들 수 없습니다: " + root, e);
+        }
+        log.info("로컬 BlobStore 사용 - 경로: {}", root);
+    }
+
+    @Override
+    public String put(byte[] content) {
+        String key = sha256(content);
+        Path target = path(key);
+        if (Files.exists(target)) {
+            return key;
+        }
+        try {
+            Files.createDirectories(target.getParent());
+            Path tmp = Files.createTempFile(tmpDir, key, ".tmp");
+            try {
+                Files.write(tmp, content);
+                moveIntoPlace(tmp, target);
+            } finally {
+                Files.deleteIfExists(tmp);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("BlobStore 저장 실패: " + key, e);
+        }
+        return key;
+    }
+
+    @Override
+    public boolean exists(String key) {
+        return Files.exists(path(key));
+    }
+
+    @Override
+    public long size(String key) {
+        try {
+            return Files.size(path(key));
+        } catch (NoSuchFileException e) {
+            throw new IllegalArgumentException("Blob not found with key: " + key);
+        } catch (IOException e) {
+            throw new UncheckedIOException("BlobStore 조회 실패: " + key, e);
+        }
+    }
+
+    @Override
+    public void transferTo(String key, WritableByteChannel target) throws IOException {
+        FileChannel channel;
+        try {
+            channel = FileChannel.open(path(key), StandardOpenOption.READ);
+        } catch (NoSuchFileException e) {
+            throw new IllegalArgumentException("Blob not found with key: " + key);
+        }
+        try (channel) {
+            long size = channel.size();
+            long position = 0;
+            while (position < size) {
+                position += channel.transferTo(position, size - position, target);
+            }
+        }
+    }
+
+    private static void moveIntoPlace(Path tmp, Path target) throws IOException {
+        try {
+            Files.move(tmp, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (FileAlreadyExistsException e) {
+            // 같은 내용을 다른 스레드가 먼저 저장함
+        } catch (AtomicMoveNotSupportedException e) {
+            try {
+                Files.move(tmp, target);
+            } catch (FileAlreadyExistsException alreadyStored) {
+                // 같은 내용을 다른 스레드가 먼저 저장함
+            }
+        }
+    }
+
+    private Path path(String key) {
+        if (key == null || !KEY_PATTERN.matcher(key).matches()) {
+            throw new IllegalArgumentException("Invalid blob key: " + key);
+        }
+        return root.resolve(key.substring(0, 2)).resolve(key.substring(2, 4)).resolve(key);
+    }
+
+    private static String sha256(byte[] content) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256을 사용할 수 없습니다.", e);
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package opensource.project.service;
+
+import opensource.project.dto.LocationResponseDto;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.util.UriUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 건물/층 관심 토픽으로 이벤트를 보낼 destination을 찾는 컴포넌트
+ *
+ * 문제:
+ * - 모든 대시보드가 건물과 무관하게 /topic/survivors/new, /topic/recent-survivors 전체를 받고,
+ *   관심 구역만 보려면 생존자별 토픽을 수백 개 구독해야 함
+ *
+ * 해결:
+ * - 위치별 관심 토픽을 제공함 (건물 이름은 UTF-8 퍼센트 인코딩, UriUtils.encodePathSegment 기준)
+ *   - /topic/building/{buildingName}/floor/{floor}/events : 해당 층 이벤트
+ *   - /topic/building/{buildingName}/events : 건물 전체 이벤트
+ * - 위치 ID → 관심 토픽 이름, 생존자 ID → 위치를 색인해 두고, 이벤트마다 해당 위치의 관심 토픽을 돌려줌
+ *   - 구독 여부와 무관하게 돌려주므로 재전송 로그가 이벤트와 함께 기록하고(EventReplayLog.Entry),
+ *     실시간 전송은 구독자가 있는 토픽에만 함 (WebSocketServiceImpl)
+ *   - 브로커는 destination별 구독 목록으로 분배하므로 전송량은 해당 구역을 구독한 세션 수에만 비례함
+ * - 점수처럼 위치가 없는 이벤트는 생존자의 마지막 위치로, 최근 기록 삭제는 추가될 때의 위치로 보냄
+ * - 생존자/최근 기록 색인은 index-size개까지만 보관하고 오래 쓰이지 않은 항목부터 제거함
+ *   (제거된 생존자의 위치 없는 이벤트와 제거된 기록의 삭제 이벤트는 관심 토픽으로 보내지 않음)
+ */
+@Component
+public class LocationInterestRouter {
+
+    private static final String PREFIX = "/topic/building/";
+
+    // 위치 ID → 관심 토픽 이름 (위치 테이블 행 수만큼만 쌓임)
+    private final ConcurrentHashMap<Long, InterestTopics> topicsByLocation = new ConcurrentHashMap<>();
+
+    // 생존자 ID → 마지막 위치의 관심 토픽 이름 (최근 사용 순)
+    private final Map<Long, InterestTopics> topicsBySurvivor;
+
+    // 최근 기록 ID → 추가될 때 위치의 관심 토픽 이름 (최근 사용 순)
+    private final Map<Long, InterestTopics> topicsByRecentRecord;
+
+    public LocationInterestRouter(@Value("${websocket.interest-index-size:10000}") int indexSize) {
+        if (indexSize <= 0) {
+            throw new IllegalArgumentException("websocket.interest-index-size는 1 이상이어야 합니다: " + indexSize);
+        }
+        this.topicsBySurvivor = boundedIndex(indexSize);
+        this.topicsByRecentRecord = boundedIndex(indexSize);
+    }
+
+    /**
+     * 위치 1곳의 관심 토픽 이름
+     *
+     * @param destinations [층 토픽, 건물 토픽]
+     */
+    private record InterestTopics(String buildingName, int floor, List<String> destinations) {
+
+        boolean matches(LocationResponseDto location) {
+            return buildingName.equals(location.getBuildingName()) && floor == location.getFloor();
+        }
+    }
+
+    /**
+     * 생존자 위치를 기록하고, 해당 위치의 관심 토픽을 반환함
+     *
+     * @param survivorId 생존자 ID
+     * @param location 생존자(또는 탐지) 위치 (null이면 마지막으로 기록한 위치 사용)
+     * @return 층/건물 관심 토픽 (위치를 모르면 빈 목록)
+     */
+    public List<String> routeSurvivor(Long survivorId, LocationResponseDto location) {
+        InterestTopics topics = location != null ? topicsFor(location) : null;
+        if (topics != null) {
+            topicsBySurvivor.put(survivorId, topics);
+        } else {
+            topics = topicsBySurvivor.get(survivorId);
+        }
+        return destinations(topics);
+    }
+
+    /**
+     * 최근 기록 위치를 기록하고, 해당 위치의 관심 토픽을 반환함
+     */
+    public List<String> routeRecentRecordAdded(Long recordId, String buildingName, Integer floor) {
+        if (buildingName == null || floor == null) {
+            return List.of();
+        }
+        InterestTopics topics = topics(buildingName, floor);
+        topicsByRecentRecord.put(recordId, topics);
+        return destinations(topics);
+    }
+
+    /**
+     * 삭제된 최근 기록이 추가될 때의 위치의 관심 토픽을 반환하고 색인에서 제거함
+     */
+    public List<String> routeRecentRecordDeleted(Long recordId) {
+        return destinations(topicsByRecentRecord.remove(recordId));
+    }
+
+    /**
+     * 삭제된 생존자를 색인에서 제거함
+     */
+    public void forgetSurvivor(Long survivorId) {
+        topicsBySurvivor.remove(survivorId);
+    }
+
+    private InterestTopics topicsFor(LocationResponseDto location) {
+        if (location.getBuildingName() == null || location.getFloor() == null) {
+            return null;
+        }
+        if (location.getId() == null) {
+            return topics(location.getBuildingName(), location.getFloor());
+        }
+        // 위치 정보가 수정될 수 있으므로 건물/층이 바뀌었으면 다시 만듦
+        InterestTopics cached = topicsByLocation.get(location.getId());
+        if (cached != null && cached.matches(location)) {
+            return cached;
+        }
+        InterestTopics topics = topics(location.getBuildingName(), location.getFloor());
+        topicsByLocation.put(location.getId(), topics);
+        return topics;
+    }
+
+    private static List<String> destinations(InterestTopics topics) {
+        return topics != null ? topics.destinations() : List.of();
+    }
+
+    private static InterestTopics topics(String buildingName, int floor) {
+        return new InterestTopics(buildingName, floor,
+                List.of(floorTopic(buildingName, floor), buildingTopic(buildingName)));
+    }
+
+    /**
+     * maxSize개를 넘으면 가장 오래 쓰이지 않은 항목부터 제거하는 색인
+     */
+    private static Map<Long, InterestTopics> boundedIndex(int maxSize) {
+        return Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, InterestTopics> eldest) {
+                return size() > maxSize;
+            }
+        });
+    }
+
+    /**
+     * 층 관심 토픽 이름 (예: /topic/building/%EB%B3%B8%EA%B4%80/floor/3/events)
+     */
+    public static String floorTopic(String buildingName, int floor) {
+        return PREFIX + UriUtils.encodePathSegment(buildingName, StandardCharsets.UTF_8) + "/floor/" + floor + "/events";
+    }
+
+    /**
+     * 건물 관심 토픽 이름 (예: /topic/building/%EB%B3%B8%EA%B4%80/events)
+     */
+    public static String buildingTopic(String buildingName) {
+        return PREFIX + UriUtils.encodePathSegment(buildingName, StandardCharsets.UTF_8) + "/events";
+    }
+}
@@ -5,6 +5,7 @@ import opensource.project.domain.Location;
 import opensource.project.dto.LocationRequestDto;
 import opensource.project.dto.LocationResponseDto;
 import opensource.project.repository.LocationRepository;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -17,6 +18,7 @@ import java.util.stream.Collectors;
 public class LocationServiceImpl implements LocationService {
 
     private final LocationRepository locationRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     @Transactional
@@ -49,6 +51,9 @@ public class LocationServiceImpl implements LocationService {
         location.setFloor(requestDto.getFloor());
         location.setRoomNumber(requestDto.getRoomNumber());
 
+        // 센서 스냅샷에 위치 정보가 포함되어 있으므로 커밋 후 다시 만들도록 알림
+        eventPublisher.publishEvent(new WifiSensorsChangedEvent());
+
         return LocationResponseDto.from(location);
     }
 
@@ -59,6 +64,7 @@ public class LocationServiceImpl implements LocationService {
             throw new IllegalArgumentException("Location not found with id: " + id);
         }
         locationRepository.deleteById(id);
+        eventPublisher.publishEvent(new WifiSensorsChangedEvent());
     }
 
 }
\ No newline at end of file
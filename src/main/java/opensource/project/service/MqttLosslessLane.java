@@ -0,0 +1,337 @@
+package opensource.project.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import opensource.project.dto.MqttWifiDetectionDto;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.ToIntFunction;
+
+/**
+ * 파티션 1개의 무손실 레인 (생존자 탐지 이벤트와, 그보다 먼저 도착한 같은 센서의 신호 프레임)
+ *
+ * 동작 방식:
+ * 1. 이벤트는 크기가 제한된 메모리 큐에 들어감
+ * 2. 큐가 가득 차면 로컬 파일(spill-{파티션}.ndjson)에 한 줄씩 이어 씀 (JSON Lines)
+ *    - 한 번 파일로 넘어간 뒤에는 파일이 비워질 때까지 새 이벤트도 파일에 씀 (순서 보장)
+ *    - 파일 기록에 실패하면 예외를 그대로 던짐 (호출 측이 MQTT 메시지를 확인 응답하지 않도록)
+ * 3. 처리 스레드는 메모리 큐를 먼저 비우고, 파일을 replay 파일로 바꿔 읽은 뒤 삭제함
+ * 4. 서버가 재시작되면 남아 있는 replay/spill 파일을 이어서 처리함
+ *    (replay 도중 종료된 경우 일부 이벤트가 다시 처리될 수 있음 - 최소 1회 전달)
+ *    - 파티션 수가 바뀌었으면 시작 시 redistribute()로 센서별 새 파티션 파일에 다시 나눔
+ *
+ * 센서별 대기 수:
+ * - 이번 실행에서 들어와 아직 처리되지 않은 메시지 수를 센서별로 유지함 (hasPending)
+ * - 버퍼 서비스는 대기 중인 메시지가 있는 센서의 최신값 유지 레인 프레임을 다음 배치로 미뤄 도착 순서를 지킴
+ * - 이전 실행에서 남은 파일은 시작할 때 replay 파일로 합쳐 대기 수에 포함하지 않음
+ *
+ * offer는 MQTT 수신 스레드에서, drain은 파티션 전용 스레드에서만 호출됨
+ */
+@Slf4j
+final class MqttLosslessLane {
+
+    private final int partition;
+    private final ArrayBlockingQueue<MqttWifiDetectionDto> queue;
+    private final Path spillFile;
+    private final Path replayFile;
+    private final ObjectMapper objectMapper;
+
+    private final Object lock = new Object();
+
+    // lock으로 보호됨
+    private BufferedWriter spillWriter;
+    private long spilledPending;
+
+    // 이번 실행에서 들어와 아직 처리되지 않은 센서별 메시지 수
+    private final ConcurrentHashMap<Long, Integer> pendingBySensor = new ConcurrentHashMap<>();
+
+    // 처리하지 못한 replay 파일 존재 여부 (파티션 스레드에서만 변경)
+    private volatile boolean replayPending;
+
+    // replay 파일이 이번 실행의 spill 파일에서 온 것인지 (false면 이전 실행에서 남은 파일)
+    private boolean replayCounted;
+
+    MqttLosslessLane(int partition, int capacity, Path spillDirectory, ObjectMapper objectMapper) {
+        this.partition = partition;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.spillFile = spillDirectory.resolve("spill-" + partition + ".ndjson");
+        this.replayFile = spillDirectory.resolve("spill-" + partition + ".replay");
+        this.objectMapper = objectMapper;
+        recover();
+    }
+
+    /**
+     * 이벤트를 레인에 추가함
+     *
+     * @param message 생존자 탐지 이벤트
+     * @return 메모리 큐에 들어갔으면 true, 파일로 넘어갔으면 false
+     */
+    boolean offer(MqttWifiDetectionDto message) {
+        synchronized (lock) {
+            boolean queued = spilledPending == 0 && queue.offer(message);
+            if (!queued) {
+                appendToSpill(message);
+                spilledPending++;
+            }
+            pendingBySensor.merge(message.getSensorId(), 1, Integer::sum);
+            return queued;
+        }
+    }
+
+    /**
+     * 레인의 이벤트를 도착 순서대로 처리함
+     * (이전 실행의 replay 파일 → 메모리 큐 → spill 파일)
+     *
+     * @param handler 이벤트 처리 함수 (예외는 호출 측에서 처리해야 함)
+     * @return 처리한 이벤트 수
+     */
+    int drain(Consumer<MqttWifiDetectionDto> handler) {
+        int processed = 0;
+        if (replayPending) {
+            processed += replay(handler);
+        }
+
+        MqttWifiDetectionDto message;
+        while ((message = queue.poll()) != null) {
+            handler.accept(message);
+            release(message.getSensorId());
+            processed++;
+        }
+
+        if (rotateSpill()) {
+            processed += replay(handler);
+        }
+        return processed;
+    }
+
+    boolean isEmpty() {
+        return queue.isEmpty() && getSpilledPending() == 0 && !replayPending;
+    }
+
+    /**
+     * 이번 실행에서 들어와 아직 처리되지 않은 센서 메시지가 있는지 확인함
+     *
+     * @param sensorId 센서 ID
+     * @return 대기 중인 메시지가 있으면 true
+     */
+    boolean hasPending(Long sensorId) {
+        return pendingBySensor.containsKey(sensorId);
+    }
+
+    int getQueueSize() {
+        return queue.size();
+    }
+
+    long getSpilledPending() {
+        synchronized (lock) {
+            return spilledPending;
+        }
+    }
+
+    void close() {
+        synchronized (lock) {
+            closeWriter();
+        }
+    }
+
+    /**
+     * 메모리 큐가 비었고 파일에 이벤트가 있으면 spill 파일을 replay 파일로 바꿈
+     * 이후 들어오는 이벤트는 다시 메모리 큐로 들어감 (replay가 같은 스레드에서 먼저 끝나므로 순서 유지)
+     */
+    private boolean rotateSpill() {
+        synchronized (lock) {
+            // 이전 replay 파일을 아직 처리하지 못했으면 덮어쓰지 않음
+            if (spilledPending == 0 || !queue.isEmpty() || replayPending) {
+                return false;
+            }
+            closeWriter();
+            try {
+                Files.move(spillFile, replayFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (IOException e) {
+                log.error("무손실 레인 spill 파일 교체 실패 - 파티션: {}, 오류: {}", partition, e.getMessage(), e);
+                return false;
+            }
+            spilledPending = 0;
+            replayPending = true;
+            replayCounted = true;
+            return true;
+        }
+    }
+
+    private int replay(Consumer<MqttWifiDetectionDto> handler) {
+        int processed = 0;
+        try (BufferedReader reader = Files.newBufferedReader(replayFile, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                MqttWifiDetectionDto message;
+                try {
+                    message = objectMapper.readValue(line, MqttWifiDetectionDto.class);
+                } catch (IOException e) {
+                    log.error("무손실 레인 spill 이벤트 파싱 실패 - 파티션: {}, 내용: {}", partition, line);
+                    continue;
+                }
+                handler.accept(message);
+                if (replayCounted) {
+                    release(message.getSensorId());
+                }
+                processed++;
+            }
+            Files.delete(replayFile);
+            replayPending = false;
+        } catch (IOException e) {
+            log.error("무손실 레인 replay 실패 - 파티션: {}, 오류: {}", partition, e.getMessage(), e);
+        }
+        if (processed > 0) {
+            log.info("무손실 레인 파일 이벤트 처리 완료 - 파티션: {}, {} 개", partition, processed);
+        }
+        return processed;
+    }
+
+    private void release(Long sensorId) {
+        pendingBySensor.computeIfPresent(sensorId, (id, count) -> count > 1 ? count - 1 : null);
+    }
+
+    private void appendToSpill(MqttWifiDetectionDto message) {
+        try {
+            if (spillWriter == null) {
+                spillWriter = Files.newBufferedWriter(spillFile, StandardCharsets.UTF_8,
+                        StandardOpenOption.CREATE, StandardOpenOption.APPEND, StandardOpenOption.WRITE);
+            }
+            spillWriter.write(objectMapper.writeValueAsString(message));
+            spillWriter.newLine();
+            // 프로세스가 종료되어도 남도록 이벤트마다 OS로 내보냄
+            spillWriter.flush();
+        } catch (IOException e) {
+            // 다음 기록 때 파일을 다시 열도록 닫음
+            closeWriter();
+            throw new UncheckedIOException("무손실 레인 spill 파일 기록 실패 - 파티션: " + partition, e);
+        }
+    }
+
+    private void closeWriter() {
+        if (spillWriter == null) {
+            return;
+        }
+        try {
+            spillWriter.close();
+        } catch (IOException e) {
+            log.warn("무손실 레인 spill 파일 닫기 실패 - 파티션: {}, 오류: {}", partition, e.getMessage());
+        }
+        spillWriter = null;
+    }
+
+    /**
+     * 이전 실행에서 남은 파일을 replay 파일 하나로 합쳐 처리 대기 상태를 복원함
+     * (replay → spill 순서로 이어 붙이므로 도착 순서가 유지되고, 이후 spill 파일은 이번 실행의 이벤트만 담음)
+     */
+    private void recover() {
+        try {
+            if (Files.exists(spillFile)) {
+                appendFile(spillFile, replayFile);
+                Files.delete(spillFile);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("무손실 레인 spill 파일 복구 실패 - 파티션: " + partition, e);
+        }
+        replayPending = Files.exists(replayFile);
+        replayCounted = false;
+        if (replayPending) {
+            log.warn("무손실 레인 미처리 파일 발견 - 파티션: {}, 파일: {}", partition, replayFile);
+        }
+    }
+
+    /**
+     * 파티션 수가 바뀌었을 때 이전 파티션의 남은 파일을 센서별 새 파티션의 replay 파일로 다시 나눔
+     * 같은 센서의 이벤트는 이전에도 한 파티션에 있었으므로 (replay → spill 순으로 읽어) 센서별 순서가 유지됨
+     * 레인을 만들기 전에 호출해야 함
+     *
+     * @param spillDirectory spill 파일 디렉터리
+     * @param previousPartitions 이전 실행의 파티션 수
+     * @param partitions 이번 실행의 파티션 수
+     * @param partitionOf 센서 ID → 새 파티션 번호
+     * @param objectMapper 이벤트 파싱용
+     */
+    static void redistribute(Path spillDirectory, int previousPartitions, int partitions,
+                             ToIntFunction<Long> partitionOf, ObjectMapper objectMapper) throws IOException {
+        List<Path> previousFiles = new ArrayList<>();
+        for (int i = 0; i < previousPartitions; i++) {
+            previousFiles.add(spillDirectory.resolve("spill-" + i + ".replay"));
+            previousFiles.add(spillDirectory.resolve("spill-" + i + ".ndjson"));
+        }
+
+        BufferedWriter[] writers = new BufferedWriter[partitions];
+        Path[] staged = new Path[partitions];
+        int moved = 0;
+        try {
+            for (Path file : previousFiles) {
+                if (!Files.exists(file)) {
+                    continue;
+                }
+                try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+                    String line;
+                    while ((line = reader.readLine()) != null) {
+                        if (line.isBlank()) {
+                            continue;
+                        }
+                        Long sensorId = objectMapper.readValue(line, MqttWifiDetectionDto.class).getSensorId();
+                        int target = partitionOf.applyAsInt(sensorId);
+                        if (writers[target] == null) {
+                            staged[target] = spillDirectory.resolve("spill-" + target + ".redistribute");
+                            writers[target] = Files.newBufferedWriter(staged[target], StandardCharsets.UTF_8);
+                        }
+                        writers[target].write(line);
+                        writers[target].newLine();
+                        moved++;
+                    }
+                }
+            }
+        } finally {
+            for (BufferedWriter writer : writers) {
+                if (writer != null) {
+                    writer.close();
+                }
+            }
+        }
+
+        for (Path file : previousFiles) {
+            Files.deleteIfExists(file);
+        }
+        for (int i = 0; i < partitions; i++) {
+            if (staged[i] != null) {
+                Files.move(staged[i], spillDirectory.resolve("spill-" + i + ".replay"), StandardCopyOption.ATOMIC_MOVE);
+            }
+        }
+        log.warn("MQTT 파티션 수 변경 ({} → {}) - 남은 무손실 레인 이벤트 {} 개를 새 파티션으로 재배치함",
+                previousPartitions, partitions, moved);
+    }
+
+    private static void appendFile(Path source, Path target) throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(source, StandardCharsets.UTF_8);
+             BufferedWriter writer = Files.newBufferedWriter(target, StandardCharsets.UTF_8,
+                     StandardOpenOption.CREATE, StandardOpenOption.APPEND, StandardOpenOption.WRITE)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!line.isBlank()) {
+                    writer.write(line);
+                    writer.newLine();
+                }
+            }
+        }
+    }
+}
@@ -1,16 +1,31 @@
 package opensource.project.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
+import opensource.project.dto.MqttIngestMetricsDto;
 import opensource.project.dto.MqttWifiDetectionDto;
-import org.springframework.scheduling.annotation.Async;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
- * MQTT 메시지를 버퍼링하여 센서별로 최신 메시지만 유지하는 서비스
+ * MQTT 메시지를 버퍼링하여 센서별로 처리하는 서비스
  *
  * 문제: MQTT 메시지가 너무 많이 들어와서 처리가 밀리는 현상 발생
  * 해결: 센서별로 최신 메시지만 버퍼에 유지하고, 주기적으로 배치 처리
@@ -20,34 +35,175 @@ import java.util.concurrent.atomic.AtomicInteger;
  * 2. 100ms마다 버퍼에 있는 최신 메시지들을 배치로 처리
  * 3. 처리된 메시지는 버퍼에서 제거
  *
+ * 레인 구분 (mqtt.ingest-mode):
+ * - LOSSLESS_DETECTIONS (기본값)
+ *   - 신호 프레임(survivor_detected가 true가 아님)은 최신값 유지 레인으로 보냄 (그래프용, 밀리면 폐기)
+ *   - 생존자 탐지 이벤트(survivor_detected=true)는 무손실 레인으로 보냄
+ *     크기 제한 메모리 큐(mqtt.lossless-capacity)가 가득 차면 로컬 파일(mqtt.spill-dir)에 이어 쓰고
+ *     큐가 비면 파일 순서대로 다시 처리함 (MqttLosslessLane 참고)
+ *   - 파일 기록에 실패하면 예외를 호출 측(MQTT 수신 핸들러)으로 던져 메시지를 확인 응답하지 않음
+ * - LATEST_ONLY: 이전 동작과 같이 모든 메시지를 최신값 유지 레인으로 보냄
+ *
+ * 레인 간 센서별 도착 순서:
+ * - 탐지 이벤트가 들어오면 같은 센서의 최신값 유지 레인에 남은 프레임을 먼저 무손실 레인으로 옮긴 뒤 이벤트를 추가함
+ *   (이벤트보다 먼저 도착한 프레임이 이벤트 뒤에 처리되지 않음)
+ * - 배치마다 무손실 레인을 먼저 처리하고, 최신값 유지 레인은 무손실 레인에 대기 중인 메시지가 없는 센서만 처리함
+ *   (이벤트보다 늦게 도착한 프레임은 이벤트가 처리된 뒤의 배치로 미뤄짐)
+ *
+ * 순번 보정 (공유 구독 다중 연결):
+ * - 같은 센서의 메시지가 여러 연결로 나뉘어 들어오면 수신 스레드 간 경쟁으로 발행 순서가 뒤바뀔 수 있음
+ * - 메시지에 seq가 있으면 센서별로 마지막으로 받은 순번을 기억하고,
+ *   그보다 작거나 같은 순번의 신호 프레임은 폐기함 (처리 순서가 항상 발행 순서를 따름)
+ * - 생존자 탐지 이벤트는 순번이 늦어도 폐기하지 않음 (무손실)
+ * - 장비가 재부팅되면 순번이 0부터 다시 시작하므로, 다음 경우는 새 스트림으로 보고 마지막 순번을 초기화함
+ *   - 순번이 마지막 순번보다 mqtt.seq-reset-gap 넘게 작아진 경우 (연결 간 경쟁으로 생기는 역전은 이보다 작음)
+ *   - 마지막 수신 후 mqtt.seq-reset-silence-seconds 이상 메시지가 없던 경우 (재부팅 중 무신호)
+ * - 순번 확인과 레인 저장은 센서별 잠금 안에서 함께 수행함
+ *
+ * 파티션 처리:
+ * - 센서 ID로 파티션을 결정하고 (sensorId mod 파티션 수), 파티션마다 전용 단일 스레드에서 처리함
+ * - 같은 센서의 메시지는 항상 같은 파티션 스레드에서 처리되므로 센서별 처리 순서가 보장됨
+ * - 서로 다른 센서는 여러 코어에서 병렬로 처리됨
+ * - 파티션 수는 mqtt.partitions로 설정함 (기본값: 8)
+ *   spill 파일이 파티션 번호로 나뉘므로 실행 환경(CPU 코어 수)과 무관한 고정값을 사용하고,
+ *   spill 디렉터리에 파티션 수를 기록해 두었다가 바뀌면 남은 파일을 새 파티션으로 재배치함
+ *
+ * mqtt.enabled=true일 때만 생성됨 (디렉터리, 파티션 스레드를 만들지 않음)
+ *
  * 장점:
- * - 센서별로 최신 상태만 반영되므로 밀린 메시지는 자동으로 무시됨
+ * - 센서별로 최신 상태만 반영되므로 밀린 신호 프레임은 자동으로 무시됨
+ * - 생존자 탐지 이벤트는 폭주 시에도 유실되지 않음
  * - 웹에는 항상 최신 데이터가 표시됨
- * - 메모리 사용량이 센서 개수에만 비례 (센서 수 × 메시지 크기)
+ * - 신호 프레임 메모리 사용량이 센서 개수에만 비례 (센서 수 × 메시지 크기)
  */
 @Slf4j
 @Service
+@ConditionalOnProperty(name = "mqtt.enabled", havingValue = "true", matchIfMissing = false)
 public class MqttMessageBufferService {
 
+    // spill 디렉터리에 기록하는 파티션 수 파일 이름
+    private static final String PARTITIONS_FILE = "partitions";
+
+    /**
+     * 수신 모드
+     */
+    public enum IngestMode {
+        LATEST_ONLY,
+        LOSSLESS_DETECTIONS
+    }
+
     private final WifiDetectionMqttService wifiDetectionMqttService;
 
-    // 센서별 최신 메시지를 저장하는 맵 (센서 ID → 최신 메시지)
-    private final ConcurrentHashMap<Long, MqttWifiDetectionDto> latestMessagesBySensor = new ConcurrentHashMap<>();
+    private final IngestMode ingestMode;
+
+    // 파티션별 센서 최신 메시지 맵 (센서 ID → 최신 메시지)
+    private final ConcurrentHashMap<Long, MqttWifiDetectionDto>[] latestMessagesByPartition;
+
+    // 파티션별 무손실 레인 (생존자 탐지 이벤트)
+    private final MqttLosslessLane[] losslessLanes;
+
+    // 파티션별 전용 처리 스레드 (센서별 순서 보장을 위해 단일 스레드)
+    private final ExecutorService[] partitionExecutors;
+
+    // 파티션별 처리 진행 여부 (이전 배치가 끝나기 전에 중복 제출하지 않기 위함)
+    private final AtomicBoolean[] partitionDraining;
+
+    // 센서별 누적 처리 현황
+    private final ConcurrentHashMap<Long, SensorCounters> countersBySensor = new ConcurrentHashMap<>();
 
     // 통계: 폐기된 메시지 개수
     private final AtomicInteger discardedMessageCount = new AtomicInteger(0);
 
-    public MqttMessageBufferService(WifiDetectionMqttService wifiDetectionMqttService) {
+    // 통계: 파일로 넘어간 이벤트 개수
+    private final AtomicInteger spilledMessageCount = new AtomicInteger(0);
+
+    // 순번이 이보다 크게 뒤로 가면 장비 재시작으로 봄
+    private final long seqResetGap;
+
+    // 이 시간(나노초) 이상 메시지가 없던 센서의 순번은 새로 시작함
+    private final long seqResetSilenceNanos;
+
+    @SuppressWarnings("unchecked")
+    public MqttMessageBufferService(WifiDetectionMqttService wifiDetectionMqttService,
+                                    ObjectMapper objectMapper,
+                                    @Value("${mqtt.partitions:8}") int partitions,
+                                    @Value("${mqtt.ingest-mode:LOSSLESS_DETECTIONS}") IngestMode ingestMode,
+                                    @Value("${mqtt.lossless-capacity:1024}") int losslessCapacity,
+                                    @Value("${mqtt.spill-dir:./data/mqtt-spill}") String spillDir,
+                                    @Value("${mqtt.seq-reset-gap:64}") long seqResetGap,
+                                    @Value("${mqtt.seq-reset-silence-seconds:30}") long seqResetSilenceSeconds) {
         this.wifiDetectionMqttService = wifiDetectionMqttService;
+        this.ingestMode = ingestMode;
+
+        if (seqResetGap <= 0) {
+            throw new IllegalArgumentException("mqtt.seq-reset-gap은 1 이상이어야 합니다: " + seqResetGap);
+        }
+        if (seqResetSilenceSeconds <= 0) {
+            throw new IllegalArgumentException("mqtt.seq-reset-silence-seconds는 1 이상이어야 합니다: " + seqResetSilenceSeconds);
+        }
+        this.seqResetGap = seqResetGap;
+        this.seqResetSilenceNanos = TimeUnit.SECONDS.toNanos(seqResetSilenceSeconds);
+
+        if (losslessCapacity <= 0) {
+            throw new IllegalArgumentException("mqtt.lossless-capacity는 1 이상이어야 합니다: " + losslessCapacity);
+        }
+        if (partitions <= 0) {
+            throw new IllegalArgumentException("mqtt.partitions는 1 이상이어야 합니다: " + partitions);
+        }
+        int partitionCount = partitions;
+        Path spillDirectory = Path.of(spillDir);
+        try {
+            Files.createDirectories(spillDirectory);
+            restoreSpillLayout(spillDirectory, partitionCount, objectMapper);
+        } catch (IOException e) {
+            throw new UncheckedIOException("MQTT spill 디렉터리를 준비할 수 없습니다: " + spillDirectory, e);
+        }
+
+        this.latestMessagesByPartition = new ConcurrentHashMap[partitionCount];
+        this.losslessLanes = new MqttLosslessLane[partitionCount];
+        this.partitionExecutors = new ExecutorService[partitionCount];
+        this.partitionDraining = new AtomicBoolean[partitionCount];
+
+        for (int i = 0; i < partitionCount; i++) {
+            final int partition = i;
+            latestMessagesByPartition[i] = new ConcurrentHashMap<>();
+            losslessLanes[i] = new MqttLosslessLane(i, losslessCapacity, spillDirectory, objectMapper);
+            partitionDraining[i] = new AtomicBoolean(false);
+            partitionExecutors[i] = Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "mqtt-partition-" + partition);
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        log.info("MQTT 메시지 버퍼 초기화 - 파티션 수: {}, 수신 모드: {}, 무손실 큐 크기: {}, spill 경로: {}",
+                partitionCount, ingestMode, losslessCapacity, spillDirectory.toAbsolutePath());
     }
 
     /**
-     * MQTT 메시지를 버퍼에 추가 (비동기)
-     * 같은 센서의 이전 메시지는 자동으로 폐기됨
+     * 이전 실행과 파티션 수가 다르면 남은 spill 파일을 새 파티션으로 재배치하고 현재 파티션 수를 기록함
+     */
+    private static void restoreSpillLayout(Path spillDirectory, int partitionCount, ObjectMapper objectMapper) throws IOException {
+        Path partitionsFile = spillDirectory.resolve(PARTITIONS_FILE);
+        if (Files.exists(partitionsFile)) {
+            int previous = Integer.parseInt(Files.readString(partitionsFile).trim());
+            if (previous != partitionCount) {
+                MqttLosslessLane.redistribute(spillDirectory, previous, partitionCount,
+                        sensorId -> partitionOf(sensorId, partitionCount), objectMapper);
+            }
+        }
+        Files.writeString(partitionsFile, Integer.toString(partitionCount));
+    }
+
+    /**
+     * MQTT 메시지를 버퍼에 추가
+     * 신호 프레임은 같은 센서의 이전 메시지를 교체하고, 생존자 탐지 이벤트는 무손실 레인에 추가함
+     *
+     * MQTT 수신 스레드에서 직접 호출됨 (맵/큐 저장만 하므로 즉시 반환)
+     * 스레드 풀로 넘기면 같은 센서의 메시지 순서가 뒤바뀔 수 있으므로 @Async를 사용하지 않음
      *
      * @param mqttData MQTT 메시지
+     * @throws UncheckedIOException 무손실 레인의 파일 기록에 실패한 경우 (메시지를 확인 응답하지 않아야 함)
      */
-    @Async
     public void bufferMessage(MqttWifiDetectionDto mqttData) {
         if (mqttData == null || mqttData.getSensorId() == null) {
             log.warn("유효하지 않은 MQTT 메시지 무시: {}", mqttData);
@@ -55,43 +211,144 @@ public class MqttMessageBufferService {
         }
 
         Long sensorId = mqttData.getSensorId();
+        int partition = partitionOf(sensorId);
+        SensorCounters counters = countersBySensor.computeIfAbsent(sensorId, id -> new SensorCounters());
+
+        // 순번 확인과 저장 사이에 다른 연결의 같은 센서 메시지가 끼어들지 않도록 센서별로 잠금
+        synchronized (counters) {
+            buffer(mqttData, sensorId, partition, counters);
+        }
+    }
+
+    private void buffer(MqttWifiDetectionDto mqttData, Long sensorId, int partition, SensorCounters counters) {
+        boolean detectionEvent = ingestMode == IngestMode.LOSSLESS_DETECTIONS
+                && Boolean.TRUE.equals(mqttData.getSurvivorDetected());
+        Long seq = mqttData.getSeq();
+        if (seq != null) {
+            long receivedAt = mqttData.getReceivedAtNanos() != 0 ? mqttData.getReceivedAtNanos() : System.nanoTime();
+            if (isRestartedStream(seq, receivedAt, counters)) {
+                log.info("센서 {}의 순번 재시작 감지 (장비 재부팅) - seq: {}, 마지막 seq: {}", sensorId, seq, counters.lastSeq);
+                counters.lastSeq = Long.MIN_VALUE;
+            }
+            counters.lastSeenNanos = receivedAt;
+            if (seq <= counters.lastSeq && !detectionEvent) {
+                counters.framesOutOfOrder.increment();
+                log.debug("센서 {}의 늦게 도착한 프레임 폐기 - seq: {}, 마지막 seq: {}", sensorId, seq, counters.lastSeq);
+                return;
+            }
+            counters.lastSeq = Math.max(counters.lastSeq, seq);
+        }
+
+        if (detectionEvent) {
+            counters.eventsReceived.increment();
+            // 이벤트보다 먼저 도착한 프레임이 이벤트 뒤에 처리되지 않도록 무손실 레인으로 먼저 옮김
+            MqttWifiDetectionDto earlierFrame = latestMessagesByPartition[partition].remove(sensorId);
+            if (earlierFrame != null) {
+                losslessLanes[partition].offer(earlierFrame);
+            }
+            if (!losslessLanes[partition].offer(mqttData)) {
+                counters.eventsSpilled.increment();
+                spilledMessageCount.incrementAndGet();
+                log.debug("센서 {}의 생존자 탐지 이벤트를 파일로 넘김 (무손실 큐 가득 참)", sensorId);
+            }
+            return;
+        }
+
+        counters.framesReceived.increment();
 
         // 이전 메시지가 있으면 폐기됨
-        MqttWifiDetectionDto previousMessage = latestMessagesBySensor.put(sensorId, mqttData);
+        MqttWifiDetectionDto previousMessage = latestMessagesByPartition[partition].put(sensorId, mqttData);
 
         if (previousMessage != null) {
+            counters.framesConflated.increment();
             discardedMessageCount.incrementAndGet();
             log.debug("센서 {}의 이전 메시지 폐기 (최신 메시지로 교체)", sensorId);
         }
     }
 
     /**
-     * 버퍼에 있는 최신 메시지들을 주기적으로 처리
-     * 100ms마다 실행됨
+     * 버퍼에 있는 메시지들을 주기적으로 처리
+     * 100ms마다 실행되며, 메시지가 있는 파티션의 처리 작업을 각 파티션 스레드에 제출함
      */
     @Scheduled(fixedDelay = 100)
     public void processBufferedMessages() {
-        if (latestMessagesBySensor.isEmpty()) {
-            return;
+        for (int partition = 0; partition < latestMessagesByPartition.length; partition++) {
+            if (latestMessagesByPartition[partition].isEmpty() && losslessLanes[partition].isEmpty()) {
+                continue;
+            }
+            // 이전 배치가 아직 처리 중이면 건너뜀 (다음 주기에 최신 메시지로 처리됨)
+            if (!partitionDraining[partition].compareAndSet(false, true)) {
+                continue;
+            }
+            final int target = partition;
+            partitionExecutors[partition].execute(() -> drainPartition(target));
         }
+    }
 
-        // 버퍼에서 모든 메시지를 꺼냄
-        ConcurrentHashMap<Long, MqttWifiDetectionDto> messagesToProcess = new ConcurrentHashMap<>(latestMessagesBySensor);
-        latestMessagesBySensor.clear();
-
-        log.debug("버퍼 처리 시작 - {} 개 센서의 최신 메시지 처리", messagesToProcess.size());
+    /**
+     * 파티션의 메시지를 처리함
+     * 무손실 레인(도착 순서대로)을 먼저 처리한 뒤 최신값 유지 레인을 센서별로 꺼내어 처리함
+     * 무손실 레인에 아직 대기 중인 메시지가 있는 센서의 프레임은 그 메시지보다 늦게 도착했으므로 다음 배치로 미룸
+     * 키 단위로 remove하므로 처리 도중 새로 들어온 메시지는 유실되지 않고 다음 배치에서 처리됨
+     *
+     * @param partition 파티션 번호
+     */
+    void drainPartition(int partition) {
+        int processed = 0;
+        try {
+            MqttLosslessLane lane = losslessLanes[partition];
+            processed += lane.drain(this::process);
 
-        // 각 센서의 최신 메시지를 처리
-        messagesToProcess.values().forEach(mqttData -> {
-            try {
-                wifiDetectionMqttService.processMqttMessage(mqttData);
-            } catch (Exception e) {
-                log.error("MQTT 메시지 처리 실패 - 센서 ID: {}, 오류: {}",
-                        mqttData.getSensorId(), e.getMessage(), e);
+            ConcurrentHashMap<Long, MqttWifiDetectionDto> buffer = latestMessagesByPartition[partition];
+            for (Long sensorId : buffer.keySet()) {
+                MqttWifiDetectionDto mqttData;
+                // 확인과 꺼내기 사이에 같은 센서의 이벤트가 끼어들지 않도록 수신 측과 같은 센서별 잠금을 사용함
+                SensorCounters counters = countersBySensor.get(sensorId);
+                synchronized (counters) {
+                    if (lane.hasPending(sensorId)) {
+                        continue;
+                    }
+                    mqttData = buffer.remove(sensorId);
+                }
+                if (mqttData == null) {
+                    continue;
+                }
+                process(mqttData);
+                processed++;
             }
-        });
+        } catch (Exception e) {
+            log.error("MQTT 파티션 {} 처리 중 오류: {}", partition, e.getMessage(), e);
+        } finally {
+            partitionDraining[partition].set(false);
+        }
+        log.debug("파티션 {} 버퍼 처리 완료 - {} 개 메시지 처리됨", partition, processed);
+    }
+
+    private void process(MqttWifiDetectionDto mqttData) {
+        SensorCounters counters = countersBySensor.computeIfAbsent(mqttData.getSensorId(), id -> new SensorCounters());
+        try {
+            wifiDetectionMqttService.processMqttMessage(mqttData);
+            counters.processed.increment();
+        } catch (Exception e) {
+            counters.failed.increment();
+            log.error("MQTT 메시지 처리 실패 - 센서 ID: {}, 오류: {}",
+                    mqttData.getSensorId(), e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 센서 ID로 파티션 번호를 계산함
+     * 같은 센서는 항상 같은 파티션에 배정됨
+     *
+     * @param sensorId 센서 ID
+     * @return 파티션 번호 (0 ~ 파티션 수 - 1)
+     */
+    int partitionOf(Long sensorId) {
+        return partitionOf(sensorId, latestMessagesByPartition.length);
+    }
 
-        log.debug("버퍼 처리 완료 - {} 개 메시지 처리됨", messagesToProcess.size());
+    private static int partitionOf(Long sensorId, int partitionCount) {
+        return Math.floorMod(Long.hashCode(sensorId), partitionCount);
     }
 
     /**
@@ -103,12 +360,119 @@ public class MqttMessageBufferService {
         if (discarded > 0) {
             log.info("📊 MQTT 메시지 통계 - 최근 10초간 폐기된 메시지: {} 개 (최신 메시지만 유지됨)", discarded);
         }
+        int spilled = spilledMessageCount.getAndSet(0);
+        if (spilled > 0) {
+            log.warn("📊 MQTT 메시지 통계 - 최근 10초간 파일로 넘어간 생존자 탐지 이벤트: {} 개", spilled);
+        }
     }
 
     /**
      * 버퍼 상태 조회 (디버깅용)
      */
     public int getBufferSize() {
-        return latestMessagesBySensor.size();
+        int size = 0;
+        for (ConcurrentHashMap<Long, MqttWifiDetectionDto> buffer : latestMessagesByPartition) {
+            size += buffer.size();
+        }
+        return size;
+    }
+
+    /**
+     * 파티션 수 조회
+     */
+    public int getPartitionCount() {
+        return latestMessagesByPartition.length;
+    }
+
+    /**
+     * 레인별, 센서별 처리 현황 조회 (모니터링용)
+     */
+    public MqttIngestMetricsDto getMetrics() {
+        int losslessQueueSize = 0;
+        long spillPending = 0;
+        for (MqttLosslessLane lane : losslessLanes) {
+            losslessQueueSize += lane.getQueueSize();
+            spillPending += lane.getSpilledPending();
+        }
+
+        List<MqttIngestMetricsDto.SensorMetrics> sensors = countersBySensor.entrySet().stream()
+                .map(entry -> entry.getValue().toDto(entry.getKey()))
+                .sorted(Comparator.comparing(MqttIngestMetricsDto.SensorMetrics::getSensorId))
+                .toList();
+
+        return MqttIngestMetricsDto.builder()
+                .ingestMode(ingestMode.name())
+                .partitionCount(latestMessagesByPartition.length)
+                .conflatingBufferSize(getBufferSize())
+                .losslessQueueSize(losslessQueueSize)
+                .losslessSpillPending(spillPending)
+                .sensors(sensors)
+                .build();
+    }
+
+    /**
+     * 애플리케이션 종료 시 파티션 스레드를 정리함
+     * 처리하지 못한 무손실 레인의 파일은 다음 실행에서 이어서 처리됨
+     */
+    @PreDestroy
+    public void shutdown() {
+        for (ExecutorService executor : partitionExecutors) {
+            executor.shutdown();
+        }
+        for (ExecutorService executor : partitionExecutors) {
+            try {
+                if (!executor.awaitTermination(5, TimeUnit.SECONDS)) {
+                    executor.shutdownNow();
+                }
+            } catch (InterruptedException e) {
+                executor.shutdownNow();
+                Thread.currentThread().interrupt();
+            }
+        }
+        for (MqttLosslessLane lane : losslessLanes) {
+            lane.close();
+        }
+    }
+
+    /**
+     * 순번이 크게 뒤로 갔거나 오래 무신호였다가 다시 들어온 메시지인지 확인함 (장비 재부팅 후 새 순번 스트림)
+     */
+    private boolean isRestartedStream(long seq, long receivedAt, SensorCounters counters) {
+        if (counters.lastSeq == Long.MIN_VALUE || seq > counters.lastSeq) {
+            return false;
+        }
+        return counters.lastSeq - seq > seqResetGap || receivedAt - counters.lastSeenNanos >= seqResetSilenceNanos;
+    }
+
+    /**
+     * 센서 1개의 누적 카운터
+     */
+    private static final class SensorCounters {
+        private final LongAdder framesReceived = new LongAdder();
+        private final LongAdder framesConflated = new LongAdder();
+        private final LongAdder framesOutOfOrder = new LongAdder();
+        private final LongAdder eventsReceived = new LongAdder();
+        private final LongAdder eventsSpilled = new LongAdder();
+        private final LongAdder processed = new LongAdder();
+        private final LongAdder failed = new LongAdder();
+
+        // 마지막으로 받은 순번 (이 객체의 잠금으로 보호됨)
+        private long lastSeq = Long.MIN_VALUE;
+
+        // 순번이 있는 메시지를 마지막으로 받은 시각 (System.nanoTime 기준, 이 객체의 잠금으로 보호됨)
+        private long lastSeenNanos;
+
+        private MqttIngestMetricsDto.SensorMetrics toDto(Long sensorId) {
+            return MqttIngestMetricsDto.SensorMetrics.builder()
+                    .sensorId(sensorId)
+                    .framesReceived(framesReceived.sum())
+                    .framesConflated(framesConflated.sum())
+                    .framesOutOfOrder(framesOutOfOrder.sum())
+                    .eventsReceived(eventsReceived.sum())
+                    .eventsSpilled(eventsSpilled.sum())
+                    .processed(processed.sum())
+                    .failed(failed.sum())
+                    .build();
+        }
     }
-}
\ No newline at end of file
+}
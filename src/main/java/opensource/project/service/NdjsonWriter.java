@@ -0,0 +1,61 @@
+package opensource.project.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * 한 줄에 JSON 하나씩 쓰는 NDJSON(application/x-ndjson) 스트림 작성기
+ *
+ * 내보내기(export) API에서 Stream으로 읽은 행을 바로 응답에 써서, 결과 크기와 관계없이 메모리를 일정하게 유지함
+ * - 값마다 flush하지 않고 BATCH_SIZE개마다 flush한 뒤 onBatch를 호출함 (영속성 컨텍스트 비우기 등)
+ * - close()는 마지막 줄바꿈을 쓰고 flush만 하며, 대상 스트림은 닫지 않음
+ */
+public final class NdjsonWriter implements AutoCloseable {
+
+    /**
+     * flush와 onBatch 호출 간격 (Stream 쿼리의 JDBC fetch size와 같게 맞춤)
+     */
+    public static final int BATCH_SIZE = 500;
+
+    private final ObjectWriter writer;
+    private final JsonGenerator generator;
+    private final Runnable onBatch;
+    private long count;
+
+    public NdjsonWriter(ObjectMapper objectMapper, OutputStream out, Runnable onBatch) throws IOException {
+        this.writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.generator = objectMapper.getFactory().createGenerator(out);
+        this.generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        this.generator.setRootValueSeparator(new SerializedString("\n"));
+        this.onBatch = onBatch;
+    }
+
+    public void write(Object value) throws IOException {
+        writer.writeValue(generator, value);
+        if (++count % BATCH_SIZE == 0) {
+            generator.flush();
+            onBatch.run();
+        }
+    }
+
+    /**
+     * 지금까지 쓴 줄 수
+     */
+    public long getCount() {
+        return count;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (count > 0) {
+            generator.writeRaw('\n');
+        }
+        generator.close();
+    }
+}
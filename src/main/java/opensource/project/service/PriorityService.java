@@ -4,9 +4,12 @@ import opensource.project.domain.Detection;
 import opensource.project.domain.PriorityAssessment;
 import opensource.project.domain.Survivor;
 import opensource.project.dto.AIDetectionResultDto;
+import opensource.project.dto.CursorPageDto;
 import opensource.project.dto.PriorityAssessmentRequestDto;
 import opensource.project.dto.PriorityAssessmentResponseDto;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
 
 /**
@@ -20,6 +23,12 @@ public interface PriorityService {
     // 모든 생존자의 분석 점수 반환
     List<PriorityAssessmentResponseDto> getAllPriorityAssessments();
 
+    // 분석 점수 키셋 페이지 조회 (평가 시각, ID 내림차순)
+    CursorPageDto<PriorityAssessmentResponseDto> getPriorityAssessmentPage(String cursor, int limit);
+
+    // 모든 분석 점수를 NDJSON으로 내보내기 (탐지 정보는 detectionId만 포함)
+    void exportPriorityAssessments(OutputStream out) throws IOException;
+
     // 특정 생존자의 분석 점수 반환
     PriorityAssessmentResponseDto getPriorityAssessment(Long id);
 
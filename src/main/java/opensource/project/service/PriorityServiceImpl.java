@@ -1,23 +1,36 @@
 package opensource.project.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import opensource.project.domain.Detection;
 import opensource.project.domain.PriorityAssessment;
 import opensource.project.domain.Survivor;
 import opensource.project.dto.AIDetectionResultDto;
+import opensource.project.dto.CursorPageDto;
+import opensource.project.dto.DetectionListRow;
+import opensource.project.dto.DetectionResponseDto;
+import opensource.project.dto.KeysetCursor;
+import opensource.project.dto.PriorityAssessmentListRow;
 import opensource.project.dto.PriorityAssessmentRequestDto;
 import opensource.project.dto.PriorityAssessmentResponseDto;
 import opensource.project.dto.PriorityScoreHistoryDto;
 import opensource.project.repository.DetectionRepository;
 import opensource.project.repository.PriorityAssessmentRepository;
 import opensource.project.repository.SurvivorRepository;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.time.LocalDateTime;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Slf4j
 @Service
@@ -30,6 +43,8 @@ public class PriorityServiceImpl implements PriorityService {
     private final DetectionRepository detectionRepository;
     private final WebSocketService webSocketService;
     private final RiskScoreCalculator riskScoreCalculator;
+    private final ObjectMapper objectMapper;
+    private final EntityManager entityManager;
 
     // 생존자의 분석 점수 생성
     @Override
@@ -63,14 +78,49 @@ public class PriorityServiceImpl implements PriorityService {
         return PriorityAssessmentResponseDto.fromWithoutRelations(savedAssessment);
     }
 
-    // 모든 생존자의 분석 점수 반환
+    // 모든 생존자의 분석 점수 반환 (평가 1번 + 평가가 참조하는 탐지 1번, 행 수와 관계없이 쿼리 2번)
     @Override
     public List<PriorityAssessmentResponseDto> getAllPriorityAssessments() {
-        return priorityAssessmentRepository.findAll().stream()
-                .map(PriorityAssessmentResponseDto::from)
+        Map<Long, DetectionResponseDto> detections = detectionRepository.findAssessedListRows().stream()
+                .collect(Collectors.toMap(DetectionListRow::id, DetectionResponseDto::from));
+        return priorityAssessmentRepository.findAllListRows().stream()
+                .map(row -> PriorityAssessmentResponseDto.from(row, detections.get(row.detectionId())))
                 .collect(Collectors.toList());
     }
 
+    // 분석 점수 키셋 페이지 반환 (평가 1번 + 페이지의 평가가 참조하는 탐지 1번)
+    @Override
+    public CursorPageDto<PriorityAssessmentResponseDto> getPriorityAssessmentPage(String cursor, int limit) {
+        CursorPageDto.validateLimit(limit);
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        PageRequest fetch = PageRequest.ofSize(limit + 1);
+        List<PriorityAssessmentListRow> rows = after == null
+                ? priorityAssessmentRepository.findListRowsFirstPage(fetch)
+                : priorityAssessmentRepository.findListRowsBefore(after.at(), after.id(), fetch);
+        List<Long> detectionIds = rows.stream().map(PriorityAssessmentListRow::detectionId).distinct().toList();
+        Map<Long, DetectionResponseDto> detections = detectionIds.isEmpty()
+                ? Map.of()
+                : detectionRepository.findListRowsByIdIn(detectionIds).stream()
+                        .collect(Collectors.toMap(DetectionListRow::id, DetectionResponseDto::from));
+        return CursorPageDto.of(rows, limit,
+                row -> new KeysetCursor(row.assessedAt(), row.id()),
+                row -> PriorityAssessmentResponseDto.from(row, detections.get(row.detectionId())));
+    }
+
+    // 모든 분석 점수를 NDJSON으로 내보냄
+    // 탐지 정보까지 함께 모으면 결과 크기만큼 메모리를 쓰므로 detectionId만 포함하고,
+    // 읽은 생존자/위치 엔티티가 쌓이지 않도록 NdjsonWriter.BATCH_SIZE마다 영속성 컨텍스트를 비움
+    @Override
+    public void exportPriorityAssessments(OutputStream out) throws IOException {
+        try (Stream<PriorityAssessmentListRow> rows = priorityAssessmentRepository.streamAllListRows();
+             NdjsonWriter writer = new NdjsonWriter(objectMapper, out, entityManager::clear)) {
+            Iterator<PriorityAssessmentListRow> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                writer.write(PriorityAssessmentResponseDto.from(iterator.next(), null));
+            }
+        }
+    }
+
     // 특정 생존자의 분석 점수 반환
     @Override
     public PriorityAssessmentResponseDto getPriorityAssessment(Long id) {
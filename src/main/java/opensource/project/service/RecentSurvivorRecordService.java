@@ -1,15 +1,25 @@
 package opensource.project.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
+import opensource.project.domain.RecentSurvivorRecord;
+import opensource.project.dto.CursorPageDto;
+import opensource.project.dto.KeysetCursor;
 import opensource.project.dto.RecentSurvivorRecordResponseDto;
 import opensource.project.repository.RecentSurvivorRecordRepository;
 import opensource.project.service.WebSocketService;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.time.LocalDateTime;
+import java.util.Iterator;
 import java.util.List;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
@@ -18,6 +28,8 @@ public class RecentSurvivorRecordService {
 
     private final RecentSurvivorRecordRepository recentSurvivorRecordRepository;
     private final WebSocketService webSocketService;
+    private final ObjectMapper objectMapper;
+    private final EntityManager entityManager;
 
     /**
      * 최근 N시간 내 기록을 최신순으로 반환.
@@ -30,6 +42,36 @@ public class RecentSurvivorRecordService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * 최근 N시간 내 기록을 키셋 페이지로 반환 (보관 시각, ID 내림차순).
+     */
+    public CursorPageDto<RecentSurvivorRecordResponseDto> getRecentRecordPage(int hours, String cursor, int limit) {
+        CursorPageDto.validateLimit(limit);
+        LocalDateTime after = LocalDateTime.now().minusHours(hours);
+        KeysetCursor before = KeysetCursor.decode(cursor);
+        PageRequest fetch = PageRequest.ofSize(limit + 1);
+        List<RecentSurvivorRecord> records = before == null
+                ? recentSurvivorRecordRepository.findPageAfter(after, fetch)
+                : recentSurvivorRecordRepository.findPageAfterBefore(after, before.at(), before.id(), fetch);
+        return CursorPageDto.of(records, limit,
+                record -> new KeysetCursor(record.getArchivedAt(), record.getId()),
+                RecentSurvivorRecordResponseDto::from);
+    }
+
+    /**
+     * 최근 N시간 내 기록을 NDJSON으로 내보냄 (NdjsonWriter.BATCH_SIZE마다 영속성 컨텍스트를 비워 메모리 사용량 유지).
+     */
+    public void exportRecentRecords(int hours, OutputStream out) throws IOException {
+        LocalDateTime after = LocalDateTime.now().minusHours(hours);
+        try (Stream<RecentSurvivorRecord> records = recentSurvivorRecordRepository.streamAfter(after);
+             NdjsonWriter writer = new NdjsonWriter(objectMapper, out, entityManager::clear)) {
+            Iterator<RecentSurvivorRecord> iterator = records.iterator();
+            while (iterator.hasNext()) {
+                writer.write(RecentSurvivorRecordResponseDto.from(iterator.next()));
+            }
+        }
+    }
+
     @Transactional
     public void deleteRecentRecord(Long id) {
         if (!recentSurvivorRecordRepository.existsById(id)) {
@@ -0,0 +1,296 @@
+package opensource.project.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import opensource.project.dto.EventReplayDto;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * STOMP 브로드캐스트와 같은 이벤트를 Server-Sent Events로 전송하는 게이트웨이 (엔드포인트: /events/stream)
+ *
+ * 문제:
+ * - SockJS/STOMP를 쓸 수 없는 지휘소 화면과 스크립트가 REST API를 1초마다 조회하여 DB 부하가 생김
+ *
+ * 해결:
+ * - EventReplayLog에 리스너로 등록하여 STOMP와 같은 순번(seq)의 이벤트를 같은 순서로 받음
+ *   - 각 SSE 이벤트의 id는 "{epoch}-{seq}"(서버 실행 식별자와 순번)이므로, 브라우저 EventSource는 재연결 시
+ *     Last-Event-ID로 이어서 받음
+ *   - Last-Event-ID가 없거나, 서버가 재시작되어 epoch가 다르거나, 보관 범위를 벗어나면
+ *     "snapshot" 이벤트로 상태별 최신 이벤트를 먼저 보냄 (순번만 있는 id도 스냅샷으로 처리함)
+ * - 요청 스레드는 SseEmitter를 반환하고 바로 돌아가며(서블릿 비동기), 클라이언트마다 가상 스레드 1개가
+ *   전송 큐를 비우며 쓰기를 수행함 (느린 클라이언트가 발행 스레드를 막지 않음)
+ * - 전송 큐가 queue-capacity를 넘으면 연결을 끊고, 클라이언트는 Last-Event-ID로 재연결하여 놓친 이벤트를 받음
+ * - 이벤트가 없으면 heartbeat-seconds마다 주석 줄을 보내 프록시 연결 유지와 끊긴 연결 감지에 사용함
+ *
+ * 이벤트 형식 (data는 JSON):
+ * - 기본 이벤트 (event 이름 없음): {"seq": 12, "destination": "/topic/survivor/3", "payload": {...}}
+ * - snapshot 이벤트: EventReplayDto (type = "snapshot")
+ * WiFi 신호와 CCTV 프레임 묶음은 재전송 로그에 보관하지 않으므로 SSE로 전달하지 않음
+ */
+@Slf4j
+@Component
+public class SseEventGateway {
+
+    public static final String SNAPSHOT_EVENT = "snapshot";
+
+    // SSE id의 epoch와 순번 구분자
+    private static final char EVENT_ID_SEPARATOR = '-';
+
+    /**
+     * Last-Event-ID에서 읽은 재개 위치
+     *
+     * @param epoch 서버 실행 식별자 (알 수 없으면 null)
+     * @param seq 순번 (알 수 없으면 0)
+     */
+    record ResumePoint(String epoch, long seq) {
+    }
+
+    private final EventReplayLog eventReplayLog;
+    private final ObjectMapper objectMapper;
+    private final int queueCapacity;
+    private final long heartbeatMillis;
+    private final long timeoutMillis;
+
+    private final ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor();
+    private final Set<Client> clients = ConcurrentHashMap.newKeySet();
+
+    // 마지막으로 직렬화한 이벤트 (리스너는 재전송 로그의 전송 대기열에서 한 번에 한 스레드가 순서대로 호출하므로 클라이언트 간에 재사용함)
+    private long encodedSeq;
+    private String encodedData;
+
+    public SseEventGateway(EventReplayLog eventReplayLog,
+                           ObjectMapper objectMapper,
+                           @Value("${sse.queue-capacity:1000}") int queueCapacity,
+                           @Value("${sse.heartbeat-seconds:15}") int heartbeatSeconds,
+                           @Value("${sse.timeout-minutes:30}") int timeoutMinutes) {
+        if (queueCapacity <= 0 || heartbeatSeconds <= 0 || timeoutMinutes <= 0) {
+            throw new IllegalArgumentException("sse.queue-capacity, sse.heartbeat-seconds, sse.timeout-minutes는 1 이상이어야 합니다.");
+        }
+        this.eventReplayLog = eventReplayLog;
+        this.objectMapper = objectMapper;
+        this.queueCapacity = queueCapacity;
+        this.heartbeatMillis = TimeUnit.SECONDS.toMillis(heartbeatSeconds);
+        this.timeoutMillis = TimeUnit.MINUTES.toMillis(timeoutMinutes);
+    }
+
+    /**
+     * SSE 스트림을 엶
+     *
+     * @param destinationFilter 받을 토픽 조건
+     * @param lastEventId 클라이언트가 마지막으로 받은 이벤트 id (없으면 null, 스냅샷부터 받음)
+     * @return 응답으로 반환할 SseEmitter
+     */
+    public SseEmitter open(Predicate<String> destinationFilter, String lastEventId) {
+        ResumePoint resumePoint = parseEventId(lastEventId);
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        Client client = new Client(emitter, destinationFilter);
+        emitter.onCompletion(client::close);
+        emitter.onTimeout(client::close);
+        emitter.onError(e -> client.close());
+
+        EventReplayLog.Replay replay = eventReplayLog.subscribe(
+                resumePoint.epoch(), resumePoint.seq(), destinationFilter, client);
+        clients.add(client);
+        client.start(replay);
+        log.info("SSE 스트림 연결 - Last-Event-ID: {}, {} (연결 {}개)",
+                lastEventId, replay.snapshot() ? "스냅샷" : "놓친 이벤트 " + replay.entries().size() + "건", clients.size());
+        return emitter;
+    }
+
+    /**
+     * SSE 이벤트 id를 만듦
+     *
+     * @param epoch 서버 실행 식별자
+     * @param seq 순번
+     * @return "{epoch}-{seq}"
+     */
+    static String eventId(String epoch, long seq) {
+        return epoch + EVENT_ID_SEPARATOR + seq;
+    }
+
+    /**
+     * Last-Event-ID를 재개 위치로 읽음 (형식이 다르면 epoch 없이 읽어 스냅샷을 받게 함)
+     *
+     * @param lastEventId 클라이언트가 마지막으로 받은 이벤트 id
+     * @return 재개 위치
+     */
+    static ResumePoint parseEventId(String lastEventId) {
+        if (lastEventId == null) {
+            return new ResumePoint(null, 0);
+        }
+        int separator = lastEventId.lastIndexOf(EVENT_ID_SEPARATOR);
+        if (separator <= 0) {
+            return new ResumePoint(null, 0);
+        }
+        try {
+            return new ResumePoint(lastEventId.substring(0, separator),
+                    Long.parseLong(lastEventId.substring(separator + 1)));
+        } catch (NumberFormatException e) {
+            return new ResumePoint(null, 0);
+        }
+    }
+
+    /**
+     * 연결 중인 SSE 클라이언트 수
+     */
+    public int getClientCount() {
+        return clients.size();
+    }
+
+    /**
+     * 애플리케이션 종료 시 스트림을 닫고 전송 스레드를 정리함
+     */
+    @PreDestroy
+    public void shutdown() {
+        for (Client client : clients) {
+            client.emitter.complete();
+            client.close();
+        }
+        senders.shutdownNow();
+    }
+
+    /**
+     * 이벤트를 SSE data(JSON)로 직렬화함 (같은 이벤트는 한 번만 직렬화, 재전송 로그의 전송 대기열에서 호출)
+     */
+    private String encodeLive(EventReplayLog.Entry entry) {
+        if (encodedData == null || encodedSeq != entry.seq()) {
+            encodedData = encode(new EventReplayDto.ReplayedEvent(
+                    entry.seq(), entry.destination(), entry.payload().asRawValue()));
+            encodedSeq = entry.seq();
+        }
+        return encodedData;
+    }
+
+    private String encode(Object data) {
+        try {
+            return objectMapper.writeValueAsString(data);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException("SSE 이벤트 직렬화 실패: " + data.getClass().getSimpleName(), e);
+        }
+    }
+
+    /**
+     * 전송할 SSE 이벤트 1건
+     */
+    private record Outgoing(long seq, String data) {
+    }
+
+    /**
+     * SSE 클라이언트 1개 (재전송 로그 리스너 + 전송 큐 + 전송 가상 스레드)
+     */
+    private final class Client implements Consumer<EventReplayLog.Entry> {
+
+        private final SseEmitter emitter;
+        private final Predicate<String> destinationFilter;
+        private final String epoch = eventReplayLog.getEpoch();
+        private final BlockingQueue<Outgoing> queue = new ArrayBlockingQueue<>(queueCapacity);
+
+        private volatile boolean closed;
+        private volatile boolean overflowed;
+        private volatile Future<?> sender;
+
+        Client(SseEmitter emitter, Predicate<String> destinationFilter) {
+            this.emitter = emitter;
+            this.destinationFilter = destinationFilter;
+        }
+
+        /**
+         * 새 이벤트를 전송 큐에 넣음 (재전송 로그의 전송 대기열에서 호출되므로 블로킹하지 않음)
+         */
+        @Override
+        public void accept(EventReplayLog.Entry entry) {
+            if (closed || overflowed || !entry.matches(destinationFilter)) {
+                return;
+            }
+            if (!queue.offer(new Outgoing(entry.seq(), encodeLive(entry)))) {
+                overflowed = true;
+            }
+        }
+
+        void start(EventReplayLog.Replay replay) {
+            sender = senders.submit(() -> run(replay));
+        }
+
+        private void run(EventReplayLog.Replay replay) {
+            try {
+                sendReplay(replay);
+                while (!closed) {
+                    Outgoing next = queue.poll(heartbeatMillis, TimeUnit.MILLISECONDS);
+                    if (overflowed) {
+                        // 재연결하면 Last-Event-ID 이후 이벤트를 재전송 로그에서 받음
+                        log.info("SSE 전송 큐가 {}건을 넘어 연결을 끊음", queueCapacity);
+                        emitter.complete();
+                        return;
+                    }
+                    if (next == null) {
+                        emitter.send(SseEmitter.event().comment("heartbeat"));
+                    } else {
+                        emitter.send(SseEmitter.event().id(eventId(epoch, next.seq())).data(next.data()));
+                    }
+                }
+            } catch (IOException | IllegalStateException e) {
+                // 클라이언트가 연결을 끊은 경우
+                log.debug("SSE 전송 중단 - 원인: {}", e.getMessage());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                close();
+            }
+        }
+
+        private void sendReplay(EventReplayLog.Replay replay) throws IOException {
+            if (replay.snapshot()) {
+                EventReplayDto snapshot = EventReplayDto.builder()
+                        .type(EventReplayDto.TYPE_SNAPSHOT)
+                        .epoch(replay.epoch())
+                        .lastSeq(replay.lastSeq())
+                        .events(replay.entries().stream()
+                                .map(entry -> new EventReplayDto.ReplayedEvent(
+                                        entry.seq(), entry.destination(), entry.payload().asRawValue()))
+                                .toList())
+                        .build();
+                emitter.send(SseEmitter.event()
+                        .name(SNAPSHOT_EVENT)
+                        .id(eventId(epoch, replay.lastSeq()))
+                        .data(encode(snapshot)));
+                return;
+            }
+            for (EventReplayLog.Entry entry : replay.entries()) {
+                emitter.send(SseEmitter.event()
+                        .id(eventId(epoch, entry.seq()))
+                        .data(encode(new EventReplayDto.ReplayedEvent(
+                                entry.seq(), entry.destination(), entry.payload().asRawValue()))));
+            }
+        }
+
+        void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            clients.remove(this);
+            eventReplayLog.unsubscribe(this);
+            Future<?> running = sender;
+            if (running != null) {
+                running.cancel(true);
+            }
+        }
+    }
+}
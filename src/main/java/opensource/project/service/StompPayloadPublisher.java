@@ -0,0 +1,120 @@
+package opensource.project.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.RawValue;
+import lombok.RequiredArgsConstructor;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MimeTypeUtils;
+
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 이벤트를 JSON byte[]로 한 번만 직렬화하여 여러 destination에 재사용하는 STOMP 발행 컴포넌트
+ *
+ * 문제:
+ * - convertAndSend는 호출할 때마다 Jackson 변환을 수행하므로, 같은 DTO를 개별 토픽과 프레임 묶음
+ *   (/topic/frames/{cctvId}) 양쪽에 보내면 같은 내용을 두 번 직렬화함
+ *
+ * 해결:
+ * - encode()로 만든 EncodedPayload를 send()에 넘기면 메시지 변환 없이 byte[]를 그대로 브로커에 전달함
+ *   (브로커는 구독 세션마다 같은 byte[]를 재사용함)
+ * - 묶음 메시지에는 EncodedPayload.asRawValue()로 이미 만든 JSON을 그대로 끼워 넣음
+ *
+ * 직렬화에는 스프링이 STOMP 메시지 변환에 쓰는 것과 같은 ObjectMapper를 사용하므로
+ * convertAndSend로 보낸 메시지와 JSON 형식이 같음
+ */
+@Component
+@RequiredArgsConstructor
+public class StompPayloadPublisher {
+
+    /**
+     * 이벤트 순번 STOMP 헤더 이름
+     */
+    public static final String SEQ_HEADER = "seq";
+
+    /**
+     * 순번을 부여한 서버 실행 식별자 STOMP 헤더 이름 (EventReplayLog.getEpoch 참고)
+     */
+    public static final String EPOCH_HEADER = "epoch";
+
+    private final SimpMessagingTemplate messagingTemplate;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * 직렬화가 끝난 JSON 메시지 본문
+     *
+     * @param json UTF-8 JSON (수정하지 않음)
+     */
+    public record EncodedPayload(byte[] json) {
+
+        /**
+         * 다른 DTO 안에 그대로 포함시킬 수 있는 JSON 값
+         */
+        public RawValue asRawValue() {
+            return new RawValue(new String(json, StandardCharsets.UTF_8));
+        }
+    }
+
+    /**
+     * 객체를 JSON으로 직렬화함
+     *
+     * @param payload 전송할 객체
+     * @return 직렬화된 본문
+     */
+    public EncodedPayload encode(Object payload) {
+        try {
+            return new EncodedPayload(objectMapper.writeValueAsBytes(payload));
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException("STOMP 메시지 직렬화 실패: " + payload.getClass().getSimpleName(), e);
+        }
+    }
+
+    /**
+     * 직렬화된 본문을 destination으로 전송함 (메시지 변환 없음)
+     *
+     * @param destination 구독 토픽
+     * @param payload 직렬화된 본문
+     */
+    public void send(String destination, EncodedPayload payload) {
+        send(destination, payload, null, null);
+    }
+
+    /**
+     * 직렬화된 본문을 서버 실행 식별자, 이벤트 순번과 함께 전송함 (STOMP epoch, seq 헤더, EventReplayLog 참고)
+     *
+     * @param destination 구독 토픽
+     * @param payload 직렬화된 본문
+     * @param epoch 서버 실행 식별자 (seq와 함께 전달)
+     * @param seq 이벤트 순번 (null이면 헤더를 붙이지 않음)
+     */
+    public void send(String destination, EncodedPayload payload, String epoch, Long seq) {
+        // 템플릿이 destination 헤더를 채울 수 있도록 전송마다 새 헤더를 만듦 (본문 byte[]는 공유)
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        accessor.setContentType(MimeTypeUtils.APPLICATION_JSON);
+        if (seq != null) {
+            accessor.setNativeHeader(EPOCH_HEADER, epoch);
+            accessor.setNativeHeader(SEQ_HEADER, seq.toString());
+        }
+        accessor.setLeaveMutable(true);
+        messagingTemplate.send(destination, MessageBuilder.createMessage(payload.json(), accessor.getMessageHeaders()));
+    }
+
+    /**
+     * 객체를 직렬화하여 전송함
+     *
+     * @param destination 구독 토픽
+     * @param payload 전송할 객체
+     * @return 직렬화된 본문 (다른 destination이나 묶음 메시지에 재사용 가능)
+     */
+    public EncodedPayload publish(String destination, Object payload) {
+        EncodedPayload encoded = encode(payload);
+        send(destination, encoded);
+        return encoded;
+    }
+}
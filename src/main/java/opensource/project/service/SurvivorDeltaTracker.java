@@ -0,0 +1,190 @@
+package opensource.project.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import opensource.project.dto.SurvivorDeltaDto;
+import opensource.project.dto.SurvivorResponseDto;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * 생존자별 마지막 전송 상태를 보관하고 변경분(delta)을 만드는 컴포넌트
+ *
+ * 문제:
+ * - 탐지 프레임마다 lastDetectedAt만 바뀌어도 위치 정보까지 포함한 SurvivorResponseDto 전체를 전송함
+ *
+ * 해결:
+ * - 생존자별로 마지막 전송 상태(JSON 트리)와 버전을 보관하고, 새 상태와 비교하여 바뀐 필드만 JSON Patch로 보냄
+ * - 바뀐 필드가 없으면 전송하지 않음
+ * - 보관 상태가 없으면(첫 전송, 재시작, 장기간 미갱신 후 정리) 전체 스냅샷을 보냄
+ * - 클라이언트는 구독 시 또는 버전 유실 시 snapshot()으로 현재 상태를 받음 (SurvivorStreamController)
+ *
+ * 순서:
+ * - 버전 부여와 전송을 생존자 단위 잠금 안에서 수행하여 버전 순서대로 브로커에 전달되도록 함
+ */
+@Component
+@RequiredArgsConstructor
+public class SurvivorDeltaTracker {
+
+    // 이 시간 동안 갱신이 없는 생존자 상태를 제거함 (다음 갱신은 스냅샷으로 전송됨)
+    private static final long IDLE_EVICTION_NANOS = TimeUnit.HOURS.toNanos(1);
+
+    private final ObjectMapper objectMapper;
+
+    private final ConcurrentHashMap<Long, SurvivorState> states = new ConcurrentHashMap<>();
+
+    /**
+     * 생존자 1명의 마지막 전송 상태
+     */
+    private static final class SurvivorState {
+        private JsonNode lastSent;
+        private long version;
+        private long lastUpdatedNanos;
+    }
+
+    /**
+     * 새 상태를 반영하고 변경분을 전송함
+     * 바뀐 필드가 없으면 전송하지 않음
+     *
+     * @param survivorId 생존자 ID
+     * @param survivor 생존자 현재 상태
+     * @param publisher 변경분 전송 함수 (생존자 단위 잠금 안에서 호출됨)
+     */
+    public void update(Long survivorId, SurvivorResponseDto survivor, Consumer<SurvivorDeltaDto> publisher) {
+        JsonNode current = objectMapper.valueToTree(survivor);
+        SurvivorState state = states.computeIfAbsent(survivorId, id -> new SurvivorState());
+        synchronized (state) {
+            state.lastUpdatedNanos = System.nanoTime();
+            SurvivorDeltaDto delta;
+            if (state.lastSent == null) {
+                delta = snapshotOf(survivorId, current, ++state.version);
+            } else {
+                List<SurvivorDeltaDto.PatchOp> ops = new ArrayList<>();
+                diff("", state.lastSent, current, ops);
+                if (ops.isEmpty()) {
+                    return;
+                }
+                long baseVersion = state.version;
+                delta = SurvivorDeltaDto.builder()
+                        .type(SurvivorDeltaDto.TYPE_PATCH)
+                        .survivorId(survivorId)
+                        .baseVersion(baseVersion)
+                        .version(++state.version)
+                        .ops(ops)
+                        .build();
+            }
+            state.lastSent = current;
+            publisher.accept(delta);
+        }
+    }
+
+    /**
+     * 현재 상태 스냅샷을 반환함
+     * 보관 상태가 없으면 loader로 조회하여 보관한 뒤 반환함
+     *
+     * @param survivorId 생존자 ID
+     * @param loader 보관 상태가 없을 때 현재 상태를 조회하는 함수
+     * @return 스냅샷 (version은 이후 patch의 base_version과 이어짐)
+     */
+    public SurvivorDeltaDto snapshot(Long survivorId, Supplier<SurvivorResponseDto> loader) {
+        SurvivorState state = states.computeIfAbsent(survivorId, id -> new SurvivorState());
+        synchronized (state) {
+            if (state.lastSent == null) {
+                state.lastSent = objectMapper.valueToTree(loader.get());
+                state.version++;
+                state.lastUpdatedNanos = System.nanoTime();
+            }
+            return snapshotOf(survivorId, state.lastSent, state.version);
+        }
+    }
+
+    /**
+     * 생존자 상태를 제거함 (생존자 삭제 시)
+     *
+     * @param survivorId 생존자 ID
+     */
+    public void forget(Long survivorId) {
+        states.remove(survivorId);
+    }
+
+    /**
+     * 오랫동안 갱신이 없는 생존자 상태를 정리함 (10분마다)
+     */
+    @Scheduled(fixedDelay = 600000)
+    public void evictIdleSurvivors() {
+        long now = System.nanoTime();
+        states.entrySet().removeIf(entry -> now - entry.getValue().lastUpdatedNanos > IDLE_EVICTION_NANOS);
+    }
+
+    /**
+     * 상태를 보관 중인 생존자 수 (디버깅용)
+     */
+    public int getTrackedSurvivorCount() {
+        return states.size();
+    }
+
+    private static SurvivorDeltaDto snapshotOf(Long survivorId, JsonNode state, long version) {
+        return SurvivorDeltaDto.builder()
+                .type(SurvivorDeltaDto.TYPE_SNAPSHOT)
+                .survivorId(survivorId)
+                .version(version)
+                .snapshot(state)
+                .build();
+    }
+
+    /**
+     * 두 JSON 트리를 비교하여 JSON Patch 연산을 만듦
+     * 객체는 필드 단위로 재귀 비교하고, 그 외(값, 배열)는 다르면 통째로 교체함
+     */
+    static void diff(String path, JsonNode before, JsonNode after, List<SurvivorDeltaDto.PatchOp> ops) {
+        if (before.isObject() && after.isObject()) {
+            Iterator<Map.Entry<String, JsonNode>> fields = after.fields();
+            while (fields.hasNext()) {
+                Map.Entry<String, JsonNode> field = fields.next();
+                String fieldPath = path + "/" + escape(field.getKey());
+                JsonNode previous = before.get(field.getKey());
+                if (previous == null) {
+                    ops.add(op("add", fieldPath, field.getValue()));
+                } else {
+                    diff(fieldPath, previous, field.getValue(), ops);
+                }
+            }
+            Iterator<String> previousNames = before.fieldNames();
+            while (previousNames.hasNext()) {
+                String name = previousNames.next();
+                if (!after.has(name)) {
+                    ops.add(op("remove", path + "/" + escape(name), null));
+                }
+            }
+            return;
+        }
+        if (!before.equals(after)) {
+            ops.add(op("replace", path, after));
+        }
+    }
+
+    /**
+     * JSON Pointer(RFC 6901) 경로 토큰 이스케이프
+     */
+    private static String escape(String name) {
+        return name.replace("~", "~0").replace("/", "~1");
+    }
+
+    private static SurvivorDeltaDto.PatchOp op(String op, String path, JsonNode value) {
+        return SurvivorDeltaDto.PatchOp.builder()
+                .op(op)
+                .path(path)
+                .value(value)
+                .build();
+    }
+}
@@ -39,6 +39,10 @@ public class SurvivorServiceImpl implements SurvivorService {
     private final WebSocketService webSocketService;
     private final DetectionRepository detectionRepository;
     private final RecentSurvivorRecordRepository recentSurvivorRecordRepository;
+    private final WifiSurvivorTracker wifiSurvivorTracker;
+    private final SurvivorDeltaTracker survivorDeltaTracker;
+    private final EventReplayLog eventReplayLog;
+    private final LocationInterestRouter locationInterestRouter;
 
     // 새로운 생존자 정보 등록
     @Override
@@ -129,6 +133,9 @@ public class SurvivorServiceImpl implements SurvivorService {
             survivor.setFalsePositiveReportedAt(requestDto.getFalsePositiveReportedAt());
         }
 
+        // WiFi 센서별 추적 정보 갱신 (비활성화, 위치/탐지 방법 변경 시 추적 해제)
+        wifiSurvivorTracker.onSurvivorChanged(survivor);
+
         SurvivorResponseDto responseDto = SurvivorResponseDto.from(survivor);
 
         // WebSocket으로 생존자 정보 업데이트 브로드캐스트
@@ -158,6 +165,14 @@ public class SurvivorServiceImpl implements SurvivorService {
 
         // 3. Survivor 삭제
         survivorRepository.deleteById(id);
+
+        // 4. WiFi 센서별 추적 정보에서 제거
+        wifiSurvivorTracker.evictSurvivor(id);
+
+        // 5. 변경분 브로드캐스트용 마지막 전송 상태와 재연결 스냅샷에서 제거
+        survivorDeltaTracker.forget(id);
+        eventReplayLog.forget("/topic/survivor/" + id);
+        locationInterestRouter.forgetSurvivor(id);
     }
 
     // 구조 상태 변경하도록
@@ -172,6 +187,7 @@ public class SurvivorServiceImpl implements SurvivorService {
         // Deactivate if rescued
         if (rescueStatus == RescueStatus.RESCUED) {
             survivor.setIsActive(false);
+            wifiSurvivorTracker.evictSurvivor(id);
         }
 
         SurvivorResponseDto responseDto = SurvivorResponseDto.from(survivor);
@@ -30,6 +30,7 @@ public interface WebSocketService {
 
     /**
      * 특정 생존자 정보 업데이트를 구독자에게 브로드캐스트함
+     * 전체 정보(/topic/survivor/{survivorId})와 변경분(/topic/survivor/{survivorId}/delta)을 전송함
      *
      * @param survivorId 생존자 ID
      * @param survivor 생존자 정보 데이터
@@ -48,6 +49,8 @@ public interface WebSocketService {
      * 생존자 탐지 여부와 무관하게 5초마다 호출되며 프론트엔드의 실시간 그래프를 업데이트함
      *
      * 구독 토픽: /topic/wifi-sensor/{sensorId}/signal
+     *          /topic/wifi-sensor/{sensorId}/signal/medium (초당 2프레임, 진폭 16구간)
+     *          /topic/wifi-sensor/{sensorId}/signal/low (2초당 1프레임, 진폭 8구간)
      * 사용 시나리오:
      * - 평상시: 그래프만 업데이트 (survivorDetected = false)
      * - 생존자 탐지 시: 그래프 업데이트 + 특수 효과 트리거 (survivorDetected = true)
@@ -68,4 +71,21 @@ public interface WebSocketService {
      * 구독 토픽: /topic/recent-survivors
      */
     void broadcastRecentRecordDeleted(Long recordId);
+
+    /**
+     * WiFi 센서 / CCTV의 온라인·오프라인 전환을 브로드캐스트함
+     * 구독 토픽: /topic/sensors/health
+     *
+     * @param event 상태 전환 이벤트
+     */
+    void broadcastSensorHealth(opensource.project.dto.SensorHealthEventDto event);
+
+    /**
+     * CCTV 프레임 1개의 처리 결과(생존자/탐지/점수 변경) 묶음을 구독자에게 브로드캐스트함
+     * 구독 토픽: /topic/frames/{cctvId}
+     *
+     * @param cctvId CCTV ID
+     * @param frame 프레임 처리 결과 묶음
+     */
+    void broadcastCctvFrame(Long cctvId, opensource.project.dto.CctvFrameEnvelopeDto frame);
 }
@@ -2,24 +2,43 @@ package opensource.project.service;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import opensource.project.dto.CctvFrameEnvelopeDto;
 import opensource.project.dto.DetectionResponseDto;
+import opensource.project.dto.LocationEventDto;
 import opensource.project.dto.PriorityScoreHistoryDto;
 import opensource.project.dto.RecentSurvivorRecordResponseDto;
+import opensource.project.dto.SensorHealthEventDto;
 import opensource.project.dto.SurvivorResponseDto;
 import opensource.project.dto.WifiSignalDto;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
+
 /**
  * WebSocket 브로드캐스트 서비스 구현체
- * SimpMessagingTemplate을 사용하여 STOMP 프로토콜로 메시지를 전송함
+ * StompPayloadPublisher를 사용하여 STOMP 프로토콜로 메시지를 전송함
+ * (이벤트마다 한 번만 직렬화하고, 같은 JSON을 CCTV 프레임 묶음에도 재사용함)
+ *
+ * 생존자/탐지/점수/최근 기록/센서 상태 이벤트는 EventReplayLog에 순번과 함께 보관하여
+ * 재연결한 클라이언트가 놓친 이벤트를 다시 받을 수 있게 함
+ * (변경분 토픽은 자체 버전으로, WiFi 신호와 프레임 묶음은 최신 값/중복이므로 보관하지 않음)
+ *
+ * 위치가 있는 생존자/탐지/점수/최근 기록 이벤트는 건물/층 관심 토픽에도 같은 순번으로 전송함
+ * (LocationInterestRouter 참고, 구독자가 있는 관심 토픽에만 전송하고, 관심 토픽은 재전송 로그에 함께 기록함)
  */
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class WebSocketServiceImpl implements WebSocketService {
 
-    private final SimpMessagingTemplate messagingTemplate;
+    private final StompPayloadPublisher payloadPublisher;
+    private final WebSocketSubscriptionRegistry subscriptionRegistry;
+    private final WifiSignalDownsampler wifiSignalDownsampler;
+    private final SurvivorDeltaTracker survivorDeltaTracker;
+    private final CctvFrameEnvelopeCollector frameEnvelopeCollector;
+    private final EventReplayLog eventReplayLog;
+    private final CsiBinaryWebSocketHandler csiBinaryWebSocketHandler;
+    private final LocationInterestRouter locationInterestRouter;
 
     /**
      * 특정 생존자의 우선순위 점수 업데이트를 구독자에게 브로드캐스트함
@@ -28,7 +47,8 @@ public class WebSocketServiceImpl implements WebSocketService {
     @Override
     public void broadcastPriorityScoreUpdate(Long survivorId, PriorityScoreHistoryDto scoreUpdate) {
         String destination = "/topic/survivor/" + survivorId + "/scores";
-        messagingTemplate.convertAndSend(destination, scoreUpdate);
+        frameEnvelopeCollector.recordScore(survivorId, publishSequenced(destination, destination, scoreUpdate,
+                locationInterestRouter.routeSurvivor(survivorId, null)));
         log.info("Broadcasting priority score update to {}: {}", destination, scoreUpdate);
     }
 
@@ -40,19 +60,31 @@ public class WebSocketServiceImpl implements WebSocketService {
     @Override
     public void broadcastDetectionUpdate(Long survivorId, DetectionResponseDto detection) {
         String destination = "/topic/survivor/" + survivorId + "/detections";
-        messagingTemplate.convertAndSend(destination, detection);
+        frameEnvelopeCollector.recordDetection(publishSequenced(destination, destination, detection,
+                locationInterestRouter.routeSurvivor(survivorId, detection.getLocation())));
         log.info("Broadcasting detection update to {}: {}", destination, detection);
     }
 
     /**
      * 특정 생존자 정보 업데이트를 구독자에게 브로드캐스트함
-     * 구독 토픽: /topic/survivor/{survivorId}
+     * 구독 토픽: /topic/survivor/{survivorId} (전체 정보, 구독자가 있을 때만 전송)
+     *          /topic/survivor/{survivorId}/delta (바뀐 필드만, SurvivorDeltaTracker 참고)
      */
     @Override
     public void broadcastSurvivorUpdate(Long survivorId, SurvivorResponseDto survivor) {
         String destination = "/topic/survivor/" + survivorId;
-        messagingTemplate.convertAndSend(destination, survivor);
-        log.info("Broadcasting survivor update to {}: {}", destination, survivor);
+        frameEnvelopeCollector.recordSurvivorUpdate(publishSequenced(destination, destination, survivor,
+                locationInterestRouter.routeSurvivor(survivorId, survivor.getLocation())));
+
+        // 구독자가 없어도 버전은 계속 올림 (새 구독자는 스냅샷부터 받음)
+        String deltaDestination = destination + "/delta";
+        survivorDeltaTracker.update(survivorId, survivor, delta -> {
+            if (!subscriptionRegistry.hasSubscribers(deltaDestination)) {
+                return;
+            }
+            payloadPublisher.publish(deltaDestination, delta);
+            log.info("Broadcasting survivor {} to {}: version {}", delta.getType(), deltaDestination, delta.getVersion());
+        });
     }
 
     /**
@@ -62,7 +94,10 @@ public class WebSocketServiceImpl implements WebSocketService {
     @Override
     public void broadcastNewSurvivorAdded(SurvivorResponseDto survivor) {
         String destination = "/topic/survivors/new";
-        messagingTemplate.convertAndSend(destination, survivor);
+        // 스냅샷에서는 생존자 정보 토픽과 같은 상태 키를 사용하여 생존자별 최신 정보 1건만 남김
+        String stateKey = "/topic/survivor/" + survivor.getId();
+        frameEnvelopeCollector.recordNewSurvivor(publishSequenced(destination, stateKey, survivor,
+                locationInterestRouter.routeSurvivor(survivor.getId(), survivor.getLocation())));
         log.info("Broadcasting new survivor added to {}: survivor #{}", destination, survivor.getSurvivorNumber());
     }
 
@@ -71,7 +106,10 @@ public class WebSocketServiceImpl implements WebSocketService {
      * 5초마다 호출되며 생존자 탐지 여부와 무관하게 항상 실행됨
      * 프론트엔드의 실시간 그래프를 업데이트하고, 생존자가 탐지된 경우 특수 효과를 트리거함
      *
-     * 구독 토픽: /topic/wifi-sensor/{sensorId}/signal
+     * 구독 토픽: /topic/wifi-sensor/{sensorId}/signal (원본)
+     *          /topic/wifi-sensor/{sensorId}/signal/{medium|low} (다운샘플링, WifiSignalDownsampler 참고)
+     *          /ws/csi 바이너리 스트림 (선택형, CsiBinaryWebSocketHandler 참고)
+     * 원본 토픽에 구독자가 없으면 직렬화를 건너뜀
      *
      * @param sensorId WiFi 센서 ID (데이터베이스 ID, 예: 1, 2, 3)
      * @param signalData 신호 데이터 (CSI 분석 결과, 신호 강도, 생존자 탐지 여부 등)
@@ -79,7 +117,11 @@ public class WebSocketServiceImpl implements WebSocketService {
     @Override
     public void broadcastWifiSignal(Long sensorId, WifiSignalDto signalData) {
         String destination = "/topic/wifi-sensor/" + sensorId + "/signal";
-        messagingTemplate.convertAndSend(destination, signalData);
+        if (subscriptionRegistry.hasSubscribers(destination)) {
+            payloadPublisher.publish(destination, signalData);
+        }
+        wifiSignalDownsampler.accept(signalData);
+        csiBinaryWebSocketHandler.broadcast(signalData);
 
         // 생존자가 탐지된 경우에만 상세 로그를 남김 (평상시에는 로그 스팸 방지)
         if (Boolean.TRUE.equals(signalData.getSurvivorDetected())) {
@@ -87,13 +129,13 @@ public class WebSocketServiceImpl implements WebSocketService {
                     destination,
                     sensorId,
                     signalData.getSurvivorId(),
-                    signalData.getCsiAmplitudeSummary() != null ? signalData.getCsiAmplitudeSummary().size() : 0);
+                    signalData.getCsiAmplitudeSummary() != null ? signalData.getCsiAmplitudeSummary().length : 0);
         } else {
             // 평상시에는 DEBUG 레벨로 로그를 남김 (운영 환경에서는 출력되지 않음)
             log.debug("WiFi 신호 브로드캐스트 - 토픽: {}, 센서: {}, CSI 크기: {}, 생존자 탐지: {}",
                     destination,
                     sensorId,
-                    signalData.getCsiAmplitudeSummary() != null ? signalData.getCsiAmplitudeSummary().size() : 0,
+                    signalData.getCsiAmplitudeSummary() != null ? signalData.getCsiAmplitudeSummary().length : 0,
                     signalData.getSurvivorDetected());
         }
     }
@@ -101,16 +143,78 @@ public class WebSocketServiceImpl implements WebSocketService {
     @Override
     public void broadcastRecentRecordAdded(RecentSurvivorRecordResponseDto record) {
         String destination = "/topic/recent-survivors";
-        messagingTemplate.convertAndSend(destination, new RecentRecordEvent("added", record, null));
+        publishSequenced(destination, destination + "/" + record.getId(), new RecentRecordEvent("added", record, null),
+                locationInterestRouter.routeRecentRecordAdded(record.getId(), record.getBuildingName(), record.getFloor()));
         log.info("Broadcasting recent record added to {}", destination);
     }
 
     @Override
     public void broadcastRecentRecordDeleted(Long recordId) {
         String destination = "/topic/recent-survivors";
-        messagingTemplate.convertAndSend(destination, new RecentRecordEvent("deleted", null, recordId));
+        publishSequenced(destination, null, new RecentRecordEvent("deleted", null, recordId),
+                locationInterestRouter.routeRecentRecordDeleted(recordId));
+        eventReplayLog.forget(destination + "/" + recordId);
         log.info("Broadcasting recent record deleted to {}: {}", destination, recordId);
     }
 
+    @Override
+    public void broadcastSensorHealth(SensorHealthEventDto event) {
+        String destination = "/topic/sensors/health";
+        publishSequenced(destination, destination + "/" + event.getDeviceType() + "/" + event.getDeviceId(), event, List.of());
+        log.info("Broadcasting sensor health to {}: {} {} → {}",
+                destination, event.getDeviceType(), event.getDeviceId(), event.getStatus());
+    }
+
+    /**
+     * CCTV 프레임 처리 결과 묶음을 브로드캐스트함
+     * 개별 생존자/탐지/점수 토픽과 같은 내용을 프레임당 메시지 1개로 전송함 (구독자가 있을 때만)
+     * 구독 토픽: /topic/frames/{cctvId}
+     */
+    @Override
+    public void broadcastCctvFrame(Long cctvId, CctvFrameEnvelopeDto frame) {
+        String destination = "/topic/frames/" + cctvId;
+        if (frame == null || !subscriptionRegistry.hasSubscribers(destination)) {
+            return;
+        }
+        payloadPublisher.publish(destination, frame);
+        log.info("Broadcasting CCTV frame #{} to {}: new {}, updated {}, detections {}, scores {}",
+                frame.getFrameSequence(), destination, frame.getNewSurvivors().size(),
+                frame.getUpdatedSurvivors().size(), frame.getDetections().size(), frame.getScores().size());
+    }
+
+    /**
+     * 이벤트를 한 번 직렬화하여 순번과 함께 재전송 로그에 보관하고, 토픽에 구독자가 있으면 전송함
+     * 직렬화 결과는 CCTV 프레임 묶음에 재사용함
+     * 관심 토픽에는 원래 토픽과 본문을 감싼 LocationEventDto를 한 번만 직렬화하여 같은 순번으로 전송함
+     * 관심 토픽은 구독자가 없어도 재전송 로그에 기록하여, 재연결한 건물/층 대시보드가 관심 토픽 패턴으로 재전송받게 함
+     * 트랜잭션 안에서 호출되면 커밋된 뒤에 순번을 붙여 기록하고 전송함 (EventReplayLog.append 참고)
+     *
+     * @param stateKey 스냅샷에서 최신 값만 남길 키 (null이면 스냅샷에 포함하지 않음)
+     * @param interestDestinations 이벤트 위치의 건물/층 관심 토픽
+     * @return 직렬화된 본문
+     */
+    private StompPayloadPublisher.EncodedPayload publishSequenced(String destination, String stateKey, Object payload,
+                                                                  List<String> interestDestinations) {
+        StompPayloadPublisher.EncodedPayload encoded = payloadPublisher.encode(payload);
+        List<String> subscribedInterests = interestDestinations.stream()
+                .filter(subscriptionRegistry::hasSubscribers)
+                .toList();
+        StompPayloadPublisher.EncodedPayload locationEvent = subscribedInterests.isEmpty() ? null
+                : payloadPublisher.encode(LocationEventDto.builder()
+                        .destination(destination)
+                        .payload(encoded.asRawValue())
+                        .build());
+        String epoch = eventReplayLog.getEpoch();
+        eventReplayLog.append(destination, interestDestinations, stateKey, encoded, seq -> {
+            if (subscriptionRegistry.hasSubscribers(destination)) {
+                payloadPublisher.send(destination, encoded, epoch, seq);
+            }
+            for (String interestDestination : subscribedInterests) {
+                payloadPublisher.send(interestDestination, locationEvent, epoch, seq);
+            }
+        });
+        return encoded;
+    }
+
     private record RecentRecordEvent(String type, RecentSurvivorRecordResponseDto record, Long recordId) {}
 }
@@ -0,0 +1,236 @@
+package opensource.project.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import opensource.project.dto.WebSocketTransportMetricsDto;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.WebSocketHandlerDecorator;
+import org.springframework.web.socket.handler.WebSocketHandlerDecoratorFactory;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+
+/**
+ * STOMP 세션별 전송 한도와 느린 구독자(slow consumer) 처리 정책을 적용하는 컴포넌트
+ *
+ * 문제:
+ * - 재난 상황에서 대시보드 세션이 수백 개로 늘면, 느린 브라우저 하나가 송신 스레드를 붙잡아
+ *   다른 세션으로의 전송까지 지연됨
+ *
+ * 해결:
+ * - 세션마다 ConflatingWebSocketSessionDecorator를 씌워 송신을 세션별 큐에 넣고 바로 반환함
+ *   (실제 전송은 세션당 한 작업이 가상 스레드에서 순서대로 수행하므로, 막힌 전송이 다른 세션의 전송을 붙잡지 않음)
+ * - 전송이 밀리는 동안 conflated-destinations 토픽은 구독별 최신 메시지만 남김
+ *   (센서별 최신 신호만 전달하고 지난 프레임은 보내지 않음, 순번이 붙은 이벤트는 교체하지 않음)
+ * - 큐가 send-buffer-size-kb를 넘으면 정책에 따라 처리함
+ *   - DISCONNECT (기본값): 세션을 종료함 (클라이언트가 재연결 후 다시 구독, 이벤트는 재전송 요청으로 복구)
+ *   - DROP_OLDEST: 순번이 없는 메시지만 오래된 것부터 버림 (실시간 신호 그래프처럼 최신 값만 의미 있는 대시보드 전용 배포에서만 사용)
+ * - 한 번의 전송이 send-time-limit-ms를 넘으면 정책과 무관하게 세션을 종료함 (응답 없는 클라이언트)
+ *   (송신이 더 없는 세션도 1초마다 확인함)
+ *
+ * 계측:
+ * - 활성 세션 수, 느린 구독자로 종료된 세션 수, 세션별 버퍼 적체량
+ * - 최신 메시지로 교체된 메시지 수, 버퍼 한도 초과로 버린 메시지 수 (종료된 세션 포함 누적)
+ * - inbound / outbound / broker 채널 스레드 풀의 대기 작업 수
+ */
+@Slf4j
+@Component
+public class WebSocketSessionGuard implements WebSocketHandlerDecoratorFactory {
+
+    /**
+     * 송신 버퍼 초과 시 처리 정책
+     */
+    public enum SlowConsumerPolicy {
+        DROP_OLDEST,
+        DISCONNECT
+    }
+
+    private final SlowConsumerPolicy policy;
+    private final int sendTimeLimitMillis;
+    private final int sendBufferSizeLimitBytes;
+    private final Predicate<String> conflatedDestination;
+    private final ExecutorService sendExecutor;
+
+    // 채널 실행기는 WebSocket 설정이 끝난 뒤 만들어지므로 조회 시점에 가져옴
+    private final ThreadPoolTaskExecutor clientInboundChannelExecutor;
+    private final ThreadPoolTaskExecutor clientOutboundChannelExecutor;
+    private final ThreadPoolTaskExecutor brokerChannelExecutor;
+
+    // WebSocket 세션 ID → 송신 큐 데코레이터
+    private final ConcurrentHashMap<String, ConflatingWebSocketSessionDecorator> sessions = new ConcurrentHashMap<>();
+
+    private final AtomicLong slowConsumerDisconnects = new AtomicLong();
+    // 종료된 세션의 누적 카운터 (활성 세션 값은 조회 시 더함)
+    private final AtomicLong closedSessionsConflated = new AtomicLong();
+    private final AtomicLong closedSessionsDropped = new AtomicLong();
+
+    public WebSocketSessionGuard(@Value("${websocket.slow-consumer-policy:DISCONNECT}") SlowConsumerPolicy policy,
+                                 @Value("${websocket.send-time-limit-ms:5000}") int sendTimeLimitMillis,
+                                 @Value("${websocket.send-buffer-size-kb:512}") int sendBufferSizeKb,
+                                 @Value("${websocket.conflated-destinations:/topic/wifi-sensor/*/signal,/topic/wifi-sensor/*/signal/*}")
+                                 String conflatedDestinations,
+                                 @Lazy @Qualifier("clientInboundChannelExecutor") ThreadPoolTaskExecutor clientInboundChannelExecutor,
+                                 @Lazy @Qualifier("clientOutboundChannelExecutor") ThreadPoolTaskExecutor clientOutboundChannelExecutor,
+                                 @Lazy @Qualifier("brokerChannelExecutor") ThreadPoolTaskExecutor brokerChannelExecutor) {
+        if (sendTimeLimitMillis <= 0 || sendBufferSizeKb <= 0) {
+            throw new IllegalArgumentException("websocket 전송 시간/버퍼 한도는 0보다 커야 합니다.");
+        }
+        this.policy = policy;
+        this.sendTimeLimitMillis = sendTimeLimitMillis;
+        this.sendBufferSizeLimitBytes = sendBufferSizeKb * 1024;
+        this.conflatedDestination = destinationMatcher(conflatedDestinations);
+
+        // 전송 작업은 대부분 소켓 쓰기 대기이므로 세션 수만큼 가상 스레드를 씀
+        this.sendExecutor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("ws-send-", 1).factory());
+        this.clientInboundChannelExecutor = clientInboundChannelExecutor;
+        this.clientOutboundChannelExecutor = clientOutboundChannelExecutor;
+        this.brokerChannelExecutor = brokerChannelExecutor;
+    }
+
+    public int getSendTimeLimitMillis() {
+        return sendTimeLimitMillis;
+    }
+
+    public int getSendBufferSizeLimitBytes() {
+        return sendBufferSizeLimitBytes;
+    }
+
+    /**
+     * STOMP 핸들러에 세션 연결/종료를 감싸는 데코레이터를 적용함
+     * 연결 시 세션을 송신 버퍼 데코레이터로 교체하여 이후 모든 송신이 정책을 거치도록 함
+     */
+    @Override
+    public WebSocketHandler decorate(WebSocketHandler handler) {
+        return new WebSocketHandlerDecorator(handler) {
+
+            @Override
+            public void afterConnectionEstablished(WebSocketSession session) throws Exception {
+                ConflatingWebSocketSessionDecorator guarded = new ConflatingWebSocketSessionDecorator(
+                        session, sendTimeLimitMillis, sendBufferSizeLimitBytes, policy,
+                        conflatedDestination, sendExecutor);
+                sessions.put(session.getId(), guarded);
+                super.afterConnectionEstablished(guarded);
+            }
+
+            @Override
+            public void afterConnectionClosed(WebSocketSession session, CloseStatus closeStatus) throws Exception {
+                ConflatingWebSocketSessionDecorator guarded = sessions.remove(session.getId());
+                if (guarded != null) {
+                    closedSessionsConflated.addAndGet(guarded.getConflatedMessages());
+                    closedSessionsDropped.addAndGet(guarded.getDroppedMessages() + guarded.getQueuedMessages());
+                }
+                if (CloseStatus.SESSION_NOT_RELIABLE.equalsCode(closeStatus)) {
+                    slowConsumerDisconnects.incrementAndGet();
+                    log.warn("느린 구독자 세션 종료 - 세션: {}, 버퍼: {} bytes", session.getId(),
+                            guarded != null ? guarded.getBufferSize() : 0);
+                }
+                super.afterConnectionClosed(guarded != null ? guarded : session, closeStatus);
+            }
+        };
+    }
+
+    /**
+     * 세션과 채널 스레드 풀의 현재 상태를 조회함
+     *
+     * @return 전송 계층 상태
+     */
+    public WebSocketTransportMetricsDto getMetrics() {
+        long totalBuffered = 0;
+        int maxBuffered = 0;
+        long longestSendMillis = 0;
+        long totalQueued = 0;
+        long conflated = closedSessionsConflated.get();
+        long dropped = closedSessionsDropped.get();
+        for (ConflatingWebSocketSessionDecorator session : sessions.values()) {
+            int buffered = session.getBufferSize();
+            totalBuffered += buffered;
+            totalQueued += session.getQueuedMessages();
+            conflated += session.getConflatedMessages();
+            dropped += session.getDroppedMessages();
+            maxBuffered = Math.max(maxBuffered, buffered);
+            longestSendMillis = Math.max(longestSendMillis, session.getTimeSinceSendStarted());
+        }
+
+        return WebSocketTransportMetricsDto.builder()
+                .slowConsumerPolicy(policy.name())
+                .activeSessions(sessions.size())
+                .slowConsumerDisconnects(slowConsumerDisconnects.get())
+                .totalBufferedBytes(totalBuffered)
+                .maxSessionBufferedBytes(maxBuffered)
+                .longestSendInProgressMillis(longestSendMillis)
+                .totalQueuedMessages(totalQueued)
+                .conflatedMessages(conflated)
+                .droppedMessages(dropped)
+                .channels(List.of(
+                        channelMetrics("clientInbound", clientInboundChannelExecutor),
+                        channelMetrics("clientOutbound", clientOutboundChannelExecutor),
+                        channelMetrics("broker", brokerChannelExecutor)))
+                .build();
+    }
+
+    /**
+     * 전송이 send-time-limit-ms를 넘도록 끝나지 않은 세션을 종료함
+     * 막힌 전송은 다음 송신이 없으면 확인되지 않으므로 주기적으로 확인하고, 종료는 전송 실행기에서 수행함
+     */
+    @Scheduled(fixedDelay = 1000)
+    public void closeStalledSessions() {
+        for (ConflatingWebSocketSessionDecorator session : sessions.values()) {
+            if (session.getTimeSinceSendStarted() > sendTimeLimitMillis) {
+                sendExecutor.execute(session::closeIfSendStalled);
+            }
+        }
+    }
+
+    /**
+     * 애플리케이션 종료 시 전송 스레드를 정리함
+     */
+    @PreDestroy
+    public void shutdown() {
+        sendExecutor.shutdown();
+        try {
+            if (!sendExecutor.awaitTermination(5, TimeUnit.SECONDS)) {
+                sendExecutor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            sendExecutor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * 쉼표로 구분한 Ant 패턴 목록으로 토픽 판별 조건을 만듦
+     */
+    public static Predicate<String> destinationMatcher(String patterns) {
+        AntPathMatcher matcher = new AntPathMatcher();
+        List<String> patternList = Arrays.stream(patterns.split(","))
+                .map(String::trim)
+                .filter(pattern -> !pattern.isEmpty())
+                .toList();
+        return destination -> patternList.stream().anyMatch(pattern -> matcher.match(pattern, destination));
+    }
+
+    private static WebSocketTransportMetricsDto.ChannelMetrics channelMetrics(String name, ThreadPoolTaskExecutor executor) {
+        return WebSocketTransportMetricsDto.ChannelMetrics.builder()
+                .name(name)
+                .poolSize(executor.getPoolSize())
+                .activeThreads(executor.getActiveCount())
+                .queueDepth(executor.getThreadPoolExecutor().getQueue().size())
+                .completedTasks(executor.getThreadPoolExecutor().getCompletedTaskCount())
+                .build();
+    }
+}
@@ -0,0 +1,138 @@
+package opensource.project.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.PathMatcher;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+import org.springframework.web.socket.messaging.SessionSubscribeEvent;
+import org.springframework.web.socket.messaging.SessionUnsubscribeEvent;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * STOMP 구독 현황을 destination 단위로 집계하는 컴포넌트
+ *
+ * SUBSCRIBE / UNSUBSCRIBE / DISCONNECT 이벤트를 받아 destination별 구독자 수를 유지함
+ * 구독자가 없는 토픽에 대해 직렬화·다운샘플링 같은 작업을 건너뛰는 데 사용함
+ *
+ * 심플 브로커는 구독 destination을 AntPathMatcher 패턴으로 매칭하므로
+ * (예: /topic/wifi-sensor/**) 패턴 구독은 따로 모아 같은 방식으로 매칭함
+ */
+@Slf4j
+@Component
+public class WebSocketSubscriptionRegistry {
+
+    // 세션 ID → (구독 ID → destination)
+    private final ConcurrentHashMap<String, ConcurrentHashMap<String, String>> subscriptionsBySession =
+            new ConcurrentHashMap<>();
+
+    // destination → 구독 수
+    private final ConcurrentHashMap<String, Integer> subscriberCounts = new ConcurrentHashMap<>();
+
+    // 패턴 destination → 구독 수 (브로커의 DefaultSubscriptionRegistry와 같은 매처 사용)
+    private final ConcurrentHashMap<String, Integer> patternCounts = new ConcurrentHashMap<>();
+    private final PathMatcher pathMatcher = new AntPathMatcher();
+
+    @EventListener
+    public void onSubscribe(SessionSubscribeEvent event) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.wrap(event.getMessage());
+        String sessionId = accessor.getSessionId();
+        String subscriptionId = accessor.getSubscriptionId();
+        String destination = accessor.getDestination();
+        if (sessionId == null || subscriptionId == null || destination == null) {
+            return;
+        }
+
+        String previous = subscriptionsBySession
+                .computeIfAbsent(sessionId, id -> new ConcurrentHashMap<>())
+                .put(subscriptionId, destination);
+        if (previous != null) {
+            decrement(previous);
+        }
+        countsFor(destination).merge(destination, 1, Integer::sum);
+        log.debug("STOMP 구독 등록 - 세션: {}, destination: {}", sessionId, destination);
+    }
+
+    @EventListener
+    public void onUnsubscribe(SessionUnsubscribeEvent event) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.wrap(event.getMessage());
+        String sessionId = accessor.getSessionId();
+        String subscriptionId = accessor.getSubscriptionId();
+        if (sessionId == null || subscriptionId == null) {
+            return;
+        }
+
+        Map<String, String> subscriptions = subscriptionsBySession.get(sessionId);
+        if (subscriptions == null) {
+            return;
+        }
+        String destination = subscriptions.remove(subscriptionId);
+        if (destination != null) {
+            decrement(destination);
+        }
+    }
+
+    @EventListener
+    public void onDisconnect(SessionDisconnectEvent event) {
+        Map<String, String> subscriptions = subscriptionsBySession.remove(event.getSessionId());
+        if (subscriptions != null) {
+            subscriptions.values().forEach(this::decrement);
+        }
+    }
+
+    /**
+     * destination에 구독자가 있는지 확인함 (패턴 구독 포함)
+     *
+     * @param destination 토픽 경로 (예: /topic/wifi-sensor/1/signal)
+     * @return 구독자가 한 명 이상이면 true
+     */
+    public boolean hasSubscribers(String destination) {
+        if (subscriberCounts.containsKey(destination)) {
+            return true;
+        }
+        for (String pattern : patternCounts.keySet()) {
+            if (pathMatcher.match(pattern, destination)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * destination의 구독 수를 반환함 (패턴 구독 포함)
+     *
+     * @param destination 토픽 경로
+     * @return 구독 수 (없으면 0)
+     */
+    public int getSubscriberCount(String destination) {
+        int count = subscriberCounts.getOrDefault(destination, 0);
+        for (Map.Entry<String, Integer> entry : patternCounts.entrySet()) {
+            if (pathMatcher.match(entry.getKey(), destination)) {
+                count += entry.getValue();
+            }
+        }
+        return count;
+    }
+
+    /**
+     * 현재 구독 중인 destination별 구독 수 (모니터링용)
+     */
+    public Map<String, Integer> getSubscriberCounts() {
+        Map<String, Integer> counts = new HashMap<>(subscriberCounts);
+        counts.putAll(patternCounts);
+        return Map.copyOf(counts);
+    }
+
+    private void decrement(String destination) {
+        countsFor(destination).computeIfPresent(destination, (key, count) -> count > 1 ? count - 1 : null);
+    }
+
+    private ConcurrentHashMap<String, Integer> countsFor(String destination) {
+        return pathMatcher.isPattern(destination) ? patternCounts : subscriberCounts;
+    }
+}
@@ -18,7 +18,7 @@ import org.springframework.transaction.annotation.Transactional;
  *
  * 주요 역할:
  * 1. MQTT 메시지를 수신하여 검증함
- * 2. WiFi 센서 정보를 조회함
+ * 2. WiFi 센서 정보를 메모리 스냅샷(WifiSensorRegistry)에서 조회함
  * 3. 항상 WebSocket으로 실시간 신호 데이터를 브로드캐스트함 (그래프 업데이트용)
  * 4. 생존자가 탐지된 경우에만 WifiDetectionProcessorService를 호출하여 DB 저장 및 생존자 매칭을 수행함
  *
@@ -35,6 +35,10 @@ public class WifiDetectionMqttService {
     private final LocationRepository locationRepository;
     private final WebSocketService webSocketService;
     private final WifiDetectionProcessorService wifiDetectionProcessorService;
+    private final CsiVitalSignEstimator csiVitalSignEstimator;
+    private final CsiPresenceDetector csiPresenceDetector;
+    private final WifiSensorRegistry wifiSensorRegistry;
+    private final DeviceLivenessMonitor deviceLivenessMonitor;
     private final ObjectMapper objectMapper;
 
     /**
@@ -50,29 +54,53 @@ public class WifiDetectionMqttService {
         try {
             // 1. 입력 데이터 유효성 검증을 수행함
             validateMqttData(mqttData);
+            // 수신 스레드에서 기록한 도착 시각을 사용함 (없으면 처리 시각)
+            long receivedAtNanos = mqttData.getReceivedAtNanos() != 0
+                    ? mqttData.getReceivedAtNanos()
+                    : System.nanoTime();
+
+            // 2. WiFi 센서 정보를 스냅샷에서 조회함 (DB 조회 없음)
+            Long sensorId = mqttData.getSensorId();
+            WifiSensorRegistry.SensorSnapshot sensorInfo = wifiSensorRegistry.get(sensorId);
+            if (sensorInfo == null) {
+                throw new IllegalArgumentException("WiFi 센서를 찾을 수 없습니다. 센서 ID: " + sensorId);
+            }
 
-            // 2. WiFi 센서 정보를 ID로 조회함
-            WifiSensor sensor = wifiSensorRepository.findById(mqttData.getSensorId())
-                    .orElseThrow(() -> new IllegalArgumentException(
-                            "WiFi 센서를 찾을 수 없습니다. 센서 ID: " + mqttData.getSensorId()));
-
-            // 3. 센서에 연결된 위치 정보를 조회함
-            Location location = sensor.getLocation();
-            if (location == null) {
-                throw new IllegalArgumentException("센서에 연결된 위치 정보가 없습니다. 센서 ID: " + mqttData.getSensorId());
+            // 3. 센서에 연결된 위치 정보를 확인함
+            if (sensorInfo.locationId() == null) {
+                throw new IllegalArgumentException("센서에 연결된 위치 정보가 없습니다. 센서 ID: " + sensorId);
             }
 
             // 4. 타임스탬프를 백엔드에서 생성함 (MQTT 메시지에는 포함되지 않음)
             java.time.LocalDateTime timestamp = java.time.LocalDateTime.now();
 
-            // 5. 센서의 마지막 활성 시각을 업데이트함
-            sensor.setLastActiveAt(timestamp);
-            sensor.setIsActive(true);
-            wifiSensorRepository.save(sensor);
+            // 5. 생존 신호를 기록하고 센서의 마지막 활성 시각을 업데이트함
+            // 오프라인이던 센서는 DeviceLivenessMonitor가 온라인 전환과 함께 기록하고,
+            // 그 외에는 센서당 일정 간격에 한 번만 기록하며 비활성 센서는 즉시 활성으로 바꿈
+            boolean cameOnline = deviceLivenessMonitor.recordWifiHeartbeat(sensorId);
+            if (!cameOnline && (!sensorInfo.active()
+                    || wifiSensorRegistry.shouldPersistActivity(sensorId, System.currentTimeMillis()))) {
+                wifiSensorRepository.updateLastActiveAt(sensorId, timestamp);
+                if (!sensorInfo.active()) {
+                    wifiSensorRegistry.markActive(sensorId);
+                }
+            }
 
             // 6. WebSocket 브로드캐스트용 DTO를 생성함
             WifiSignalDto signalDto = WifiSignalDto.fromMqttData(mqttData, timestamp);
 
+            // 6-1. 센서별 CSI 이력으로 움직임/호흡 지표를 추정하여 함께 전달함
+            CsiVitalSignEstimator.VitalSigns vitalSigns = csiVitalSignEstimator.update(
+                    mqttData.getSensorId(), mqttData.getCsiAmplitudeSummary(), receivedAtNanos);
+            signalDto.setVitalSigns(vitalSigns.movementDetected(), vitalSigns.movementIntensity(),
+                    vitalSigns.breathingDetected(), vitalSigns.breathingRate(), vitalSigns.samplingRate());
+
+            // 6-2. 센서별 빈 방 기준선과 비교한 존재 점수를 서버 측 2차 판단으로 함께 전달함
+            double presenceScore = csiPresenceDetector.score(
+                    mqttData.getSensorId(), mqttData.getCsiAmplitudeSummary(), receivedAtNanos);
+            signalDto.setPresence(Double.isNaN(presenceScore) ? null : presenceScore,
+                    csiPresenceDetector.isPresent(presenceScore));
+
             // 7. [항상 수행] WebSocket으로 실시간 신호 데이터를 브로드캐스트함
             // 프론트엔드의 그래프가 주기적으로 업데이트됨
             webSocketService.broadcastWifiSignal(mqttData.getSensorId(), signalDto);
@@ -81,13 +109,16 @@ public class WifiDetectionMqttService {
             // 8. ✅ 생존자 탐지 여부와 무관하게 항상 처리를 수행함 (false 신호도 웹에 표시)
             if (Boolean.TRUE.equals(mqttData.getSurvivorDetected())) {
                 log.info("⚠️ 생존자 탐지됨! 센서: {}, 위치: {}",
-                        mqttData.getSensorId(), location.getFullAddress());
+                        mqttData.getSensorId(), sensorInfo.fullAddress());
             } else {
                 log.debug("생존자 미탐지 - 센서: {}, 위치: {}",
-                        mqttData.getSensorId(), location.getFullAddress());
+                        mqttData.getSensorId(), sensorInfo.fullAddress());
             }
 
             // 생존자 매칭 및 Detection 레코드 DB 저장을 수행함 (탐지 여부와 무관)
+            // 연관관계 설정에만 쓰이므로 조회 없이 참조(프록시)로 전달함
+            WifiSensor sensor = wifiSensorRepository.getReferenceById(sensorId);
+            Location location = locationRepository.getReferenceById(sensorInfo.locationId());
             wifiDetectionProcessorService.processDetection(mqttData, sensor, location, signalDto, timestamp);
 
             log.info("WiFi 센서 처리 완료 - 센서: {}, 생존자 탐지: {}",
@@ -124,7 +155,7 @@ public class WifiDetectionMqttService {
             throw new IllegalArgumentException("생존자 탐지 여부가 null입니다.");
         }
 
-        if (mqttData.getCsiAmplitudeSummary() == null || mqttData.getCsiAmplitudeSummary().isEmpty()) {
+        if (mqttData.getCsiAmplitudeSummary() == null || mqttData.getCsiAmplitudeSummary().length == 0) {
             throw new IllegalArgumentException("CSI 진폭 데이터가 null이거나 비어있습니다.");
         }
 
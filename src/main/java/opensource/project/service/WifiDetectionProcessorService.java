@@ -15,6 +15,7 @@ import opensource.project.domain.enums.RescueStatus;
 import opensource.project.dto.DetectionResponseDto;
 import opensource.project.dto.MqttWifiDetectionDto;
 import opensource.project.dto.SurvivorResponseDto;
+import opensource.project.dto.WifiAnalysisDataDto;
 import opensource.project.dto.WifiSignalDto;
 import opensource.project.repository.DetectionRepository;
 import opensource.project.repository.SurvivorRepository;
@@ -22,7 +23,6 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
-import java.util.List;
 
 /**
  * WiFi 센서로 생존자가 탐지된 경우 생존자 매칭 및 Detection 레코드를 생성하는 서비스
@@ -37,6 +37,7 @@ import java.util.List;
  * - 같은 센서에서 최근 10분 이내에 WiFi로 탐지된 생존자가 있으면 재사용함
  * - WiFi 센서는 각각 고유한 생존자를 추적함 (센서 ID별로 구분)
  * - 없으면 새로운 생존자로 등록함
+ * - 센서별 추적 생존자는 WifiSurvivorTracker가 메모리에 유지하므로 매칭 시 DB 조회가 발생하지 않음
  */
 @Slf4j
 @Service
@@ -47,14 +48,9 @@ public class WifiDetectionProcessorService {
     private final SurvivorRepository survivorRepository;
     private final DetectionRepository detectionRepository;
     private final WebSocketService webSocketService;
+    private final WifiSurvivorTracker wifiSurvivorTracker;
     private final ObjectMapper objectMapper;
 
-    /**
-     * 생존자 매칭 시 사용할 시간 임계값 (현재 10분 단위)
-     * 이 시간 이내에 같은 센서에서 탐지된 생존자가 있으면 동일 생존자로 판단함
-     */
-    private static final int TIME_THRESHOLD_MINUTES = 10;
-
     /**
      * WiFi 센서로 탐지된 생존자를 처리하는 메인 메서드
      * 생존자 매칭, Detection 생성, WebSocket 브로드캐스트를 순차적으로 수행함
@@ -71,8 +67,9 @@ public class WifiDetectionProcessorService {
                                   Location location,
                                   WifiSignalDto signalDto,
                                   LocalDateTime timestamp) {
-        log.info("WiFi 생존자 탐지 처리 시작 - 센서: {}, 위치: {}",
-                sensor.getSensorCode(), location.getFullAddress());
+        // sensor/location은 참조(프록시)로 전달될 수 있으므로 ID만 사용하여 불필요한 조회를 피함
+        log.info("WiFi 생존자 탐지 처리 시작 - 센서 ID: {}, 위치 ID: {}",
+                sensor.getId(), location.getId());
 
         LocalDateTime now = timestamp;
 
@@ -83,8 +80,9 @@ public class WifiDetectionProcessorService {
         // 2. 생존자 정보를 업데이트함
         updateSurvivorInfo(survivor, location, now);
 
-        // 3. 생존자를 저장함
+        // 3. 생존자를 저장하고 센서별 추적 맵을 갱신함
         survivor = survivorRepository.save(survivor);
+        wifiSurvivorTracker.recordDetection(sensor.getId(), survivor, now);
 
         // 4. WifiSignalDto에 생존자 정보를 설정함 (WebSocket 브로드캐스트용)
         signalDto.setSurvivorInfo(survivor.getId(), formatSurvivorNumber(survivor.getSurvivorNumber()));
@@ -101,7 +99,7 @@ public class WifiDetectionProcessorService {
         }
 
         // 6. Detection 레코드를 생성하여 DB에 저장함
-        Detection detection = createDetection(mqttData, survivor, sensor, location, now);
+        Detection detection = createDetection(mqttData, signalDto, survivor, sensor, location, now);
         Detection savedDetection = detectionRepository.save(detection);
 
         log.info("Detection 레코드 저장 완료 - Detection ID: {}, 탐지 타입: WIFI", savedDetection.getId());
@@ -127,30 +125,11 @@ public class WifiDetectionProcessorService {
      * @return 기존 생존자 또는 새로 생성된 생존자 (아직 DB에 저장되지 않음)
      */
     private Survivor findOrCreateSurvivor(WifiSensor sensor, Location location, LocalDateTime detectionTime) {
-        LocalDateTime timeThreshold = detectionTime.minusMinutes(TIME_THRESHOLD_MINUTES);
-
-        // 같은 위치에서 최근 N분 이내에 WiFi로 탐지된 활성 생존자를 조회함
-        List<Survivor> recentSurvivors = survivorRepository.findByLocationAndLastDetectedAtAfterAndIsActiveTrueOrderByLastDetectedAtDesc(
-                location,
-                timeThreshold
-        );
-
-        // ✅ WiFi로 탐지되고, 같은 센서로 탐지된 생존자를 찾음
-        // Detection 테이블을 조회하여 마지막 탐지가 같은 센서인지 확인
-        Survivor matchedSurvivor = recentSurvivors.stream()
-                .filter(s -> DetectionMethod.WIFI.equals(s.getDetectionMethod()))
-                .filter(s -> {
-                    // 해당 생존자의 최근 Detection을 조회하여 센서 ID 확인
-                    List<Detection> detections = detectionRepository.findBySurvivorIdOrderByDetectedAtDesc(s.getId());
-                    if (!detections.isEmpty()) {
-                        Detection latestDetection = detections.get(0);
-                        // 같은 WiFi 센서인지 확인
-                        return latestDetection.getWifiSensor() != null
-                                && latestDetection.getWifiSensor().getId().equals(sensor.getId());
-                    }
-                    return false;
-                })
-                .findFirst()
+        // 센서가 최근 N분 이내에 추적 중인 생존자를 메모리 맵에서 조회함
+        // (같은 위치, 활성 상태, WiFi 탐지, 마지막 탐지가 같은 센서인 조건은 WifiSurvivorTracker가 유지함)
+        Survivor matchedSurvivor = wifiSurvivorTracker.findTrackedSurvivor(sensor.getId(), location.getId(), detectionTime)
+                .flatMap(survivorRepository::findById)
+                .filter(s -> Boolean.TRUE.equals(s.getIsActive()))
                 .orElse(null);
 
         if (matchedSurvivor != null) {
@@ -201,6 +180,7 @@ public class WifiDetectionProcessorService {
      * WiFi 센서로 탐지된 정보를 Detection 테이블에 저장함
      *
      * @param mqttData MQTT 데이터
+     * @param signalDto 서버에서 추정한 움직임/호흡 지표가 담긴 신호 데이터
      * @param survivor 생존자 엔티티
      * @param sensor WiFi 센서 엔티티
      * @param location 위치 엔티티
@@ -208,6 +188,7 @@ public class WifiDetectionProcessorService {
      * @return 생성된 Detection 엔티티 (아직 DB에 저장되지 않음)
      */
     private Detection createDetection(MqttWifiDetectionDto mqttData,
+                                       WifiSignalDto signalDto,
                                        Survivor survivor,
                                        WifiSensor sensor,
                                        Location location,
@@ -215,6 +196,9 @@ public class WifiDetectionProcessorService {
         // CSI 진폭 데이터를 JSON 문자열로 직렬화함
         String csiDataJson = serializeCsiDataToJson(mqttData);
 
+        // 움직임/호흡 추정 결과를 분석 결과 JSON으로 직렬화함 (상황 요약 생성에 사용됨)
+        String analysisJson = serializeAnalysisToJson(signalDto);
+
         // Detection 엔티티를 생성함
         Detection detection = Detection.builder()
                 .survivor(survivor)
@@ -224,7 +208,7 @@ public class WifiDetectionProcessorService {
                 .location(location)
                 .detectedAt(detectionTime)
                 .detectedStatus(survivor.getCurrentStatus())
-                .aiAnalysisResult(csiDataJson)  // CSI 진폭 데이터 (JSON)
+                .aiAnalysisResult(analysisJson)  // 움직임/호흡 추정 결과 (WifiAnalysisDataDto JSON)
                 .aiModelVersion("WiFi-CSI-AI-v1.0")  // AI 모델 버전
                 .confidence(null)  // WiFi 탐지는 신뢰도 미사용
                 .signalStrength(null)  // WiFi 탐지는 신호강도 미사용
@@ -236,25 +220,25 @@ public class WifiDetectionProcessorService {
                 .totalObjects(null)
                 .imageUrl(null)
                 .videoUrl(null)
-                .analyzedImage(null)
+                .analyzedImageKey(null)
                 .build();
 
         log.debug("Detection 엔티티 생성 완료 - 탐지 타입: WIFI, CSI 데이터 크기: {}",
-                mqttData.getCsiAmplitudeSummary().size());
+                mqttData.getCsiAmplitudeSummary().length);
 
         return detection;
     }
 
     /**
      * CSI 진폭 데이터를 JSON 문자열로 직렬화함
-     * Detection 엔티티의 rawData 및 aiAnalysisResult 필드에 저장하기 위해 사용됨
+     * Detection 엔티티의 rawData 필드에 저장하기 위해 사용됨
      *
      * @param mqttData MQTT 데이터 (CSI 진폭 데이터 포함)
      * @return JSON 문자열 (실패 시 빈 배열 "[]")
      */
     private String serializeCsiDataToJson(MqttWifiDetectionDto mqttData) {
         try {
-            if (mqttData.getCsiAmplitudeSummary() != null && !mqttData.getCsiAmplitudeSummary().isEmpty()) {
+            if (mqttData.getCsiAmplitudeSummary() != null && mqttData.getCsiAmplitudeSummary().length > 0) {
                 return objectMapper.writeValueAsString(mqttData.getCsiAmplitudeSummary());
             } else {
                 log.warn("CSI 진폭 데이터가 null이거나 비어있습니다. 빈 JSON 배열로 저장합니다.");
@@ -266,6 +250,30 @@ public class WifiDetectionProcessorService {
         }
     }
 
+    /**
+     * 서버에서 추정한 움직임/호흡 지표를 WifiAnalysisDataDto JSON으로 직렬화함
+     * Detection 엔티티의 aiAnalysisResult 필드에 저장되며, 상황 요약 메시지 생성 시 파싱됨
+     *
+     * @param signalDto 추정 결과가 설정된 신호 데이터
+     * @return JSON 문자열 (실패 시 빈 객체 "{}")
+     */
+    private String serializeAnalysisToJson(WifiSignalDto signalDto) {
+        WifiAnalysisDataDto analysis = WifiAnalysisDataDto.builder()
+                .movementDetected(signalDto.getMovementDetected())
+                .movementIntensity(signalDto.getMovementIntensity())
+                .breathingDetected(signalDto.getBreathingDetected())
+                .breathingRate(signalDto.getBreathingRate())
+                .samplingRate(signalDto.getSamplingRate() != null
+                        ? (int) Math.round(signalDto.getSamplingRate()) : null)
+                .build();
+        try {
+            return objectMapper.writeValueAsString(analysis);
+        } catch (JsonProcessingException e) {
+            log.error("WiFi 분석 결과 JSON 직렬화 실패: {}", e.getMessage(), e);
+            return "{}";
+        }
+    }
+
     /**
      * 다음 생존자 번호를 생성함
      * 데이터베이스에서 가장 큰 생존자 번호를 조회하여 +1한 값을 반환함
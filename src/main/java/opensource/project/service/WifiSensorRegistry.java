@@ -0,0 +1,185 @@
+package opensource.project.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import opensource.project.domain.Location;
+import opensource.project.domain.WifiSensor;
+import opensource.project.domain.enums.SensorStatus;
+import opensource.project.repository.WifiSensorRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * MQTT 수신 경로에서 사용하는 WiFi 센서 메타데이터 스냅샷
+ *
+ * 문제:
+ * - 메시지마다 wifiSensorRepository.findById + sensor.getLocation() 지연 로딩으로 DB를 2번 조회하고,
+ *   lastActiveAt 갱신을 위해 센서를 매번 저장함
+ *
+ * 해결:
+ * - sensorId → (센서 정보, 위치 정보) 불변 맵을 volatile 필드에 보관하고, 조회는 잠금 없이 수행함
+ * - 센서/위치 데이터가 바뀌면 WifiSensorsChangedEvent를 받아 커밋 후에 맵 전체를 새로 만들어 교체함
+ * - lastActiveAt은 센서당 ACTIVITY_PERSIST_INTERVAL_MILLIS에 한 번만 DB에 기록하도록 판단함
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class WifiSensorRegistry {
+
+    /**
+     * lastActiveAt DB 기록 최소 간격 (30초)
+     */
+    static final long ACTIVITY_PERSIST_INTERVAL_MILLIS = 30_000;
+
+    private final WifiSensorRepository wifiSensorRepository;
+
+    // 센서 ID → 스냅샷 (교체만 하고 수정하지 않음)
+    private volatile Map<Long, SensorSnapshot> snapshot = Map.of();
+
+    // 센서 ID → 마지막으로 lastActiveAt을 기록한 시각 (epoch millis)
+    private final ConcurrentHashMap<Long, Long> activityPersistedAt = new ConcurrentHashMap<>();
+
+    /**
+     * 센서 1개의 메타데이터
+     */
+    public record SensorSnapshot(Long sensorId,
+                                 String sensorCode,
+                                 SensorStatus status,
+                                 boolean active,
+                                 Long locationId,
+                                 String buildingName,
+                                 Integer floor,
+                                 String roomNumber,
+                                 String fullAddress) {
+
+        static SensorSnapshot from(WifiSensor sensor) {
+            Location location = sensor.getLocation();
+            return new SensorSnapshot(
+                    sensor.getId(),
+                    sensor.getSensorCode(),
+                    sensor.getStatus(),
+                    Boolean.TRUE.equals(sensor.getIsActive()),
+                    location != null ? location.getId() : null,
+                    location != null ? location.getBuildingName() : null,
+                    location != null ? location.getFloor() : null,
+                    location != null ? location.getRoomNumber() : null,
+                    location != null ? location.getFullAddress() : null);
+        }
+
+        SensorSnapshot withActive(boolean active) {
+            return new SensorSnapshot(sensorId, sensorCode, status, active, locationId,
+                    buildingName, floor, roomNumber, fullAddress);
+        }
+    }
+
+    /**
+     * 애플리케이션 시작 시 스냅샷을 만듦
+     * 스냅샷을 사용하는 다른 시작 작업(DeviceLivenessMonitor)보다 먼저 실행됨
+     */
+    @Order(0)
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        rebuild();
+    }
+
+    /**
+     * 센서/위치 변경 트랜잭션이 커밋된 후 스냅샷을 다시 만듦
+     * (트랜잭션 밖에서 발행된 경우 즉시 실행)
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onSensorsChanged(WifiSensorsChangedEvent event) {
+        rebuild();
+    }
+
+    /**
+     * DB에서 센서와 위치를 함께 조회하여 새 스냅샷으로 교체함
+     * 동시에 여러 번 호출되어도 나중에 조회한 결과가 나중에 반영되도록 직렬화함
+     */
+    public synchronized void rebuild() {
+        Map<Long, SensorSnapshot> rebuilt = new HashMap<>();
+        for (WifiSensor sensor : wifiSensorRepository.findAllWithLocation()) {
+            rebuilt.put(sensor.getId(), SensorSnapshot.from(sensor));
+        }
+        snapshot = Map.copyOf(rebuilt);
+        activityPersistedAt.keySet().retainAll(rebuilt.keySet());
+        log.info("WiFi 센서 스냅샷 갱신 - 센서 {} 개", rebuilt.size());
+    }
+
+    /**
+     * 센서 메타데이터를 조회함 (잠금, DB 조회 없음)
+     *
+     * @param sensorId 센서 ID
+     * @return 스냅샷 (등록되지 않은 센서면 null)
+     */
+    public SensorSnapshot get(Long sensorId) {
+        return snapshot.get(sensorId);
+    }
+
+    /**
+     * 등록된 센서 수
+     */
+    public int size() {
+        return snapshot.size();
+    }
+
+    /**
+     * lastActiveAt을 DB에 기록할 차례인지 판단함
+     * 마지막 기록 후 ACTIVITY_PERSIST_INTERVAL_MILLIS가 지났으면 true를 반환하고 기록 시각을 갱신함
+     * (동시에 호출되면 드물게 두 번 기록될 수 있으나 결과는 같음)
+     *
+     * @param sensorId 센서 ID
+     * @param nowMillis 현재 시각 (epoch millis)
+     * @return 기록해야 하면 true
+     */
+    public boolean shouldPersistActivity(Long sensorId, long nowMillis) {
+        Long persistedAt = activityPersistedAt.get(sensorId);
+        if (persistedAt != null && nowMillis - persistedAt < ACTIVITY_PERSIST_INTERVAL_MILLIS) {
+            return false;
+        }
+        activityPersistedAt.put(sensorId, nowMillis);
+        return true;
+    }
+
+    /**
+     * 비활성 센서에서 메시지가 들어와 활성으로 바뀐 경우 스냅샷의 해당 항목만 교체함
+     *
+     * @param sensorId 센서 ID
+     */
+    public void markActive(Long sensorId) {
+        replaceActive(sensorId, true);
+    }
+
+    /**
+     * 센서가 오프라인으로 전환된 경우 스냅샷의 해당 항목만 교체함
+     *
+     * @param sensorId 센서 ID
+     */
+    public void markInactive(Long sensorId) {
+        replaceActive(sensorId, false);
+    }
+
+    private synchronized void replaceActive(Long sensorId, boolean active) {
+        SensorSnapshot current = snapshot.get(sensorId);
+        if (current == null || current.active() == active) {
+            return;
+        }
+        Map<Long, SensorSnapshot> updated = new HashMap<>(snapshot);
+        updated.put(sensorId, current.withActive(active));
+        snapshot = Map.copyOf(updated);
+    }
+
+    /**
+     * 현재 스냅샷 전체 (불변 맵)
+     */
+    public Map<Long, SensorSnapshot> getAll() {
+        return snapshot;
+    }
+}
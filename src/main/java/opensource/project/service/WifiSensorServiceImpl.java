@@ -7,6 +7,7 @@ import opensource.project.dto.WifiSensorRequestDto;
 import opensource.project.dto.WifiSensorResponseDto;
 import opensource.project.repository.LocationRepository;
 import opensource.project.repository.WifiSensorRepository;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -21,6 +22,9 @@ public class WifiSensorServiceImpl implements WifiSensorService {
 
     private final WifiSensorRepository wifiSensorRepository;
     private final LocationRepository locationRepository;
+    private final WifiSurvivorTracker wifiSurvivorTracker;
+    private final CsiVitalSignEstimator csiVitalSignEstimator;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     @Transactional
@@ -42,6 +46,7 @@ public class WifiSensorServiceImpl implements WifiSensorService {
                 .build();
 
         WifiSensor savedSensor = wifiSensorRepository.save(wifiSensor);
+        eventPublisher.publishEvent(new WifiSensorsChangedEvent());
         return WifiSensorResponseDto.from(savedSensor);
     }
 
@@ -93,6 +98,10 @@ public class WifiSensorServiceImpl implements WifiSensorService {
         }
         wifiSensor.setIsActive(requestDto.getIsActive());
 
+        // 센서 위치가 바뀌었을 수 있으므로 추적 중인 생존자 매핑을 해제함
+        wifiSurvivorTracker.evictSensor(id);
+        eventPublisher.publishEvent(new WifiSensorsChangedEvent());
+
         return WifiSensorResponseDto.from(wifiSensor);
     }
 
@@ -103,6 +112,9 @@ public class WifiSensorServiceImpl implements WifiSensorService {
             throw new IllegalArgumentException("WifiSensor not found with id: " + id);
         }
         wifiSensorRepository.deleteById(id);
+        wifiSurvivorTracker.evictSensor(id);
+        csiVitalSignEstimator.reset(id);
+        eventPublisher.publishEvent(new WifiSensorsChangedEvent());
     }
 
 }
\ No newline at end of file
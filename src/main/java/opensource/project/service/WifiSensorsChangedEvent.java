@@ -0,0 +1,11 @@
+package opensource.project.service;
+
+/**
+ * WiFi 센서 또는 센서가 연결된 위치 정보가 변경되었음을 알리는 이벤트
+ * 트랜잭션 커밋 후 WifiSensorRegistry가 센서 스냅샷을 다시 만듦
+ *
+ * 발행 위치: WifiSensorServiceImpl(생성/수정/삭제), LocationServiceImpl(수정/삭제),
+ *          BuildingRegistrationService(건물 등록)
+ */
+public record WifiSensorsChangedEvent() {
+}
@@ -0,0 +1,361 @@
+package opensource.project.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import opensource.project.dto.WifiSignalDto;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * WiFi CSI 신호 스트림을 구독 등급(tier)별로 다운샘플링하여 전송하는 컴포넌트
+ *
+ * 문제:
+ * - 원본 토픽(/topic/wifi-sensor/{sensorId}/signal)은 모든 프레임(34~52개 진폭)을 그대로 전송하므로
+ *   저속 회선의 모바일 대시보드가 따라가지 못함
+ *
+ * 해결:
+ * - 클라이언트가 /topic/wifi-sensor/{sensorId}/signal/{tier} 를 구독하여 원하는 해상도를 선택함
+ *   - medium: 초당 2프레임, 진폭 16구간
+ *   - low: 2초당 1프레임, 진폭 8구간
+ * - 센서 스트림마다 등급별로 한 번만 다운샘플링하고, 결과를 해당 등급의 모든 구독자에게 전송함
+ *   (구독자 수, 원본 프레임 속도와 무관하게 등급별 전송량이 고정됨)
+ * - 시간축은 LTTB(Largest-Triangle-Three-Buckets)로 대표 프레임을 골라 그래프 모양(피크)을 보존함
+ * - 부반송파 축은 인접 구간 평균으로 묶음 (선택된 프레임에만 적용)
+ * - 구간 내에 생존자 탐지 프레임이 있으면 대표 프레임에도 탐지 여부와 생존자 정보를 유지함
+ * - 구독자가 없는 등급은 프레임을 모으지 않음
+ * - 어느 등급에도 구독자가 없거나 IDLE_EVICT_MILLIS 동안 프레임이 없는(삭제·정지된) 센서의 구간은 제거함
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class WifiSignalDownsampler {
+
+    private static final String DESTINATION_PREFIX = "/topic/wifi-sensor/";
+
+    // 이 시간 동안 프레임이 없는 센서의 구간은 제거함
+    static final long IDLE_EVICT_MILLIS = 60_000;
+
+    private final StompPayloadPublisher stompPayloadPublisher;
+    private final WebSocketSubscriptionRegistry subscriptionRegistry;
+
+    // 센서 ID → 등급별 누적 구간
+    private final ConcurrentHashMap<Long, SensorWindows> windowsBySensor = new ConcurrentHashMap<>();
+
+    /**
+     * 다운샘플링 등급
+     */
+    public enum Tier {
+        MEDIUM("medium", 1000, 2, 16),
+        LOW("low", 2000, 1, 8);
+
+        private final String path;
+        private final long flushIntervalMillis;
+        private final int framesPerFlush;
+        private final int subcarrierBins;
+
+        Tier(String path, long flushIntervalMillis, int framesPerFlush, int subcarrierBins) {
+            this.path = path;
+            this.flushIntervalMillis = flushIntervalMillis;
+            this.framesPerFlush = framesPerFlush;
+            this.subcarrierBins = subcarrierBins;
+        }
+
+        public String getPath() {
+            return path;
+        }
+    }
+
+    private static final Tier[] TIERS = Tier.values();
+
+    /**
+     * 원본 프레임을 받아 구독자가 있는 등급의 구간에 추가함
+     *
+     * @param frame 원본 신호 데이터
+     */
+    public void accept(WifiSignalDto frame) {
+        if (frame.getSensorId() == null || frame.getCsiAmplitudeSummary() == null) {
+            return;
+        }
+
+        // 구독되지 않은 센서는 구간을 만들지 않음
+        if (!windowsBySensor.containsKey(frame.getSensorId()) && !hasAnySubscribedTier(frame.getSensorId())) {
+            return;
+        }
+        SensorWindows windows = windowsBySensor.computeIfAbsent(frame.getSensorId(), this::createWindows);
+        long now = System.currentTimeMillis();
+        windows.lastFrameAt = now;
+        for (TierWindow window : windows.tiers) {
+            if (subscriptionRegistry.hasSubscribers(window.destination)) {
+                window.add(frame, now);
+            }
+        }
+    }
+
+    /**
+     * 등급별 주기가 된 구간을 다운샘플링하여 전송함 (250ms마다 확인)
+     */
+    @Scheduled(fixedRate = 250)
+    public void flush() {
+        long now = System.currentTimeMillis();
+        windowsBySensor.forEach((sensorId, windows) -> {
+            boolean subscribed = false;
+            for (TierWindow window : windows.tiers) {
+                if (!subscriptionRegistry.hasSubscribers(window.destination)) {
+                    // 구독이 끊긴 등급은 남은 프레임을 버리고 다음 구독 때 새로 시작함
+                    window.reset();
+                    continue;
+                }
+                subscribed = true;
+                if (now < window.nextFlushAt) {
+                    continue;
+                }
+                window.nextFlushAt = now + window.tier.flushIntervalMillis;
+
+                List<WifiSignalDto> reduced = window.drain();
+                for (WifiSignalDto frame : reduced) {
+                    stompPayloadPublisher.publish(window.destination, frame);
+                }
+            }
+            if (!subscribed || now - windows.lastFrameAt > IDLE_EVICT_MILLIS) {
+                windowsBySensor.remove(sensorId, windows);
+            }
+        });
+    }
+
+    /**
+     * 모으고 있는 센서 수 (모니터링/테스트용)
+     */
+    public int getTrackedSensorCount() {
+        return windowsBySensor.size();
+    }
+
+    /**
+     * 등급별 토픽 경로를 반환함
+     */
+    public static String destination(Long sensorId, Tier tier) {
+        return DESTINATION_PREFIX + sensorId + "/signal/" + tier.path;
+    }
+
+    private boolean hasAnySubscribedTier(Long sensorId) {
+        for (Tier tier : TIERS) {
+            if (subscriptionRegistry.hasSubscribers(destination(sensorId, tier))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private SensorWindows createWindows(Long sensorId) {
+        TierWindow[] windows = new TierWindow[TIERS.length];
+        for (int i = 0; i < TIERS.length; i++) {
+            windows[i] = new TierWindow(TIERS[i], destination(sensorId, TIERS[i]));
+        }
+        return new SensorWindows(windows);
+    }
+
+    /**
+     * 센서 1개의 등급별 누적 구간
+     */
+    private static final class SensorWindows {
+
+        private final TierWindow[] tiers;
+        private volatile long lastFrameAt = System.currentTimeMillis();
+
+        SensorWindows(TierWindow[] tiers) {
+            this.tiers = tiers;
+        }
+    }
+
+    /**
+     * 센서 1개 × 등급 1개의 누적 구간
+     */
+    private static final class TierWindow {
+
+        private final Tier tier;
+        private final String destination;
+        private final List<WifiSignalDto> pending = new ArrayList<>();
+        private final List<Long> pendingTimes = new ArrayList<>();
+
+        // LTTB 연속성을 위해 직전에 전송한 프레임의 좌표를 유지함
+        private boolean hasAnchor;
+        private double anchorX;
+        private double anchorY;
+
+        private volatile long nextFlushAt;
+
+        TierWindow(Tier tier, String destination) {
+            this.tier = tier;
+            this.destination = destination;
+        }
+
+        synchronized void add(WifiSignalDto frame, long receivedAtMillis) {
+            pending.add(frame);
+            pendingTimes.add(receivedAtMillis);
+        }
+
+        synchronized void reset() {
+            pending.clear();
+            pendingTimes.clear();
+            hasAnchor = false;
+        }
+
+        synchronized List<WifiSignalDto> drain() {
+            int count = pending.size();
+            if (count == 0) {
+                return List.of();
+            }
+
+            double[] xs = new double[count];
+            double[] ys = new double[count];
+            for (int i = 0; i < count; i++) {
+                xs[i] = pendingTimes.get(i);
+                ys[i] = mean(pending.get(i).getCsiAmplitudeSummary());
+            }
+
+            int target = Math.min(tier.framesPerFlush, count);
+            int[] selected = selectLttb(xs, ys, count, hasAnchor, anchorX, anchorY, target);
+
+            List<WifiSignalDto> reduced = new ArrayList<>(target);
+            for (int bucket = 0; bucket < target; bucket++) {
+                int from = bucketStart(bucket, count, target);
+                int to = bucketStart(bucket + 1, count, target);
+                reduced.add(reduce(pending.get(selected[bucket]), pending.subList(from, to), tier.subcarrierBins));
+            }
+
+            int last = selected[target - 1];
+            hasAnchor = true;
+            anchorX = xs[last];
+            anchorY = ys[last];
+
+            pending.clear();
+            pendingTimes.clear();
+            return reduced;
+        }
+    }
+
+    /**
+     * 대표 프레임을 축소된 진폭 배열로 복사함
+     * 구간 내 생존자 탐지 프레임이 있으면 탐지 여부와 생존자 정보를 유지함
+     */
+    private static WifiSignalDto reduce(WifiSignalDto representative, List<WifiSignalDto> bucket, int bins) {
+        WifiSignalDto detected = null;
+        for (WifiSignalDto frame : bucket) {
+            if (Boolean.TRUE.equals(frame.getSurvivorDetected())) {
+                detected = frame;
+            }
+        }
+        WifiSignalDto source = detected != null ? detected : representative;
+
+        return WifiSignalDto.builder()
+                .sensorId(representative.getSensorId())
+                .survivorDetected(detected != null ? Boolean.TRUE : representative.getSurvivorDetected())
+                .csiAmplitudeSummary(binSubcarriers(representative.getCsiAmplitudeSummary(), bins))
+                .timestamp(representative.getTimestamp())
+                .survivorId(source.getSurvivorId())
+                .survivorNumber(source.getSurvivorNumber())
+                .movementDetected(representative.getMovementDetected())
+                .movementIntensity(representative.getMovementIntensity())
+                .breathingDetected(representative.getBreathingDetected())
+                .breathingRate(representative.getBreathingRate())
+                .samplingRate(representative.getSamplingRate())
+                .presenceScore(representative.getPresenceScore())
+                .presenceDetected(representative.getPresenceDetected())
+                .build();
+    }
+
+    /**
+     * LTTB(Largest-Triangle-Three-Buckets)로 구간별 대표 인덱스를 고름
+     * 점들을 target개의 버킷으로 나누고, 각 버킷에서 (직전 선택점, 후보점, 다음 버킷 평균점)이
+     * 이루는 삼각형 넓이가 가장 큰 점을 선택함. 마지막 버킷은 구간의 마지막 점을 기준으로 함
+     * 스트림으로 이어지도록 직전 전송 프레임(anchor)을 첫 번째 버킷의 기준점으로 사용함
+     *
+     * @return 선택된 인덱스 (길이 target, 오름차순)
+     */
+    static int[] selectLttb(double[] xs, double[] ys, int count,
+                            boolean hasAnchor, double anchorX, double anchorY, int target) {
+        int[] selected = new int[target];
+        if (count <= target) {
+            for (int i = 0; i < target; i++) {
+                selected[i] = i;
+            }
+            return selected;
+        }
+
+        double previousX = hasAnchor ? anchorX : xs[0];
+        double previousY = hasAnchor ? anchorY : ys[0];
+
+        for (int bucket = 0; bucket < target; bucket++) {
+            int from = bucketStart(bucket, count, target);
+            int to = bucketStart(bucket + 1, count, target);
+
+            double nextX;
+            double nextY;
+            if (bucket < target - 1) {
+                int nextTo = bucketStart(bucket + 2, count, target);
+                nextX = 0;
+                nextY = 0;
+                for (int i = to; i < nextTo; i++) {
+                    nextX += xs[i];
+                    nextY += ys[i];
+                }
+                nextX /= (nextTo - to);
+                nextY /= (nextTo - to);
+            } else {
+                nextX = xs[count - 1];
+                nextY = ys[count - 1];
+            }
+
+            int best = from;
+            double bestArea = -1;
+            for (int i = from; i < to; i++) {
+                double area = Math.abs((previousX - nextX) * (ys[i] - previousY)
+                        - (previousX - xs[i]) * (nextY - previousY));
+                if (area > bestArea) {
+                    bestArea = area;
+                    best = i;
+                }
+            }
+            selected[bucket] = best;
+            previousX = xs[best];
+            previousY = ys[best];
+        }
+        return selected;
+    }
+
+    /**
+     * 인접 부반송파를 평균하여 bins개 구간으로 묶음 (소수점 1자리 반올림)
+     * 진폭 개수가 bins 이하이면 원본을 그대로 반환함
+     */
+    static double[] binSubcarriers(double[] amplitudes, int bins) {
+        if (amplitudes.length <= bins) {
+            return amplitudes;
+        }
+        double[] binned = new double[bins];
+        for (int bin = 0; bin < bins; bin++) {
+            int from = bin * amplitudes.length / bins;
+            int to = (bin + 1) * amplitudes.length / bins;
+            double sum = 0;
+            for (int i = from; i < to; i++) {
+                sum += amplitudes[i];
+            }
+            binned[bin] = Math.round(sum / (to - from) * 10.0) / 10.0;
+        }
+        return binned;
+    }
+
+    private static int bucketStart(int bucket, int count, int target) {
+        return (int) ((long) bucket * count / target);
+    }
+
+    private static double mean(double[] values) {
+        double sum = 0;
+        for (double value : values) {
+            sum += value;
+        }
+        return values.length == 0 ? 0 : sum / values.length;
+    }
+}
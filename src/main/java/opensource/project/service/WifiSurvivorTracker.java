@@ -0,0 +1,287 @@
+package opensource.project.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import opensource.project.domain.Survivor;
+import opensource.project.domain.enums.DetectionMethod;
+import opensource.project.domain.enums.DetectionType;
+import opensource.project.repository.DetectionRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * WiFi 센서별로 현재 추적 중인 생존자를 메모리에 유지하는 컴포넌트
+ *
+ * 기존 방식:
+ * - 탐지마다 위치의 최근 활성 생존자를 모두 조회하고,
+ *   생존자마다 Detection 이력 전체를 조회하여 마지막 탐지 센서를 확인함 (N+1 쿼리)
+ *
+ * 변경 방식:
+ * - 센서 ID → (생존자 ID, 위치 ID, 마지막 탐지 시각) 맵을 WiFi 탐지 및 생존자 상태 변경 시마다 갱신함
+ *   (탐지 반영, 생존자 변경/삭제, 센서 변경 반영은 모두 트랜잭션 커밋 후에 수행함)
+ * - 매칭은 맵 조회 한 번으로 끝나며 DB 쿼리가 발생하지 않음 (O(1))
+ * - 마지막 탐지 후 10분이 지난 항목은 만료된 것으로 간주하고 주기적으로 정리함
+ *
+ * 매칭 조건은 기존 쿼리와 동일하게 유지함:
+ * - 활성 상태이고 WiFi로 탐지된 생존자
+ * - 센서와 같은 위치에 있고 마지막 탐지가 해당 센서에서 이루어진 생존자
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class WifiSurvivorTracker {
+
+    /**
+     * 생존자 매칭 시 사용할 시간 임계값 (현재 10분 단위)
+     * 이 시간 이내에 같은 센서에서 탐지된 생존자가 있으면 동일 생존자로 판단함
+     */
+    static final int TIME_THRESHOLD_MINUTES = 10;
+
+    private final DetectionRepository detectionRepository;
+
+    // 센서 ID → 해당 센서가 마지막으로 탐지한 생존자
+    private final ConcurrentHashMap<Long, TrackedSurvivor> survivorBySensor = new ConcurrentHashMap<>();
+
+    // 생존자 ID → 생존자를 마지막으로 탐지한 센서 ID (역방향 인덱스)
+    private final ConcurrentHashMap<Long, Long> sensorBySurvivor = new ConcurrentHashMap<>();
+
+    /**
+     * 센서가 추적 중인 생존자 정보
+     *
+     * @param survivorId 생존자 ID
+     * @param locationId 탐지 위치 ID
+     * @param lastDetectedAt 마지막 탐지 시각
+     */
+    public record TrackedSurvivor(Long survivorId, Long locationId, LocalDateTime lastDetectedAt) {
+    }
+
+    /**
+     * 센서가 현재 추적 중인 생존자 ID를 조회함
+     * 위치가 바뀌었거나 10분 이상 탐지되지 않은 경우 매칭되지 않음
+     *
+     * @param sensorId WiFi 센서 ID
+     * @param locationId 센서의 현재 위치 ID
+     * @param detectionTime 이번 탐지 시각
+     * @return 매칭된 생존자 ID (없으면 empty)
+     */
+    public Optional<Long> findTrackedSurvivor(Long sensorId, Long locationId, LocalDateTime detectionTime) {
+        TrackedSurvivor tracked = survivorBySensor.get(sensorId);
+        if (tracked == null) {
+            return Optional.empty();
+        }
+        if (!tracked.locationId().equals(locationId)
+                || !tracked.lastDetectedAt().isAfter(detectionTime.minusMinutes(TIME_THRESHOLD_MINUTES))) {
+            return Optional.empty();
+        }
+        return Optional.of(tracked.survivorId());
+    }
+
+    /**
+     * WiFi 탐지 결과를 반영함
+     * 생존자가 다른 센서에서 추적되고 있었다면 이전 센서의 항목을 제거함
+     * (기존 로직에서 "마지막 탐지가 같은 센서"인 생존자만 매칭하던 것과 동일한 효과)
+     *
+     * 트랜잭션 안에서 호출되면 커밋된 후에 반영함 (롤백된 탐지가 맵에 남지 않도록)
+     *
+     * @param sensorId 탐지한 WiFi 센서 ID
+     * @param survivor 탐지된 생존자 (저장되어 ID가 있어야 함)
+     * @param detectedAt 탐지 시각
+     */
+    public void recordDetection(Long sensorId, Survivor survivor, LocalDateTime detectedAt) {
+        Long survivorId = survivor.getId();
+        if (survivorId == null) {
+            return;
+        }
+        if (!isTrackable(survivor)) {
+            afterCommit(() -> removeSurvivor(survivorId));
+            return;
+        }
+
+        Long locationId = survivor.getLocation().getId();
+        afterCommit(() -> {
+            synchronized (this) {
+                track(sensorId, survivorId, locationId, detectedAt);
+            }
+        });
+    }
+
+    /**
+     * 생존자 정보가 변경되었을 때 호출함 (수정, 구조 상태 변경 등)
+     * 더 이상 매칭 조건을 만족하지 않으면 제거하고, 만족하면 마지막 탐지 시각과 위치를 갱신함
+     * 트랜잭션 안에서 호출되면 커밋된 후에 반영함 (필요한 값은 호출 시점에 읽어 둠)
+     *
+     * @param survivor 변경된 생존자
+     */
+    public void onSurvivorChanged(Survivor survivor) {
+        Long survivorId = survivor.getId();
+        if (survivorId == null) {
+            return;
+        }
+        if (!isTrackable(survivor)) {
+            afterCommit(() -> removeSurvivor(survivorId));
+            return;
+        }
+        Long locationId = survivor.getLocation().getId();
+        LocalDateTime lastDetectedAt = survivor.getLastDetectedAt();
+        afterCommit(() -> {
+            synchronized (this) {
+                Long sensorId = sensorBySurvivor.get(survivorId);
+                if (sensorId == null) {
+                    return;
+                }
+                survivorBySensor.computeIfPresent(sensorId, (key, tracked) -> tracked.survivorId().equals(survivorId)
+                        ? new TrackedSurvivor(survivorId, locationId, lastDetectedAt)
+                        : tracked);
+            }
+        });
+    }
+
+    /**
+     * 생존자를 추적 대상에서 제거함
+     * 생존자 삭제, CCTV로 재탐지(마지막 탐지가 WiFi 센서가 아니게 됨) 등의 경우 호출함
+     * 트랜잭션 안에서 호출되면 커밋된 후에 반영함 (롤백되면 추적을 유지함)
+     *
+     * @param survivorId 생존자 ID
+     */
+    public void evictSurvivor(Long survivorId) {
+        afterCommit(() -> removeSurvivor(survivorId));
+    }
+
+    /**
+     * 센서의 추적 정보를 제거함 (센서 위치 변경, 센서 삭제 시)
+     * 트랜잭션 안에서 호출되면 커밋된 후에 반영함
+     *
+     * @param sensorId WiFi 센서 ID
+     */
+    public void evictSensor(Long sensorId) {
+        afterCommit(() -> {
+            synchronized (this) {
+                TrackedSurvivor tracked = survivorBySensor.remove(sensorId);
+                if (tracked != null) {
+                    sensorBySurvivor.remove(tracked.survivorId(), sensorId);
+                }
+            }
+        });
+    }
+
+    /**
+     * 모든 추적 정보를 제거함 (건물 재등록 등 전체 초기화 시)
+     * 트랜잭션 안에서 호출되면 커밋된 후에 반영함
+     */
+    public void clear() {
+        afterCommit(() -> {
+            synchronized (this) {
+                survivorBySensor.clear();
+                sensorBySurvivor.clear();
+            }
+        });
+    }
+
+    /**
+     * 만료된 항목을 주기적으로 정리함 (1분마다)
+     * 조회 시에도 만료 여부를 확인하므로 정리는 메모리 회수 목적임
+     */
+    @Scheduled(fixedDelay = 60000)
+    public void purgeExpired() {
+        LocalDateTime threshold = LocalDateTime.now().minusMinutes(TIME_THRESHOLD_MINUTES);
+        survivorBySensor.forEach((sensorId, tracked) -> {
+            if (!tracked.lastDetectedAt().isAfter(threshold)) {
+                synchronized (this) {
+                    if (survivorBySensor.remove(sensorId, tracked)) {
+                        sensorBySurvivor.remove(tracked.survivorId(), sensorId);
+                    }
+                }
+            }
+        });
+    }
+
+    /**
+     * 애플리케이션 시작 시 최근 10분간의 WiFi 탐지 기록으로 맵을 복원함
+     * 재시작 직후에도 기존 생존자와 매칭되도록 하기 위함 (시작 시 1회만 조회)
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        LocalDateTime threshold = LocalDateTime.now().minusMinutes(TIME_THRESHOLD_MINUTES);
+        try {
+            List<Object[]> rows = detectionRepository.findRecentWifiTrackingRows(
+                    DetectionType.WIFI, DetectionMethod.WIFI, threshold);
+
+            // 탐지 시각 오름차순으로 재생하여 생존자별 마지막 센서만 남도록 함
+            synchronized (this) {
+                for (Object[] row : rows) {
+                    track((Long) row[0], (Long) row[1], (Long) row[2], (LocalDateTime) row[3]);
+                }
+            }
+            log.info("WiFi 생존자 추적 맵 복원 완료 - 추적 중인 센서: {}개", survivorBySensor.size());
+        } catch (Exception e) {
+            log.warn("WiFi 생존자 추적 맵 복원 실패 (빈 상태로 시작): {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 추적 중인 센서 수 (디버깅용)
+     */
+    public int getTrackedSensorCount() {
+        return survivorBySensor.size();
+    }
+
+    /**
+     * 생존자 항목을 바로 제거함 (커밋 후 콜백 안에서 호출, 콜백 안에서는 새 콜백을 등록하지 않음)
+     */
+    private synchronized void removeSurvivor(Long survivorId) {
+        Long sensorId = sensorBySurvivor.remove(survivorId);
+        if (sensorId != null) {
+            survivorBySensor.computeIfPresent(sensorId,
+                    (key, tracked) -> tracked.survivorId().equals(survivorId) ? null : tracked);
+        }
+    }
+
+    /**
+     * 센서 → 생존자 매핑을 갱신함 (호출자가 락을 보유해야 함)
+     * 생존자는 항상 하나의 센서에만 매핑되도록 이전 센서/이전 생존자 항목을 정리함
+     */
+    private void track(Long sensorId, Long survivorId, Long locationId, LocalDateTime detectedAt) {
+        Long previousSensorId = sensorBySurvivor.put(survivorId, sensorId);
+        if (previousSensorId != null && !previousSensorId.equals(sensorId)) {
+            survivorBySensor.computeIfPresent(previousSensorId,
+                    (key, tracked) -> tracked.survivorId().equals(survivorId) ? null : tracked);
+        }
+
+        TrackedSurvivor previous = survivorBySensor.put(sensorId,
+                new TrackedSurvivor(survivorId, locationId, detectedAt));
+        if (previous != null && !previous.survivorId().equals(survivorId)) {
+            sensorBySurvivor.remove(previous.survivorId(), sensorId);
+        }
+    }
+
+    /**
+     * 현재 트랜잭션이 커밋된 후 실행함 (트랜잭션 밖이면 바로 실행)
+     */
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private boolean isTrackable(Survivor survivor) {
+        return Boolean.TRUE.equals(survivor.getIsActive())
+                && DetectionMethod.WIFI.equals(survivor.getDetectionMethod())
+                && survivor.getLocation() != null;
+    }
+}
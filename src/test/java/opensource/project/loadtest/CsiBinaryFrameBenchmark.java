@@ -0,0 +1,133 @@
+package opensource.project.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import opensource.project.dto.WifiSignalDto;
+import opensource.project.service.CsiBinaryFrameCodec;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompEncoder;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.util.MimeTypeUtils;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * WiFi CSI 신호 프레임의 JSON(STOMP) 경로와 바이너리(/ws/csi) 경로 비교 벤치마크
+ *
+ * 같은 신호 프레임을 두 형식으로 인코딩하여 프레임당 전송 바이트와 인코딩 CPU 시간을 출력함
+ * - JSON: Jackson 직렬화 + STOMP MESSAGE 프레임 인코딩 (브라우저가 실제로 받는 텍스트 프레임)
+ * - 바이너리: CsiBinaryFrameCodec (헤더 20바이트 + float32 진폭)
+ * WebSocket 프레임 헤더(2~10바이트)는 두 경로에 같으므로 제외함
+ *
+ * 기본 test 태스크에서는 제외되며 loadTest 태스크로 실행함
+ *   ./gradlew loadTest --tests '*CsiBinaryFrameBenchmark' -Dloadtest.csi-subcarriers=114
+ *
+ * 설정 (시스템 프로퍼티):
+ * - loadtest.csi-frames: 측정 프레임 수 (기본값: 200000)
+ * - loadtest.csi-subcarriers: 프레임당 진폭 개수 (기본값: 52)
+ */
+@Tag("loadtest")
+class CsiBinaryFrameBenchmark {
+
+    private static final int FRAMES = Integer.getInteger("loadtest.csi-frames", 200_000);
+    private static final int SUBCARRIERS = Integer.getInteger("loadtest.csi-subcarriers", 52);
+
+    private final ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    private final StompEncoder stompEncoder = new StompEncoder();
+
+    @Test
+    @DisplayName("CSI 신호 프레임의 JSON/바이너리 프레임당 바이트와 인코딩 CPU 시간 비교")
+    void compareJsonAndBinaryFrames() throws Exception {
+        List<WifiSignalDto> signals = buildSignals();
+
+        // JIT 워밍업
+        encodeJson(signals, FRAMES / 4);
+        encodeBinary(signals, FRAMES / 4);
+
+        long start = threadMXBean.getCurrentThreadCpuTime();
+        long jsonBytes = encodeJson(signals, FRAMES);
+        long jsonCpu = threadMXBean.getCurrentThreadCpuTime() - start;
+
+        start = threadMXBean.getCurrentThreadCpuTime();
+        long binaryBytes = encodeBinary(signals, FRAMES);
+        long binaryCpu = threadMXBean.getCurrentThreadCpuTime() - start;
+
+        System.out.printf("""
+                        === CSI 프레임 형식 벤치마크 ===
+                        프레임: %d, 진폭 개수: %d
+                        형식     | bytes/frame | ns/frame
+                        JSON     | %11.1f | %8.0f
+                        바이너리 | %11.1f | %8.0f
+                        바이너리/JSON: 크기 %.1f%%, CPU %.1f%%
+                        """,
+                FRAMES, SUBCARRIERS,
+                jsonBytes / (double) FRAMES, jsonCpu / (double) FRAMES,
+                binaryBytes / (double) FRAMES, binaryCpu / (double) FRAMES,
+                binaryBytes * 100.0 / jsonBytes, binaryCpu * 100.0 / jsonCpu);
+
+        assertTrue(binaryBytes < jsonBytes, "바이너리 프레임이 JSON보다 커짐");
+    }
+
+    private long encodeJson(List<WifiSignalDto> signals, int count) throws Exception {
+        long bytes = 0;
+        for (int i = 0; i < count; i++) {
+            WifiSignalDto signal = signals.get(i % signals.size());
+            byte[] payload = objectMapper.writeValueAsBytes(signal);
+
+            StompHeaderAccessor accessor = StompHeaderAccessor.create(StompCommand.MESSAGE);
+            accessor.setDestination("/topic/wifi-sensor/" + signal.getSensorId() + "/signal");
+            accessor.setSubscriptionId("sub-0");
+            accessor.setMessageId(String.valueOf(i));
+            accessor.setContentType(MimeTypeUtils.APPLICATION_JSON);
+            bytes += stompEncoder.encode(accessor.getMessageHeaders(), payload).length;
+        }
+        return bytes;
+    }
+
+    private static long encodeBinary(List<WifiSignalDto> signals, int count) {
+        long bytes = 0;
+        for (int i = 0; i < count; i++) {
+            bytes += CsiBinaryFrameCodec.encode(signals.get(i % signals.size())).length;
+        }
+        return bytes;
+    }
+
+    /**
+     * ESP32 CSI 진폭과 비슷한 범위의 값으로 신호 프레임을 미리 만듦 (서버에서 추가하는 지표 포함)
+     */
+    private static List<WifiSignalDto> buildSignals() {
+        Random random = new Random(42);
+        LocalDateTime now = LocalDateTime.of(2025, 11, 1, 9, 0);
+        List<WifiSignalDto> signals = new ArrayList<>();
+        for (int i = 0; i < 1024; i++) {
+            double[] amplitudes = new double[SUBCARRIERS];
+            for (int k = 0; k < SUBCARRIERS; k++) {
+                amplitudes[k] = 5 + random.nextDouble() * 40;
+            }
+            WifiSignalDto signal = WifiSignalDto.builder()
+                    .sensorId((long) (i % 100) + 1)
+                    .survivorDetected(i % 10 == 0)
+                    .csiAmplitudeSummary(amplitudes)
+                    .timestamp(now.plusNanos(i * 200_000_000L))
+                    .build();
+            signal.setVitalSigns(true, random.nextDouble(), true, 14 + random.nextDouble() * 4, 10.0);
+            signal.setPresence(random.nextDouble() * 6, i % 3 == 0);
+            signals.add(signal);
+        }
+        return signals;
+    }
+}
@@ -0,0 +1,102 @@
+package opensource.project.loadtest;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import opensource.project.mqtttest.CsiPayloadDecoder;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * CsiPayloadDecoder와 기존 ObjectMapper 파싱의 메시지당 할당량 비교 벤치마크
+ * 할당량은 com.sun.management.ThreadMXBean의 스레드별 할당 바이트로 측정함
+ *
+ * 기본 test 태스크에서는 제외되며 loadTest 태스크로 실행함
+ *   ./gradlew loadTest --tests '*CsiPayloadDecoderAllocationBenchmark'
+ */
+@Tag("loadtest")
+class CsiPayloadDecoderAllocationBenchmark {
+
+    private static final int WARMUP_ITERATIONS = 20_000;
+    private static final int MEASURE_ITERATIONS = 20_000;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final CsiPayloadDecoder decoder = new CsiPayloadDecoder(objectMapper);
+
+    /**
+     * 변경 전 MqttWifiDetectionDto와 같은 구조 (진폭을 List&lt;Double&gt;로 파싱)
+     */
+    static class LegacyCsiMessage {
+        @JsonProperty("sensor_id")
+        public Long sensorId;
+        @JsonProperty("survivor_detected")
+        public Boolean survivorDetected;
+        @JsonProperty("csi_amplitude_summary")
+        public List<Double> csiAmplitudeSummary;
+    }
+
+    @Test
+    @DisplayName("스트리밍 디코더는 메시지당 할당량이 기존 방식의 절반 미만임")
+    void allocatesLessThanObjectMapper() throws IOException {
+        java.lang.management.ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+        assumeTrue(threadBean instanceof com.sun.management.ThreadMXBean,
+                "스레드별 할당량 측정을 지원하지 않는 JVM");
+        com.sun.management.ThreadMXBean allocationBean = (com.sun.management.ThreadMXBean) threadBean;
+        assumeTrue(allocationBean.isThreadAllocatedMemorySupported());
+        allocationBean.setThreadAllocatedMemoryEnabled(true);
+
+        byte[] payload = samplePayload(new Random(7), 34);
+        long threadId = Thread.currentThread().getId();
+
+        // JIT 워밍업
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            legacyDecode(payload);
+            decoder.decode(payload);
+        }
+
+        long checksum = 0;
+        long before = allocationBean.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < MEASURE_ITERATIONS; i++) {
+            checksum += legacyDecode(payload).csiAmplitudeSummary.size();
+        }
+        long legacyBytesPerMessage = (allocationBean.getThreadAllocatedBytes(threadId) - before) / MEASURE_ITERATIONS;
+
+        before = allocationBean.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < MEASURE_ITERATIONS; i++) {
+            checksum += decoder.decode(payload).getCsiAmplitudeSummary().length;
+        }
+        long decoderBytesPerMessage = (allocationBean.getThreadAllocatedBytes(threadId) - before) / MEASURE_ITERATIONS;
+
+        assertTrue(checksum > 0);
+        assertTrue(decoderBytesPerMessage * 2 < legacyBytesPerMessage,
+                "CSI 페이로드 " + payload.length + " bytes - 디코더 할당량 " + decoderBytesPerMessage
+                        + " B/msg, 기존 방식 " + legacyBytesPerMessage + " B/msg");
+    }
+
+    private LegacyCsiMessage legacyDecode(byte[] payload) throws JsonProcessingException {
+        // 변경 전 핸들러와 같이 문자열로 변환한 뒤 파싱함
+        return objectMapper.readValue(new String(payload, StandardCharsets.UTF_8), LegacyCsiMessage.class);
+    }
+
+    private static byte[] samplePayload(Random random, int subcarriers) {
+        StringBuilder json = new StringBuilder("{\"sensor_id\":3,\"survivor_detected\":true,\"csi_amplitude_summary\":[");
+        for (int i = 0; i < subcarriers; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append(Math.round((10 + random.nextDouble() * 40) * 10.0) / 10.0);
+        }
+        json.append("]}");
+        return json.toString().getBytes(StandardCharsets.UTF_8);
+    }
+}
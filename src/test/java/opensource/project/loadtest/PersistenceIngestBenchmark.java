@@ -0,0 +1,308 @@
+package opensource.project.loadtest;
+
+import opensource.project.domain.Detection;
+import opensource.project.domain.Location;
+import opensource.project.domain.PriorityAssessment;
+import opensource.project.domain.RecentSurvivorRecord;
+import opensource.project.domain.Survivor;
+import opensource.project.domain.enums.CurrentStatus;
+import opensource.project.domain.enums.DetectionMethod;
+import opensource.project.domain.enums.DetectionType;
+import opensource.project.domain.enums.RescueStatus;
+import opensource.project.domain.enums.UrgencyLevel;
+import opensource.project.repository.DetectionRepository;
+import opensource.project.repository.LocationRepository;
+import opensource.project.repository.PriorityAssessmentRepository;
+import opensource.project.repository.RecentSurvivorRecordRepository;
+import opensource.project.repository.SurvivorRepository;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * 대량 insert 설정(pooled-lo 시퀀스 + JDBC 배치) 전후의 저장 처리량 비교 벤치마크
+ *
+ * 생존자 1명이 탐지될 때 저장되는 묶음(생존자 1, 탐지 N, 우선순위 평가 N, 최근 기록 1)을 트랜잭션 단위로 반복 저장함
+ * - 이전(Before): 시퀀스 optimizer 없음(insert마다 NEXTVAL), JDBC 배치 없음
+ * - 이후(After): application.yml 설정 (pooled-lo, batch_size 50, order_inserts/updates)
+ *
+ * 내장 H2는 네트워크 왕복이 없으므로, 문장 실행(execute, executeQuery, executeUpdate, executeBatch)마다
+ * loadtest.persist-round-trip-micros만큼 기다려 Oracle 왕복 시간을 흉내 냄 (0이면 흉내 내지 않음)
+ *
+ * 기본 test 태스크에서는 제외되며 loadTest 태스크로 실행함
+ *   ./gradlew loadTest --tests '*PersistenceIngestBenchmark' -Dloadtest.persist-round-trip-micros=1000
+ *
+ * 설정 (시스템 프로퍼티):
+ * - loadtest.persist-survivors: 저장할 생존자 묶음 수 (기본값: 300)
+ * - loadtest.persist-detections: 생존자당 탐지/평가 수 (기본값: 10)
+ * - loadtest.persist-round-trip-micros: 문장 실행당 왕복 시간 (기본값: 500)
+ */
+@Tag("loadtest")
+@SpringBootTest(properties = {
+        "spring.jpa.show-sql=false",
+        "logging.level.opensource.project=WARN",
+        "logging.level.org.hibernate.SQL=WARN"
+})
+@Import(PersistenceIngestBenchmark.RoundTripConfig.class)
+class PersistenceIngestBenchmark {
+
+    private static final int SURVIVORS = Integer.getInteger("loadtest.persist-survivors", 300);
+    private static final int DETECTIONS = Integer.getInteger("loadtest.persist-detections", 10);
+    private static final long ROUND_TRIP_MICROS = Long.getLong("loadtest.persist-round-trip-micros", 500L);
+
+    private static final AtomicLong ROUND_TRIPS = new AtomicLong();
+    private static final Map<String, Result> RESULTS = new LinkedHashMap<>();
+
+    @AfterAll
+    static void printResults() {
+        System.out.printf("""
+                        === 저장 처리량 벤치마크 ===
+                        생존자 묶음: %d, 묶음당 insert: %d, 왕복 시간: %dus
+                        설정   | inserts/s | 왕복/insert | 소요(ms)
+                        """,
+                SURVIVORS, 2 + DETECTIONS * 2, ROUND_TRIP_MICROS);
+        RESULTS.forEach((name, result) -> System.out.printf("%-6s | %9.0f | %11.2f | %8d%n",
+                name, result.insertsPerSecond(), result.roundTripsPerInsert(), result.elapsedMillis()));
+        Result before = RESULTS.get("Before");
+        Result after = RESULTS.get("After");
+        if (before != null && after != null) {
+            System.out.printf("After/Before 처리량: %.1f배%n", after.insertsPerSecond() / before.insertsPerSecond());
+        }
+    }
+
+    @Nested
+    @TestPropertySource(properties = {
+            "spring.datasource.url=jdbc:h2:mem:ingest-before",
+            "spring.jpa.properties.hibernate.id.optimizer.pooled.preferred=none",
+            "spring.jpa.properties.hibernate.jdbc.batch_size=0",
+            "spring.jpa.properties.hibernate.order_inserts=false",
+            "spring.jpa.properties.hibernate.order_updates=false"
+    })
+    class Before extends IngestRun {
+
+        @Test
+        @DisplayName("이전 설정: insert마다 NEXTVAL, JDBC 배치 없음")
+        void ingest() {
+            run("Before");
+        }
+    }
+
+    @Nested
+    @TestPropertySource(properties = "spring.datasource.url=jdbc:h2:mem:ingest-after")
+    class After extends IngestRun {
+
+        @Test
+        @DisplayName("대량 insert 설정: pooled-lo 시퀀스, JDBC 배치")
+        void ingest() {
+            run("After");
+        }
+    }
+
+    private record Result(long inserts, long elapsedMillis, long roundTrips) {
+
+        double insertsPerSecond() {
+            return inserts * 1000.0 / Math.max(1, elapsedMillis);
+        }
+
+        double roundTripsPerInsert() {
+            return roundTrips / (double) inserts;
+        }
+    }
+
+    abstract static class IngestRun {
+
+        @Autowired
+        private TransactionTemplate transactionTemplate;
+
+        @Autowired
+        private LocationRepository locationRepository;
+
+        @Autowired
+        private SurvivorRepository survivorRepository;
+
+        @Autowired
+        private DetectionRepository detectionRepository;
+
+        @Autowired
+        private PriorityAssessmentRepository priorityAssessmentRepository;
+
+        @Autowired
+        private RecentSurvivorRecordRepository recentSurvivorRecordRepository;
+
+        void run(String name) {
+            Location location = locationRepository.save(Location.builder()
+                    .buildingName("부하테스트동")
+                    .floor(1)
+                    .roomNumber("101")
+                    .fullAddress("부하테스트동 1층 101호")
+                    .build());
+
+            // JIT 워밍업 (측정에서 제외)
+            ingest(location, 0, Math.max(1, SURVIVORS / 10));
+            long warmupSurvivors = survivorRepository.count();
+
+            long roundTripsBefore = ROUND_TRIPS.get();
+            long start = System.nanoTime();
+            ingest(location, (int) warmupSurvivors, SURVIVORS);
+            long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+            long inserts = (long) SURVIVORS * (2 + DETECTIONS * 2);
+            RESULTS.put(name, new Result(inserts, elapsedMillis, ROUND_TRIPS.get() - roundTripsBefore));
+            assertEquals(warmupSurvivors + SURVIVORS, survivorRepository.count());
+        }
+
+        private void ingest(Location location, int firstNumber, int survivors) {
+            for (int i = 0; i < survivors; i++) {
+                int survivorNumber = firstNumber + i + 1;
+                transactionTemplate.executeWithoutResult(status -> saveSurvivorBundle(location, survivorNumber));
+            }
+        }
+
+        private void saveSurvivorBundle(Location location, int survivorNumber) {
+            LocalDateTime now = LocalDateTime.now();
+            Survivor survivor = survivorRepository.save(Survivor.builder()
+                    .survivorNumber(survivorNumber)
+                    .location(location)
+                    .currentStatus(CurrentStatus.FALLING)
+                    .detectionMethod(DetectionMethod.CCTV)
+                    .rescueStatus(RescueStatus.WAITING)
+                    .firstDetectedAt(now)
+                    .lastDetectedAt(now)
+                    .build());
+
+            List<Detection> detections = new ArrayList<>(DETECTIONS);
+            for (int k = 0; k < DETECTIONS; k++) {
+                detections.add(Detection.builder()
+                        .survivor(survivor)
+                        .detectionType(DetectionType.CCTV)
+                        .location(location)
+                        .detectedAt(now.plusSeconds(k))
+                        .detectedStatus(CurrentStatus.FALLING)
+                        .confidence(0.9)
+                        .humanCount(1)
+                        .build());
+            }
+            detectionRepository.saveAll(detections);
+
+            List<PriorityAssessment> assessments = new ArrayList<>(DETECTIONS);
+            for (Detection detection : detections) {
+                assessments.add(PriorityAssessment.builder()
+                        .survivor(survivor)
+                        .detection(detection)
+                        .assessedAt(detection.getDetectedAt())
+                        .statusScore(8.0)
+                        .environmentScore(5.0)
+                        .confidenceCoefficient(0.9)
+                        .finalRiskScore(36.0)
+                        .urgencyLevel(UrgencyLevel.HIGH)
+                        .build());
+            }
+            priorityAssessmentRepository.saveAll(assessments);
+
+            recentSurvivorRecordRepository.save(RecentSurvivorRecord.builder()
+                    .survivorId(survivor.getId())
+                    .survivorNumber(survivorNumber)
+                    .buildingName(location.getBuildingName())
+                    .floor(location.getFloor())
+                    .lastDetectedAt(now)
+                    .lastPose(CurrentStatus.FALLING)
+                    .detectionMethod(DetectionMethod.CCTV)
+                    .build());
+        }
+    }
+
+    /**
+     * DataSource를 감싸 문장 실행마다 왕복 시간을 기다리고 횟수를 셈
+     */
+    @TestConfiguration
+    static class RoundTripConfig {
+
+        @Bean
+        static BeanPostProcessor roundTripDataSourcePostProcessor() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return bean instanceof DataSource dataSource ? new RoundTripDataSource(dataSource) : bean;
+                }
+            };
+        }
+    }
+
+    private static final class RoundTripDataSource extends DelegatingDataSource {
+
+        RoundTripDataSource(DataSource target) {
+            super(target);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            return wrap(Connection.class, super.getConnection());
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return wrap(Connection.class, super.getConnection(username, password));
+        }
+
+        /**
+         * Connection이 만든 Statement도 감싸고, Statement의 execute* 호출마다 왕복 1번으로 셈
+         */
+        private static <T> T wrap(Class<T> type, T target) {
+            InvocationHandler handler = (proxy, method, args) -> {
+                String name = method.getName();
+                if (type != Connection.class && name.startsWith("execute")) {
+                    ROUND_TRIPS.incrementAndGet();
+                    if (ROUND_TRIP_MICROS > 0) {
+                        LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(ROUND_TRIP_MICROS));
+                    }
+                }
+                Object result;
+                try {
+                    result = method.invoke(target, args);
+                } catch (InvocationTargetException e) {
+                    throw e.getCause();
+                }
+                if (type == Connection.class && result instanceof Statement
+                        && Statement.class.isAssignableFrom(method.getReturnType())) {
+                    return wrapStatement(method.getReturnType(), result);
+                }
+                return result;
+            };
+            return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, handler));
+        }
+
+        @SuppressWarnings("unchecked")
+        private static <T> Object wrapStatement(Class<T> type, Object statement) {
+            return wrap(type, (T) statement);
+        }
+    }
+}
@@ -0,0 +1,464 @@
+package opensource.project.loadtest;
+
+import opensource.project.dto.LocationResponseDto;
+import opensource.project.dto.PriorityScoreHistoryDto;
+import opensource.project.dto.SurvivorResponseDto;
+import opensource.project.dto.WebSocketTransportMetricsDto;
+import opensource.project.service.EventReplayLog;
+import opensource.project.service.LocationInterestRouter;
+import opensource.project.service.StompPayloadPublisher;
+import opensource.project.service.WebSocketService;
+import opensource.project.service.WebSocketSessionGuard;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.messaging.converter.ByteArrayMessageConverter;
+import org.springframework.messaging.simp.stomp.StompFrameHandler;
+import org.springframework.messaging.simp.stomp.StompHeaders;
+import org.springframework.messaging.simp.stomp.StompSession;
+import org.springframework.messaging.simp.stomp.StompSessionHandlerAdapter;
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+import org.springframework.web.socket.messaging.WebSocketStompClient;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Type;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * STOMP 분배(fanout) 부하 테스트
+ *
+ * 대시보드 STOMP 세션을 단계별로 늘려 가며(예: 100 → 500 → 1000 → 2000) 연결하고,
+ * 세션마다 실제 화면과 비슷한 토픽 조합을 구독한 뒤 생존자 정보/점수 이벤트를 설정한 속도로 발행함
+ * 단계마다 이벤트 발행부터 각 세션 수신까지의 지연 분위수, 초당 전달 수, 힙/GC를 출력함
+ *
+ * 구독 조합 (세션마다 무작위):
+ * - 생존자 loadtest.fanout-watched-survivors명의 /topic/survivor/{id}, /topic/survivor/{id}/scores
+ * - loadtest.fanout-floor-ratio 비율의 세션은 층 관심 토픽 1개 (/topic/building/{name}/floor/{n}/events)
+ *
+ * 이벤트 발행: DB와 AI 분석을 거치지 않고 WebSocketService를 직접 호출함 (분배 경로만 측정)
+ * - 생존자 정보 업데이트(loadtest.fanout-update-ratio 비율)와 점수 업데이트를 무작위 생존자에 대해 발행
+ *
+ * 지연 측정: 발행 직전 System.nanoTime을 이벤트 순번(seq 헤더)별로 기록하고, 수신한 프레임의 seq로 찾아 비교함
+ * (발행 스레드는 1개이므로 순번을 미리 알 수 있음. 다른 이벤트가 끼어든 순번은 측정에서 제외함)
+ *
+ * 주의:
+ * - 클라이언트 세션이 같은 JVM에서 실행되므로 힙/GC와 지연에는 클라이언트 비용도 포함됨
+ * - 세션 수천 개를 열려면 파일 디스크립터 한도를 늘려야 할 수 있음 (예: ulimit -n 65536)
+ * - /topic/survivor/{id}는 느린 세션에서 최신 값만 남기므로(ConflatingWebSocketSessionDecorator) 전달률이 100% 미만일 수 있음
+ *
+ * 기본 test 태스크에서는 제외되며 loadTest 태스크로 실행함
+ *   ./gradlew loadTest --tests '*StompFanoutLoadTest' -Dloadtest.fanout-sessions=500,1000,2000,4000
+ *
+ * 설정 (시스템 프로퍼티):
+ * - loadtest.fanout-sessions: 단계별 누적 세션 수 (기본값: 100,500,1000,2000)
+ * - loadtest.fanout-rate: 초당 발행 이벤트 수 (기본값: 100)
+ * - loadtest.fanout-step-seconds: 단계별 측정 시간 (기본값: 10)
+ * - loadtest.fanout-warmup-seconds: 단계별 측정 전 발행 시간 (기본값: 2)
+ * - loadtest.fanout-survivors: 생존자 수 (기본값: 200)
+ * - loadtest.fanout-floors: 생존자가 흩어진 층 수 (기본값: 10)
+ * - loadtest.fanout-watched-survivors: 세션당 구독 생존자 수 (기본값: 3)
+ * - loadtest.fanout-floor-ratio: 층 관심 토픽을 구독하는 세션 비율 (기본값: 0.3)
+ * - loadtest.fanout-update-ratio: 이벤트 중 생존자 정보 업데이트 비율, 나머지는 점수 (기본값: 0.3)
+ * - loadtest.fanout-connect-batch: 동시에 연결하는 세션 수 (기본값: 200)
+ * - loadtest.fanout-p99-budget-ms: 단계별 p99 지연 허용치, 0이면 검증하지 않음 (기본값: 0)
+ */
+@Tag("loadtest")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "server.tomcat.max-connections=100000",
+        "spring.jpa.show-sql=false",
+        "logging.level.opensource.project=WARN",
+        "logging.level.org.hibernate.SQL=WARN"
+})
+class StompFanoutLoadTest {
+
+    private static final int[] SESSION_STEPS = Arrays.stream(
+                    System.getProperty("loadtest.fanout-sessions", "100,500,1000,2000").split(","))
+            .map(String::trim)
+            .mapToInt(Integer::parseInt)
+            .toArray();
+    private static final double RATE = Double.parseDouble(System.getProperty("loadtest.fanout-rate", "100"));
+    private static final int STEP_SECONDS = Integer.getInteger("loadtest.fanout-step-seconds", 10);
+    private static final int WARMUP_SECONDS = Integer.getInteger("loadtest.fanout-warmup-seconds", 2);
+    private static final int SURVIVORS = Integer.getInteger("loadtest.fanout-survivors", 200);
+    private static final int FLOORS = Integer.getInteger("loadtest.fanout-floors", 10);
+    private static final int WATCHED_SURVIVORS = Integer.getInteger("loadtest.fanout-watched-survivors", 3);
+    private static final double FLOOR_RATIO =
+            Double.parseDouble(System.getProperty("loadtest.fanout-floor-ratio", "0.3"));
+    private static final double UPDATE_RATIO =
+            Double.parseDouble(System.getProperty("loadtest.fanout-update-ratio", "0.3"));
+    private static final int CONNECT_BATCH = Integer.getInteger("loadtest.fanout-connect-batch", 200);
+    private static final long P99_BUDGET_MS = Long.getLong("loadtest.fanout-p99-budget-ms", 0L);
+
+    private static final String BUILDING = "부하테스트동";
+
+    @LocalServerPort
+    private int serverPort;
+
+    @Autowired
+    private WebSocketService webSocketService;
+
+    @Autowired
+    private EventReplayLog eventReplayLog;
+
+    @Autowired
+    private WebSocketSessionGuard webSocketSessionGuard;
+
+    // 발행 시각 (이벤트 순번 - baseSeq 위치, 0이면 측정 대상 아님)
+    private AtomicLongArray publishTimes;
+    private long baseSeq;
+
+    // 측정 구간 시작 시각 (이보다 먼저 발행된 이벤트는 집계하지 않음)
+    private volatile long measureStartNanos = Long.MAX_VALUE;
+    private volatile LatencyHistogram histogram = new LatencyHistogram();
+    private final LongAdder delivered = new LongAdder();
+
+    // 토픽 → 구독 세션 수 (단계 사이에만 바뀜)
+    private final Map<String, Integer> subscriberCounts = new HashMap<>();
+
+    @Test
+    @DisplayName("STOMP 세션 수를 단계별로 늘리며 분배 지연 분위수, 처리량, 힙/GC를 측정함")
+    void measuresFanoutPerSessionStep() throws Exception {
+        seedSurvivorLocations();
+        long eventsPerStep = (long) Math.ceil(RATE * (WARMUP_SECONDS + STEP_SECONDS)) + 1_024;
+        publishTimes = new AtomicLongArray((int) Math.min(Integer.MAX_VALUE - 8, eventsPerStep * SESSION_STEPS.length));
+        baseSeq = eventReplayLog.getLastSeq();
+
+        WebSocketStompClient stompClient = new WebSocketStompClient(new StandardWebSocketClient());
+        stompClient.setMessageConverter(new ByteArrayMessageConverter());
+        stompClient.setInboundMessageSizeLimit(1024 * 1024);
+        List<StompSession> sessions = new ArrayList<>();
+        Random random = new Random(42);
+        List<StepResult> results = new ArrayList<>();
+
+        System.out.println("=== STOMP 분배 부하 테스트 ===");
+        System.out.printf("초당 이벤트: %.0f, 단계별 측정: %d초, 생존자: %d, 층: %d, 세션당 구독 생존자: %d, 층 구독 비율: %.2f%n",
+                RATE, STEP_SECONDS, SURVIVORS, FLOORS, WATCHED_SURVIVORS, FLOOR_RATIO);
+        System.out.println(StepResult.HEADER);
+
+        for (int targetSessions : SESSION_STEPS) {
+            openSessions(stompClient, sessions, targetSessions, random);
+            StepResult result = runStep(sessions.size());
+            results.add(result);
+            System.out.println(result.row());
+        }
+
+        for (StompSession session : sessions) {
+            session.disconnect();
+        }
+
+        System.out.println("=== 단계별 요약 ===");
+        System.out.println(StepResult.HEADER);
+        results.forEach(result -> System.out.println(result.row()));
+
+        for (StepResult result : results) {
+            assertTrue(result.delivered() > 0, result.sessions() + "세션 단계에서 수신한 메시지가 없음");
+            if (P99_BUDGET_MS > 0) {
+                assertTrue(result.p99Millis() <= P99_BUDGET_MS,
+                        result.sessions() + "세션 단계의 p99 지연이 허용치(" + P99_BUDGET_MS + "ms)를 초과함");
+            }
+        }
+    }
+
+    /**
+     * 생존자별 마지막 위치를 알리도록 정보 업데이트를 1번씩 발행함 (점수 이벤트가 층 관심 토픽으로 가려면 필요)
+     */
+    private void seedSurvivorLocations() {
+        for (long survivorId = 1; survivorId <= SURVIVORS; survivorId++) {
+            webSocketService.broadcastSurvivorUpdate(survivorId, survivor(survivorId));
+        }
+    }
+
+    /**
+     * 세션을 목표 수까지 연결하고 구독함 (이전 단계 세션은 유지)
+     */
+    private void openSessions(WebSocketStompClient stompClient, List<StompSession> sessions, int targetSessions,
+                              Random random) throws Exception {
+        StompFrameHandler handler = new StompFrameHandler() {
+            @Override
+            public Type getPayloadType(StompHeaders headers) {
+                return byte[].class;
+            }
+
+            @Override
+            public void handleFrame(StompHeaders headers, Object payload) {
+                record(headers.getFirst(StompPayloadPublisher.SEQ_HEADER));
+            }
+        };
+
+        String url = "ws://localhost:" + serverPort + "/ws/websocket";
+        while (sessions.size() < targetSessions) {
+            int batch = Math.min(CONNECT_BATCH, targetSessions - sessions.size());
+            List<CompletableFuture<StompSession>> connecting = new ArrayList<>(batch);
+            for (int i = 0; i < batch; i++) {
+                connecting.add(stompClient.connectAsync(url, new StompSessionHandlerAdapter() { }));
+            }
+            for (CompletableFuture<StompSession> future : connecting) {
+                StompSession session = future.get(30, TimeUnit.SECONDS);
+                for (String destination : destinationsFor(random)) {
+                    session.subscribe(destination, handler);
+                    subscriberCounts.merge(destination, 1, Integer::sum);
+                }
+                sessions.add(session);
+            }
+        }
+        // 구독 등록이 서버에 반영될 시간을 줌
+        Thread.sleep(1_000);
+    }
+
+    private static List<String> destinationsFor(Random random) {
+        List<String> destinations = new ArrayList<>();
+        for (int i = 0; i < WATCHED_SURVIVORS; i++) {
+            long survivorId = 1 + random.nextInt(SURVIVORS);
+            String destination = "/topic/survivor/" + survivorId;
+            if (!destinations.contains(destination)) {
+                destinations.add(destination);
+                destinations.add(destination + "/scores");
+            }
+        }
+        if (random.nextDouble() < FLOOR_RATIO) {
+            destinations.add(LocationInterestRouter.floorTopic(BUILDING, 1 + random.nextInt(FLOORS)));
+        }
+        return destinations;
+    }
+
+    /**
+     * 워밍업 후 측정 구간 동안 이벤트를 발행하고, 남은 메시지가 전달될 때까지 기다린 뒤 결과를 집계함
+     */
+    private StepResult runStep(int sessionCount) throws Exception {
+        AtomicLong expected = new AtomicLong();
+        AtomicLong published = new AtomicLong();
+        ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "fanout-ingest");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long periodMicros = Math.max(1, (long) (1_000_000 / RATE));
+        scheduler.scheduleAtFixedRate(() -> publishEvent(expected, published), 0, periodMicros, TimeUnit.MICROSECONDS);
+
+        Thread.sleep(TimeUnit.SECONDS.toMillis(WARMUP_SECONDS));
+        WebSocketTransportMetricsDto transportBefore = webSocketSessionGuard.getMetrics();
+        long gcCountBefore = gcCount();
+        long gcMillisBefore = gcMillis();
+        histogram = new LatencyHistogram();
+        delivered.reset();
+        measureStartNanos = System.nanoTime();
+
+        Thread.sleep(TimeUnit.SECONDS.toMillis(STEP_SECONDS));
+        scheduler.shutdownNow();
+        scheduler.awaitTermination(5, TimeUnit.SECONDS);
+        // 송신 큐에 남은 메시지가 전달될 시간을 줌
+        Thread.sleep(2_000);
+        measureStartNanos = Long.MAX_VALUE;
+
+        WebSocketTransportMetricsDto transportAfter = webSocketSessionGuard.getMetrics();
+        long heapUsed = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+        return new StepResult(
+                sessionCount,
+                subscriberCounts.values().stream().mapToLong(Integer::longValue).sum(),
+                published.get(),
+                expected.get(),
+                delivered.sum(),
+                histogram.percentileMillis(50),
+                histogram.percentileMillis(90),
+                histogram.percentileMillis(99),
+                histogram.maxMillis(),
+                heapUsed / (1024.0 * 1024.0),
+                gcCount() - gcCountBefore,
+                gcMillis() - gcMillisBefore,
+                transportAfter.getConflatedMessages() - transportBefore.getConflatedMessages(),
+                transportAfter.getDroppedMessages() - transportBefore.getDroppedMessages(),
+                transportAfter.getSlowConsumerDisconnects() - transportBefore.getSlowConsumerDisconnects());
+    }
+
+    /**
+     * 무작위 생존자의 정보 또는 점수 업데이트를 1건 발행함 (발행 스레드에서만 호출)
+     */
+    private void publishEvent(AtomicLong expected, AtomicLong published) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long survivorId = 1 + random.nextInt(SURVIVORS);
+        boolean update = random.nextDouble() < UPDATE_RATIO;
+        String destination = update ? "/topic/survivor/" + survivorId : "/topic/survivor/" + survivorId + "/scores";
+
+        // 수신이 기록보다 먼저 일어날 수 있으므로 다음 순번을 예상하여 발행 전에 기록함
+        long nextSeq = eventReplayLog.getLastSeq() + 1;
+        int index = (int) (nextSeq - baseSeq);
+        if (index >= publishTimes.length()) {
+            return;
+        }
+        long publishNanos = System.nanoTime();
+        publishTimes.set(index, publishNanos);
+
+        if (update) {
+            webSocketService.broadcastSurvivorUpdate(survivorId, survivor(survivorId));
+        } else {
+            webSocketService.broadcastPriorityScoreUpdate(survivorId, score(survivorId));
+        }
+        if (eventReplayLog.getLastSeq() != nextSeq) {
+            // 다른 이벤트가 끼어들어 순번이 어긋났으므로 측정에서 제외함
+            publishTimes.set(index, 0);
+            return;
+        }
+
+        published.incrementAndGet();
+        if (publishNanos >= measureStartNanos) {
+            expected.addAndGet(subscriberCounts.getOrDefault(destination, 0)
+                    + subscriberCounts.getOrDefault(LocationInterestRouter.floorTopic(BUILDING, floorOf(survivorId)), 0));
+        }
+    }
+
+    /**
+     * 수신한 프레임의 순번으로 발행 시각을 찾아 지연을 기록함 (측정 구간에 발행된 이벤트만)
+     */
+    private void record(String seqHeader) {
+        if (seqHeader == null) {
+            return;
+        }
+        long index = Long.parseLong(seqHeader) - baseSeq;
+        if (index <= 0 || index >= publishTimes.length()) {
+            return;
+        }
+        long publishNanos = publishTimes.get((int) index);
+        if (publishNanos == 0 || publishNanos < measureStartNanos) {
+            return;
+        }
+        histogram.record((System.nanoTime() - publishNanos) / 1_000);
+        delivered.increment();
+    }
+
+    private static SurvivorResponseDto survivor(long survivorId) {
+        LocalDateTime now = LocalDateTime.now();
+        long locationId = floorOf(survivorId);
+        return SurvivorResponseDto.builder()
+                .id(survivorId)
+                .survivorNumber((int) survivorId)
+                .locationId(locationId)
+                .location(LocationResponseDto.builder()
+                        .id(locationId)
+                        .buildingName(BUILDING)
+                        .floor(floorOf(survivorId))
+                        .roomNumber(String.valueOf(100 + survivorId % 20))
+                        .fullAddress(BUILDING + " " + floorOf(survivorId) + "층")
+                        .build())
+                .firstDetectedAt(now)
+                .lastDetectedAt(now)
+                .isActive(true)
+                .isFalsePositive(false)
+                .updatedAt(now)
+                .build();
+    }
+
+    private static PriorityScoreHistoryDto score(long survivorId) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return PriorityScoreHistoryDto.builder()
+                .assessmentId(survivorId)
+                .assessedAt(LocalDateTime.now())
+                .statusScore(random.nextDouble(10))
+                .environmentScore(random.nextDouble(10))
+                .confidenceCoefficient(random.nextDouble())
+                .finalRiskScore(random.nextDouble(100))
+                .build();
+    }
+
+    private static int floorOf(long survivorId) {
+        return (int) (survivorId % FLOORS) + 1;
+    }
+
+    private static long gcCount() {
+        return ManagementFactory.getGarbageCollectorMXBeans().stream()
+                .mapToLong(GarbageCollectorMXBean::getCollectionCount)
+                .filter(count -> count >= 0)
+                .sum();
+    }
+
+    private static long gcMillis() {
+        return ManagementFactory.getGarbageCollectorMXBeans().stream()
+                .mapToLong(GarbageCollectorMXBean::getCollectionTime)
+                .filter(time -> time >= 0)
+                .sum();
+    }
+
+    /**
+     * 단계별 측정 결과
+     */
+    private record StepResult(int sessions, long subscriptions, long published, long expected, long delivered,
+                              double p50Millis, double p90Millis, double p99Millis, double maxMillis,
+                              double heapUsedMb, long gcCount, long gcMillis,
+                              long conflated, long dropped, long disconnects) {
+
+        static final String HEADER = "세션 | 구독 | 발행/s | 전달/s | 전달률 | p50 ms | p90 ms | p99 ms | max ms"
+                + " | 힙 MB | GC 횟수 | GC ms | 교체 | 폐기 | 강제 종료";
+
+        String row() {
+            return String.format("%d | %d | %.0f | %.0f | %.1f%% | %.1f | %.1f | %.1f | %.1f | %.0f | %d | %d | %d | %d | %d",
+                    sessions, subscriptions, published / (double) (WARMUP_SECONDS + STEP_SECONDS),
+                    delivered / (double) STEP_SECONDS,
+                    expected == 0 ? 0.0 : delivered * 100.0 / expected,
+                    p50Millis, p90Millis, p99Millis, maxMillis,
+                    heapUsedMb, gcCount, gcMillis, conflated, dropped, disconnects);
+        }
+    }
+
+    /**
+     * 지연 시간(마이크로초)을 100us 단위 구간으로 세는 히스토그램 (수신 스레드 여러 개에서 동시에 기록)
+     * 전달 건수가 세션 수 × 이벤트 수만큼 많으므로 표본을 보관하지 않음
+     */
+    private static final class LatencyHistogram {
+
+        private static final int BUCKET_MICROS = 100;
+        private static final int BUCKETS = 100_000; // 10초까지, 넘으면 마지막 구간에 셈
+
+        private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+        private final LongAdder count = new LongAdder();
+        private final AtomicLong maxMicros = new AtomicLong();
+
+        void record(long latencyMicros) {
+            long micros = Math.max(0, latencyMicros);
+            buckets.incrementAndGet((int) Math.min(micros / BUCKET_MICROS, BUCKETS - 1));
+            count.increment();
+            maxMicros.accumulateAndGet(micros, Math::max);
+        }
+
+        /**
+         * 분위수에 해당하는 구간의 상한 (ms)
+         */
+        double percentileMillis(double percentile) {
+            long total = count.sum();
+            if (total == 0) {
+                return 0.0;
+            }
+            long target = Math.max(1, (long) Math.ceil(percentile / 100.0 * total));
+            long cumulative = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                cumulative += buckets.get(i);
+                if (cumulative >= target) {
+                    return (i + 1) * BUCKET_MICROS / 1_000.0;
+                }
+            }
+            return maxMillis();
+        }
+
+        double maxMillis() {
+            return maxMicros.get() / 1_000.0;
+        }
+    }
+}
@@ -0,0 +1,356 @@
+package opensource.project.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import opensource.project.domain.enums.CCTVStatus;
+import opensource.project.domain.enums.CurrentStatus;
+import opensource.project.domain.enums.DetectionMethod;
+import opensource.project.domain.enums.DetectionType;
+import opensource.project.domain.enums.RescueStatus;
+import opensource.project.dto.AIDetectionResultDto;
+import opensource.project.dto.CCTVResponseDto;
+import opensource.project.dto.CctvFrameEnvelopeDto;
+import opensource.project.dto.DetectionResponseDto;
+import opensource.project.dto.LocationResponseDto;
+import opensource.project.dto.PriorityScoreHistoryDto;
+import opensource.project.dto.SurvivorResponseDto;
+import opensource.project.service.StompPayloadPublisher;
+import opensource.project.service.StompPayloadPublisher.EncodedPayload;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.broker.SimpleBrokerMessageHandler;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompEncoder;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ExecutorSubscribableChannel;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.util.MimeType;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * STOMP 발행 직렬화 CPU 벤치마크
+ *
+ * CCTV 프레임 1개에서 사람 N명을 처리할 때 나가는 메시지(생존자/탐지/점수 토픽 3N개 + 프레임 묶음 1개)를
+ * 두 가지 방식으로 발행하고, 발행 스레드의 CPU 시간을 이벤트(생존자/탐지/점수 변경 1건)당으로 비교함
+ * - convertAndSend: 토픽마다 DTO를 변환하고, 묶음 메시지에서 같은 DTO를 다시 직렬화함 (기존 방식)
+ * - encode-once: StompPayloadPublisher로 한 번 직렬화한 byte[]를 토픽 전송과 묶음(RawValue)에 재사용함
+ *
+ * 스프링 컨텍스트 없이 실제 SimpleBrokerMessageHandler에 구독 세션을 등록하고, 세션별 전송 단계는
+ * StompSubProtocolHandler처럼 STOMP 프레임으로 인코딩까지 수행함 (채널은 동기 실행이라 모든 CPU가 발행 스레드에 잡힘)
+ *
+ * 기본 test 태스크에서는 제외되며 loadTest 태스크로 실행함
+ *   ./gradlew loadTest --tests '*StompSerializationBenchmark' -Dloadtest.benchmark-subscribers=1,50,200,1000
+ *
+ * 설정 (시스템 프로퍼티):
+ * - loadtest.benchmark-subscribers: 측정할 구독 세션 수 목록 (기본값: 1,50,200)
+ * - loadtest.benchmark-frames: 구독 세션 수별 측정 프레임 수 (기본값: 2000)
+ * - loadtest.benchmark-humans: 프레임당 탐지 인원 수 (기본값: 5)
+ */
+@Tag("loadtest")
+class StompSerializationBenchmark {
+
+    private static final String SUBSCRIBER_COUNTS = System.getProperty("loadtest.benchmark-subscribers", "1,50,200");
+    private static final int FRAMES = Integer.getInteger("loadtest.benchmark-frames", 2000);
+    private static final int HUMANS = Integer.getInteger("loadtest.benchmark-humans", 5);
+
+    private static final long CCTV_ID = 1L;
+    private static final LocalDateTime NOW = LocalDateTime.of(2025, 11, 1, 9, 0);
+
+    private final ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    private final StompEncoder stompEncoder = new StompEncoder();
+    private final AtomicLong deliveredMessages = new AtomicLong();
+    private final AtomicLong deliveredBytes = new AtomicLong();
+
+    private SimpleBrokerMessageHandler broker;
+    private SimpMessagingTemplate messagingTemplate;
+    private StompPayloadPublisher payloadPublisher;
+
+    @BeforeEach
+    void setUp() {
+        ExecutorSubscribableChannel clientInbound = new ExecutorSubscribableChannel();
+        ExecutorSubscribableChannel clientOutbound = new ExecutorSubscribableChannel();
+        ExecutorSubscribableChannel brokerChannel = new ExecutorSubscribableChannel();
+        clientOutbound.subscribe(this::encodeForSession);
+
+        broker = new SimpleBrokerMessageHandler(clientInbound, clientOutbound, brokerChannel, List.of("/topic"));
+        broker.start();
+
+        MappingJackson2MessageConverter converter = new MappingJackson2MessageConverter();
+        converter.setObjectMapper(objectMapper);
+        messagingTemplate = new SimpMessagingTemplate(brokerChannel);
+        messagingTemplate.setMessageConverter(converter);
+        payloadPublisher = new StompPayloadPublisher(messagingTemplate, objectMapper);
+    }
+
+    @AfterEach
+    void tearDown() {
+        broker.stop();
+    }
+
+    @Test
+    @DisplayName("한 번 직렬화한 본문을 재사용할 때와 토픽마다 변환할 때의 이벤트당 CPU 시간 비교")
+    void compareSerializationCpuPerEvent() {
+        List<Frame> frames = buildFrames();
+        int eventsPerFrame = HUMANS * 3;
+        int subscribed = 0;
+
+        System.out.printf("""
+                        === STOMP 직렬화 벤치마크 ===
+                        프레임: %d, 프레임당 인원: %d (이벤트 %d건, 메시지 %d건)
+                        구독 세션 | convertAndSend ns/event | encode-once ns/event | 절감률 | 세션 전송 메시지(프레임당)
+                        """,
+                FRAMES, HUMANS, eventsPerFrame, eventsPerFrame + 1);
+
+        for (int subscribers : parseSubscriberCounts()) {
+            for (; subscribed < subscribers; subscribed++) {
+                subscribeSession("session-" + subscribed);
+            }
+
+            // JIT 워밍업
+            runConvertAndSend(frames, FRAMES / 4);
+            runEncodeOnce(frames, FRAMES / 4);
+
+            deliveredMessages.set(0);
+            long convertCpu = runConvertAndSend(frames, FRAMES);
+            long convertDelivered = deliveredMessages.getAndSet(0);
+            long encodeOnceCpu = runEncodeOnce(frames, FRAMES);
+            long encodeOnceDelivered = deliveredMessages.getAndSet(0);
+
+            double convertPerEvent = convertCpu / (double) (FRAMES * eventsPerFrame);
+            double encodeOncePerEvent = encodeOnceCpu / (double) (FRAMES * eventsPerFrame);
+            System.out.printf("%9d | %23.0f | %20.0f | %5.1f%% | %d%n",
+                    subscribers, convertPerEvent, encodeOncePerEvent,
+                    (1 - encodeOncePerEvent / convertPerEvent) * 100, encodeOnceDelivered / FRAMES);
+
+            assertEquals(convertDelivered, encodeOnceDelivered, "두 방식의 세션 전송 메시지 수가 다름");
+            assertEquals((long) FRAMES * (eventsPerFrame + 1) * subscribers, encodeOnceDelivered,
+                    "구독 세션마다 모든 메시지가 전달되어야 함");
+        }
+        System.out.printf("세션 전송 누적 바이트: %d%n", deliveredBytes.get());
+        assertTrue(deliveredBytes.get() > 0, "세션으로 인코딩된 메시지가 없음");
+    }
+
+    /**
+     * 기존 방식: 토픽마다 convertAndSend로 변환하고, 묶음 메시지는 DTO를 담아 다시 변환함
+     */
+    private long runConvertAndSend(List<Frame> frames, int count) {
+        long start = threadMXBean.getCurrentThreadCpuTime();
+        for (int i = 0; i < count; i++) {
+            Frame frame = frames.get(i % frames.size());
+            List<SurvivorResponseDto> survivors = new ArrayList<>();
+            List<DetectionResponseDto> detections = new ArrayList<>();
+            List<Map<String, Object>> scores = new ArrayList<>();
+            for (Human human : frame.humans()) {
+                Long survivorId = human.survivor().getId();
+                messagingTemplate.convertAndSend("/topic/survivor/" + survivorId, human.survivor());
+                messagingTemplate.convertAndSend("/topic/survivor/" + survivorId + "/detections", human.detection());
+                messagingTemplate.convertAndSend("/topic/survivor/" + survivorId + "/scores", human.score());
+                survivors.add(human.survivor());
+                detections.add(human.detection());
+                Map<String, Object> score = new LinkedHashMap<>();
+                score.put("survivor_id", survivorId);
+                score.put("score", human.score());
+                scores.add(score);
+            }
+            Map<String, Object> envelope = new LinkedHashMap<>();
+            envelope.put("cctv_id", CCTV_ID);
+            envelope.put("location_id", frame.location().getId());
+            envelope.put("frame_sequence", (long) i);
+            envelope.put("processed_at", NOW);
+            envelope.put("summary", frame.summary());
+            envelope.put("new_survivors", List.of());
+            envelope.put("updated_survivors", survivors);
+            envelope.put("detections", detections);
+            envelope.put("scores", scores);
+            messagingTemplate.convertAndSend("/topic/frames/" + CCTV_ID, envelope);
+        }
+        return threadMXBean.getCurrentThreadCpuTime() - start;
+    }
+
+    /**
+     * 개선 방식: 한 번 직렬화한 본문을 토픽 전송과 묶음 메시지에 그대로 사용함
+     */
+    private long runEncodeOnce(List<Frame> frames, int count) {
+        long start = threadMXBean.getCurrentThreadCpuTime();
+        for (int i = 0; i < count; i++) {
+            Frame frame = frames.get(i % frames.size());
+            CctvFrameEnvelopeDto envelope = CctvFrameEnvelopeDto.builder()
+                    .cctvId(CCTV_ID)
+                    .locationId(frame.location().getId())
+                    .frameSequence((long) i)
+                    .processedAt(NOW)
+                    .summary(frame.summary())
+                    .build();
+            for (Human human : frame.humans()) {
+                Long survivorId = human.survivor().getId();
+                EncodedPayload survivor = payloadPublisher.publish("/topic/survivor/" + survivorId, human.survivor());
+                EncodedPayload detection = payloadPublisher.publish(
+                        "/topic/survivor/" + survivorId + "/detections", human.detection());
+                EncodedPayload score = payloadPublisher.publish(
+                        "/topic/survivor/" + survivorId + "/scores", human.score());
+                envelope.getUpdatedSurvivors().add(survivor.asRawValue());
+                envelope.getDetections().add(detection.asRawValue());
+                envelope.getScores().add(new CctvFrameEnvelopeDto.ScoreChange(survivorId, score.asRawValue()));
+            }
+            payloadPublisher.publish("/topic/frames/" + CCTV_ID, envelope);
+        }
+        return threadMXBean.getCurrentThreadCpuTime() - start;
+    }
+
+    /**
+     * 구독 세션 1개가 카메라 묶음 토픽과 프레임에 등장하는 생존자들의 토픽을 구독함
+     */
+    private void subscribeSession(String sessionId) {
+        List<String> destinations = new ArrayList<>();
+        destinations.add("/topic/frames/" + CCTV_ID);
+        for (int human = 0; human < HUMANS; human++) {
+            long survivorId = human + 1;
+            destinations.add("/topic/survivor/" + survivorId);
+            destinations.add("/topic/survivor/" + survivorId + "/detections");
+            destinations.add("/topic/survivor/" + survivorId + "/scores");
+        }
+        for (int i = 0; i < destinations.size(); i++) {
+            SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.SUBSCRIBE);
+            accessor.setSessionId(sessionId);
+            accessor.setSubscriptionId("sub-" + i);
+            accessor.setDestination(destinations.get(i));
+            broker.handleMessage(MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders()));
+        }
+    }
+
+    /**
+     * 세션별 전송 단계: StompSubProtocolHandler처럼 MESSAGE 프레임으로 인코딩함
+     */
+    private void encodeForSession(Message<?> message) {
+        MessageHeaders headers = message.getHeaders();
+        StompHeaderAccessor accessor = StompHeaderAccessor.create(StompCommand.MESSAGE);
+        accessor.setDestination(SimpMessageHeaderAccessor.getDestination(headers));
+        accessor.setSubscriptionId(SimpMessageHeaderAccessor.getSubscriptionId(headers));
+        accessor.setMessageId(String.valueOf(deliveredMessages.incrementAndGet()));
+        accessor.setContentType((MimeType) headers.get(MessageHeaders.CONTENT_TYPE));
+        byte[] frame = stompEncoder.encode(accessor.getMessageHeaders(), (byte[]) message.getPayload());
+        deliveredBytes.addAndGet(frame.length);
+    }
+
+    private static List<Integer> parseSubscriberCounts() {
+        return Arrays.stream(SUBSCRIBER_COUNTS.split(","))
+                .map(String::trim)
+                .map(Integer::parseInt)
+                .sorted()
+                .toList();
+    }
+
+    /**
+     * 실제 브로드캐스트와 같은 형태(중첩 위치/CCTV 정보 포함)의 DTO로 프레임을 미리 만듦
+     */
+    private static List<Frame> buildFrames() {
+        LocationResponseDto location = LocationResponseDto.builder()
+                .id(10L)
+                .buildingName("본관")
+                .floor(3)
+                .roomNumber("301")
+                .fullAddress("본관 3층 301호")
+                .createdAt(NOW)
+                .updatedAt(NOW)
+                .build();
+        CCTVResponseDto cctv = CCTVResponseDto.builder()
+                .id(CCTV_ID)
+                .cameraNumber(1)
+                .cctvCode("CCTV-001")
+                .cctvName("본관 3층 복도")
+                .rtspUrl("rtsp://10.0.0.11:554/stream1")
+                .status(CCTVStatus.LIVE)
+                .locationId(location.getId())
+                .location(location)
+                .isActive(true)
+                .lastActiveAt(NOW)
+                .createdAt(NOW)
+                .updatedAt(NOW)
+                .build();
+        CurrentStatus[] statuses = CurrentStatus.values();
+
+        List<Frame> frames = new ArrayList<>();
+        for (int f = 0; f < 16; f++) {
+            LocalDateTime detectedAt = NOW.plusSeconds(f);
+            List<Human> humans = new ArrayList<>();
+            for (int h = 0; h < HUMANS; h++) {
+                long survivorId = h + 1;
+                CurrentStatus status = statuses[(f + h) % statuses.length];
+                SurvivorResponseDto survivor = SurvivorResponseDto.builder()
+                        .id(survivorId)
+                        .survivorNumber((int) survivorId)
+                        .locationId(location.getId())
+                        .location(location)
+                        .currentStatus(status)
+                        .detectionMethod(DetectionMethod.CCTV)
+                        .rescueStatus(RescueStatus.WAITING)
+                        .firstDetectedAt(NOW)
+                        .lastDetectedAt(detectedAt)
+                        .isActive(true)
+                        .isFalsePositive(false)
+                        .createdAt(NOW)
+                        .updatedAt(detectedAt)
+                        .build();
+                DetectionResponseDto detection = DetectionResponseDto.builder()
+                        .id((long) f * HUMANS + h)
+                        .survivorId(survivorId)
+                        .survivor(survivor)
+                        .detectionType(DetectionType.CCTV)
+                        .cctvId(CCTV_ID)
+                        .cctv(cctv)
+                        .locationId(location.getId())
+                        .location(location)
+                        .detectedAt(detectedAt)
+                        .detectedStatus(status)
+                        .aiAnalysisResult("{\"class\":\"person\",\"pose\":\"" + status.name() + "\",\"bbox\":[120,80,260,400]}")
+                        .aiModelVersion("yolov8n-pose-1.2")
+                        .confidence(0.87)
+                        .imageUrl("/snapshots/cctv-1/" + detectedAt + ".jpg")
+                        .createdAt(detectedAt)
+                        .build();
+                PriorityScoreHistoryDto score = PriorityScoreHistoryDto.builder()
+                        .assessmentId((long) f * HUMANS + h)
+                        .assessedAt(detectedAt)
+                        .statusScore(8.0)
+                        .environmentScore(1.5)
+                        .confidenceCoefficient(0.87)
+                        .finalRiskScore(10.44)
+                        .build();
+                humans.add(new Human(survivor, detection, score));
+            }
+            frames.add(new Frame(location, new AIDetectionResultDto.DetectionSummary(0, HUMANS, 0, HUMANS), humans));
+        }
+        return frames;
+    }
+
+    private record Human(SurvivorResponseDto survivor, DetectionResponseDto detection, PriorityScoreHistoryDto score) {
+    }
+
+    private record Frame(LocationResponseDto location, AIDetectionResultDto.DetectionSummary summary, List<Human> humans) {
+    }
+}
@@ -0,0 +1,343 @@
+package opensource.project.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.moquette.broker.Server;
+import io.moquette.broker.config.MemoryConfig;
+import opensource.project.domain.Location;
+import opensource.project.domain.WifiSensor;
+import opensource.project.domain.enums.SensorStatus;
+import opensource.project.repository.LocationRepository;
+import opensource.project.repository.WifiSensorRepository;
+import opensource.project.service.WifiSensorRegistry;
+import org.eclipse.paho.mqttv5.client.MqttClient;
+import org.eclipse.paho.mqttv5.client.persist.MemoryPersistence;
+import org.eclipse.paho.mqttv5.common.MqttMessage;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.messaging.converter.StringMessageConverter;
+import org.springframework.messaging.simp.stomp.StompFrameHandler;
+import org.springframework.messaging.simp.stomp.StompHeaders;
+import org.springframework.messaging.simp.stomp.StompSession;
+import org.springframework.messaging.simp.stomp.StompSessionHandlerAdapter;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+import org.springframework.web.socket.messaging.WebSocketStompClient;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.net.ServerSocket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * WiFi 파이프라인 부하 테스트
+ *
+ * 내장 MQTT 브로커(Moquette)를 띄우고 가상 ESP32 센서 수천 개가 공유 스케줄러에서 설정한 주기로
+ * CSI 메시지를 발행함. 메시지는 실제 수신 경로(MqttConfig → MqttMessageBufferService →
+ * WifiDetectionMqttService → WebSocket)를 그대로 거치며, STOMP 클라이언트가
+ * /topic/wifi-sensor/{sensorId}/signal 에서 받은 시점까지의 지연 시간 분위수를 출력함
+ *
+ * 지연 측정: csi_amplitude_summary 첫 값에 발행 시각(테스트 시작 기준 마이크로초)을 넣어 보내고,
+ * 수신한 프레임의 첫 값과 비교함 (같은 JVM의 System.nanoTime 기준)
+ *
+ * 기본 test 태스크에서는 제외되며 loadTest 태스크로 실행함
+ *   ./gradlew loadTest -Dloadtest.sensors=2000 -Dloadtest.rate-hz=2 -Dloadtest.duration-seconds=60
+ *
+ * 설정 (시스템 프로퍼티):
+ * - loadtest.sensors: 가상 센서 수 (기본값: 1000)
+ * - loadtest.rate-hz: 센서당 초당 발행 수 (기본값: 1)
+ * - loadtest.duration-seconds: 발행 시간 (기본값: 30)
+ * - loadtest.subscribed-sensors: WebSocket으로 구독하여 지연을 측정할 센서 수 (기본값: 100)
+ * - loadtest.detection-ratio: survivor_detected=true 메시지 비율 (기본값: 0.0)
+ * - loadtest.publisher-connections: 발행용 MQTT 연결 수 (기본값: 4)
+ * - loadtest.scheduler-threads: 발행 스케줄러 스레드 수 (기본값: 4)
+ * - loadtest.p99-budget-ms: p99 지연 허용치, 0이면 검증하지 않음 (기본값: 0)
+ */
+@Tag("loadtest")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "mqtt.enabled=true",
+        "MQTT_CLIENT_ID=load-test",
+        "MQTT_TOPIC=PROTO/ESP/#",
+        "spring.jpa.show-sql=false",
+        "logging.level.opensource.project=WARN",
+        "logging.level.org.hibernate.SQL=WARN"
+})
+class WifiPipelineLoadTest {
+
+    private static final int SENSORS = Integer.getInteger("loadtest.sensors", 1000);
+    private static final double RATE_HZ = Double.parseDouble(System.getProperty("loadtest.rate-hz", "1"));
+    private static final int DURATION_SECONDS = Integer.getInteger("loadtest.duration-seconds", 30);
+    private static final int SUBSCRIBED_SENSORS = Integer.getInteger("loadtest.subscribed-sensors", 100);
+    private static final double DETECTION_RATIO =
+            Double.parseDouble(System.getProperty("loadtest.detection-ratio", "0.0"));
+    private static final int PUBLISHER_CONNECTIONS = Integer.getInteger("loadtest.publisher-connections", 4);
+    private static final int SCHEDULER_THREADS = Integer.getInteger("loadtest.scheduler-threads", 4);
+    private static final long P99_BUDGET_MS = Long.getLong("loadtest.p99-budget-ms", 0L);
+
+    private static final int SUBCARRIERS = 52;
+
+    private static final int BROKER_PORT = findFreePort();
+    private static final String BROKER_URL = "tcp://127.0.0.1:" + BROKER_PORT;
+
+    private static Server broker;
+
+    @LocalServerPort
+    private int serverPort;
+
+    @Autowired
+    private LocationRepository locationRepository;
+
+    @Autowired
+    private WifiSensorRepository wifiSensorRepository;
+
+    @Autowired
+    private WifiSensorRegistry wifiSensorRegistry;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @DynamicPropertySource
+    static void mqttProperties(DynamicPropertyRegistry registry) {
+        registry.add("MQTT_BROKER_URL", () -> BROKER_URL);
+    }
+
+    @BeforeAll
+    static void startBroker() throws IOException {
+        Properties properties = new Properties();
+        properties.setProperty("host", "127.0.0.1");
+        properties.setProperty("port", String.valueOf(BROKER_PORT));
+        properties.setProperty("websocket_port", "disabled");
+        properties.setProperty("allow_anonymous", "true");
+        properties.setProperty("persistence_enabled", "false");
+
+        broker = new Server();
+        broker.startServer(new MemoryConfig(properties));
+    }
+
+    @AfterAll
+    static void stopBroker() {
+        if (broker != null) {
+            broker.stopServer();
+        }
+    }
+
+    @Test
+    @DisplayName("가상 센서 부하에서 MQTT 발행부터 WebSocket 수신까지의 지연 분위수를 측정함")
+    void measuresEndToEndLatency() throws Exception {
+        List<Long> sensorIds = registerSensors();
+        long startNanos = System.nanoTime();
+
+        LatencyRecorder recorder = new LatencyRecorder(
+                (int) Math.min(Integer.MAX_VALUE - 8, (long) (SUBSCRIBED_SENSORS * RATE_HZ * (DURATION_SECONDS + 5))));
+        StompSession session = subscribe(sensorIds.subList(0, Math.min(SUBSCRIBED_SENSORS, sensorIds.size())),
+                recorder, startNanos);
+
+        MqttClient[] publishers = connectPublishers();
+        ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(SCHEDULER_THREADS, runnable -> {
+            Thread thread = new Thread(runnable, "virtual-esp32");
+            thread.setDaemon(true);
+            return thread;
+        });
+        AtomicLong published = new AtomicLong();
+        AtomicLong publishedToSubscribed = new AtomicLong();
+        AtomicLong publishFailures = new AtomicLong();
+
+        long periodMicros = Math.max(1, (long) (1_000_000 / RATE_HZ));
+        for (int i = 0; i < sensorIds.size(); i++) {
+            long sensorId = sensorIds.get(i);
+            MqttClient publisher = publishers[i % publishers.length];
+            boolean subscribed = i < SUBSCRIBED_SENSORS;
+            // 센서마다 시작 위상을 흩어 발행이 한 시점에 몰리지 않게 함
+            long initialDelay = ThreadLocalRandom.current().nextLong(periodMicros);
+            scheduler.scheduleAtFixedRate(() -> {
+                try {
+                    publisher.publish("PROTO/ESP/" + sensorId, message(sensorId, startNanos));
+                    published.incrementAndGet();
+                    if (subscribed) {
+                        publishedToSubscribed.incrementAndGet();
+                    }
+                } catch (Exception e) {
+                    publishFailures.incrementAndGet();
+                }
+            }, initialDelay, periodMicros, TimeUnit.MICROSECONDS);
+        }
+
+        Thread.sleep(TimeUnit.SECONDS.toMillis(DURATION_SECONDS));
+        scheduler.shutdownNow();
+        // 버퍼에 남은 메시지가 전달될 시간을 줌
+        Thread.sleep(2_000);
+
+        session.disconnect();
+        for (MqttClient publisher : publishers) {
+            publisher.disconnect();
+            publisher.close();
+        }
+
+        long[] latencies = recorder.snapshot();
+        System.out.printf("""
+                        === WiFi 파이프라인 부하 테스트 결과 ===
+                        센서: %d, 센서당 %.1f Hz, %d초, 구독 센서: %d
+                        발행: %d (실패 %d), 처리량: %.0f msg/s
+                        구독 센서 발행: %d, WebSocket 수신: %d (%.1f%%, 나머지는 최신값 유지 레인에서 폐기)
+                        지연(ms) p50: %.1f, p90: %.1f, p99: %.1f, p99.9: %.1f, max: %.1f
+                        """,
+                SENSORS, RATE_HZ, DURATION_SECONDS, SUBSCRIBED_SENSORS,
+                published.get(), publishFailures.get(), published.get() / (double) DURATION_SECONDS,
+                publishedToSubscribed.get(), latencies.length,
+                publishedToSubscribed.get() == 0 ? 0.0 : latencies.length * 100.0 / publishedToSubscribed.get(),
+                percentileMillis(latencies, 50), percentileMillis(latencies, 90), percentileMillis(latencies, 99),
+                percentileMillis(latencies, 99.9), percentileMillis(latencies, 100));
+
+        assertTrue(latencies.length > 0, "WebSocket으로 수신한 프레임이 없음");
+        if (P99_BUDGET_MS > 0) {
+            assertTrue(percentileMillis(latencies, 99) <= P99_BUDGET_MS,
+                    "p99 지연이 허용치(" + P99_BUDGET_MS + "ms)를 초과함");
+        }
+    }
+
+    private List<Long> registerSensors() {
+        Location location = locationRepository.save(Location.builder()
+                .buildingName("부하테스트동")
+                .floor(1)
+                .roomNumber("101")
+                .fullAddress("부하테스트동 1층 101호")
+                .build());
+
+        List<WifiSensor> sensors = new ArrayList<>(SENSORS);
+        for (int i = 0; i < SENSORS; i++) {
+            sensors.add(WifiSensor.builder()
+                    .sensorCode("LOAD-" + i)
+                    .location(location)
+                    .status(SensorStatus.ACTIVE)
+                    .isActive(true)
+                    .build());
+        }
+        List<Long> sensorIds = wifiSensorRepository.saveAll(sensors).stream().map(WifiSensor::getId).toList();
+
+        // 서비스 계층을 거치지 않고 저장했으므로 MQTT 수신 경로의 센서 스냅샷을 직접 갱신함
+        wifiSensorRegistry.rebuild();
+        return sensorIds;
+    }
+
+    private StompSession subscribe(List<Long> sensorIds, LatencyRecorder recorder, long startNanos) throws Exception {
+        WebSocketStompClient stompClient = new WebSocketStompClient(new StandardWebSocketClient());
+        stompClient.setMessageConverter(new StringMessageConverter());
+        // SockJS 엔드포인트의 원시 WebSocket 경로로 접속함
+        StompSession session = stompClient
+                .connectAsync("ws://localhost:" + serverPort + "/ws/websocket", new StompSessionHandlerAdapter() { })
+                .get(10, TimeUnit.SECONDS);
+
+        StompFrameHandler handler = new StompFrameHandler() {
+            @Override
+            public Type getPayloadType(StompHeaders headers) {
+                return String.class;
+            }
+
+            @Override
+            public void handleFrame(StompHeaders headers, Object payload) {
+                long receivedMicros = (System.nanoTime() - startNanos) / 1_000;
+                try {
+                    JsonNode frame = objectMapper.readTree((String) payload);
+                    long publishedMicros = frame.get("csi_amplitude_summary").get(0).asLong();
+                    recorder.record(receivedMicros - publishedMicros);
+                } catch (IOException e) {
+                    throw new IllegalStateException("WebSocket 프레임 파싱 실패", e);
+                }
+            }
+        };
+        for (Long sensorId : sensorIds) {
+            session.subscribe("/topic/wifi-sensor/" + sensorId + "/signal", handler);
+        }
+        // 구독 등록이 서버에 반영될 시간을 줌
+        Thread.sleep(500);
+        return session;
+    }
+
+    private MqttClient[] connectPublishers() throws Exception {
+        MqttClient[] publishers = new MqttClient[PUBLISHER_CONNECTIONS];
+        for (int i = 0; i < publishers.length; i++) {
+            publishers[i] = new MqttClient(BROKER_URL, "virtual-esp32-" + i, new MemoryPersistence());
+            publishers[i].connect();
+        }
+        return publishers;
+    }
+
+    private static MqttMessage message(long sensorId, long startNanos) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        boolean detected = random.nextDouble() < DETECTION_RATIO;
+
+        StringBuilder json = new StringBuilder(32 + SUBCARRIERS * 6)
+                .append("{\"sensor_id\":").append(sensorId)
+                .append(",\"survivor_detected\":").append(detected)
+                .append(",\"csi_amplitude_summary\":[")
+                .append((System.nanoTime() - startNanos) / 1_000);
+        for (int k = 1; k < SUBCARRIERS; k++) {
+            json.append(',').append(Math.round((10 + random.nextDouble() * 40) * 10.0) / 10.0);
+        }
+        json.append("]}");
+
+        MqttMessage message = new MqttMessage(json.toString().getBytes(StandardCharsets.UTF_8));
+        message.setQos(0);
+        return message;
+    }
+
+    private static double percentileMillis(long[] sortedMicros, double percentile) {
+        if (sortedMicros.length == 0) {
+            return 0.0;
+        }
+        int index = (int) Math.ceil(percentile / 100.0 * sortedMicros.length) - 1;
+        return sortedMicros[Math.max(0, Math.min(index, sortedMicros.length - 1))] / 1_000.0;
+    }
+
+    private static int findFreePort() {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        } catch (IOException e) {
+            throw new IllegalStateException("사용 가능한 포트를 찾을 수 없습니다.", e);
+        }
+    }
+
+    /**
+     * 지연 시간(마이크로초)을 미리 할당한 배열에 기록함 (수신 스레드에서 할당 없음)
+     */
+    private static final class LatencyRecorder {
+
+        private final long[] samples;
+        private final AtomicInteger count = new AtomicInteger();
+
+        LatencyRecorder(int capacity) {
+            this.samples = new long[Math.max(capacity, 1)];
+        }
+
+        void record(long latencyMicros) {
+            int index = count.getAndIncrement();
+            if (index < samples.length) {
+                samples[index] = latencyMicros;
+            }
+        }
+
+        long[] snapshot() {
+            long[] copy = Arrays.copyOf(samples, Math.min(count.get(), samples.length));
+            Arrays.sort(copy);
+            return copy;
+        }
+    }
+}
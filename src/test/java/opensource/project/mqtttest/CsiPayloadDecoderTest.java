@@ -0,0 +1,99 @@
+package opensource.project.mqtttest;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import opensource.project.dto.MqttWifiDetectionDto;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * CsiPayloadDecoder 파싱 결과 테스트
+ * 메시지당 할당량 비교는 loadtest/CsiPayloadDecoderAllocationBenchmark에서 측정함
+ */
+class CsiPayloadDecoderTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final CsiPayloadDecoder decoder = new CsiPayloadDecoder(objectMapper);
+
+    /**
+     * 변경 전 MqttWifiDetectionDto와 같은 구조 (진폭을 List&lt;Double&gt;로 파싱)
+     */
+    static class LegacyCsiMessage {
+        @JsonProperty("sensor_id")
+        public Long sensorId;
+        @JsonProperty("survivor_detected")
+        public Boolean survivorDetected;
+        @JsonProperty("csi_amplitude_summary")
+        public List<Double> csiAmplitudeSummary;
+    }
+
+    @Test
+    @DisplayName("센서 ID, 탐지 여부, 진폭 배열을 파싱하고 알 수 없는 필드는 건너뜀")
+    void decodesKnownFields() throws IOException {
+        byte[] payload = ("{\"sensor_id\":7,\"extra\":{\"a\":[1,2]},\"survivor_detected\":true,"
+                + "\"csi_amplitude_summary\":[12.3,0.05,-4.5,20,1.5e1]}").getBytes(StandardCharsets.UTF_8);
+
+        MqttWifiDetectionDto result = decoder.decode(payload);
+
+        assertEquals(7L, result.getSensorId());
+        assertEquals(Boolean.TRUE, result.getSurvivorDetected());
+        assertArrayEquals(new double[]{12.3, 0.05, -4.5, 20.0, 15.0}, result.getCsiAmplitudeSummary());
+    }
+
+    @Test
+    @DisplayName("누락된 필드는 null로 남음")
+    void leavesMissingFieldsNull() throws IOException {
+        MqttWifiDetectionDto result = decoder.decode("{\"sensor_id\":\"3\"}".getBytes(StandardCharsets.UTF_8));
+
+        assertEquals(3L, result.getSensorId());
+        assertNull(result.getSurvivorDetected());
+        assertNull(result.getCsiAmplitudeSummary());
+    }
+
+    @Test
+    @DisplayName("숫자가 아닌 진폭 값은 파싱 오류로 처리됨")
+    void rejectsNonNumericAmplitude() {
+        byte[] payload = "{\"sensor_id\":1,\"csi_amplitude_summary\":[1.0,\"x\"]}".getBytes(StandardCharsets.UTF_8);
+
+        assertThrows(IOException.class, () -> decoder.decode(payload));
+    }
+
+    @Test
+    @DisplayName("기존 ObjectMapper 파싱과 같은 진폭 값을 만듦")
+    void matchesObjectMapperValues() throws IOException {
+        Random random = new Random(42);
+        for (int i = 0; i < 1_000; i++) {
+            byte[] payload = samplePayload(random, 52);
+
+            double[] decoded = decoder.decode(payload).getCsiAmplitudeSummary();
+            List<Double> expected = objectMapper.readValue(payload, LegacyCsiMessage.class).csiAmplitudeSummary;
+
+            assertEquals(expected.size(), decoded.length);
+            for (int k = 0; k < decoded.length; k++) {
+                assertEquals(expected.get(k), decoded[k], 0.0);
+            }
+        }
+    }
+
+    private static byte[] samplePayload(Random random, int subcarriers) {
+        StringBuilder json = new StringBuilder("{\"sensor_id\":3,\"survivor_detected\":true,\"csi_amplitude_summary\":[");
+        for (int i = 0; i < subcarriers; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append(Math.round((10 + random.nextDouble() * 40) * 10.0) / 10.0);
+        }
+        json.append("]}");
+        return json.toString().getBytes(StandardCharsets.UTF_8);
+    }
+}
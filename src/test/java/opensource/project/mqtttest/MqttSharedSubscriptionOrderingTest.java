@@ -0,0 +1,157 @@
+package opensource.project.mqtttest;
+
+import io.moquette.broker.Server;
+import io.moquette.broker.config.MemoryConfig;
+import opensource.project.dto.MqttWifiDetectionDto;
+import opensource.project.service.WifiDetectionMqttService;
+import org.eclipse.paho.mqttv5.client.MqttClient;
+import org.eclipse.paho.mqttv5.client.persist.MemoryPersistence;
+import org.eclipse.paho.mqttv5.common.MqttMessage;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+
+/**
+ * 내장 MQTT 브로커(Moquette)를 사용한 공유 구독 수신 통합 테스트
+ * 같은 센서의 메시지가 공유 구독의 여러 연결로 나뉘어 수신되고 여러 파티션 스레드에서 병렬로 처리되더라도
+ * 센서별 메시지 처리 순서가 유지되는지 확인함
+ *
+ * 각 메시지의 seq와 csi_amplitude_summary 첫 값에 센서별 순번을 넣어 발행하고,
+ * WifiDetectionMqttService(mock)에 전달된 순번이 센서마다 증가하는지 검증함
+ * (버퍼 서비스는 센서별 최신 메시지만 유지하고 늦게 도착한 프레임은 폐기하므로 중간 순번은 건너뛸 수 있음)
+ */
+@SpringBootTest(properties = {
+        "mqtt.enabled=true",
+        "mqtt.shared-group=server",
+        "mqtt.consumers=3",
+        "mqtt.partitions=4",
+        "MQTT_CLIENT_ID=ordering-test",
+        "MQTT_TOPIC=PROTO/ESP/#"
+})
+class MqttSharedSubscriptionOrderingTest {
+
+    private static final int SENSOR_COUNT = 8;
+    private static final int MESSAGES_PER_SENSOR = 200;
+
+    private static final int BROKER_PORT = findFreePort();
+    private static final String BROKER_URL = "tcp://127.0.0.1:" + BROKER_PORT;
+
+    private static Server broker;
+
+    @MockitoBean
+    private WifiDetectionMqttService wifiDetectionMqttService;
+
+    @DynamicPropertySource
+    static void mqttProperties(DynamicPropertyRegistry registry) {
+        registry.add("MQTT_BROKER_URL", () -> BROKER_URL);
+    }
+
+    @BeforeAll
+    static void startBroker() throws IOException {
+        Properties properties = new Properties();
+        properties.setProperty("host", "127.0.0.1");
+        properties.setProperty("port", String.valueOf(BROKER_PORT));
+        properties.setProperty("websocket_port", "disabled");
+        properties.setProperty("allow_anonymous", "true");
+        properties.setProperty("persistence_enabled", "false");
+
+        broker = new Server();
+        broker.startServer(new MemoryConfig(properties));
+    }
+
+    @AfterAll
+    static void stopBroker() {
+        if (broker != null) {
+            broker.stopServer();
+        }
+    }
+
+    @Test
+    @DisplayName("공유 구독으로 수신한 메시지는 센서별로 순서대로 처리됨")
+    void preservesPerSensorOrdering() throws Exception {
+        Map<Long, List<Integer>> processedBySensor = new ConcurrentHashMap<>();
+        Set<String> processingThreads = ConcurrentHashMap.newKeySet();
+
+        doAnswer(invocation -> {
+            MqttWifiDetectionDto data = invocation.getArgument(0);
+            int sequence = (int) data.getCsiAmplitudeSummary()[0];
+            processedBySensor.computeIfAbsent(data.getSensorId(), id -> new CopyOnWriteArrayList<>()).add(sequence);
+            processingThreads.add(Thread.currentThread().getName());
+            return null;
+        }).when(wifiDetectionMqttService).processMqttMessage(any());
+
+        MqttClient publisher = new MqttClient(BROKER_URL, "ordering-test-publisher", new MemoryPersistence());
+        publisher.connect();
+        try {
+            // 센서별 메시지를 번갈아 발행함 (센서 1의 0번, 센서 2의 0번, ..., 센서 1의 1번, ...)
+            // 공유 구독은 연속된 메시지를 서로 다른 연결에 나누어 주므로 같은 센서의 메시지가 여러 연결로 들어옴
+            for (int sequence = 0; sequence < MESSAGES_PER_SENSOR; sequence++) {
+                for (long sensorId = 1; sensorId <= SENSOR_COUNT; sensorId++) {
+                    String payload = String.format(
+                            "{\"sensor_id\":%d,\"seq\":%d,\"survivor_detected\":false,\"csi_amplitude_summary\":[%d,1.0,2.0]}",
+                            sensorId, sequence, sequence);
+                    MqttMessage message = new MqttMessage(payload.getBytes(StandardCharsets.UTF_8));
+                    message.setQos(1);
+                    publisher.publish("PROTO/ESP/" + sensorId, message);
+                }
+            }
+        } finally {
+            publisher.disconnect();
+            publisher.close();
+        }
+
+        // 모든 센서의 마지막 메시지가 처리될 때까지 대기함
+        long deadline = System.currentTimeMillis() + 30_000;
+        while (System.currentTimeMillis() < deadline && !allSensorsReachedLastSequence(processedBySensor)) {
+            Thread.sleep(50);
+        }
+
+        assertEquals(SENSOR_COUNT, processedBySensor.size(), "모든 센서의 메시지가 처리되어야 함");
+        processedBySensor.forEach((sensorId, sequences) -> {
+            for (int i = 1; i < sequences.size(); i++) {
+                assertTrue(sequences.get(i) > sequences.get(i - 1),
+                        "센서 " + sensorId + "의 처리 순서가 뒤바뀜: " + sequences);
+            }
+            assertEquals(MESSAGES_PER_SENSOR - 1, sequences.get(sequences.size() - 1),
+                    "센서 " + sensorId + "의 마지막 메시지가 처리되어야 함");
+        });
+        assertTrue(processingThreads.size() > 1, "여러 파티션 스레드에서 병렬로 처리되어야 함: " + processingThreads);
+    }
+
+    private static boolean allSensorsReachedLastSequence(Map<Long, List<Integer>> processedBySensor) {
+        if (processedBySensor.size() < SENSOR_COUNT) {
+            return false;
+        }
+        return processedBySensor.values().stream()
+                .allMatch(sequences -> !sequences.isEmpty()
+                        && sequences.get(sequences.size() - 1) == MESSAGES_PER_SENSOR - 1);
+    }
+
+    private static int findFreePort() {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        } catch (IOException e) {
+            throw new IllegalStateException("사용 가능한 포트를 찾을 수 없습니다.", e);
+        }
+    }
+}
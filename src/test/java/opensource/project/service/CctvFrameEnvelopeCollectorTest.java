@@ -0,0 +1,59 @@
+package opensource.project.service;
+
+import opensource.project.dto.AIDetectionResultDto;
+import opensource.project.dto.CctvFrameEnvelopeDto;
+import opensource.project.service.StompPayloadPublisher.EncodedPayload;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class CctvFrameEnvelopeCollectorTest {
+
+    private final CctvFrameEnvelopeCollector collector = new CctvFrameEnvelopeCollector();
+
+    @Test
+    @DisplayName("프레임 처리 중 발생한 변경이 하나의 묶음으로 모이고 CCTV별 순번이 증가함")
+    void collectsChangesPerFrame() {
+        collector.begin(1L, 10L, new AIDetectionResultDto.DetectionSummary(0, 2, 0, 2));
+        collector.recordNewSurvivor(json("{\"id\":100}"));
+        collector.recordSurvivorUpdate(json("{\"id\":101}"));
+        collector.recordDetection(json("{\"id\":1}"));
+        collector.recordDetection(json("{\"id\":2}"));
+        collector.recordScore(100L, json("{\"finalRiskScore\":12.5}"));
+        CctvFrameEnvelopeDto first = collector.finish();
+
+        assertEquals(1L, first.getCctvId());
+        assertEquals(1L, first.getFrameSequence());
+        assertEquals(1, first.getNewSurvivors().size());
+        assertEquals(1, first.getUpdatedSurvivors().size());
+        assertEquals(2, first.getDetections().size());
+        assertEquals(100L, first.getScores().get(0).getSurvivorId());
+        assertEquals("{\"id\":101}", first.getUpdatedSurvivors().get(0).rawValue());
+        assertEquals(2, first.getSummary().getHumanCount());
+
+        collector.begin(1L, 10L, null);
+        assertEquals(2L, collector.finish().getFrameSequence());
+        collector.begin(2L, 20L, null);
+        assertEquals(1L, collector.finish().getFrameSequence());
+    }
+
+    @Test
+    @DisplayName("프레임 밖에서 기록된 변경은 무시됨")
+    void ignoresChangesOutsideFrame() {
+        collector.recordSurvivorUpdate(json("{\"id\":1}"));
+
+        assertNull(collector.finish());
+
+        collector.begin(1L, 10L, null);
+        CctvFrameEnvelopeDto frame = collector.finish();
+        assertEquals(0, frame.getUpdatedSurvivors().size());
+    }
+
+    private static EncodedPayload json(String json) {
+        return new EncodedPayload(json.getBytes(StandardCharsets.UTF_8));
+    }
+}
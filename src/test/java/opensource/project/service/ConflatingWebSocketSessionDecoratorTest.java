@@ -0,0 +1,184 @@
+package opensource.project.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.SessionLimitExceededException;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class ConflatingWebSocketSessionDecoratorTest {
+
+    private final ExecutorService sendExecutor = Executors.newSingleThreadExecutor();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final List<String> delivered = new CopyOnWriteArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        sendExecutor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("전송이 밀리는 동안 같은 구독의 신호는 최신 값으로 교체되어 도착 순서 위치로 옮겨지고, 변경분은 순서대로 모두 전송됨")
+    void conflatesQueuedMessagesPerSubscription() throws Exception {
+        ConflatingWebSocketSessionDecorator session = decorator(64 * 1024, WebSocketSessionGuard.SlowConsumerPolicy.DROP_OLDEST);
+
+        session.sendMessage(frame("sub-0", "/topic/wifi-sensor/1/signal", "s1-a"));
+        awaitFirstSendInProgress(session);
+        session.sendMessage(frame("sub-0", "/topic/wifi-sensor/1/signal", "s1-b"));
+        session.sendMessage(frame("sub-1", "/topic/wifi-sensor/2/signal", "s2-a"));
+        session.sendMessage(frame("sub-2", "/topic/survivor/7/delta", "d-1"));
+        session.sendMessage(frame("sub-0", "/topic/wifi-sensor/1/signal", "s1-c"));
+        session.sendMessage(frame("sub-2", "/topic/survivor/7/delta", "d-2"));
+
+        assertEquals(1L, session.getConflatedMessages());
+        release.countDown();
+        awaitDelivered(5);
+
+        assertEquals(List.of("s1-a", "s2-a", "d-1", "s1-c", "d-2"), delivered);
+        assertEquals(0, session.getBufferSize());
+    }
+
+    @Test
+    @DisplayName("DROP_OLDEST 정책은 버퍼 한도를 넘지 않도록 오래된 메시지를 버림")
+    void dropsOldestWhenBufferIsFull() throws Exception {
+        ConflatingWebSocketSessionDecorator session = decorator(400, WebSocketSessionGuard.SlowConsumerPolicy.DROP_OLDEST);
+
+        session.sendMessage(frame("sub-0", "/topic/survivor/7/delta", "first"));
+        awaitFirstSendInProgress(session);
+        for (int i = 0; i < 20; i++) {
+            session.sendMessage(frame("sub-0", "/topic/survivor/7/delta", "d-" + i));
+            assertTrue(session.getBufferSize() <= 400);
+        }
+
+        assertTrue(session.getDroppedMessages() > 0);
+        int queued = session.getQueuedMessages();
+        release.countDown();
+        awaitDelivered(1 + queued);
+        assertEquals("first", delivered.get(0));
+        assertEquals("d-19", delivered.get(delivered.size() - 1));
+    }
+
+    @Test
+    @DisplayName("순번이 붙은 이벤트는 교체 대상 토픽이어도 교체하거나 버리지 않고, 이들만으로 한도를 넘으면 세션을 종료함")
+    void keepsSequencedEvents() throws Exception {
+        ConflatingWebSocketSessionDecorator session = decorator(600, WebSocketSessionGuard.SlowConsumerPolicy.DROP_OLDEST);
+
+        session.sendMessage(frame("sub-0", "/topic/wifi-sensor/1/signal", "first"));
+        awaitFirstSendInProgress(session);
+        session.sendMessage(sequencedFrame("sub-1", "/topic/wifi-sensor/1/signal/alert", 1, "e-1"));
+        session.sendMessage(sequencedFrame("sub-1", "/topic/wifi-sensor/1/signal/alert", 2, "e-2"));
+        for (int i = 0; i < 10; i++) {
+            session.sendMessage(frame("sub-0", "/topic/survivor/7/delta", "d-" + i));
+        }
+
+        assertEquals(0L, session.getConflatedMessages());
+        assertTrue(session.getDroppedMessages() > 0);
+        assertThrows(SessionLimitExceededException.class, () -> {
+            for (int i = 3; i < 10; i++) {
+                session.sendMessage(sequencedFrame("sub-1", "/topic/wifi-sensor/1/signal/alert", i, "e-" + i));
+            }
+        });
+        assertEquals(0, session.getQueuedMessages());
+    }
+
+    @Test
+    @DisplayName("전송이 시간 한도를 넘도록 끝나지 않으면 송신이 없어도 세션을 종료함")
+    void closesStalledSession() throws Exception {
+        WebSocketSession delegate = mock(WebSocketSession.class);
+        doAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return null;
+        }).when(delegate).sendMessage(any());
+        ConflatingWebSocketSessionDecorator session = new ConflatingWebSocketSessionDecorator(delegate, 50, 64 * 1024,
+                WebSocketSessionGuard.SlowConsumerPolicy.DISCONNECT, destination -> false, sendExecutor);
+
+        session.sendMessage(frame("sub-0", "/topic/survivor/7/delta", "first"));
+        awaitFirstSendInProgress(session);
+        session.closeIfSendStalled();
+        verify(delegate, never()).close(any());
+
+        Thread.sleep(100);
+        session.closeIfSendStalled();
+        session.closeIfSendStalled();
+        verify(delegate, times(1)).close(CloseStatus.SESSION_NOT_RELIABLE);
+    }
+
+    @Test
+    @DisplayName("DISCONNECT 정책은 버퍼 한도를 넘으면 세션 종료 예외를 던짐")
+    void disconnectsWhenBufferIsFull() throws Exception {
+        ConflatingWebSocketSessionDecorator session = decorator(400, WebSocketSessionGuard.SlowConsumerPolicy.DISCONNECT);
+
+        assertThrows(SessionLimitExceededException.class, () -> {
+            for (int i = 0; i < 20; i++) {
+                session.sendMessage(frame("sub-0", "/topic/survivor/7/delta", "d-" + i));
+            }
+        });
+        assertEquals(0, session.getQueuedMessages());
+    }
+
+    private ConflatingWebSocketSessionDecorator decorator(int bufferSizeLimitBytes,
+                                                          WebSocketSessionGuard.SlowConsumerPolicy policy) throws Exception {
+        WebSocketSession delegate = mock(WebSocketSession.class);
+        // 첫 전송은 release 전까지 끝나지 않는 느린 클라이언트를 흉내냄
+        doAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            WebSocketMessage<?> message = invocation.getArgument(0);
+            String frame = (String) message.getPayload();
+            delivered.add(frame.substring(frame.indexOf("\n\n") + 2, frame.length() - 1));
+            return null;
+        }).when(delegate).sendMessage(any());
+
+        return new ConflatingWebSocketSessionDecorator(delegate, 60_000, bufferSizeLimitBytes, policy,
+                WebSocketSessionGuard.destinationMatcher("/topic/wifi-sensor/*/signal,/topic/wifi-sensor/*/signal/*"),
+                sendExecutor);
+    }
+
+    private static void awaitFirstSendInProgress(ConflatingWebSocketSessionDecorator session) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (session.getQueuedMessages() > 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(1);
+        }
+        assertEquals(0, session.getQueuedMessages());
+    }
+
+    private void awaitDelivered(int count) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (delivered.size() < count && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(count, delivered.size());
+    }
+
+    private static TextMessage frame(String subscription, String destination, String body) {
+        return new TextMessage("MESSAGE\ndestination:" + destination + "\ncontent-type:application/json\n"
+                + "subscription:" + subscription + "\nmessage-id:1\ncontent-length:" + body.length()
+                + "\n\n" + body + "\0");
+    }
+
+    private static TextMessage sequencedFrame(String subscription, String destination, long seq, String body) {
+        return new TextMessage("MESSAGE\ndestination:" + destination + "\ncontent-type:application/json\n"
+                + StompPayloadPublisher.SEQ_HEADER + ":" + seq + "\nsubscription:" + subscription
+                + "\nmessage-id:1\ncontent-length:" + body.length() + "\n\n" + body + "\0");
+    }
+}
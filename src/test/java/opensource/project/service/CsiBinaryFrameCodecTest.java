@@ -0,0 +1,57 @@
+package opensource.project.service;
+
+import opensource.project.dto.WifiSignalDto;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class CsiBinaryFrameCodecTest {
+
+    private static final LocalDateTime MEASURED_AT = LocalDateTime.of(2025, 11, 1, 9, 0, 0, 250_000_000);
+
+    @Test
+    @DisplayName("헤더(센서 ID, epoch millis, flags)와 float32 진폭이 little-endian으로 인코딩됨")
+    void encodesHeaderAndAmplitudes() {
+        WifiSignalDto signal = WifiSignalDto.builder()
+                .sensorId(42L)
+                .survivorDetected(true)
+                .csiAmplitudeSummary(new double[]{1.5, -2.25, 30.125})
+                .timestamp(MEASURED_AT)
+                .build();
+        signal.setPresence(4.2, true);
+
+        byte[] frame = CsiBinaryFrameCodec.encode(signal);
+
+        assertEquals(CsiBinaryFrameCodec.HEADER_BYTES + 3 * Float.BYTES, frame.length);
+        ByteBuffer buffer = ByteBuffer.wrap(frame).order(ByteOrder.LITTLE_ENDIAN);
+        assertEquals(CsiBinaryFrameCodec.VERSION, buffer.get());
+        assertEquals(CsiBinaryFrameCodec.FLAG_SURVIVOR_DETECTED | CsiBinaryFrameCodec.FLAG_PRESENCE_DETECTED,
+                buffer.get());
+        assertEquals(3, buffer.getShort());
+        assertEquals(42L, buffer.getLong());
+        assertEquals(MEASURED_AT.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli(), buffer.getLong());
+        assertEquals(1.5f, buffer.getFloat());
+        assertEquals(-2.25f, buffer.getFloat());
+        assertEquals(30.125f, buffer.getFloat());
+    }
+
+    @Test
+    @DisplayName("송신 큐 교체 키로 쓰는 센서 ID를 읽고, 다른 형식의 바이너리는 무시함")
+    void readsSensorIdForConflation() {
+        byte[] frame = CsiBinaryFrameCodec.encode(WifiSignalDto.builder()
+                .sensorId(7L)
+                .csiAmplitudeSummary(new double[52])
+                .timestamp(MEASURED_AT)
+                .build());
+
+        assertEquals(7L, CsiBinaryFrameCodec.sensorIdOf(ByteBuffer.wrap(frame)));
+        assertNull(CsiBinaryFrameCodec.sensorIdOf(ByteBuffer.wrap(new byte[]{9, 0, 0})));
+    }
+}
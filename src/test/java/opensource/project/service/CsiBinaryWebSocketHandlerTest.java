@@ -0,0 +1,62 @@
+package opensource.project.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.net.URI;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CsiBinaryWebSocketHandlerTest {
+
+    private final CsiBinaryWebSocketHandler handler = new CsiBinaryWebSocketHandler(new ObjectMapper());
+
+    @Test
+    @DisplayName("연결 시 센서 ID가 정수가 아니면 구독하지 않고 1007(BAD_DATA)로 종료함")
+    void rejectsMalformedQuerySubscription() throws Exception {
+        WebSocketSession session = session("s1", "/ws/csi?sensors=1,abc");
+
+        handler.afterConnectionEstablished(session);
+
+        verify(session).close(CloseStatus.BAD_DATA);
+        assertEquals(0, handler.getSubscribedSensorCount());
+    }
+
+    @Test
+    @DisplayName("구독 교체 메시지의 형식이 맞지 않으면 1007(BAD_DATA)로 종료하고 기존 구독을 바꾸지 않음")
+    void rejectsMalformedSubscriptionMessage() throws Exception {
+        WebSocketSession session = session("s1", "/ws/csi?sensors=1,2");
+        handler.afterConnectionEstablished(session);
+        assertEquals(2, handler.getSubscribedSensorCount());
+
+        handler.handleTextMessage(session, new TextMessage("{\"sensors\": [3, \"x\"]}"));
+        verify(session).close(CloseStatus.BAD_DATA);
+        assertEquals(2, handler.getSubscribedSensorCount());
+
+        WebSocketSession other = session("s2", "/ws/csi");
+        handler.afterConnectionEstablished(other);
+        handler.handleTextMessage(other, new TextMessage("not json"));
+        verify(other).close(CloseStatus.BAD_DATA);
+
+        WebSocketSession valid = session("s3", "/ws/csi");
+        handler.afterConnectionEstablished(valid);
+        handler.handleTextMessage(valid, new TextMessage("{\"sensors\": [5]}"));
+        verify(valid, never()).close(CloseStatus.BAD_DATA);
+        assertEquals(3, handler.getSubscribedSensorCount());
+    }
+
+    private static WebSocketSession session(String id, String uri) {
+        WebSocketSession session = mock(WebSocketSession.class);
+        when(session.getId()).thenReturn(id);
+        when(session.getUri()).thenReturn(URI.create("ws://localhost" + uri));
+        return session;
+    }
+}
@@ -0,0 +1,102 @@
+package opensource.project.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CsiPresenceDetectorTest {
+
+    private static final int SUBCARRIERS = 34;
+    private static final int CALIBRATION_FRAMES = 50;
+    private static final long FRAME_INTERVAL_10HZ = 100_000_000L;
+    private static final long MAX_PRESENT_SECONDS = 5;
+
+    private final Random random = new Random(7);
+    private final CsiPresenceDetector detector = new CsiPresenceDetector(CALIBRATION_FRAMES, 3.0, MAX_PRESENT_SECONDS);
+
+    @Test
+    @DisplayName("보정 구간 동안은 점수가 없고, 이후 빈 방 프레임은 존재로 판단되지 않음")
+    void calibratesThenScoresEmptyRoom() {
+        for (int i = 0; i < CALIBRATION_FRAMES; i++) {
+            double score = detector.score(1L, frame(30, 0.5), i * FRAME_INTERVAL_10HZ);
+            assertTrue(Double.isNaN(score));
+            assertNull(detector.isPresent(score));
+        }
+
+        int present = 0;
+        for (int i = 0; i < 200; i++) {
+            double score = detector.score(1L, frame(30, 0.5), (CALIBRATION_FRAMES + i) * FRAME_INTERVAL_10HZ);
+            if (detector.isPresent(score)) {
+                present++;
+            }
+        }
+        assertTrue(present < 5, "빈 방 프레임 오탐: " + present);
+    }
+
+    @Test
+    @DisplayName("기준선에서 크게 벗어난 프레임은 존재로 판단되고 기준선에 반영되지 않음")
+    void detectsPresence() {
+        calibrate(1L);
+
+        for (int i = 0; i < 20; i++) {
+            double score = detector.score(1L, frame(33, 0.5), (CALIBRATION_FRAMES + i) * FRAME_INTERVAL_10HZ);
+            assertEquals(Boolean.TRUE, detector.isPresent(score));
+        }
+    }
+
+    @Test
+    @DisplayName("환경이 영구히 바뀌어 존재 판단이 제한 시간 넘게 이어지면 새 환경으로 다시 보정함")
+    void recalibratesAfterPermanentChange() {
+        calibrate(1L);
+
+        // 환경 변화 후 진폭이 계속 33 근처로 유지됨 (제한 시간 5초 = 50프레임)
+        long frameIndex = CALIBRATION_FRAMES;
+        int present = 0;
+        while (detector.isPresent(detector.score(1L, frame(33, 0.5), frameIndex++ * FRAME_INTERVAL_10HZ)) != null) {
+            present++;
+        }
+        assertEquals(MAX_PRESENT_SECONDS * 10, present, 1);
+
+        for (int i = 1; i < CALIBRATION_FRAMES; i++) {
+            assertTrue(Double.isNaN(detector.score(1L, frame(33, 0.5), frameIndex++ * FRAME_INTERVAL_10HZ)));
+        }
+        int presentAfter = 0;
+        for (int i = 0; i < 100; i++) {
+            if (detector.isPresent(detector.score(1L, frame(33, 0.5), frameIndex++ * FRAME_INTERVAL_10HZ))) {
+                presentAfter++;
+            }
+        }
+        assertTrue(presentAfter < 5, "재보정 후 오탐: " + presentAfter);
+    }
+
+    @Test
+    @DisplayName("재보정하거나 부반송파 수가 바뀌면 기준선을 다시 만듦")
+    void resetsBaseline() {
+        calibrate(1L);
+
+        detector.recalibrate(1L);
+        assertTrue(Double.isNaN(detector.score(1L, frame(30, 0.5), 0)));
+
+        calibrate(2L);
+        assertTrue(Double.isNaN(detector.score(2L, new double[]{30, 30, 30}, 0)));
+    }
+
+    private void calibrate(Long sensorId) {
+        for (int i = 0; i < CALIBRATION_FRAMES; i++) {
+            detector.score(sensorId, frame(30, 0.5), i * FRAME_INTERVAL_10HZ);
+        }
+    }
+
+    private double[] frame(double level, double noise) {
+        double[] amplitudes = new double[SUBCARRIERS];
+        for (int i = 0; i < SUBCARRIERS; i++) {
+            amplitudes[i] = level + random.nextGaussian() * noise;
+        }
+        return amplitudes;
+    }
+}
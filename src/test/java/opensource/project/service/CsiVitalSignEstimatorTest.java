@@ -0,0 +1,147 @@
+package opensource.project.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CsiVitalSignEstimatorTest {
+
+    private static final int SUBCARRIERS = 34;
+    private static final long FRAME_INTERVAL_10HZ = 100_000_000L;
+
+    private final Random random = new Random(3);
+
+    @Test
+    @DisplayName("0.25Hz 진폭 변화는 15 BPM 호흡으로 추정됨")
+    void detectsBreathingRate() {
+        CsiVitalSignEstimator estimator = new CsiVitalSignEstimator();
+
+        CsiVitalSignEstimator.VitalSigns result = null;
+        for (int i = 0; i < 400; i++) {
+            double breathing = 0.6 * Math.sin(2 * Math.PI * 0.25 * i / 10.0);
+            result = estimator.update(1L, frame(30 + breathing, 0.5), i * FRAME_INTERVAL_10HZ);
+        }
+
+        assertNotNull(result);
+        assertEquals(Boolean.TRUE, result.breathingDetected());
+        assertEquals(15.0, result.breathingRate(), 1.5);
+        assertEquals(Boolean.FALSE, result.movementDetected());
+        assertEquals(10.0, result.samplingRate(), 0.01);
+    }
+
+    @Test
+    @DisplayName("정적인 신호는 움직임과 호흡이 모두 감지되지 않음")
+    void staticSignalHasNoVitalSigns() {
+        CsiVitalSignEstimator estimator = new CsiVitalSignEstimator();
+
+        CsiVitalSignEstimator.VitalSigns result = null;
+        for (int i = 0; i < 400; i++) {
+            result = estimator.update(1L, frame(30, 0.5), i * FRAME_INTERVAL_10HZ);
+        }
+
+        assertEquals(Boolean.FALSE, result.movementDetected());
+        assertEquals(Boolean.FALSE, result.breathingDetected());
+        assertNull(result.breathingRate());
+    }
+
+    @Test
+    @DisplayName("큰 진폭 변동은 움직임으로 감지되고 호흡 추정에서 제외됨")
+    void detectsMovement() {
+        CsiVitalSignEstimator estimator = new CsiVitalSignEstimator();
+
+        CsiVitalSignEstimator.VitalSigns result = null;
+        for (int i = 0; i < 400; i++) {
+            result = estimator.update(1L, frame(30 + random.nextDouble() * 15, 1.0), i * FRAME_INTERVAL_10HZ);
+        }
+
+        assertEquals(Boolean.TRUE, result.movementDetected());
+        assertTrue(result.movementIntensity() > 0.3);
+        assertEquals(Boolean.FALSE, result.breathingDetected());
+    }
+
+    @Test
+    @DisplayName("ESP32 전송 주기(약 5초, 0.2Hz)에서는 호흡 성분이 있어도 호흡을 추정하지 않음")
+    void skipsBreathingAtDeviceCadence() {
+        CsiVitalSignEstimator estimator = new CsiVitalSignEstimator();
+
+        CsiVitalSignEstimator.VitalSigns result = null;
+        long timestamp = 0;
+        for (int i = 0; i < 40; i++) {
+            // 5초 ± 0.5초 간격, 이력 초기화 기준(10초)보다는 짧은 간격
+            timestamp += 5_000_000_000L + (long) ((random.nextDouble() - 0.5) * 1_000_000_000L);
+            double breathing = 0.6 * Math.sin(2 * Math.PI * 0.25 * timestamp / 1e9);
+            result = estimator.update(1L, frame(30 + breathing, 0.5), timestamp);
+        }
+
+        assertNull(result.breathingDetected());
+        assertNull(result.breathingRate());
+        assertEquals(0.2, result.samplingRate(), 0.02);
+    }
+
+    @Test
+    @DisplayName("평균 샘플링 레이트가 충분해도 1초보다 긴 공백이 있으면 호흡을 추정하지 않음")
+    void skipsBreathingWithSamplingGaps() {
+        CsiVitalSignEstimator estimator = new CsiVitalSignEstimator();
+
+        CsiVitalSignEstimator.VitalSigns result = null;
+        long timestamp = 0;
+        for (int i = 0; i < 400; i++) {
+            // 10Hz로 2초 수신한 뒤 3초 공백 (평균 4Hz)
+            timestamp += i % 20 == 0 ? 3_000_000_000L : FRAME_INTERVAL_10HZ;
+            double breathing = 0.6 * Math.sin(2 * Math.PI * 0.25 * timestamp / 1e9);
+            result = estimator.update(1L, frame(30 + breathing, 0.5), timestamp);
+        }
+
+        assertTrue(result.samplingRate() >= 1.0);
+        assertNull(result.breathingDetected());
+    }
+
+    @Test
+    @DisplayName("간격이 고르지 않은 프레임도 도착 시각 기준으로 재샘플링하여 호흡을 추정함")
+    void detectsBreathingWithJitteredFrames() {
+        CsiVitalSignEstimator estimator = new CsiVitalSignEstimator();
+
+        CsiVitalSignEstimator.VitalSigns result = null;
+        long timestamp = 0;
+        for (int i = 0; i < 200; i++) {
+            // 0.2 ~ 0.8초 간격 (평균 2Hz)
+            timestamp += 200_000_000L + (long) (random.nextDouble() * 600_000_000L);
+            double breathing = 0.6 * Math.sin(2 * Math.PI * 0.25 * timestamp / 1e9);
+            result = estimator.update(1L, frame(30 + breathing, 0.5), timestamp);
+        }
+
+        assertEquals(Boolean.TRUE, result.breathingDetected());
+        assertEquals(15.0, result.breathingRate(), 1.5);
+    }
+
+    @Test
+    @DisplayName("센서별 상태가 분리되어 유지됨")
+    void keepsStatePerSensor() {
+        CsiVitalSignEstimator estimator = new CsiVitalSignEstimator();
+
+        for (int i = 0; i < 400; i++) {
+            double breathing = 0.6 * Math.sin(2 * Math.PI * 0.25 * i / 10.0);
+            estimator.update(1L, frame(30 + breathing, 0.5), i * FRAME_INTERVAL_10HZ);
+            estimator.update(2L, frame(30, 0.5), i * FRAME_INTERVAL_10HZ);
+        }
+
+        assertEquals(2, estimator.getTrackedSensorCount());
+        assertFalse(estimator.update(2L, frame(30, 0.5), 400 * FRAME_INTERVAL_10HZ).breathingDetected());
+        assertTrue(estimator.update(1L, frame(30, 0.5), 400 * FRAME_INTERVAL_10HZ).breathingDetected());
+    }
+
+    private double[] frame(double level, double noise) {
+        double[] amplitudes = new double[SUBCARRIERS];
+        for (int k = 0; k < SUBCARRIERS; k++) {
+            amplitudes[k] = level + random.nextGaussian() * noise;
+        }
+        return amplitudes;
+    }
+}
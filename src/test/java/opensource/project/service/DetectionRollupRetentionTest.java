@@ -0,0 +1,189 @@
+package opensource.project.service;
+
+import jakarta.persistence.EntityManager;
+import opensource.project.domain.Detection;
+import opensource.project.domain.DetectionMinuteRollup;
+import opensource.project.domain.Location;
+import opensource.project.domain.PriorityAssessment;
+import opensource.project.domain.Survivor;
+import opensource.project.domain.enums.CurrentStatus;
+import opensource.project.domain.enums.DetectionMethod;
+import opensource.project.domain.enums.DetectionType;
+import opensource.project.domain.enums.RescueStatus;
+import opensource.project.repository.DetectionMinuteRollupRepository;
+import opensource.project.repository.DetectionRepository;
+import opensource.project.repository.LocationRepository;
+import opensource.project.repository.PriorityAssessmentRepository;
+import opensource.project.repository.SurvivorRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * 탐지 분 단위 요약과 보관 기간 삭제 테스트 (H2: 파티션 없이 묶음 단위 DELETE 경로)
+ */
+@SpringBootTest
+@Transactional
+class DetectionRollupRetentionTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2025, 1, 1, 10, 0);
+
+    @Autowired
+    private DetectionRollupService detectionRollupService;
+
+    @Autowired
+    private DetectionRetentionService detectionRetentionService;
+
+    @Autowired
+    private DetectionPartitionManager detectionPartitionManager;
+
+    @Autowired
+    private LocationRepository locationRepository;
+
+    @Autowired
+    private SurvivorRepository survivorRepository;
+
+    @Autowired
+    private DetectionRepository detectionRepository;
+
+    @Autowired
+    private PriorityAssessmentRepository priorityAssessmentRepository;
+
+    @Autowired
+    private DetectionMinuteRollupRepository rollupRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Location location;
+    private Survivor survivor;
+
+    @BeforeEach
+    void setUp() {
+        location = locationRepository.save(Location.builder()
+                .buildingName("보관동")
+                .floor(3)
+                .roomNumber("301")
+                .fullAddress("보관동 3층 301호")
+                .build());
+        survivor = survivorRepository.save(Survivor.builder()
+                .survivorNumber(8001)
+                .location(location)
+                .currentStatus(CurrentStatus.FALLING)
+                .detectionMethod(DetectionMethod.CCTV)
+                .rescueStatus(RescueStatus.WAITING)
+                .firstDetectedAt(BASE)
+                .lastDetectedAt(BASE)
+                .build());
+    }
+
+    @Test
+    @DisplayName("생존자/분/탐지 타입별로 요약하고, 평가가 여러 건인 탐지도 한 번만 셈")
+    void rollsUpPerSurvivorMinuteAndType() {
+        Detection first = saveDetection(DetectionType.CCTV, BASE.plusSeconds(5), CurrentStatus.FALLING, 0.6, 1);
+        Detection second = saveDetection(DetectionType.CCTV, BASE.plusSeconds(40), CurrentStatus.CRAWLING, 0.8, 3);
+        saveDetection(DetectionType.WIFI, BASE.plusSeconds(20), CurrentStatus.FALLING, null, null);
+        saveDetection(DetectionType.CCTV, BASE.plusSeconds(70), CurrentStatus.STANDING, 0.9, 2);
+        saveAssessment(first, 4.0);
+        saveAssessment(second, 6.0);
+        saveAssessment(second, 8.0);
+        entityManager.flush();
+        entityManager.clear();
+
+        assertThat(detectionRollupService.rollUpUntil(BASE.plusMinutes(5))).isEqualTo(3);
+
+        List<DetectionMinuteRollup> rollups = rollupRepository.findBySurvivorIdOrderByMinuteStartAsc(survivor.getId());
+        assertThat(rollups).hasSize(3);
+
+        DetectionMinuteRollup cctv = rollups.stream()
+                .filter(rollup -> rollup.getMinuteStart().equals(BASE) && rollup.getDetectionType() == DetectionType.CCTV)
+                .findFirst()
+                .orElseThrow();
+        assertThat(cctv.getDetectionCount()).isEqualTo(2);
+        assertThat(cctv.getFirstDetectedAt()).isEqualTo(BASE.plusSeconds(5));
+        assertThat(cctv.getLastDetectedAt()).isEqualTo(BASE.plusSeconds(40));
+        assertThat(cctv.getLastStatus()).isEqualTo(CurrentStatus.CRAWLING);
+        assertThat(cctv.getLocationId()).isEqualTo(location.getId());
+        assertThat(cctv.getAvgConfidence()).isCloseTo(0.7, within(1e-9));
+        assertThat(cctv.getMaxConfidence()).isEqualTo(0.8);
+        assertThat(cctv.getMaxHumanCount()).isEqualTo(3);
+        assertThat(cctv.getAvgFinalRiskScore()).isCloseTo(6.0, within(1e-9));
+        assertThat(cctv.getMaxFinalRiskScore()).isEqualTo(8.0);
+
+        DetectionMinuteRollup wifi = rollups.stream()
+                .filter(rollup -> rollup.getDetectionType() == DetectionType.WIFI)
+                .findFirst()
+                .orElseThrow();
+        assertThat(wifi.getDetectionCount()).isEqualTo(1);
+        assertThat(wifi.getAvgConfidence()).isNull();
+        assertThat(wifi.getAvgFinalRiskScore()).isNull();
+
+        DetectionMinuteRollup nextMinute = rollups.get(2);
+        assertThat(nextMinute.getMinuteStart()).isEqualTo(BASE.plusMinutes(1));
+        assertThat(nextMinute.getLastStatus()).isEqualTo(CurrentStatus.STANDING);
+
+        // 이미 요약한 구간은 다시 요약하지 않음
+        assertThat(detectionRollupService.rollUpUntil(BASE.plusMinutes(5))).isZero();
+        assertThat(rollupRepository.findBySurvivorIdOrderByMinuteStartAsc(survivor.getId())).hasSize(3);
+    }
+
+    @Test
+    @DisplayName("파티션이 없으면 기준 시각 이전 탐지와 그 평가를 묶음 단위로 삭제하고 이후 탐지는 남김")
+    void purgesRawRowsInChunksWithoutPartitions() {
+        assertThat(detectionPartitionManager.isPartitioned()).isFalse();
+
+        List<Long> oldIds = new ArrayList<>();
+        List<Long> oldAssessmentIds = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            Detection detection = saveDetection(DetectionType.CCTV, BASE.plusSeconds(i), CurrentStatus.FALLING, 0.5, 1);
+            oldAssessmentIds.add(saveAssessment(detection, 5.0).getId());
+            oldIds.add(detection.getId());
+        }
+        Detection kept = saveDetection(DetectionType.CCTV, BASE.plusMinutes(2), CurrentStatus.FALLING, 0.5, 1);
+        PriorityAssessment keptAssessment = saveAssessment(kept, 5.0);
+        entityManager.flush();
+        entityManager.clear();
+
+        assertThat(detectionRetentionService.purgeRawBefore(BASE.plusMinutes(1))).isEqualTo(10);
+
+        assertThat(detectionRepository.findAllById(oldIds)).isEmpty();
+        assertThat(priorityAssessmentRepository.findAllById(oldAssessmentIds)).isEmpty();
+        assertThat(detectionRepository.existsById(kept.getId())).isTrue();
+        assertThat(priorityAssessmentRepository.existsById(keptAssessment.getId())).isTrue();
+    }
+
+    private Detection saveDetection(DetectionType type, LocalDateTime detectedAt, CurrentStatus status,
+                                    Double confidence, Integer humanCount) {
+        return detectionRepository.save(Detection.builder()
+                .survivor(survivor)
+                .detectionType(type)
+                .location(location)
+                .detectedAt(detectedAt)
+                .detectedStatus(status)
+                .confidence(confidence)
+                .humanCount(humanCount)
+                .build());
+    }
+
+    private PriorityAssessment saveAssessment(Detection detection, double finalRiskScore) {
+        return priorityAssessmentRepository.save(PriorityAssessment.builder()
+                .survivor(survivor)
+                .detection(detection)
+                .assessedAt(detection.getDetectedAt())
+                .statusScore(5.0)
+                .environmentScore(5.0)
+                .confidenceCoefficient(1.0)
+                .finalRiskScore(finalRiskScore)
+                .build());
+    }
+}
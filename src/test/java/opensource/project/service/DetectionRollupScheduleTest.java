@@ -0,0 +1,159 @@
+package opensource.project.service;
+
+import opensource.project.domain.Detection;
+import opensource.project.domain.DetectionMinuteRollup;
+import opensource.project.domain.Location;
+import opensource.project.domain.PriorityAssessment;
+import opensource.project.domain.Survivor;
+import opensource.project.domain.enums.CurrentStatus;
+import opensource.project.domain.enums.DetectionMethod;
+import opensource.project.domain.enums.DetectionType;
+import opensource.project.domain.enums.RescueStatus;
+import opensource.project.repository.DetectionMinuteRollupRepository;
+import opensource.project.repository.DetectionRepository;
+import opensource.project.repository.LocationRepository;
+import opensource.project.repository.PriorityAssessmentRepository;
+import opensource.project.repository.SurvivorRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 스케줄 진입점(rollUp)으로 탐지를 요약하는 테스트
+ * 스케줄 실행과 같이 트랜잭션 밖에서 호출하므로 테스트 트랜잭션을 쓰지 않고, 만든 행은 직접 지움
+ * watermark는 요약 테이블 전체의 가장 최근 분이므로 테스트 전후로 요약 테이블을 비우고 (테스트에서는 스케줄 실행이 꺼져 있음),
+ * 다른 테스트가 커밋한 탐지도 요약될 수 있으므로 이 테스트 생존자의 요약만 검증함
+ */
+@SpringBootTest
+class DetectionRollupScheduleTest {
+
+    // 다른 테스트가 커밋한 탐지보다 앞선 시각
+    private static final LocalDateTime BASE = LocalDateTime.of(2020, 1, 1, 10, 0);
+
+    @Autowired
+    private DetectionRollupService detectionRollupService;
+
+    @Autowired
+    private LocationRepository locationRepository;
+
+    @Autowired
+    private SurvivorRepository survivorRepository;
+
+    @Autowired
+    private DetectionRepository detectionRepository;
+
+    @Autowired
+    private PriorityAssessmentRepository priorityAssessmentRepository;
+
+    @Autowired
+    private DetectionMinuteRollupRepository rollupRepository;
+
+    private Location location;
+    private Survivor survivor;
+    private final List<Detection> detections = new ArrayList<>();
+    private final List<PriorityAssessment> assessments = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        rollupRepository.deleteAll();
+        location = locationRepository.save(Location.builder()
+                .buildingName("요약동")
+                .floor(2)
+                .roomNumber("201")
+                .fullAddress("요약동 2층 201호")
+                .build());
+        survivor = survivorRepository.save(Survivor.builder()
+                .survivorNumber(8101)
+                .location(location)
+                .currentStatus(CurrentStatus.FALLING)
+                .detectionMethod(DetectionMethod.CCTV)
+                .rescueStatus(RescueStatus.WAITING)
+                .firstDetectedAt(BASE)
+                .lastDetectedAt(BASE)
+                .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        rollupRepository.deleteAll();
+        priorityAssessmentRepository.deleteAll(assessments);
+        detectionRepository.deleteAll(detections);
+        survivorRepository.delete(survivor);
+        locationRepository.delete(location);
+    }
+
+    @Test
+    @DisplayName("트랜잭션 밖에서 rollUp을 호출해도 구간별로 요약하고, 요약한 구간은 다시 요약하지 않음")
+    void rollsUpThroughScheduledEntryPoint() {
+        Detection first = saveDetection(DetectionType.CCTV, BASE.plusSeconds(5));
+        saveDetection(DetectionType.CCTV, BASE.plusSeconds(40));
+        saveDetection(DetectionType.WIFI, BASE.plusSeconds(20));
+        saveDetection(DetectionType.CCTV, BASE.plusSeconds(70));
+        // 첫 실행의 요약 구간(window-minutes = 60) 밖
+        saveDetection(DetectionType.CCTV, BASE.plusHours(2));
+        saveAssessment(first, 4.0);
+        saveAssessment(first, 6.0);
+
+        detectionRollupService.rollUp();
+
+        List<DetectionMinuteRollup> rollups = rollupRepository.findBySurvivorIdOrderByMinuteStartAsc(survivor.getId());
+        assertThat(rollups).hasSize(3);
+        assertThat(rollups).extracting(DetectionMinuteRollup::getMinuteStart)
+                .containsExactly(BASE, BASE, BASE.plusMinutes(1));
+        assertThat(rollups.stream().mapToInt(DetectionMinuteRollup::getDetectionCount).sum()).isEqualTo(4);
+        DetectionMinuteRollup cctv = rollups.stream()
+                .filter(rollup -> rollup.getMinuteStart().equals(BASE) && rollup.getDetectionType() == DetectionType.CCTV)
+                .findFirst()
+                .orElseThrow();
+        assertThat(cctv.getDetectionCount()).isEqualTo(2);
+        assertThat(cctv.getMaxFinalRiskScore()).isEqualTo(6.0);
+
+        // 요약은 원본을 지우지 않음
+        assertThat(detectionRepository.findAllById(detections.stream().map(Detection::getId).toList())).hasSize(5);
+
+        // 다음 실행은 watermark 이후의 다음 탐지 구간만 요약함
+        detectionRollupService.rollUp();
+        assertThat(rollupRepository.findBySurvivorIdOrderByMinuteStartAsc(survivor.getId()))
+                .extracting(DetectionMinuteRollup::getMinuteStart)
+                .containsExactly(BASE, BASE, BASE.plusMinutes(1), BASE.plusHours(2));
+
+        // 이미 요약한 구간은 다시 요약하지 않음 (다른 테스트가 커밋한 이후 시각의 탐지만 요약될 수 있음)
+        detectionRollupService.rollUp();
+        assertThat(rollupRepository.findBySurvivorIdOrderByMinuteStartAsc(survivor.getId())).hasSize(4);
+    }
+
+    private Detection saveDetection(DetectionType type, LocalDateTime detectedAt) {
+        Detection detection = detectionRepository.save(Detection.builder()
+                .survivor(survivor)
+                .detectionType(type)
+                .location(location)
+                .detectedAt(detectedAt)
+                .detectedStatus(CurrentStatus.FALLING)
+                .confidence(0.5)
+                .humanCount(1)
+                .build());
+        detections.add(detection);
+        return detection;
+    }
+
+    private void saveAssessment(Detection detection, double finalRiskScore) {
+        assessments.add(priorityAssessmentRepository.save(PriorityAssessment.builder()
+                .survivor(survivor)
+                .detection(detection)
+                .assessedAt(detection.getDetectedAt())
+                .statusScore(5.0)
+                .environmentScore(5.0)
+                .confidenceCoefficient(1.0)
+                .finalRiskScore(finalRiskScore)
+                .build()));
+    }
+}
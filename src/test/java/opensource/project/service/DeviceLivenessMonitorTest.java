@@ -0,0 +1,91 @@
+package opensource.project.service;
+
+import opensource.project.repository.CCTVRepository;
+import opensource.project.repository.WifiSensorRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class DeviceLivenessMonitorTest {
+
+    private final WifiSensorRepository wifiSensorRepository = mock(WifiSensorRepository.class);
+    private final CCTVRepository cctvRepository = mock(CCTVRepository.class);
+    private final WifiSensorRegistry wifiSensorRegistry = mock(WifiSensorRegistry.class);
+    private final WebSocketService webSocketService = mock(WebSocketService.class);
+
+    private final DeviceLivenessMonitor monitor = new DeviceLivenessMonitor(
+            wifiSensorRepository, cctvRepository, wifiSensorRegistry, webSocketService, 30, 60);
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("라이브 스트리밍 중이 아닌 CCTV의 분석 결과는 생존 신호로 인정하지 않음")
+    void ignoresCctvWithoutLiveStream() {
+        assertFalse(monitor.recordCctvHeartbeat(5L));
+        assertEquals(0, monitor.getTrackedDeviceCount());
+        verify(cctvRepository, never()).markOnline(anyLong(), any());
+
+        assertTrue(monitor.startTrackingCctv(5L));
+        assertEquals(1, monitor.getTrackedDeviceCount());
+
+        monitor.stopTrackingCctv(5L);
+        assertFalse(monitor.recordCctvHeartbeat(5L));
+        assertEquals(0, monitor.getTrackedDeviceCount());
+    }
+
+    @Test
+    @DisplayName("트랜잭션 안의 상태 알림은 커밋된 뒤에 보냄")
+    void publishesHealthEventAfterCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        assertTrue(monitor.startTrackingCctv(5L));
+        verify(cctvRepository).markOnline(eq(5L), any());
+        verify(webSocketService, never()).broadcastSensorHealth(any());
+
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        synchronizations.forEach(TransactionSynchronization::afterCommit);
+
+        verify(webSocketService).broadcastSensorHealth(any());
+    }
+
+    @Test
+    @DisplayName("온라인 전환 트랜잭션이 롤백되면 휠의 전환을 되돌리고 다음 신호에서 다시 전환함")
+    void revertsOnlineTransitionOnRollback() {
+        TransactionSynchronizationManager.initSynchronization();
+        assertTrue(monitor.recordWifiHeartbeat(7L));
+        assertFalse(monitor.recordWifiHeartbeat(7L));
+
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        synchronizations.forEach(synchronization ->
+                synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        assertEquals(0, monitor.getTrackedDeviceCount());
+        verify(wifiSensorRegistry).markInactive(7L);
+        verify(webSocketService, never()).broadcastSensorHealth(any());
+
+        assertTrue(monitor.recordWifiHeartbeat(7L));
+        verify(wifiSensorRepository, times(2)).markOnline(eq(7L), any());
+        verify(webSocketService).broadcastSensorHealth(any());
+    }
+}
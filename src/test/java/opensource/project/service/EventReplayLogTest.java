@@ -0,0 +1,225 @@
+package opensource.project.service;
+
+import opensource.project.service.StompPayloadPublisher.EncodedPayload;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EventReplayLogTest {
+
+    private final EventReplayLog eventLog = new EventReplayLog(3, 100);
+    private final List<Long> published = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("순번은 전송 함수에 전달되고, lastSeq 이후 이벤트만 순서대로 돌려줌")
+    void replaysEventsAfterLastSeq() {
+        append("/topic/survivor/1", "/topic/survivor/1", "{\"v\":1}");
+        append("/topic/survivor/1/scores", "/topic/survivor/1/scores", "{\"v\":2}");
+        append("/topic/survivor/2", "/topic/survivor/2", "{\"v\":3}");
+
+        assertEquals(List.of(1L, 2L, 3L), published);
+        EventReplayLog.Replay replay = eventLog.since(eventLog.getEpoch(), 1, destination -> true);
+        assertFalse(replay.snapshot());
+        assertEquals(3L, replay.lastSeq());
+        assertEquals(List.of(2L, 3L), replay.entries().stream().map(EventReplayLog.Entry::seq).toList());
+
+        EventReplayLog.Replay filtered = eventLog.since(eventLog.getEpoch(), 1,
+                destination -> destination.startsWith("/topic/survivor/2"));
+        assertEquals(1, filtered.entries().size());
+        assertEquals(0, eventLog.since(eventLog.getEpoch(), 3, destination -> true).entries().size());
+    }
+
+    @Test
+    @DisplayName("보관 범위를 벗어나면 상태 키별 최신 이벤트만 담은 스냅샷을 돌려줌")
+    void returnsSnapshotWhenTooFarBehind() {
+        append("/topic/survivors/new", "/topic/survivor/1", "{\"v\":1}");
+        append("/topic/survivor/2", "/topic/survivor/2", "{\"v\":2}");
+        append("/topic/survivor/1", "/topic/survivor/1", "{\"v\":3}");
+        append("/topic/recent-survivors", null, "{\"v\":4}");
+        append("/topic/survivor/2/scores", "/topic/survivor/2/scores", "{\"v\":5}");
+
+        EventReplayLog.Replay replay = eventLog.since(eventLog.getEpoch(), 1, destination -> true);
+        assertTrue(replay.snapshot());
+        assertEquals(5L, replay.lastSeq());
+        assertEquals(List.of(2L, 3L, 5L), replay.entries().stream().map(EventReplayLog.Entry::seq).toList());
+        assertEquals("{\"v\":3}", replay.entries().get(1).payload().asRawValue().rawValue());
+
+        // 처음 연결(lastSeq = 0)이나 서버 재시작 후의 순번도 스냅샷으로 응답함
+        assertTrue(eventLog.since(eventLog.getEpoch(), 0, destination -> true).snapshot());
+        assertTrue(eventLog.since(eventLog.getEpoch(), 99, destination -> true).snapshot());
+    }
+
+    @Test
+    @DisplayName("서버 실행 식별자(epoch)가 다르면 순번이 범위 안이어도 스냅샷을 돌려줌")
+    void returnsSnapshotForOtherEpoch() {
+        append("/topic/survivor/1", "/topic/survivor/1", "{}");
+        append("/topic/survivor/2", "/topic/survivor/2", "{}");
+
+        // 재시작 전 실행에서 받은 순번 1
+        EventReplayLog.Replay replay = eventLog.since("previous", 1, destination -> true);
+        assertTrue(replay.snapshot());
+        assertEquals(eventLog.getEpoch(), replay.epoch());
+        assertEquals(2, replay.entries().size());
+        assertTrue(eventLog.since(null, 1, destination -> true).snapshot());
+
+        EventReplayLog restarted = new EventReplayLog(3, 100);
+        assertNotEquals(eventLog.getEpoch(), restarted.getEpoch());
+    }
+
+    @Test
+    @DisplayName("관심 토픽 패턴으로도 재전송과 스냅샷을 받고, 원래 토픽과 본문을 그대로 돌려줌")
+    void replaysByInterestDestination() {
+        String floor3 = LocationInterestRouter.floorTopic("본관", 3);
+        String building = LocationInterestRouter.buildingTopic("본관");
+        append("/topic/survivor/1", List.of(floor3, building), "/topic/survivor/1", "{\"v\":1}");
+        append("/topic/survivor/2", List.of(LocationInterestRouter.floorTopic("별관", 1),
+                LocationInterestRouter.buildingTopic("별관")), "/topic/survivor/2", "{\"v\":2}");
+        append("/topic/sensors/health", "/topic/sensors/health/WIFI/1", "{\"v\":3}");
+
+        EventReplayLog.Replay replay = eventLog.since(eventLog.getEpoch(), 0,
+                WebSocketSessionGuard.destinationMatcher(building));
+        assertTrue(replay.snapshot());
+        assertEquals(List.of("/topic/survivor/1"),
+                replay.entries().stream().map(EventReplayLog.Entry::destination).toList());
+
+        EventReplayLog.Replay missed = eventLog.since(eventLog.getEpoch(), 1,
+                WebSocketSessionGuard.destinationMatcher("/topic/building/**"));
+        assertFalse(missed.snapshot());
+        assertEquals(List.of(2L), missed.entries().stream().map(EventReplayLog.Entry::seq).toList());
+        assertEquals("{\"v\":2}", missed.entries().get(0).payload().asRawValue().rawValue());
+    }
+
+    @Test
+    @DisplayName("삭제된 생존자는 하위 토픽까지 스냅샷에서 제거되고, ID가 겹치는 다른 생존자는 유지됨")
+    void forgetsStateKeyAndChildren() {
+        append("/topic/survivor/1", "/topic/survivor/1", "{}");
+        append("/topic/survivor/1/scores", "/topic/survivor/1/scores", "{}");
+        append("/topic/survivor/10", "/topic/survivor/10", "{}");
+
+        eventLog.forget("/topic/survivor/1");
+
+        List<String> destinations = eventLog.since(eventLog.getEpoch(), 0, destination -> true).entries().stream()
+                .map(EventReplayLog.Entry::destination)
+                .toList();
+        assertEquals(List.of("/topic/survivor/10"), destinations);
+    }
+
+    @Test
+    @DisplayName("구독한 리스너는 재전송 결과의 lastSeq 다음 순번부터 받고, 구독 해제 후에는 받지 않음")
+    void listenerContinuesAfterReplay() {
+        append("/topic/survivor/1", "/topic/survivor/1", "{}");
+        append("/topic/survivor/2", "/topic/survivor/2", "{}");
+
+        List<Long> received = new ArrayList<>();
+        Consumer<EventReplayLog.Entry> listener = entry -> received.add(entry.seq());
+        EventReplayLog.Replay replay = eventLog.subscribe(eventLog.getEpoch(), 1, destination -> true, listener);
+        assertEquals(List.of(2L), replay.entries().stream().map(EventReplayLog.Entry::seq).toList());
+
+        append("/topic/survivor/3", "/topic/survivor/3", "{}");
+        eventLog.unsubscribe(listener);
+        append("/topic/survivor/4", "/topic/survivor/4", "{}");
+
+        assertEquals(List.of(replay.lastSeq() + 1), received);
+    }
+
+    @Test
+    @DisplayName("트랜잭션 안의 기록은 커밋된 뒤에 순번을 받고, 롤백되면 로그와 스냅샷에 남지 않음")
+    void appendsOnlyAfterCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        append("/topic/survivor/1", "/topic/survivor/1", "{}");
+        assertEquals(0, eventLog.size());
+        complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+        assertEquals(0, eventLog.size());
+        assertTrue(published.isEmpty());
+
+        TransactionSynchronizationManager.initSynchronization();
+        append("/topic/survivor/2", "/topic/survivor/2", "{}");
+        eventLog.forget("/topic/survivor/2");
+        append("/topic/survivor/3", "/topic/survivor/3", "{}");
+        assertTrue(published.isEmpty());
+        complete(TransactionSynchronization.STATUS_COMMITTED);
+
+        assertEquals(List.of(1L, 2L), published);
+        assertEquals(List.of("/topic/survivor/3"), eventLog.since(eventLog.getEpoch(), 0, destination -> true)
+                .entries().stream().map(EventReplayLog.Entry::destination).toList());
+    }
+
+    @Test
+    @DisplayName("전송이 막혀도 잠금을 잡고 있지 않고, 그 사이 기록된 이벤트는 순번 순서대로 이어서 전송됨")
+    void publishesOutsideLockInSeqOrder() throws Exception {
+        CountDownLatch sending = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<Long> sent = new CopyOnWriteArrayList<>();
+        Thread blockedSender = new Thread(() -> eventLog.append("/topic/survivor/1", List.of(), null, json("{}"), seq -> {
+            sending.countDown();
+            awaitQuietly(release);
+            sent.add(seq);
+        }));
+        blockedSender.start();
+        assertTrue(sending.await(5, TimeUnit.SECONDS));
+
+        assertTimeoutPreemptively(Duration.ofSeconds(5), () -> {
+            eventLog.append("/topic/survivor/2", List.of(), null, json("{}"), sent::add);
+            assertEquals(2L, eventLog.getLastSeq());
+            assertEquals(2, eventLog.since(eventLog.getEpoch(), 0, destination -> true).lastSeq());
+        });
+        assertTrue(sent.isEmpty());
+
+        release.countDown();
+        blockedSender.join(5000);
+        assertEquals(List.of(1L, 2L), sent);
+    }
+
+    private static void complete(int status) {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        if (status == TransactionSynchronization.STATUS_COMMITTED) {
+            synchronizations.forEach(TransactionSynchronization::afterCommit);
+        }
+        synchronizations.forEach(synchronization -> synchronization.afterCompletion(status));
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static EncodedPayload json(String json) {
+        return new EncodedPayload(json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private void append(String destination, String stateKey, String json) {
+        append(destination, List.of(), stateKey, json);
+    }
+
+    private void append(String destination, List<String> interestDestinations, String stateKey, String json) {
+        eventLog.append(destination, interestDestinations, stateKey, json(json), published::add);
+    }
+}
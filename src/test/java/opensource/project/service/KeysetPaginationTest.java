@@ -0,0 +1,187 @@
+package opensource.project.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import opensource.project.domain.Detection;
+import opensource.project.domain.Location;
+import opensource.project.domain.RecentSurvivorRecord;
+import opensource.project.domain.Survivor;
+import opensource.project.domain.enums.CurrentStatus;
+import opensource.project.domain.enums.DetectionMethod;
+import opensource.project.domain.enums.DetectionType;
+import opensource.project.domain.enums.RescueStatus;
+import opensource.project.dto.CursorPageDto;
+import opensource.project.dto.DetectionResponseDto;
+import opensource.project.dto.RecentSurvivorRecordResponseDto;
+import opensource.project.repository.DetectionRepository;
+import opensource.project.repository.LocationRepository;
+import opensource.project.repository.RecentSurvivorRecordRepository;
+import opensource.project.repository.SurvivorRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@Transactional
+class KeysetPaginationTest {
+
+    @Autowired
+    private DetectionService detectionService;
+
+    @Autowired
+    private RecentSurvivorRecordService recentSurvivorRecordService;
+
+    @Autowired
+    private LocationRepository locationRepository;
+
+    @Autowired
+    private SurvivorRepository survivorRepository;
+
+    @Autowired
+    private DetectionRepository detectionRepository;
+
+    @Autowired
+    private RecentSurvivorRecordRepository recentSurvivorRecordRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    @DisplayName("Detection 페이지를 커서로 이어 조회하면 같은 탐지 시각도 ID 순으로 중복/누락 없이 모두 조회됨")
+    void walksDetectionPagesWithTies() throws IOException {
+        List<Long> expected = seedDetections(25);
+
+        // 다른 테스트가 커밋한 탐지가 있을 수 있으므로 이 테스트에서 저장한 탐지만 비교함
+        List<Long> walked = new ArrayList<>();
+        String cursor = null;
+        do {
+            CursorPageDto<DetectionResponseDto> page = detectionService.getDetectionPage(cursor, 10);
+            page.getItems().forEach(detection -> walked.add(detection.getId()));
+            cursor = page.getNextCursor();
+            assertThat(page.getItems()).hasSizeLessThanOrEqualTo(10);
+            assertThat(page.isHasNext()).isEqualTo(cursor != null);
+        } while (cursor != null);
+
+        walked.retainAll(expected);
+        assertThat(walked).containsExactlyElementsOf(expected);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        detectionService.exportDetections(out);
+        List<Long> exported = out.toString(StandardCharsets.UTF_8).lines()
+                .map(this::readTree)
+                .map(node -> node.get("id").asLong())
+                .filter(expected::contains)
+                .toList();
+        assertThat(exported).containsExactlyElementsOf(expected);
+    }
+
+    @Test
+    @DisplayName("최근 기록 페이지는 보관 시각, ID 내림차순으로 이어지고 내보내기는 한 줄에 기록 하나씩 씀")
+    void walksRecentRecordPages() throws IOException {
+        for (int i = 1; i <= 7; i++) {
+            recentSurvivorRecordRepository.save(RecentSurvivorRecord.builder()
+                    .survivorId(9000L + i)
+                    .survivorNumber(9000 + i)
+                    .detectionMethod(DetectionMethod.CCTV)
+                    .build());
+        }
+        recentSurvivorRecordRepository.flush();
+
+        List<RecentSurvivorRecordResponseDto> walked = new ArrayList<>();
+        String cursor = null;
+        do {
+            CursorPageDto<RecentSurvivorRecordResponseDto> page =
+                    recentSurvivorRecordService.getRecentRecordPage(48, cursor, 4);
+            assertThat(page.getItems()).hasSizeLessThanOrEqualTo(4);
+            walked.addAll(page.getItems());
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        for (int i = 1; i < walked.size(); i++) {
+            RecentSurvivorRecordResponseDto previous = walked.get(i - 1);
+            RecentSurvivorRecordResponseDto current = walked.get(i);
+            assertThat(current.getArchivedAt()).isBeforeOrEqualTo(previous.getArchivedAt());
+            if (current.getArchivedAt().isEqual(previous.getArchivedAt())) {
+                assertThat(current.getId()).isLessThan(previous.getId());
+            }
+        }
+        assertThat(walked).extracting(RecentSurvivorRecordResponseDto::getId).doesNotHaveDuplicates();
+        assertThat(walked).filteredOn(record -> record.getSurvivorId() > 9000L).hasSize(7);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        recentSurvivorRecordService.exportRecentRecords(48, out);
+        assertThat(out.toString(StandardCharsets.UTF_8).lines()).hasSize(walked.size());
+    }
+
+    @Test
+    @DisplayName("잘못된 커서나 범위를 벗어난 limit은 IllegalArgumentException")
+    void rejectsInvalidCursorAndLimit() {
+        assertThatThrownBy(() -> detectionService.getDetectionPage("not-a-cursor", 10))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> detectionService.getDetectionPage(null, 0))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> detectionService.getDetectionPage(null, CursorPageDto.MAX_LIMIT + 1))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    /**
+     * 5개씩 같은 탐지 시각을 갖는 Detection을 저장하고, 기대 순서(탐지 시각, ID 내림차순)의 ID 목록을 반환함
+     */
+    private List<Long> seedDetections(int count) {
+        Location location = locationRepository.save(Location.builder()
+                .buildingName("페이지동")
+                .floor(1)
+                .roomNumber("101")
+                .fullAddress("페이지동 1층 101호")
+                .build());
+        LocalDateTime base = LocalDateTime.of(2026, 1, 1, 0, 0);
+        Survivor survivor = survivorRepository.save(Survivor.builder()
+                .survivorNumber(7001)
+                .location(location)
+                .currentStatus(CurrentStatus.FALLING)
+                .detectionMethod(DetectionMethod.CCTV)
+                .rescueStatus(RescueStatus.WAITING)
+                .firstDetectedAt(base)
+                .lastDetectedAt(base)
+                .build());
+
+        List<Detection> detections = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            detections.add(detectionRepository.save(Detection.builder()
+                    .survivor(survivor)
+                    .detectionType(DetectionType.CCTV)
+                    .location(location)
+                    .detectedAt(base.plusMinutes(i / 5))
+                    .detectedStatus(CurrentStatus.FALLING)
+                    .build()));
+        }
+        detectionRepository.flush();
+        return detections.stream()
+                .sorted((a, b) -> {
+                    int byTime = b.getDetectedAt().compareTo(a.getDetectedAt());
+                    return byTime != 0 ? byTime : Long.compare(b.getId(), a.getId());
+                })
+                .map(Detection::getId)
+                .toList();
+    }
+
+    private JsonNode readTree(String line) {
+        try {
+            return objectMapper.readTree(line);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,229 @@
+package opensource.project.service;
+
+import jakarta.persistence.EntityManager;
+import opensource.project.domain.CCTV;
+import opensource.project.domain.Detection;
+import opensource.project.domain.Location;
+import opensource.project.domain.PriorityAssessment;
+import opensource.project.domain.Survivor;
+import opensource.project.domain.WifiSensor;
+import opensource.project.domain.enums.CCTVStatus;
+import opensource.project.domain.enums.CurrentStatus;
+import opensource.project.domain.enums.DetectionMethod;
+import opensource.project.domain.enums.DetectionType;
+import opensource.project.domain.enums.RescueStatus;
+import opensource.project.domain.enums.SensorStatus;
+import opensource.project.dto.DetectionResponseDto;
+import opensource.project.dto.PriorityAssessmentResponseDto;
+import opensource.project.repository.CCTVRepository;
+import opensource.project.repository.DetectionRepository;
+import opensource.project.repository.LocationRepository;
+import opensource.project.repository.PriorityAssessmentRepository;
+import opensource.project.repository.SurvivorRepository;
+import opensource.project.repository.WifiSensorRepository;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 목록 조회(GET /detections, GET /priority-assessments)의 쿼리 수 회귀 테스트
+ *
+ * 행 수가 늘어나도 실행되는 SQL 문 수가 고정인지(N+1이 없는지), LOB 필드를 읽지 않는지 확인함
+ * 스케줄러 스레드의 쿼리가 섞이지 않도록 테스트 스레드에서 준비된 문장만 셈
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "opensource.project.service.ListQueryCountTest$CountingStatementInspector")
+@Transactional
+class ListQueryCountTest {
+
+    @Autowired
+    private DetectionService detectionService;
+
+    @Autowired
+    private PriorityService priorityService;
+
+    @Autowired
+    private LocationRepository locationRepository;
+
+    @Autowired
+    private CCTVRepository cctvRepository;
+
+    @Autowired
+    private WifiSensorRepository wifiSensorRepository;
+
+    @Autowired
+    private SurvivorRepository survivorRepository;
+
+    @Autowired
+    private DetectionRepository detectionRepository;
+
+    @Autowired
+    private PriorityAssessmentRepository priorityAssessmentRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Location location;
+    private CCTV cctv;
+    private WifiSensor wifiSensor;
+    private int survivorNumber;
+
+    @BeforeEach
+    void setUp() {
+        location = locationRepository.save(Location.builder()
+                .buildingName("쿼리수동")
+                .floor(2)
+                .roomNumber("201")
+                .fullAddress("쿼리수동 2층 201호")
+                .build());
+        cctv = cctvRepository.save(CCTV.builder()
+                .cameraNumber(9001)
+                .cctvCode("QC-CCTV-1")
+                .status(CCTVStatus.LIVE)
+                .location(location)
+                .isActive(true)
+                .build());
+        wifiSensor = wifiSensorRepository.save(WifiSensor.builder()
+                .sensorCode("QC-WIFI-1")
+                .status(SensorStatus.ACTIVE)
+                .location(location)
+                .isActive(true)
+                .build());
+    }
+
+    @Test
+    @DisplayName("Detection 목록은 행 수와 관계없이 쿼리 1번이고 LOB 필드를 읽지 않음")
+    void detectionListUsesFixedStatementCount() {
+        seed(3);
+        assertThat(countStatements(() -> detectionService.getAllDetections())).isEqualTo(1);
+
+        seed(30);
+        CountingStatementInspector.reset();
+        List<DetectionResponseDto> detections = detectionService.getAllDetections();
+        assertThat(CountingStatementInspector.count()).isEqualTo(1);
+
+        assertThat(detections).hasSize(66);
+        assertThat(detections).allSatisfy(detection -> {
+            assertThat(detection.getAiAnalysisResult()).isNull();
+            assertThat(detection.getRawData()).isNull();
+            assertThat(detection.getSurvivor().getLocation().getBuildingName()).isEqualTo("쿼리수동");
+            assertThat(detection.getLocation().getId()).isEqualTo(location.getId());
+        });
+        assertThat(detections)
+                .filteredOn(detection -> detection.getDetectionType() == DetectionType.CCTV)
+                .hasSize(33)
+                .allSatisfy(detection -> assertThat(detection.getCctv().getLocation().getFloor()).isEqualTo(2));
+        assertThat(detections)
+                .filteredOn(detection -> detection.getDetectionType() == DetectionType.WIFI)
+                .hasSize(33)
+                .allSatisfy(detection -> assertThat(detection.getWifiSensor().getSensorCode()).isEqualTo("QC-WIFI-1"));
+        // 연관 정보 접근으로 지연 로딩이 일어나지 않았는지 확인
+        assertThat(CountingStatementInspector.count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("PriorityAssessment 목록은 행 수와 관계없이 쿼리 2번이고 LOB 필드를 읽지 않음")
+    void priorityAssessmentListUsesFixedStatementCount() {
+        seed(3);
+        assertThat(countStatements(() -> priorityService.getAllPriorityAssessments())).isEqualTo(2);
+
+        seed(30);
+        CountingStatementInspector.reset();
+        List<PriorityAssessmentResponseDto> assessments = priorityService.getAllPriorityAssessments();
+        assertThat(CountingStatementInspector.count()).isEqualTo(2);
+
+        assertThat(assessments).hasSize(66);
+        assertThat(assessments).allSatisfy(assessment -> {
+            assertThat(assessment.getNotes()).isNull();
+            assertThat(assessment.getSurvivor().getLocation().getRoomNumber()).isEqualTo("201");
+            assertThat(assessment.getDetection().getId()).isEqualTo(assessment.getDetectionId());
+            assertThat(assessment.getDetection().getRawData()).isNull();
+        });
+    }
+
+    private int countStatements(Runnable action) {
+        CountingStatementInspector.reset();
+        action.run();
+        return CountingStatementInspector.count();
+    }
+
+    /**
+     * 생존자 survivors명과 생존자당 CCTV 탐지 1건, WiFi 탐지 1건, 각 탐지의 우선순위 평가를 저장하고
+     * 영속성 컨텍스트를 비워 이후 조회가 모두 DB에서 읽히게 함
+     */
+    private void seed(int survivors) {
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < survivors; i++) {
+            Survivor survivor = survivorRepository.save(Survivor.builder()
+                    .survivorNumber(++survivorNumber)
+                    .location(location)
+                    .currentStatus(CurrentStatus.FALLING)
+                    .detectionMethod(DetectionMethod.CCTV)
+                    .rescueStatus(RescueStatus.WAITING)
+                    .firstDetectedAt(now)
+                    .lastDetectedAt(now)
+                    .build());
+            saveDetectionWithAssessment(survivor, DetectionType.CCTV, cctv, null, now);
+            saveDetectionWithAssessment(survivor, DetectionType.WIFI, null, wifiSensor, now);
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    private void saveDetectionWithAssessment(Survivor survivor, DetectionType type, CCTV cctv,
+                                             WifiSensor wifiSensor, LocalDateTime now) {
+        Detection detection = detectionRepository.save(Detection.builder()
+                .survivor(survivor)
+                .detectionType(type)
+                .cctv(cctv)
+                .wifiSensor(wifiSensor)
+                .location(location)
+                .detectedAt(now)
+                .detectedStatus(CurrentStatus.FALLING)
+                .aiAnalysisResult("{\"large\":\"clob\"}")
+                .rawData("{\"large\":\"clob\"}")
+                .confidence(0.9)
+                .build());
+        priorityAssessmentRepository.save(PriorityAssessment.builder()
+                .survivor(survivor)
+                .detection(detection)
+                .assessedAt(now)
+                .statusScore(8.0)
+                .environmentScore(5.0)
+                .confidenceCoefficient(0.9)
+                .finalRiskScore(7.0)
+                .notes("긴 메모")
+                .build());
+    }
+
+    /**
+     * Hibernate가 준비하는 SQL 문을 스레드별로 셈 (hibernate.session_factory.statement_inspector)
+     */
+    public static class CountingStatementInspector implements StatementInspector {
+
+        private static final ThreadLocal<int[]> COUNT = ThreadLocal.withInitial(() -> new int[1]);
+
+        static void reset() {
+            COUNT.get()[0] = 0;
+        }
+
+        static int count() {
+            return COUNT.get()[0];
+        }
+
+        @Override
+        public String inspect(String sql) {
+            COUNT.get()[0]++;
+            return sql;
+        }
+    }
+}
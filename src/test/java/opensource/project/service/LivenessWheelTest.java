@@ -0,0 +1,73 @@
+package opensource.project.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LivenessWheelTest {
+
+    private static final long TICK = 1_000;
+
+    private final LivenessWheel<String> wheel = new LivenessWheel<>(TICK, 8);
+
+    @Test
+    @DisplayName("처음 신호는 온라인 전환이고, 무신호 허용 시간이 지나면 한 번만 오프라인으로 전환됨")
+    void expiresSilentDevice() {
+        wheel.advance(0);
+        assertTrue(wheel.heartbeat("sensor-1", 0, 3_000));
+        assertFalse(wheel.heartbeat("sensor-1", 500, 3_000));
+
+        assertTrue(wheel.advance(3_000).isEmpty());
+        List<LivenessWheel.Entry<String>> expired = wheel.advance(4_000);
+
+        assertEquals(1, expired.size());
+        assertEquals("sensor-1", expired.get(0).getKey());
+        assertFalse(wheel.isOnline("sensor-1"));
+        assertTrue(wheel.advance(20_000).isEmpty());
+    }
+
+    @Test
+    @DisplayName("신호가 계속 들어오는 장비는 만료 tick에서 다시 예약되고 오프라인 후 신호가 오면 온라인으로 전환됨")
+    void reschedulesActiveDevice() {
+        wheel.advance(0);
+        wheel.heartbeat("sensor-1", 0, 3_000);
+        for (long now = 1_000; now <= 10_000; now += 1_000) {
+            wheel.heartbeat("sensor-1", now, 3_000);
+            assertTrue(wheel.advance(now).isEmpty());
+        }
+        assertTrue(wheel.isOnline("sensor-1"));
+
+        assertEquals(1, wheel.advance(14_000).size());
+        assertTrue(wheel.heartbeat("sensor-1", 15_000, 3_000));
+        assertTrue(wheel.isOnline("sensor-1"));
+    }
+
+    @Test
+    @DisplayName("휠 한 바퀴보다 긴 무신호 허용 시간도 정확한 시점에 만료됨")
+    void expiresAfterSeveralRounds() {
+        wheel.advance(0);
+        wheel.track("cctv-1", 0, 20_000);
+
+        for (long now = 1_000; now < 20_000; now += 1_000) {
+            assertTrue(wheel.advance(now).isEmpty(), "만료 전 tick: " + now);
+        }
+        assertEquals(1, wheel.advance(20_000).size());
+    }
+
+    @Test
+    @DisplayName("추적을 중단한 장비는 오프라인 알림 없이 제거됨")
+    void removedDeviceDoesNotExpire() {
+        wheel.advance(0);
+        wheel.track("cctv-1", 0, 2_000);
+        wheel.advance(1_000);
+        wheel.remove("cctv-1");
+
+        assertTrue(wheel.advance(5_000).isEmpty());
+        assertEquals(0, wheel.size());
+    }
+}
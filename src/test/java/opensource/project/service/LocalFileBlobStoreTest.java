@@ -0,0 +1,76 @@
+package opensource.project.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LocalFileBlobStoreTest {
+
+    // "hello"의 SHA-256
+    private static final String HELLO_KEY = "2cf24dba5fb0a30e26e83b2ac5b9e29e1b161e5c1fa7425e73043362938b9824";
+
+    @TempDir
+    Path root;
+
+    @Test
+    @DisplayName("키는 내용의 SHA-256이고, 같은 내용은 파일 하나로만 저장됨")
+    void storesByContentHash() throws IOException {
+        LocalFileBlobStore store = new LocalFileBlobStore(root.toString());
+
+        String key = store.put("hello".getBytes(StandardCharsets.UTF_8));
+        String again = store.put("hello".getBytes(StandardCharsets.UTF_8));
+
+        assertEquals(HELLO_KEY, key);
+        assertEquals(key, again);
+        assertTrue(store.exists(key));
+        assertEquals(5, store.size(key));
+        assertTrue(Files.isRegularFile(root.resolve("2c").resolve("f2").resolve(key)));
+        try (Stream<Path> tmpFiles = Files.list(root.resolve("tmp"))) {
+            assertEquals(0, tmpFiles.count());
+        }
+    }
+
+    @Test
+    @DisplayName("저장된 내용을 채널로 그대로 전송함")
+    void transfersContentToChannel() throws IOException {
+        LocalFileBlobStore store = new LocalFileBlobStore(root.toString());
+        byte[] content = new byte[256 * 1024];
+        for (int i = 0; i < content.length; i++) {
+            content[i] = (byte) (i * 31);
+        }
+        String key = store.put(content);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        store.transferTo(key, Channels.newChannel(out));
+
+        assertArrayEquals(content, out.toByteArray());
+    }
+
+    @Test
+    @DisplayName("형식이 잘못되었거나 없는 키는 IllegalArgumentException")
+    void rejectsInvalidOrMissingKey() {
+        LocalFileBlobStore store = new LocalFileBlobStore(root.toString());
+        String missing = "0".repeat(64);
+
+        assertThrows(IllegalArgumentException.class, () -> store.exists("../../etc/passwd"));
+        assertThrows(IllegalArgumentException.class, () -> store.size(HELLO_KEY.toUpperCase()));
+        assertFalse(store.exists(missing));
+        assertThrows(IllegalArgumentException.class, () -> store.size(missing));
+        assertThrows(IllegalArgumentException.class,
+                () -> store.transferTo(missing, Channels.newChannel(new ByteArrayOutputStream())));
+    }
+}
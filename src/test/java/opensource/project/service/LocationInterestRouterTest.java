@@ -0,0 +1,89 @@
+package opensource.project.service;
+
+import opensource.project.dto.LocationResponseDto;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class LocationInterestRouterTest {
+
+    private static final String FLOOR_3 = LocationInterestRouter.floorTopic("본관", 3);
+    private static final String BUILDING = LocationInterestRouter.buildingTopic("본관");
+
+    private final LocationInterestRouter router = new LocationInterestRouter(2);
+
+    @Test
+    @DisplayName("관심 토픽 이름은 건물 이름을 URL 인코딩하여 만듦")
+    void encodesBuildingName() {
+        assertEquals("/topic/building/%EB%B3%B8%EA%B4%80/floor/3/events", FLOOR_3);
+        assertEquals("/topic/building/%EB%B3%B8%EA%B4%80/events", BUILDING);
+        assertEquals("/topic/building/A%20B/events", LocationInterestRouter.buildingTopic("A B"));
+    }
+
+    @Test
+    @DisplayName("구독 여부와 무관하게 위치의 층/건물 관심 토픽을 돌려줌")
+    void routesToLocationTopics() {
+        assertEquals(List.of(FLOOR_3, BUILDING), router.routeSurvivor(1L, location(10L, "본관", 3)));
+        assertEquals(List.of(LocationInterestRouter.floorTopic("본관", 4), BUILDING),
+                router.routeSurvivor(2L, location(11L, "본관", 4)));
+        assertEquals(List.of(), router.routeSurvivor(3L, location(12L, null, 4)));
+    }
+
+    @Test
+    @DisplayName("위치가 없는 이벤트는 생존자의 마지막 위치로 보내고, 삭제된 생존자는 보내지 않음")
+    void fallsBackToLastSurvivorLocation() {
+        assertEquals(List.of(), router.routeSurvivor(1L, null));
+
+        router.routeSurvivor(1L, location(10L, "본관", 3));
+        assertEquals(List.of(FLOOR_3, BUILDING), router.routeSurvivor(1L, null));
+
+        // 위치 정보가 다른 층으로 수정되면 새 층으로 보냄
+        String floor4 = LocationInterestRouter.floorTopic("본관", 4);
+        assertEquals(List.of(floor4, BUILDING), router.routeSurvivor(1L, location(10L, "본관", 4)));
+        assertEquals(List.of(floor4, BUILDING), router.routeSurvivor(1L, null));
+
+        router.forgetSurvivor(1L);
+        assertEquals(List.of(), router.routeSurvivor(1L, null));
+    }
+
+    @Test
+    @DisplayName("최근 기록 삭제는 추가될 때의 위치로 한 번만 보냄")
+    void routesRecentRecordDeletionToAddedLocation() {
+        assertEquals(List.of(FLOOR_3, BUILDING), router.routeRecentRecordAdded(7L, "본관", 3));
+        assertEquals(List.of(), router.routeRecentRecordAdded(8L, null, 3));
+
+        assertEquals(List.of(FLOOR_3, BUILDING), router.routeRecentRecordDeleted(7L));
+        assertEquals(List.of(), router.routeRecentRecordDeleted(7L));
+        assertEquals(List.of(), router.routeRecentRecordDeleted(8L));
+    }
+
+    @Test
+    @DisplayName("색인 크기를 넘으면 가장 오래 쓰이지 않은 생존자/기록부터 제거함")
+    void evictsLeastRecentlyUsedEntries() {
+        router.routeSurvivor(1L, location(10L, "본관", 3));
+        router.routeSurvivor(2L, location(10L, "본관", 3));
+        router.routeSurvivor(1L, null);
+        router.routeSurvivor(3L, location(10L, "본관", 3));
+
+        assertEquals(List.of(), router.routeSurvivor(2L, null));
+        assertEquals(List.of(FLOOR_3, BUILDING), router.routeSurvivor(1L, null));
+        assertEquals(List.of(FLOOR_3, BUILDING), router.routeSurvivor(3L, null));
+
+        for (long recordId = 1; recordId <= 3; recordId++) {
+            router.routeRecentRecordAdded(recordId, "본관", 3);
+        }
+        assertEquals(List.of(), router.routeRecentRecordDeleted(1L));
+        assertEquals(List.of(FLOOR_3, BUILDING), router.routeRecentRecordDeleted(3L));
+    }
+
+    private static LocationResponseDto location(Long id, String buildingName, int floor) {
+        return LocationResponseDto.builder()
+                .id(id)
+                .buildingName(buildingName)
+                .floor(floor)
+                .build();
+    }
+}
@@ -0,0 +1,140 @@
+package opensource.project.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import opensource.project.dto.MqttWifiDetectionDto;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MqttLosslessLaneTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @TempDir
+    Path spillDirectory;
+
+    @Test
+    @DisplayName("큐가 가득 차면 파일로 넘기고, 처리 시 도착 순서를 유지함")
+    void spillsOverflowInOrder() {
+        MqttLosslessLane lane = new MqttLosslessLane(0, 2, spillDirectory, objectMapper);
+
+        List<Boolean> queued = new ArrayList<>();
+        for (long i = 1; i <= 5; i++) {
+            queued.add(lane.offer(event(i)));
+        }
+
+        assertEquals(List.of(true, true, false, false, false), queued);
+        assertEquals(2, lane.getQueueSize());
+        assertEquals(3, lane.getSpilledPending());
+
+        List<Double> order = new ArrayList<>();
+        int processed = lane.drain(message -> order.add(message.getCsiAmplitudeSummary()[0]));
+
+        assertEquals(5, processed);
+        assertEquals(List.of(1.0, 2.0, 3.0, 4.0, 5.0), order);
+        assertTrue(lane.isEmpty());
+        assertFalse(Files.exists(spillDirectory.resolve("spill-0.replay")));
+    }
+
+    @Test
+    @DisplayName("파일에 대기 중인 이벤트가 있으면 큐에 여유가 있어도 파일 뒤에 이어 씀")
+    void keepsOrderWhileSpilling() {
+        MqttLosslessLane lane = new MqttLosslessLane(0, 1, spillDirectory, objectMapper);
+        lane.offer(event(1));
+        lane.offer(event(2));
+
+        // 큐에서 1을 꺼낸 뒤에도 파일이 비워지기 전까지는 새 이벤트가 파일로 감
+        List<Double> order = new ArrayList<>();
+        lane.drain(message -> {
+            order.add(message.getCsiAmplitudeSummary()[0]);
+            if (order.size() == 1) {
+                assertFalse(lane.offer(event(3)));
+            }
+        });
+
+        assertEquals(List.of(1.0, 2.0, 3.0), order);
+    }
+
+    @Test
+    @DisplayName("재시작 시 이전 실행에서 남은 파일 이벤트를 처리함")
+    void recoversSpillFileAfterRestart() {
+        MqttLosslessLane lane = new MqttLosslessLane(3, 1, spillDirectory, objectMapper);
+        lane.offer(event(1));
+        lane.offer(event(2));
+        lane.offer(event(3));
+        lane.close();
+
+        // 메모리 큐의 이벤트 1은 재시작으로 유실되고, 파일의 2, 3은 replay 파일로 복구됨
+        MqttLosslessLane restarted = new MqttLosslessLane(3, 1, spillDirectory, objectMapper);
+        assertEquals(0, restarted.getSpilledPending());
+        assertFalse(restarted.isEmpty());
+        // 이전 실행의 이벤트는 이번 실행의 센서별 대기 수에 포함되지 않음
+        assertFalse(restarted.hasPending(1L));
+
+        List<Double> order = new ArrayList<>();
+        restarted.drain(message -> order.add(message.getCsiAmplitudeSummary()[0]));
+
+        assertEquals(List.of(2.0, 3.0), order);
+        assertTrue(restarted.isEmpty());
+    }
+
+    @Test
+    @DisplayName("파티션 수가 바뀌면 남은 파일 이벤트를 센서별 새 파티션으로 순서대로 재배치함")
+    void redistributesSpillFilesOnPartitionChange() throws Exception {
+        MqttLosslessLane lane = new MqttLosslessLane(0, 1, spillDirectory, objectMapper);
+        lane.offer(event(2L, 1));
+        lane.offer(event(2L, 2));
+        lane.offer(event(3L, 3));
+        lane.offer(event(2L, 4));
+        lane.close();
+
+        MqttLosslessLane.redistribute(spillDirectory, 1, 2, sensorId -> (int) (sensorId % 2), objectMapper);
+        assertFalse(Files.exists(spillDirectory.resolve("spill-0.ndjson")));
+
+        List<String> order = new ArrayList<>();
+        for (int partition = 0; partition < 2; partition++) {
+            new MqttLosslessLane(partition, 1, spillDirectory, objectMapper).drain(message ->
+                    order.add(message.getSensorId() + ":" + (int) message.getCsiAmplitudeSummary()[0]));
+        }
+
+        // 큐에 있던 1은 유실되고, 센서 2는 파티션 0, 센서 3은 파티션 1에서 처리됨
+        assertEquals(List.of("2:2", "2:4", "3:3"), order);
+    }
+
+    @Test
+    @DisplayName("처리가 끝날 때까지 센서별 대기 메시지가 있다고 알림")
+    void tracksPendingPerSensor() {
+        MqttLosslessLane lane = new MqttLosslessLane(0, 1, spillDirectory, objectMapper);
+        lane.offer(event(1));
+        lane.offer(event(2));
+
+        assertTrue(lane.hasPending(1L));
+        lane.drain(message -> assertTrue(lane.hasPending(1L)));
+        assertFalse(lane.hasPending(1L));
+    }
+
+    private static MqttWifiDetectionDto event(long sensorId, long sequence) {
+        return MqttWifiDetectionDto.builder()
+                .sensorId(sensorId)
+                .survivorDetected(true)
+                .csiAmplitudeSummary(new double[]{sequence, 20.0})
+                .build();
+    }
+
+    private static MqttWifiDetectionDto event(long sequence) {
+        return MqttWifiDetectionDto.builder()
+                .sensorId(1L)
+                .survivorDetected(true)
+                .csiAmplitudeSummary(new double[]{sequence, 20.0})
+                .build();
+    }
+}
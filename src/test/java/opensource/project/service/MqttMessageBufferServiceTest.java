@@ -0,0 +1,141 @@
+package opensource.project.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import opensource.project.dto.MqttWifiDetectionDto;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+class MqttMessageBufferServiceTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final WifiDetectionMqttService wifiDetectionMqttService = mock(WifiDetectionMqttService.class);
+    private final List<Long> processed = new ArrayList<>();
+
+    @TempDir
+    Path spillDirectory;
+
+    private MqttMessageBufferService bufferService;
+
+    @AfterEach
+    void tearDown() {
+        if (bufferService != null) {
+            bufferService.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("신호 프레임과 탐지 이벤트를 센서별 도착 순서대로 처리함")
+    void processesLanesInArrivalOrder() {
+        bufferService = create(1);
+
+        bufferService.bufferMessage(message(1, false));
+        bufferService.bufferMessage(message(2, true));
+        bufferService.bufferMessage(message(3, false));
+        bufferService.drainPartition(0);
+
+        assertEquals(List.of(1L, 2L, 3L), processed);
+    }
+
+    @Test
+    @DisplayName("무손실 레인에 대기 중인 이벤트가 있으면 그보다 늦게 도착한 프레임을 먼저 처리하지 않음")
+    void defersFramesBehindPendingEvents() {
+        bufferService = create(1);
+
+        bufferService.bufferMessage(message(1, false));
+        // 프레임 처리 중에 이벤트와 다음 프레임이 도착함
+        doAnswer(invocation -> {
+            MqttWifiDetectionDto mqttData = invocation.getArgument(0);
+            processed.add(mqttData.getSeq());
+            if (mqttData.getSeq() == 1L) {
+                bufferService.bufferMessage(message(2, true));
+                bufferService.bufferMessage(message(3, false));
+            }
+            return null;
+        }).when(wifiDetectionMqttService).processMqttMessage(any());
+
+        bufferService.drainPartition(0);
+        bufferService.drainPartition(0);
+
+        assertEquals(List.of(1L, 2L, 3L), processed);
+    }
+
+    @Test
+    @DisplayName("장비가 재부팅되어 순번이 다시 시작하면 이후 프레임을 폐기하지 않음")
+    void acceptsFramesAfterDeviceReset() {
+        bufferService = create(1);
+
+        bufferService.bufferMessage(message(500, false));
+        // 연결 간 경쟁으로 늦게 도착한 프레임은 폐기함
+        bufferService.bufferMessage(message(499, false));
+        bufferService.drainPartition(0);
+        // 재부팅으로 순번이 크게 뒤로 감
+        bufferService.bufferMessage(message(0, false));
+        bufferService.drainPartition(0);
+        bufferService.bufferMessage(message(1, false));
+        bufferService.drainPartition(0);
+
+        assertEquals(List.of(500L, 0L, 1L), processed);
+    }
+
+    @Test
+    @DisplayName("오래 무신호였던 센서는 순번이 조금 뒤로 가도 새 스트림으로 받음")
+    void acceptsSmallSeqAfterSilence() {
+        bufferService = create(1);
+        long start = System.nanoTime();
+
+        bufferService.bufferMessage(message(10, false, start));
+        bufferService.drainPartition(0);
+        bufferService.bufferMessage(message(9, false, start + TimeUnit.SECONDS.toNanos(1)));
+        bufferService.drainPartition(0);
+        // 재부팅 중 무신호 시간이 지나고 0번부터 다시 들어옴
+        bufferService.bufferMessage(message(0, false, start + TimeUnit.SECONDS.toNanos(40)));
+        bufferService.drainPartition(0);
+
+        assertEquals(List.of(10L, 0L), processed);
+    }
+
+    @Test
+    @DisplayName("파티션 수를 spill 디렉터리에 기록함")
+    void recordsPartitionLayout() throws Exception {
+        bufferService = create(3);
+
+        assertEquals("3", Files.readString(spillDirectory.resolve("partitions")));
+        assertEquals(3, bufferService.getPartitionCount());
+    }
+
+    private MqttMessageBufferService create(int partitions) {
+        doAnswer(invocation -> {
+            processed.add(((MqttWifiDetectionDto) invocation.getArgument(0)).getSeq());
+            return null;
+        }).when(wifiDetectionMqttService).processMqttMessage(any());
+        return new MqttMessageBufferService(wifiDetectionMqttService, objectMapper, partitions,
+                MqttMessageBufferService.IngestMode.LOSSLESS_DETECTIONS, 16, spillDirectory.toString(), 64, 30);
+    }
+
+    private static MqttWifiDetectionDto message(long seq, boolean detected) {
+        return message(seq, detected, 0);
+    }
+
+    private static MqttWifiDetectionDto message(long seq, boolean detected, long receivedAtNanos) {
+        return MqttWifiDetectionDto.builder()
+                .sensorId(1L)
+                .seq(seq)
+                .survivorDetected(detected)
+                .csiAmplitudeSummary(new double[]{20.0, 21.0})
+                .receivedAtNanos(receivedAtNanos)
+                .build();
+    }
+}
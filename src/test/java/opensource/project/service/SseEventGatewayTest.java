@@ -0,0 +1,39 @@
+package opensource.project.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SseEventGatewayTest {
+
+    @Test
+    @DisplayName("이벤트 id는 서버 실행 식별자와 순번으로 만들고 Last-Event-ID에서 그대로 읽음")
+    void roundTripsEventId() {
+        EventReplayLog eventLog = new EventReplayLog(10, 10);
+        String eventId = SseEventGateway.eventId(eventLog.getEpoch(), 42);
+
+        assertEquals(new SseEventGateway.ResumePoint(eventLog.getEpoch(), 42), SseEventGateway.parseEventId(eventId));
+    }
+
+    @Test
+    @DisplayName("순번만 있거나 형식이 다른 Last-Event-ID는 실행 식별자 없이 읽어 스냅샷을 받게 함")
+    void treatsUnknownEventIdAsSnapshot() {
+        EventReplayLog eventLog = new EventReplayLog(10, 10);
+        eventLog.append("/topic/survivor/1", List.of(), "/topic/survivor/1",
+                new StompPayloadPublisher.EncodedPayload("{}".getBytes(StandardCharsets.UTF_8)), seq -> { });
+
+        for (String lastEventId : new String[]{null, "1", "-1", "abc-x"}) {
+            SseEventGateway.ResumePoint resumePoint = SseEventGateway.parseEventId(lastEventId);
+            assertEquals(new SseEventGateway.ResumePoint(null, 0), resumePoint);
+            assertTrue(eventLog.since(resumePoint.epoch(), resumePoint.seq(), destination -> true).snapshot());
+        }
+        // 재시작 전 실행의 id는 순번이 범위 안이어도 스냅샷을 받음
+        SseEventGateway.ResumePoint previousRun = SseEventGateway.parseEventId("0badc0de-1");
+        assertTrue(eventLog.since(previousRun.epoch(), previousRun.seq(), destination -> true).snapshot());
+    }
+}
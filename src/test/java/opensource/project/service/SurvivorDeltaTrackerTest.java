@@ -0,0 +1,98 @@
+package opensource.project.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import opensource.project.domain.enums.RescueStatus;
+import opensource.project.dto.LocationResponseDto;
+import opensource.project.dto.SurvivorDeltaDto;
+import opensource.project.dto.SurvivorResponseDto;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+class SurvivorDeltaTrackerTest {
+
+    private static final LocalDateTime DETECTED_AT = LocalDateTime.of(2025, 11, 1, 9, 0);
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    private final SurvivorDeltaTracker tracker = new SurvivorDeltaTracker(objectMapper);
+    private final List<SurvivorDeltaDto> published = new ArrayList<>();
+
+    @Test
+    @DisplayName("첫 전송은 스냅샷이고, 이후에는 바뀐 필드만 버전과 함께 전송됨")
+    void sendsSnapshotThenPatches() {
+        tracker.update(1L, survivor(DETECTED_AT, 3), published::add);
+        tracker.update(1L, survivor(DETECTED_AT.plusSeconds(1), 3), published::add);
+
+        assertEquals(2, published.size());
+        SurvivorDeltaDto snapshot = published.get(0);
+        assertEquals(SurvivorDeltaDto.TYPE_SNAPSHOT, snapshot.getType());
+        assertEquals(1L, snapshot.getVersion());
+        assertNotNull(snapshot.getSnapshot().get("location"));
+
+        SurvivorDeltaDto patch = published.get(1);
+        assertEquals(SurvivorDeltaDto.TYPE_PATCH, patch.getType());
+        assertEquals(1L, patch.getBaseVersion());
+        assertEquals(2L, patch.getVersion());
+        assertEquals(1, patch.getOps().size());
+        assertEquals("replace", patch.getOps().get(0).getOp());
+        assertEquals("/lastDetectedAt", patch.getOps().get(0).getPath());
+    }
+
+    @Test
+    @DisplayName("중첩 객체의 변경은 하위 경로로 표현되고, 변경이 없으면 전송하지 않음")
+    void diffsNestedFieldsAndSkipsUnchanged() {
+        tracker.update(1L, survivor(DETECTED_AT, 3), published::add);
+        tracker.update(1L, survivor(DETECTED_AT, 3), published::add);
+        tracker.update(1L, survivor(DETECTED_AT, 4), published::add);
+
+        assertEquals(2, published.size());
+        SurvivorDeltaDto patch = published.get(1);
+        assertEquals(2L, patch.getVersion());
+        assertEquals("/location/floor", patch.getOps().get(0).getPath());
+        assertEquals(4, patch.getOps().get(0).getValue().asInt());
+    }
+
+    @Test
+    @DisplayName("스냅샷 요청은 현재 버전을 돌려주고, 보관 상태가 없으면 조회 결과로 시작함")
+    void returnsSnapshotForResync() {
+        SurvivorDeltaDto loaded = tracker.snapshot(2L, () -> survivor(DETECTED_AT, 3));
+        assertEquals(1L, loaded.getVersion());
+
+        tracker.update(2L, survivor(DETECTED_AT.plusSeconds(5), 3), published::add);
+        assertEquals(1L, published.get(0).getBaseVersion());
+
+        SurvivorDeltaDto resync = tracker.snapshot(2L, () -> {
+            throw new IllegalStateException("보관 상태가 있으면 조회하지 않아야 함");
+        });
+        assertEquals(2L, resync.getVersion());
+        assertEquals("2025-11-01T09:00:05", resync.getSnapshot().get("lastDetectedAt").asText());
+    }
+
+    private static SurvivorResponseDto survivor(LocalDateTime lastDetectedAt, int floor) {
+        return SurvivorResponseDto.builder()
+                .id(1L)
+                .survivorNumber(1)
+                .locationId(10L)
+                .location(LocationResponseDto.builder()
+                        .id(10L)
+                        .buildingName("본관")
+                        .floor(floor)
+                        .fullAddress("본관 " + floor + "층")
+                        .build())
+                .rescueStatus(RescueStatus.WAITING)
+                .firstDetectedAt(DETECTED_AT)
+                .lastDetectedAt(lastDetectedAt)
+                .isActive(true)
+                .build();
+    }
+}
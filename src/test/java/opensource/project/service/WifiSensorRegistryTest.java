@@ -0,0 +1,83 @@
+package opensource.project.service;
+
+import opensource.project.domain.Location;
+import opensource.project.domain.WifiSensor;
+import opensource.project.domain.enums.SensorStatus;
+import opensource.project.repository.WifiSensorRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class WifiSensorRegistryTest {
+
+    private final WifiSensorRepository wifiSensorRepository = mock(WifiSensorRepository.class);
+    private final WifiSensorRegistry registry = new WifiSensorRegistry(wifiSensorRepository);
+
+    @Test
+    @DisplayName("스냅샷은 센서와 위치 정보를 담고, 재구성 시 삭제된 센서는 사라짐")
+    void rebuildsSnapshot() {
+        when(wifiSensorRepository.findAllWithLocation()).thenReturn(List.of(sensor(1L, true), sensor(2L, false)));
+        registry.rebuild();
+
+        WifiSensorRegistry.SensorSnapshot snapshot = registry.get(1L);
+        assertEquals("WIFI-SENSOR-1", snapshot.sensorCode());
+        assertEquals(101L, snapshot.locationId());
+        assertEquals("본관 1층", snapshot.fullAddress());
+        assertTrue(snapshot.active());
+        assertEquals(2, registry.size());
+
+        when(wifiSensorRepository.findAllWithLocation()).thenReturn(List.of(sensor(1L, true)));
+        registry.onSensorsChanged(new WifiSensorsChangedEvent());
+
+        assertNull(registry.get(2L));
+        assertEquals(1, registry.size());
+    }
+
+    @Test
+    @DisplayName("lastActiveAt 기록은 센서당 일정 간격에 한 번만 허용됨")
+    void throttlesActivityPersistence() {
+        long now = 1_000_000L;
+
+        assertTrue(registry.shouldPersistActivity(1L, now));
+        assertFalse(registry.shouldPersistActivity(1L, now + 1_000));
+        assertTrue(registry.shouldPersistActivity(2L, now + 1_000));
+        assertTrue(registry.shouldPersistActivity(1L, now + WifiSensorRegistry.ACTIVITY_PERSIST_INTERVAL_MILLIS));
+    }
+
+    @Test
+    @DisplayName("비활성 센서를 활성으로 표시하면 해당 항목만 교체됨")
+    void marksSensorActive() {
+        when(wifiSensorRepository.findAllWithLocation()).thenReturn(List.of(sensor(1L, true), sensor(2L, false)));
+        registry.rebuild();
+        WifiSensorRegistry.SensorSnapshot untouched = registry.get(1L);
+
+        registry.markActive(2L);
+
+        assertTrue(registry.get(2L).active());
+        assertEquals(untouched, registry.get(1L));
+    }
+
+    private static WifiSensor sensor(Long id, boolean active) {
+        Location location = Location.builder()
+                .id(100L + id)
+                .buildingName("본관")
+                .floor(1)
+                .fullAddress("본관 1층")
+                .build();
+        return WifiSensor.builder()
+                .id(id)
+                .sensorCode("WIFI-SENSOR-" + id)
+                .location(location)
+                .status(SensorStatus.ACTIVE)
+                .isActive(active)
+                .build();
+    }
+}
@@ -0,0 +1,159 @@
+package opensource.project.service;
+
+import opensource.project.dto.WifiSignalDto;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+import org.springframework.web.socket.messaging.SessionSubscribeEvent;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class WifiSignalDownsamplerTest {
+
+    private static final int SUBCARRIERS = 34;
+
+    @Test
+    @DisplayName("LTTB는 평탄한 구간의 피크 프레임을 대표로 선택함")
+    void lttbKeepsPeak() {
+        int count = 20;
+        double[] xs = new double[count];
+        double[] ys = new double[count];
+        for (int i = 0; i < count; i++) {
+            xs[i] = i * 100;
+            ys[i] = 30;
+        }
+        ys[13] = 45;
+
+        int[] selected = WifiSignalDownsampler.selectLttb(xs, ys, count, false, 0, 0, 2);
+
+        assertEquals(2, selected.length);
+        assertEquals(13, selected[1]);
+    }
+
+    @Test
+    @DisplayName("프레임 수가 목표 이하이면 모든 프레임을 선택함")
+    void lttbKeepsAllWhenUnderTarget() {
+        int[] selected = WifiSignalDownsampler.selectLttb(new double[]{0, 1}, new double[]{5, 6}, 2, false, 0, 0, 2);
+
+        assertArrayEquals(new int[]{0, 1}, selected);
+    }
+
+    @Test
+    @DisplayName("부반송파는 인접 구간 평균으로 묶임")
+    void binsSubcarriers() {
+        double[] amplitudes = new double[SUBCARRIERS];
+        for (int i = 0; i < SUBCARRIERS; i++) {
+            amplitudes[i] = i;
+        }
+
+        double[] binned = WifiSignalDownsampler.binSubcarriers(amplitudes, 8);
+
+        assertEquals(8, binned.length);
+        // 첫 구간: 0~3 (34 * 1 / 8 = 4)
+        assertEquals(1.5, binned[0], 1e-9);
+        // 마지막 구간: 29~33
+        assertEquals(31.0, binned[7], 1e-9);
+
+        double[] small = {1.0, 2.0};
+        assertSame(small, WifiSignalDownsampler.binSubcarriers(small, 8));
+    }
+
+    @Test
+    @DisplayName("구독 중인 등급만 축소 프레임을 전송하고 구간 내 생존자 탐지를 유지함")
+    void flushesOnlySubscribedTiers() {
+        StompPayloadPublisher publisher = mock(StompPayloadPublisher.class);
+        WebSocketSubscriptionRegistry registry = mock(WebSocketSubscriptionRegistry.class);
+        String medium = WifiSignalDownsampler.destination(1L, WifiSignalDownsampler.Tier.MEDIUM);
+        String low = WifiSignalDownsampler.destination(1L, WifiSignalDownsampler.Tier.LOW);
+        when(registry.hasSubscribers(anyString())).thenReturn(false);
+        when(registry.hasSubscribers(medium)).thenReturn(true);
+
+        WifiSignalDownsampler downsampler = new WifiSignalDownsampler(publisher, registry);
+        for (int i = 0; i < 10; i++) {
+            downsampler.accept(frame(30 + (i % 2), i == 3));
+        }
+        downsampler.flush();
+
+        ArgumentCaptor<Object> payloads = ArgumentCaptor.forClass(Object.class);
+        verify(publisher, times(2)).publish(eq(medium), payloads.capture());
+        verify(publisher, never()).publish(eq(low), any());
+
+        List<WifiSignalDto> frames = payloads.getAllValues().stream().map(WifiSignalDto.class::cast).toList();
+        frames.forEach(frame -> assertEquals(16, frame.getCsiAmplitudeSummary().length));
+        assertTrue(frames.stream().anyMatch(frame -> Boolean.TRUE.equals(frame.getSurvivorDetected())));
+        assertEquals(7L, frames.stream()
+                .filter(frame -> Boolean.TRUE.equals(frame.getSurvivorDetected()))
+                .findFirst().orElseThrow().getSurvivorId());
+    }
+
+    @Test
+    @DisplayName("패턴 구독도 구독자로 인정하고, 구독이 모두 끊긴 센서의 구간은 제거함")
+    void evictsSensorWithoutSubscribers() {
+        StompPayloadPublisher publisher = mock(StompPayloadPublisher.class);
+        WebSocketSubscriptionRegistry registry = new WebSocketSubscriptionRegistry();
+        registry.onSubscribe(subscribeEvent("s1", "sub-1", "/topic/wifi-sensor/*/signal/*"));
+
+        WifiSignalDownsampler downsampler = new WifiSignalDownsampler(publisher, registry);
+        downsampler.accept(frame(30, false));
+        downsampler.flush();
+
+        verify(publisher).publish(eq(WifiSignalDownsampler.destination(1L, WifiSignalDownsampler.Tier.MEDIUM)), any());
+        verify(publisher).publish(eq(WifiSignalDownsampler.destination(1L, WifiSignalDownsampler.Tier.LOW)), any());
+        assertEquals(1, downsampler.getTrackedSensorCount());
+
+        registry.onDisconnect(new SessionDisconnectEvent(this, disconnectMessage("s1"), "s1", CloseStatus.NORMAL));
+        downsampler.flush();
+        assertEquals(0, downsampler.getTrackedSensorCount());
+
+        // 구독자가 없으면 새 구간을 만들지 않음
+        downsampler.accept(frame(30, false));
+        assertEquals(0, downsampler.getTrackedSensorCount());
+    }
+
+    private static SessionSubscribeEvent subscribeEvent(String sessionId, String subscriptionId, String destination) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.create(StompCommand.SUBSCRIBE);
+        accessor.setSessionId(sessionId);
+        accessor.setSubscriptionId(subscriptionId);
+        accessor.setDestination(destination);
+        return new SessionSubscribeEvent(new Object(), MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders()));
+    }
+
+    private static Message<byte[]> disconnectMessage(String sessionId) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.create(StompCommand.DISCONNECT);
+        accessor.setSessionId(sessionId);
+        return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+    }
+
+    private static WifiSignalDto frame(double level, boolean detected) {
+        double[] amplitudes = new double[SUBCARRIERS];
+        Arrays.fill(amplitudes, level);
+        return WifiSignalDto.builder()
+                .sensorId(1L)
+                .survivorDetected(detected)
+                .csiAmplitudeSummary(amplitudes)
+                .timestamp(LocalDateTime.now())
+                .survivorId(detected ? 7L : null)
+                .build();
+    }
+}
@@ -0,0 +1,123 @@
+package opensource.project.service;
+
+import opensource.project.domain.Location;
+import opensource.project.domain.Survivor;
+import opensource.project.domain.enums.CurrentStatus;
+import opensource.project.domain.enums.DetectionMethod;
+import opensource.project.domain.enums.RescueStatus;
+import opensource.project.repository.DetectionRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+class WifiSurvivorTrackerTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 1, 1, 12, 0);
+
+    private final WifiSurvivorTracker tracker = new WifiSurvivorTracker(mock(DetectionRepository.class));
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("트랜잭션 밖의 탐지는 바로 반영되고, 생존자가 다른 센서로 옮기면 이전 센서 매칭이 사라짐")
+    void tracksLatestSensorPerSurvivor() {
+        Survivor survivor = survivor(1L, DetectionMethod.WIFI);
+
+        tracker.recordDetection(10L, survivor, NOW);
+        assertEquals(Optional.of(1L), tracker.findTrackedSurvivor(10L, 100L, NOW.plusMinutes(1)));
+
+        tracker.recordDetection(20L, survivor, NOW.plusMinutes(2));
+        assertTrue(tracker.findTrackedSurvivor(10L, 100L, NOW.plusMinutes(3)).isEmpty());
+        assertEquals(Optional.of(1L), tracker.findTrackedSurvivor(20L, 100L, NOW.plusMinutes(3)));
+
+        // 임계 시간이 지나거나 위치가 다르면 매칭되지 않음
+        assertTrue(tracker.findTrackedSurvivor(20L, 100L,
+                NOW.plusMinutes(2 + WifiSurvivorTracker.TIME_THRESHOLD_MINUTES)).isEmpty());
+        assertTrue(tracker.findTrackedSurvivor(20L, 999L, NOW.plusMinutes(3)).isEmpty());
+    }
+
+    @Test
+    @DisplayName("트랜잭션 안의 탐지는 커밋된 후에만 반영되고, 롤백되면 반영되지 않음")
+    void appliesDetectionOnlyAfterCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        tracker.recordDetection(10L, survivor(1L, DetectionMethod.WIFI), NOW);
+        assertEquals(0, tracker.getTrackedSensorCount());
+
+        complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+        assertEquals(0, tracker.getTrackedSensorCount());
+
+        TransactionSynchronizationManager.initSynchronization();
+        tracker.recordDetection(10L, survivor(1L, DetectionMethod.WIFI), NOW);
+        complete(TransactionSynchronization.STATUS_COMMITTED);
+        assertEquals(Optional.of(1L), tracker.findTrackedSurvivor(10L, 100L, NOW.plusMinutes(1)));
+    }
+
+    @Test
+    @DisplayName("WiFi로 탐지되지 않은 생존자는 추적 대상에서 제거됨")
+    void evictsUntrackableSurvivor() {
+        tracker.recordDetection(10L, survivor(1L, DetectionMethod.WIFI), NOW);
+        tracker.recordDetection(10L, survivor(1L, DetectionMethod.CCTV), NOW.plusMinutes(1));
+
+        assertEquals(0, tracker.getTrackedSensorCount());
+    }
+
+    @Test
+    @DisplayName("트랜잭션 안의 생존자 제거/변경은 커밋된 후에만 반영되고, 롤백되면 추적을 유지함")
+    void appliesEvictionOnlyAfterCommit() {
+        Survivor survivor = survivor(1L, DetectionMethod.WIFI);
+        tracker.recordDetection(10L, survivor, NOW);
+
+        TransactionSynchronizationManager.initSynchronization();
+        tracker.evictSurvivor(1L);
+        tracker.onSurvivorChanged(survivor(1L, DetectionMethod.CCTV));
+        assertEquals(1, tracker.getTrackedSensorCount());
+        complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+        assertEquals(Optional.of(1L), tracker.findTrackedSurvivor(10L, 100L, NOW.plusMinutes(1)));
+
+        TransactionSynchronizationManager.initSynchronization();
+        tracker.evictSurvivor(1L);
+        assertEquals(1, tracker.getTrackedSensorCount());
+        complete(TransactionSynchronization.STATUS_COMMITTED);
+        assertEquals(0, tracker.getTrackedSensorCount());
+    }
+
+    /**
+     * 트랜잭션 완료를 흉내 내어 등록된 콜백을 실행함
+     */
+    private static void complete(int status) {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        if (status == TransactionSynchronization.STATUS_COMMITTED) {
+            synchronizations.forEach(TransactionSynchronization::afterCommit);
+        }
+        synchronizations.forEach(synchronization -> synchronization.afterCompletion(status));
+    }
+
+    private static Survivor survivor(Long id, DetectionMethod detectionMethod) {
+        return Survivor.builder()
+                .id(id)
+                .survivorNumber(id.intValue())
+                .location(Location.builder().id(100L).buildingName("본관").floor(1).build())
+                .currentStatus(CurrentStatus.FALLING)
+                .detectionMethod(detectionMethod)
+                .rescueStatus(RescueStatus.WAITING)
+                .isActive(true)
+                .lastDetectedAt(NOW)
+                .build();
+    }
+}